@@ -0,0 +1,139 @@
+package com.softserveinc.dokazovi.cache;
+
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.origin.OriginDTO;
+import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserInstitutionCityDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserInstitutionDTO;
+import com.softserveinc.dokazovi.dto.tag.TagDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the Smile serializer of cached values with the JSON one it replaced,
+ * on main page sections like the ones cached in Redis.
+ *
+ * <p>The benchmark runs only with {@code -Dbenchmark=true}. The number of posts in a section
+ * can be changed with {@code -Dbenchmark.section-posts}.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CacheSerializerBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheSerializerBenchmarkTest.class);
+    private static final int SECTION_POSTS = Integer.getInteger("benchmark.section-posts", 12);
+    private static final int WARM_UP_RUNS = 2_000;
+    private static final int MEASURED_RUNS = 5_000;
+
+    private final RedisSerializer<Object> json = RedisSerializer.json();
+    private final RedisSerializer<Object> smile = new SmileCacheSerializer(1);
+
+    @Test
+    void smileIsSmallerThanJson() {
+        CachedValue cached = new CachedValue(mainPage(), System.currentTimeMillis(), 40L);
+        byte[] jsonBytes = json.serialize(cached);
+        byte[] smileBytes = smile.serialize(cached);
+        assertEquals(cached, json.deserialize(jsonBytes));
+        assertEquals(cached, smile.deserialize(smileBytes));
+
+        long jsonEncode = medianEncode(json, cached);
+        long smileEncode = medianEncode(smile, cached);
+        long jsonDecode = medianDecode(json, jsonBytes);
+        long smileDecode = medianDecode(smile, smileBytes);
+
+        logger.info("JSON: {} bytes, encode median {} us, decode median {} us",
+                jsonBytes.length, jsonEncode, jsonDecode);
+        logger.info("Smile: {} bytes, encode median {} us, decode median {} us",
+                smileBytes.length, smileEncode, smileDecode);
+        assertTrue(smileBytes.length < jsonBytes.length);
+    }
+
+    /**
+     * @return median duration in microseconds
+     */
+    private static long medianEncode(RedisSerializer<Object> serializer, Object value) {
+        return median(() -> serializer.serialize(value));
+    }
+
+    /**
+     * @return median duration in microseconds
+     */
+    private static long medianDecode(RedisSerializer<Object> serializer, byte[] bytes) {
+        return median(() -> serializer.deserialize(bytes));
+    }
+
+    private static long median(Runnable run) {
+        long[] durations = new long[MEASURED_RUNS];
+        for (int i = 0; i < WARM_UP_RUNS + MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            run.run();
+            if (i >= WARM_UP_RUNS) {
+                durations[i - WARM_UP_RUNS] = (System.nanoTime() - start) / 1_000;
+            }
+        }
+        Arrays.sort(durations);
+        return durations[MEASURED_RUNS / 2];
+    }
+
+    private static List<PostMainPageDTO> mainPage() {
+        return IntStream.range(0, 4)
+                .mapToObj(section -> PostMainPageDTO.builder()
+                        .fieldName("section" + section)
+                        .postDTOS(IntStream.range(0, SECTION_POSTS)
+                                .mapToObj(post -> summary(section * SECTION_POSTS + post))
+                                .collect(Collectors.toList()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static PostSummaryDTO summary(int id) {
+        return PostSummaryDTO.builder()
+                .id(id)
+                .title("Вакцинація від COVID-19: що потрібно знати " + id)
+                .preview("Вакцини проходять три фази клінічних досліджень, перш ніж їх дозволяють до застосування")
+                .previewImageUrl("https://dokazovi.example/images/" + id + ".png")
+                .author(PostUserDTO.builder()
+                        .id(id % 10)
+                        .firstName("Олена")
+                        .lastName("Коваль")
+                        .avatar("https://dokazovi.example/avatars/" + (id % 10) + ".png")
+                        .mainInstitution(PostUserInstitutionDTO.builder()
+                                .id(3)
+                                .name("Київська міська клінічна лікарня")
+                                .city(PostUserInstitutionCityDTO.builder().id(1).name("Київ").build())
+                                .build())
+                        .build())
+                .directions(new HashSet<>(Arrays.asList(
+                        DirectionDTO.builder().id(1).name("covid-19").label("COVID-19")
+                                .color("#ef5350").hasAuthors(true).hasPosts(true).build(),
+                        DirectionDTO.builder().id(2).name("therapy").label("Терапія")
+                                .color("#66bb6a").hasAuthors(true).hasPosts(true).build())))
+                .tags(new HashSet<>(Arrays.asList(
+                        TagDTO.builder().id(1).tag("вакцина").build(),
+                        TagDTO.builder().id(2).tag("імунітет").build())))
+                .origins(new HashSet<>(Arrays.asList(
+                        OriginDTO.builder().id(1).name("Думка експерта").build())))
+                .type(PostTypeDTO.builder().id(1).name("Стаття").build())
+                .status("PUBLISHED")
+                .createdAt(new Timestamp(1_600_000_000_000L + id))
+                .publishedAt(new Timestamp(1_600_000_100_000L + id))
+                .views(id * 10)
+                .realViews(id * 12)
+                .build();
+    }
+}
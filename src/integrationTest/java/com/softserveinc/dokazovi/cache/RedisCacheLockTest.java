@@ -0,0 +1,74 @@
+package com.softserveinc.dokazovi.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@Testcontainers
+class RedisCacheLockTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:6.2-alpine"))
+            .withExposedPorts(6379);
+
+    private JedisConnectionFactory connectionFactory;
+    private RedisCacheLock lock;
+
+    @BeforeEach
+    void connect() {
+        connectionFactory = new JedisConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getFirstMappedPort()));
+        connectionFactory.afterPropertiesSet();
+        lock = new RedisCacheLock(new StringRedisTemplate(connectionFactory));
+    }
+
+    @AfterEach
+    void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void tryAcquire_WhenHeld_ReturnsNullUntilReleased() {
+        String token = lock.tryAcquire("postDetail:1", LEASE);
+
+        assertNotNull(token);
+        assertNull(lock.tryAcquire("postDetail:1", LEASE));
+        assertNotNull(lock.tryAcquire("postDetail:2", LEASE));
+
+        lock.release("postDetail:1", token);
+
+        assertNotNull(lock.tryAcquire("postDetail:1", LEASE));
+    }
+
+    @Test
+    void release_WithOtherToken_KeepsLock() {
+        lock.tryAcquire("mainPage:4:0", LEASE);
+
+        lock.release("mainPage:4:0", "token of a former owner");
+
+        assertNull(lock.tryAcquire("mainPage:4:0", LEASE));
+    }
+
+    @Test
+    void tryAcquire_WhenLeaseExpires_AcquiresAgain() throws InterruptedException {
+        assertNotNull(lock.tryAcquire("postDetail:3", Duration.ofMillis(100)));
+
+        Thread.sleep(300);
+
+        assertNotNull(lock.tryAcquire("postDetail:3", LEASE));
+    }
+}
@@ -0,0 +1,157 @@
+package com.softserveinc.dokazovi.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two nodes with two-level caches against one Redis and checks that an eviction on one node
+ * reaches the local level of the other, and its node-local cache.
+ */
+@Testcontainers
+class TwoLevelCacheRedisTest {
+
+    private static final String CACHE = "postDetail";
+    private static final String NODE_LOCAL_CACHE = "referenceData";
+    private static final Duration PROPAGATION_TIMEOUT = Duration.ofSeconds(5);
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:6.2-alpine"))
+            .withExposedPorts(6379);
+
+    private Node first;
+    private Node second;
+
+    @BeforeEach
+    void startNodes() {
+        first = new Node();
+        second = new Node();
+    }
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        first.stop();
+        second.stop();
+    }
+
+    @Test
+    void get_WhenCachedByOtherNode_ReadsFromRedis() {
+        first.cache().put(1, "post");
+
+        assertEquals("post", second.cache().get(1, () -> "loaded by second node"));
+    }
+
+    @Test
+    void evict_DropsLocalCopyOfOtherNode() throws InterruptedException {
+        first.cache().put(1, "post");
+        assertEquals("post", second.cache().get(1).get());
+        assertEquals("post", second.local().getIfPresent("1"));
+
+        first.cache().evict(1);
+
+        assertTrue(awaitLocalEviction(second, "1", () -> first.cache().evict(1)),
+                "Eviction is not propagated to the second node");
+        assertNull(second.cache().get(1));
+        assertEquals("post", first.cache().get(1, () -> "post"));
+    }
+
+    @Test
+    void publish_ReloadsNodeLocalCacheOfOtherNode() throws InterruptedException {
+        long deadline = System.nanoTime() + PROPAGATION_TIMEOUT.toNanos();
+        while (second.invalidatedKeys.isEmpty() && System.nanoTime() < deadline) {
+            first.channel.publish(NODE_LOCAL_CACHE, "DIRECTIONS");
+            Thread.sleep(50);
+        }
+
+        assertEquals("DIRECTIONS", second.invalidatedKeys.peek(), "Invalidation is not propagated to the second node");
+        assertTrue(first.invalidatedKeys.isEmpty());
+    }
+
+    /**
+     * Waits for the local entry to be dropped. The subscription of a just started node is asynchronous,
+     * so the first published eviction may be missed and the eviction is repeated while waiting.
+     */
+    private static boolean awaitLocalEviction(Node node, String key, Runnable eviction) throws InterruptedException {
+        long deadline = System.nanoTime() + PROPAGATION_TIMEOUT.toNanos();
+        while (node.local().getIfPresent(key) != null) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(50);
+            eviction.run();
+        }
+        return true;
+    }
+
+    private static final class Node {
+
+        private final JedisConnectionFactory connectionFactory;
+        private final RedisMessageListenerContainer listenerContainer;
+        private final TwoLevelCacheManager cacheManager;
+        private final RedisCacheInvalidationChannel channel;
+        private final Queue<String> invalidatedKeys = new ConcurrentLinkedQueue<>();
+
+        private Node() {
+            connectionFactory = new JedisConnectionFactory(
+                    new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getFirstMappedPort()));
+            connectionFactory.afterPropertiesSet();
+            RedisCacheManager redisCacheManager = RedisCacheManager.create(connectionFactory);
+            redisCacheManager.afterPropertiesSet();
+            channel = new RedisCacheInvalidationChannel(new StringRedisTemplate(connectionFactory));
+            cacheManager = new TwoLevelCacheManager(redisCacheManager, redisCacheManager, channel,
+                    Caffeine.newBuilder().maximumSize(100).expireAfterWrite(Duration.ofMinutes(1)), List.of(CACHE));
+
+            listenerContainer = new RedisMessageListenerContainer();
+            listenerContainer.setConnectionFactory(connectionFactory);
+            NodeLocalCache nodeLocalCache = new NodeLocalCache() {
+                @Override
+                public String getCacheName() {
+                    return NODE_LOCAL_CACHE;
+                }
+
+                @Override
+                public void invalidateLocal(String key) {
+                    invalidatedKeys.add(key);
+                }
+            };
+            listenerContainer.addMessageListener(channel.listener(cacheManager, List.of(nodeLocalCache)),
+                    RedisCacheInvalidationChannel.TOPIC);
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        }
+
+        private Cache cache() {
+            return cacheManager.getCache(CACHE);
+        }
+
+        @SuppressWarnings("unchecked")
+        private com.github.benmanes.caffeine.cache.Cache<String, Object> local() {
+            return (com.github.benmanes.caffeine.cache.Cache<String, Object>) cache().getNativeCache();
+        }
+
+        private void stop() throws Exception {
+            listenerContainer.destroy();
+            connectionFactory.destroy();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.repositories.RecordingDataSource.RecordedStatement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Base class for plan tests which run the repositories against the seeded schema.
+ *
+ * <p>The repositories run in a transaction which is rolled back after each test. The statements they send are
+ * recorded with their parameters and explained as they were sent. The context is dropped after the test class,
+ * as every test class has a container of its own.</p>
+ */
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DirtiesContext
+@Import(AbstractRepositoryPlanTest.RecordingDataSourceConfiguration.class)
+abstract class AbstractRepositoryPlanTest extends AbstractSeededPostgresTest {
+
+    @Autowired
+    private RecordingDataSource dataSource;
+
+    /**
+     * Runs the repository call and explains the statements it sent, count queries excluded.
+     *
+     * @param call repository call
+     * @param options EXPLAIN options such as {@code (FORMAT JSON)}, may be empty
+     * @return the plans of the statements in the order they were sent
+     */
+    List<String> explainStatements(Runnable call, String options) throws SQLException {
+        dataSource.clear();
+        call.run();
+        List<RecordedStatement> statements = dataSource.getStatements().stream()
+                .filter(statement -> !statement.isCount())
+                .collect(Collectors.toList());
+        assertFalse(statements.isEmpty(), "The call sent no statements");
+
+        List<String> plans = new ArrayList<>();
+        try (Connection connection = connection()) {
+            for (RecordedStatement statement : statements) {
+                plans.add(statement.getSql() + "\n" + statement.explain(connection, options));
+            }
+        }
+        return plans;
+    }
+
+    /**
+     * Gets the planner estimate for the only statement, count queries excluded, sent by the repository call.
+     */
+    double totalCost(Runnable call) throws SQLException {
+        List<String> plans = explainStatements(call, "(FORMAT JSON)");
+        assertEquals(1, plans.size(), () -> "The call sent more than one statement:\n" + plans);
+        return totalCostOf(plans.get(0));
+    }
+
+    @TestConfiguration
+    static class RecordingDataSourceConfiguration {
+
+        @Bean
+        RecordingDataSource dataSource() {
+            return new RecordingDataSource(new DriverManagerDataSource(
+                    POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword()));
+        }
+    }
+}
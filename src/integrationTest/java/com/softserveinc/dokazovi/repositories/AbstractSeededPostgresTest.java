@@ -0,0 +1,118 @@
+package com.softserveinc.dokazovi.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Base class for query plan tests.
+ *
+ * <p>Fills the migrated schema with generated posts, users and log entries and analyzes it,
+ * so that the planner sees table sizes close to the production ones.</p>
+ */
+abstract class AbstractSeededPostgresTest extends AbstractPostgresTest {
+
+    private static final int USERS_COUNT = 10_000;
+    private static final int AUTHORS_COUNT = 2_000;
+    private static final int POSTS_COUNT = 50_000;
+    private static final int LOG_COUNT = 50_000;
+    private static final int DIRECTIONS_COUNT = 40;
+    private static final int TAGS_COUNT = 200;
+    private static final Pattern TOTAL_COST = Pattern.compile("\"Total Cost\": ([0-9.]+)");
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        try (Connection connection = connection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO regions (name) SELECT 'Region ' || g FROM generate_series(1, 25) g");
+            statement.execute("INSERT INTO cities (city_id, name, region_id) "
+                    + "SELECT g, 'City ' || g, 1 + g % 25 FROM generate_series(1, 200) g");
+            statement.execute("INSERT INTO institutions (name, city_id) "
+                    + "SELECT 'Institution ' || g, 1 + g % 200 FROM generate_series(1, 500) g");
+            statement.execute("INSERT INTO directions (name, label) "
+                    + "SELECT 'direction' || g, 'Direction ' || g FROM generate_series(1, " + DIRECTIONS_COUNT
+                    + ") g");
+            statement.execute("INSERT INTO tags (tag) SELECT 'tag' || g FROM generate_series(1, " + TAGS_COUNT
+                    + ") g");
+            statement.execute("INSERT INTO origins (name) VALUES ('Expert opinion'), ('Media'), ('Translation')");
+            statement.execute("INSERT INTO post_types (name) VALUES ('Article'), ('Video'), ('Post'), "
+                    + "('Translation')");
+
+            statement.execute("INSERT INTO users (email, first_name, last_name, status, enabled) "
+                    + "SELECT 'user' || g || '@dokazovi.com', 'First' || g, 'Last' || g, 'ACTIVE', TRUE "
+                    + "FROM generate_series(1, " + USERS_COUNT + ") g");
+            statement.execute("INSERT INTO users_social_networks (user_id, link) "
+                    + "SELECT g, 'https://facebook.com/user' || g FROM generate_series(1, " + AUTHORS_COUNT + ") g");
+            statement.execute("INSERT INTO providers (provider_name, email, user_id) "
+                    + "SELECT 'local', 'user' || g || '@dokazovi.com', g FROM generate_series(1, " + USERS_COUNT
+                    + ") g");
+            statement.execute("INSERT INTO refreshtoken (expiry_date, token_hash, user_id) "
+                    + "SELECT NOW() + INTERVAL '1 day', encode(sha256(g::TEXT::BYTEA), 'hex'), g "
+                    + "FROM generate_series(1, " + USERS_COUNT
+                    + ") g");
+            statement.execute("INSERT INTO authors (user_id, institution_id, city_id, promotion_level, rating) "
+                    + "SELECT g, 1 + g % 500, 1 + g % 200, g % 5, g % 100 FROM generate_series(1, "
+                    + AUTHORS_COUNT + ") g");
+            statement.execute("INSERT INTO authors_directions (author_id, direction_id) "
+                    + "SELECT g, 1 + (g + s) % " + DIRECTIONS_COUNT + " "
+                    + "FROM generate_series(1, " + AUTHORS_COUNT + ") g, generate_series(0, 1) s");
+
+            statement.execute("INSERT INTO posts (author_id, type_id, title, preview, content, status, important, "
+                    + "                   importance_order, created_at, modified_at, published_at) "
+                    + "SELECT 1 + g % " + AUTHORS_COUNT + ", 1 + g % 4, 'Title ' || g, 'Preview ' || g, "
+                    + "       '<p>Content ' || g || '</p>', "
+                    + "       CASE WHEN g % 10 < 7 THEN 'PUBLISHED' WHEN g % 10 < 9 THEN 'DRAFT' ELSE 'ARCHIVED' END, "
+                    + "       g % 1000 = 0, CASE WHEN g % 1000 = 0 THEN g / 1000 END, "
+                    + "       NOW() - g * INTERVAL '1 minute', NOW() - g * INTERVAL '1 minute', "
+                    + "       NOW() - g * INTERVAL '1 minute' "
+                    + "FROM generate_series(1, " + POSTS_COUNT + ") g");
+            statement.execute("INSERT INTO posts_directions (post_id, direction_id) "
+                    + "SELECT g, 1 + (g + s) % " + DIRECTIONS_COUNT + " "
+                    + "FROM generate_series(1, " + POSTS_COUNT + ") g, generate_series(0, 1) s");
+            statement.execute("INSERT INTO posts_tags (post_id, tag_id) "
+                    + "SELECT g, 1 + (g * 7 + s) % " + TAGS_COUNT + " "
+                    + "FROM generate_series(1, " + POSTS_COUNT + ") g, generate_series(0, 2) s");
+            statement.execute("INSERT INTO posts_origins (post_id, origin_id) "
+                    + "SELECT g, 1 + g % 3 FROM generate_series(1, " + POSTS_COUNT + ") g");
+
+            statement.execute("INSERT INTO log (title, date_of_change, changes, name_of_changer, id_of_changed_post) "
+                    + "SELECT 'Title ' || g, NOW() - g * INTERVAL '1 minute', 'changes', 'Changer ' || g % 500, g "
+                    + "FROM generate_series(1, " + LOG_COUNT + ") g");
+
+            statement.execute("VACUUM ANALYZE");
+        }
+    }
+
+    static String explain(String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = connection(); Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Gets the planner estimate for the whole query.
+     */
+    static double totalCost(String query) throws SQLException {
+        return totalCostOf(explain("(FORMAT JSON) " + query));
+    }
+
+    /**
+     * Gets the planner estimate for the whole query from its plan in JSON format.
+     */
+    static double totalCostOf(String plan) {
+        Matcher matcher = TOTAL_COST.matcher(plan);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No total cost in the plan:\n" + plan);
+        }
+        return Double.parseDouble(matcher.group(1));
+    }
+}
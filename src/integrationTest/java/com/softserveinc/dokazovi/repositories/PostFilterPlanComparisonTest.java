@@ -0,0 +1,156 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.pojo.PostFilter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the plans of the admin posts filter built by {@link PostRepositoryImpl} with the former native query,
+ * which had a CASE WHEN branch for every optional filter.
+ *
+ * <p>The built query is sent by the repository with the filter the post service builds, and explained as it was
+ * sent. The former query no longer exists in the code, so it is rendered here as it was sent. Both are explained
+ * for the common filter combinations of the admin posts list, the built one must not be estimated as more
+ * expensive and must find the same posts.</p>
+ */
+class PostFilterPlanComparisonTest extends AbstractRepositoryPlanTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostFilterPlanComparisonTest.class);
+    private static final String NO_IDS = "NULL";
+    private static final String PAGE = " ORDER BY p.modified_at DESC LIMIT 12";
+    private static final Pageable BY_MODIFIED_AT =
+            PageRequest.of(0, 12, Sort.by(Sort.Direction.DESC, "modified_at"));
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    void builtFilterIsNotMoreExpensive(String name, String casePredicateQuery, PostFilter filter)
+            throws SQLException {
+        double casePredicateCost = totalCost(casePredicateQuery + PAGE);
+        double builtCost = totalCost(() -> postRepository.findIdsByFilter(filter, BY_MODIFIED_AT));
+
+        logger.info("{}: CASE WHEN query cost {}, built query cost {}", name, casePredicateCost, builtCost);
+        assertTrue(builtCost <= casePredicateCost,
+                () -> name + ": " + builtCost + " is more than " + casePredicateCost);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    void builtFilterFindsSamePosts(String name, String casePredicateQuery, PostFilter filter) throws SQLException {
+        Page<Integer> page = postRepository.findIdsByFilter(filter, BY_MODIFIED_AT);
+
+        assertEquals(postIds(casePredicateQuery), page.getContent(), name);
+        assertEquals(count(casePredicateQuery), postRepository.countByFilter(filter), name);
+    }
+
+    static Stream<Arguments> filterCombinations() {
+        return Stream.of(
+                Arguments.of("directions",
+                        casePredicateQuery(NO_IDS, "7", NO_IDS, NO_IDS, "", ""),
+                        adminFilter().directionIds(Set.of(7)).build()),
+                Arguments.of("statuses and types",
+                        casePredicateQuery("1, 3", NO_IDS, NO_IDS, "'PUBLISHED'", "", ""),
+                        adminFilter().statuses(Set.of(PostStatus.PUBLISHED)).typeIds(Set.of(1, 3)).build()),
+                Arguments.of("directions and origins",
+                        casePredicateQuery(NO_IDS, "7, 8", "2", NO_IDS, "", ""),
+                        adminFilter().directionIds(Set.of(7, 8)).originIds(Set.of(2)).build()),
+                Arguments.of("author",
+                        casePredicateQuery(NO_IDS, NO_IDS, NO_IDS, NO_IDS, "", "Last42 "),
+                        adminFilter().author("Last42 ").build()),
+                Arguments.of("title and status",
+                        casePredicateQuery(NO_IDS, NO_IDS, NO_IDS, "'DRAFT'", "Title 4242", ""),
+                        adminFilter().statuses(Set.of(PostStatus.DRAFT)).title("Title 4242").build()),
+                Arguments.of("title in another case",
+                        casePredicateQuery(NO_IDS, NO_IDS, NO_IDS, NO_IDS, "tITLE 424", ""),
+                        adminFilter().title("tITLE 424").build()));
+    }
+
+    /**
+     * Starts the filter the post service builds for the admin posts list without an author id and dates.
+     */
+    private static PostFilter.PostFilterBuilder adminFilter() {
+        return PostFilter.builder()
+                .authorRequired(true)
+                .startDate(Timestamp.valueOf(LocalDate.EPOCH.atStartOfDay()))
+                .endDate(Timestamp.valueOf(LocalDate.now().atTime(LocalTime.MAX)));
+    }
+
+    /**
+     * Renders the former native query, as it was sent with the given filter values, without the page.
+     */
+    private static String casePredicateQuery(String typeIds, String directionIds, String originIds,
+            String statuses, String title, String author) {
+        return "SELECT p.post_id FROM posts p, users u "
+                + "WHERE p.author_id = u.user_id "
+                + "AND CASE WHEN (" + typeIds + ") IS NOT NULL "
+                + "THEN p.type_id IN (" + typeIds + ") "
+                + "ELSE p.post_id IS NOT NULL "
+                + "END "
+                + "AND CASE WHEN (" + directionIds + ") IS NOT NULL "
+                + "THEN p.post_id IN "
+                + "(SELECT pd.post_id FROM posts_directions pd WHERE pd.direction_id IN (" + directionIds + ")) "
+                + "ELSE p.post_id IS NOT NULL "
+                + "END "
+                + "AND CASE WHEN (" + originIds + ") IS NOT NULL "
+                + "THEN p.post_id IN "
+                + "(SELECT po.post_id FROM posts_origins po WHERE po.origin_id IN (" + originIds + ")) "
+                + "ELSE p.post_id IS NOT NULL "
+                + "END "
+                + "AND CASE WHEN (" + statuses + ") IS NOT NULL "
+                + "THEN p.status IN (" + statuses + ") "
+                + "ELSE p.post_id IS NOT NULL "
+                + "END "
+                + "AND p.modified_at BETWEEN '1970-01-01' AND NOW() "
+                + "AND p.author_id IN "
+                + "(SELECT user_id FROM users u "
+                + "WHERE u.name_search_key LIKE ('%|' || name_search_normalize('" + author + "') || '%')) "
+                + "AND UPPER((p.title) COLLATE \"uk-ua-dokazovi-x-icu\") "
+                + "LIKE UPPER(('%' || '" + title + "' || '%') COLLATE \"uk-ua-dokazovi-x-icu\")";
+    }
+
+    private static List<Integer> postIds(String casePredicateQuery) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection connection = connection(); Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(casePredicateQuery + PAGE)) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    private static long count(String casePredicateQuery) throws SQLException {
+        try (Connection connection = connection(); Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(
+                        "SELECT COUNT(*) FROM (" + casePredicateQuery + ") q")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.softserveinc.dokazovi.repositories;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the full-text post search with the title LIKE filter used by the admin posts list.
+ *
+ * <p>Seeding takes a while, so the benchmark runs only with {@code -Dbenchmark=true}.
+ * The number of generated posts can be changed with {@code -Dbenchmark.posts}.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PostSearchBenchmarkTest extends AbstractPostgresTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchBenchmarkTest.class);
+    private static final int POSTS_COUNT = Integer.getInteger("benchmark.posts", 200_000);
+    private static final int WARM_UP_RUNS = 5;
+    private static final int MEASURED_RUNS = 25;
+    private static final String SEARCH_WORD = "w4242";
+
+    private static final String LIKE_PAGE = "SELECT p.post_id FROM posts p "
+            + "WHERE p.status = 'PUBLISHED' "
+            + "AND UPPER((p.title) COLLATE \"uk-ua-dokazovi-x-icu\") "
+            + "LIKE UPPER(('%' || ? || '%') COLLATE \"uk-ua-dokazovi-x-icu\") "
+            + "ORDER BY p.published_at DESC LIMIT 10";
+    private static final String LIKE_COUNT = "SELECT COUNT(p.post_id) FROM posts p "
+            + "WHERE p.status = 'PUBLISHED' "
+            + "AND UPPER((p.title) COLLATE \"uk-ua-dokazovi-x-icu\") "
+            + "LIKE UPPER(('%' || ? || '%') COLLATE \"uk-ua-dokazovi-x-icu\")";
+    private static final String SEARCH_PAGE = "SELECT p.post_id, ts_rank(p.search_vector, q.query) "
+            + "FROM posts p, websearch_to_tsquery('simple', ?) q(query) "
+            + "WHERE p.status = 'PUBLISHED' AND p.search_vector @@ q.query "
+            + "ORDER BY ts_rank(p.search_vector, q.query) DESC, p.published_at DESC, p.post_id DESC LIMIT 10";
+    private static final String SEARCH_COUNT = "SELECT COUNT(p.post_id) FROM posts p "
+            + "WHERE p.status = 'PUBLISHED' AND p.search_vector @@ websearch_to_tsquery('simple', ?)";
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        try (Connection connection = connection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO posts (title, preview, content, status, important, published_at) "
+                    + "SELECT (SELECT string_agg('w' || (random() * 20000)::INT, ' ') "
+                    + "        FROM generate_series(1, 6) WHERE g > 0), "
+                    + "       (SELECT string_agg('w' || (random() * 20000)::INT, ' ') "
+                    + "        FROM generate_series(1, 30) WHERE g > 0), "
+                    + "       (SELECT '<p>' || string_agg('w' || (random() * 20000)::INT, ' ') || '</p>' "
+                    + "        FROM generate_series(1, 300) WHERE g > 0), "
+                    + "       'PUBLISHED', FALSE, NOW() - g * INTERVAL '1 minute' "
+                    + "FROM generate_series(1, " + POSTS_COUNT + ") g");
+            statement.execute("ANALYZE posts");
+        }
+    }
+
+    @Test
+    void fullTextSearchIsFasterThanTitleLike() throws SQLException {
+        try (Connection connection = connection()) {
+            long likeMedian = median(connection, LIKE_PAGE, LIKE_COUNT);
+            long searchMedian = median(connection, SEARCH_PAGE, SEARCH_COUNT);
+
+            logger.info("{} posts: title LIKE median {} us, full-text search median {} us",
+                    POSTS_COUNT, likeMedian, searchMedian);
+            assertTrue(searchMedian < likeMedian);
+        }
+    }
+
+    @Test
+    void searchVectorIsFilledByTrigger() throws SQLException {
+        String query = "SELECT COUNT(*) FROM posts WHERE search_vector IS NULL";
+        try (Connection connection = connection(); Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(query)) {
+            resultSet.next();
+            assertEquals(0, resultSet.getLong(1));
+        }
+    }
+
+    /**
+     * Runs the page query together with its count query, as the paged endpoint does.
+     *
+     * @return median duration in microseconds
+     */
+    private static long median(Connection connection, String pageQuery, String countQuery) throws SQLException {
+        long[] durations = new long[MEASURED_RUNS];
+        for (int run = 0; run < WARM_UP_RUNS + MEASURED_RUNS; run++) {
+            long start = System.nanoTime();
+            execute(connection, pageQuery);
+            execute(connection, countQuery);
+            if (run >= WARM_UP_RUNS) {
+                durations[run - WARM_UP_RUNS] = (System.nanoTime() - start) / 1_000;
+            }
+        }
+        Arrays.sort(durations);
+        return durations[MEASURED_RUNS / 2];
+    }
+
+    private static void execute(Connection connection, String query) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setString(1, SEARCH_WORD);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    resultSet.getInt(1);
+                }
+            }
+        }
+    }
+}
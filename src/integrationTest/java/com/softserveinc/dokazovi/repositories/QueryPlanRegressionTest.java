@@ -0,0 +1,243 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.pojo.PostFilter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that the queries of {@link PostRepository}, {@link UserRepository}, {@link DirectionRepository},
+ * {@link LogRepository} and the token and provider lookups are answered from indexes.
+ *
+ * <p>Every query is sent by its repository with selective parameter values, as a page of the corresponding
+ * endpoint would ask for, and the statements sent are explained. The test fails when a plan reads one of
+ * the large tables with a sequential scan.</p>
+ *
+ * <p>Count queries are not checked, and neither are queries that read every row by design: the main page
+ * window query, the build of the random expert index and experts sorted by promotion level.</p>
+ */
+class QueryPlanRegressionTest extends AbstractRepositoryPlanTest {
+
+    private static final Pattern SEQUENTIAL_SCAN_ON_LARGE_TABLE = Pattern.compile(
+            "Seq Scan on (posts|posts_directions|posts_tags|posts_origins|author_post_directions|users|providers"
+                    + "|log|refreshtoken)\\b");
+    private static final Pageable PAGE = PageRequest.of(0, 12);
+    private static final Pageable BY_CREATED_AT =
+            PageRequest.of(0, 12, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+    private static final Pageable BY_MODIFIED_AT =
+            PageRequest.of(0, 12, Sort.by(Sort.Direction.DESC, "modified_at"));
+    private static final List<Integer> POST_IDS = List.of(10, 20, 30, 40, 50, 60, 70, 80, 90, 100, 110, 120);
+    private static final String EMAIL = "user42@dokazovi.com";
+
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AuthorRepository authorRepository;
+    @Autowired
+    private DirectionRepository directionRepository;
+    @Autowired
+    private LogRepository logRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void queryDoesNotScanLargeTables(String name, RepositoryCall call) throws SQLException {
+        for (String plan : explainStatements(() -> call.sendWith(this), "")) {
+            Matcher matcher = SEQUENTIAL_SCAN_ON_LARGE_TABLE.matcher(plan);
+
+            assertFalse(matcher.find(), () -> name + " reads a whole table:\n" + plan);
+        }
+    }
+
+    static Stream<Arguments> repositoryQueries() {
+        return Stream.of(postQueries(), postFilterQueries(), userQueries(), directionQueries(), otherQueries())
+                .flatMap(queries -> queries);
+    }
+
+    private static Stream<Arguments> postQueries() {
+        return Stream.of(
+                query("PostRepository.findSummariesByIdIn",
+                        test -> test.postRepository.findSummariesByIdIn(POST_IDS)),
+                query("PostRepository.findDirectionsByPostIdIn",
+                        test -> test.postRepository.findDirectionsByPostIdIn(POST_IDS)),
+                query("PostRepository.findTagsByPostIdIn",
+                        test -> test.postRepository.findTagsByPostIdIn(POST_IDS)),
+                query("PostRepository.findOriginsByPostIdIn",
+                        test -> test.postRepository.findOriginsByPostIdIn(POST_IDS)),
+                query("PostRepository.findIdsByImportantIsTrueAndStatusOrderByImportanceOrder",
+                        test -> test.postRepository.findIdsByImportantIsTrueAndStatusOrderByImportanceOrder(
+                                PostStatus.PUBLISHED, PAGE)),
+                query("PostRepository.findIdsByStatus",
+                        test -> test.postRepository.findIdsByStatus(PostStatus.PUBLISHED, BY_CREATED_AT)),
+                query("PostRepository.findIdsByDirectionsContainsAndTypeIdInAndTagsIdInAndStatus",
+                        test -> test.postRepository.findIdsByDirectionsContainsAndTypeIdInAndTagsIdInAndStatus(
+                                DirectionEntity.builder().id(7).build(), Set.of(1, 3), Set.of(5),
+                                PostStatus.PUBLISHED, BY_CREATED_AT)),
+                query("PostRepository.findIdsByAuthorIdAndStatusOrderByPublishedAtDesc",
+                        test -> test.postRepository.findIdsByAuthorIdAndStatusOrderByPublishedAtDesc(
+                                42, PostStatus.PUBLISHED, PAGE)),
+                query("PostRepository.findIdsByAuthorIdAndTypeIdInAndStatus",
+                        test -> test.postRepository.findIdsByAuthorIdAndTypeIdInAndStatus(
+                                42, Set.of(1, 2), PostStatus.PUBLISHED, PAGE)),
+                query("PostRepository.findPublishedIds",
+                        test -> test.postRepository.findPublishedIds(PAGE)),
+                query("PostRepository.findIdsByExpertAndByDirectionsAndByPostType",
+                        test -> test.postRepository.findIdsByExpertAndByDirectionsAndByPostType(
+                                42, Set.of(1, 2), Set.of(7), PAGE)),
+                query("PostRepository.findIdsByAuthorIdAndDirections",
+                        test -> test.postRepository.findIdsByAuthorIdAndDirections(PAGE, 42, Set.of(7))),
+                query("PostRepository.findIdsByDirectionsAndTypesAndOriginsAndStatusAndImportant",
+                        QueryPlanRegressionTest::findImportantPostsSortedByImagePresence),
+                query("PostRepository.findIdsByAuthorId",
+                        test -> test.postRepository.findIdsByAuthorId(42, PAGE)),
+                query("PostRepository.searchPublished",
+                        test -> test.postRepository.searchPublished("content 4242", PAGE)),
+                query("PostRepository.findIdsByStatusBeforeCursor",
+                        test -> test.postRepository.findIdsByStatusBeforeCursor(
+                                PostStatus.PUBLISHED, dayAgo(), 1440, 13)),
+                query("PostRepository.findIdsByDirectionAndTypesAndTagsBeforeCursor",
+                        test -> test.postRepository.findIdsByDirectionAndTypesAndTagsBeforeCursor(
+                                7, Set.of(), Set.of(), PostStatus.PUBLISHED, dayAgo(), 1440, 13)),
+                query("PostRepository.findIdsByAuthorIdAndTypesAndDirectionsBeforeCursor",
+                        test -> test.postRepository.findIdsByAuthorIdAndTypesAndDirectionsBeforeCursor(
+                                42, Set.of(), Set.of(), PostStatus.PUBLISHED, dayAgo(), 1440, 13)));
+    }
+
+    /**
+     * Admin posts list filters, built the way the post service builds them.
+     */
+    private static Stream<Arguments> postFilterQueries() {
+        return Stream.of(
+                query("PostRepository.findIdsByFilter by author name",
+                        test -> test.postRepository.findIdsByFilter(adminFilter()
+                                .author("Last42 ")
+                                .build(), BY_MODIFIED_AT)),
+                query("PostRepository.findIdsByFilter by author id, status and title",
+                        test -> test.postRepository.findIdsByFilter(adminFilter()
+                                .authorRequired(false)
+                                .authorId(42)
+                                .statuses(Set.of(PostStatus.PUBLISHED))
+                                .title("title")
+                                .build(), BY_MODIFIED_AT)),
+                query("PostRepository.findIdsByFilter by title",
+                        test -> test.postRepository.findIdsByFilter(adminFilter()
+                                .title("title 4242")
+                                .build(), BY_MODIFIED_AT)),
+                query("PostRepository.findIdsByFilter by directions and dates",
+                        test -> test.postRepository.findIdsByFilter(adminFilter()
+                                .directionIds(Set.of(7))
+                                .startDate(dayAgo())
+                                .endDate(Timestamp.from(Instant.now()))
+                                .build(), BY_MODIFIED_AT)));
+    }
+
+    private static Stream<Arguments> userQueries() {
+        return Stream.of(
+                query("UserRepository.findByEmail",
+                        test -> test.userRepository.findByEmail(EMAIL)),
+                query("UserRepository.findCredentialsByEmail",
+                        test -> test.userRepository.findCredentialsByEmail(EMAIL)),
+                query("UserRepository.findUserEntityByEmail",
+                        test -> test.userRepository.findUserEntityByEmail(EMAIL)),
+                query("AuthorRepository.findExpertDirectionsByAuthorId",
+                        test -> test.authorRepository.findExpertDirectionsByAuthorId(42)),
+                query("UserRepository.findDoctorsProfilesByRegionsIds",
+                        test -> test.userRepository.findDoctorsProfilesByRegionsIds(Set.of(3), PAGE)),
+                query("UserRepository.findDoctorsProfilesByDirectionsIds",
+                        test -> test.userRepository.findDoctorsProfilesByDirectionsIds(Set.of(7), PAGE)),
+                query("UserRepository.findDoctorsByName",
+                        test -> test.userRepository.findDoctorsByName("first42 ", PAGE)),
+                query("UserRepository.existsByEmail",
+                        test -> test.userRepository.existsByEmail(EMAIL)));
+    }
+
+    private static Stream<Arguments> directionQueries() {
+        return Stream.of(
+                query("DirectionRepository.updateDirectionsHasPostsStatus",
+                        test -> test.directionRepository.updateDirectionsHasPostsStatus(Set.of(7, 8))),
+                query("DirectionRepository.findAllDirectionsByUserId",
+                        test -> test.directionRepository.findAllDirectionsByUserId(42)),
+                query("DirectionRepository.findAllDirectionsByDoctorId",
+                        test -> test.directionRepository.findAllDirectionsByDoctorId(42)),
+                query("DirectionRepository.findAllDirectionsOfPostsByUserId",
+                        test -> test.directionRepository.findAllDirectionsOfPostsByUserId(42)),
+                query("DirectionRepository.findAllDirectionsOfPostsByDoctorId",
+                        test -> test.directionRepository.findAllDirectionsOfPostsByDoctorId(42)));
+    }
+
+    private static Stream<Arguments> otherQueries() {
+        return Stream.of(
+                query("LogRepository.findAll",
+                        test -> test.logRepository.findAll(
+                                PageRequest.of(0, 12, Sort.by(Sort.Direction.DESC, "dateOfChange")))),
+                query("LogRepository.findAllByNameOfChangerContainingIgnoreCase",
+                        test -> test.logRepository.findAllByNameOfChangerContainingIgnoreCase(PAGE, "changer 42")),
+                query("LogRepository.findAllByTitleContainingIgnoreCase",
+                        test -> test.logRepository.findAllByTitleContainingIgnoreCase(PAGE, "title 4242")),
+                query("LogRepository.findByDateOfChangeBetween",
+                        test -> test.logRepository.findByDateOfChangeBetween(PAGE, dayAgo(),
+                                Timestamp.from(Instant.now()))),
+                query("RefreshTokenRepository.findByTokenHash",
+                        test -> test.refreshTokenRepository.findByTokenHash(
+                                "73475cb40a568e8da8a045ced110137e159f890ac4da883b6b17dc651b3a8049")),
+                query("RefreshTokenRepository.deleteExpired",
+                        test -> test.refreshTokenRepository.deleteExpired(Instant.now(), 1000)),
+                query("ProviderRepository.existsByEmailAndName",
+                        test -> test.providerRepository.existsByEmailAndName(EMAIL, "local")));
+    }
+
+    private void findImportantPostsSortedByImagePresence() {
+        postRepository.findIdsByDirectionsAndTypesAndOriginsAndStatusAndImportantSortedByImportantImagePresence(
+                null, Set.of(1, 2), null, PostStatus.PUBLISHED, true, PAGE);
+    }
+
+    private static Arguments query(String name, RepositoryCall call) {
+        return Arguments.of(name, call);
+    }
+
+    private static PostFilter.PostFilterBuilder adminFilter() {
+        return PostFilter.builder()
+                .authorRequired(true)
+                .startDate(Timestamp.valueOf(LocalDate.EPOCH.atStartOfDay()))
+                .endDate(Timestamp.valueOf(LocalDate.now().atTime(LocalTime.MAX)));
+    }
+
+    private static Timestamp dayAgo() {
+        return Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+    }
+
+    /**
+     * Repository call sending the query, made with the repositories of the test instance,
+     * as the arguments of the test are created before it.
+     */
+    @FunctionalInterface
+    interface RepositoryCall {
+
+        void sendWith(QueryPlanRegressionTest test);
+    }
+}
@@ -0,0 +1,180 @@
+package com.softserveinc.dokazovi.repositories;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Data source recording the statements prepared through it together with the parameters bound to them.
+ *
+ * <p>Plan tests run the repositories against it, so that they explain the SQL Hibernate and Spring Data
+ * actually send instead of a hand-written copy of it.</p>
+ */
+class RecordingDataSource extends DelegatingDataSource {
+
+    private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+    RecordingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recording(super.getConnection(username, password));
+    }
+
+    /**
+     * Gets the statements prepared since the last {@link #clear()}, in the order they were prepared.
+     */
+    List<RecordedStatement> getStatements() {
+        return new ArrayList<>(statements);
+    }
+
+    void clear() {
+        statements.clear();
+    }
+
+    private Connection recording(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (method.getName().equals("prepareStatement")) {
+                RecordedStatement statement = new RecordedStatement((String) args[0]);
+                statements.add(statement);
+                return recording((PreparedStatement) result, statement);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement recording(PreparedStatement preparedStatement, RecordedStatement statement) {
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            if (RecordedStatement.isParameterSetter(method, args)) {
+                statement.bind(method, args);
+            } else if (method.getName().equals("clearParameters")) {
+                statement.parameters.clear();
+            }
+            return invoke(preparedStatement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), new Class<?>[] {type},
+                handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Statement prepared by a repository, with the parameters bound to it on its last execution.
+     */
+    static final class RecordedStatement {
+
+        private final String sql;
+        private final Map<Integer, Binding> parameters = new TreeMap<>();
+
+        private RecordedStatement(String sql) {
+            this.sql = sql;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        boolean isCount() {
+            return sql.trim().toLowerCase().matches("(?s)select\\s+count\\(.*");
+        }
+
+        /**
+         * Explains the statement with the same parameters it was executed with.
+         *
+         * @param connection connection to explain the statement on
+         * @param options EXPLAIN options such as {@code (FORMAT JSON)}, may be empty
+         * @return the plan, one line per row
+         */
+        String explain(Connection connection, String options) throws SQLException {
+            StringBuilder plan = new StringBuilder();
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + options + " " + sql)) {
+                for (Binding binding : parameters.values()) {
+                    binding.apply(explain);
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    while (resultSet.next()) {
+                        plan.append(resultSet.getString(1)).append('\n');
+                    }
+                }
+            }
+            return plan.toString();
+        }
+
+        private void bind(Method setter, Object[] args) {
+            parameters.put((Integer) args[0], new Binding(setter, args.clone()));
+        }
+
+        private static boolean isParameterSetter(Method method, Object[] args) {
+            return method.getName().startsWith("set") && args != null && args.length >= 2
+                    && method.getParameterTypes()[0] == int.class;
+        }
+
+        @Override
+        public String toString() {
+            return sql + " " + parameters.values();
+        }
+    }
+
+    /**
+     * Parameter bound with one of the setters of {@link PreparedStatement}.
+     */
+    private static final class Binding {
+
+        private final Method setter;
+        private final Object[] args;
+
+        private Binding(Method setter, Object[] args) {
+            this.setter = setter;
+            this.args = args;
+        }
+
+        private void apply(PreparedStatement statement) throws SQLException {
+            try {
+                setter.invoke(statement, args);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    throw (SQLException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(args[1]);
+        }
+    }
+}
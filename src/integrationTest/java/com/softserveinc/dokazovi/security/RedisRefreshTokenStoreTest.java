@@ -0,0 +1,79 @@
+package com.softserveinc.dokazovi.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers
+class RedisRefreshTokenStoreTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:6.2-alpine"))
+            .withExposedPorts(6379);
+
+    private JedisConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisRefreshTokenStore store;
+
+    @BeforeEach
+    void connect() {
+        connectionFactory = new JedisConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getFirstMappedPort()));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        store = new RedisRefreshTokenStore(redisTemplate);
+    }
+
+    @AfterEach
+    void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void save_KeepsTokenUntilItExpires() {
+        Instant expiryDate = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MILLIS);
+
+        store.save(new StoredRefreshToken("hash-1", 28, expiryDate, 4L));
+
+        assertEquals(new StoredRefreshToken("hash-1", 28, expiryDate, 4L), store.find("hash-1").orElseThrow());
+        long timeToLive = redisTemplate.getExpire("dokazovi:refresh-token:hash-1");
+        assertTrue(timeToLive > 0 && timeToLive <= 60);
+    }
+
+    @Test
+    void remove_ReturnsTokenOnlyOnce() {
+        store.save(new StoredRefreshToken("hash-2", 28, Instant.now().plusSeconds(60), 0L));
+
+        assertEquals(28, store.remove("hash-2").orElseThrow().getUserId());
+        assertTrue(store.remove("hash-2").isEmpty());
+        assertTrue(store.find("hash-2").isEmpty());
+    }
+
+    @Test
+    void save_SkipsExpiredToken() {
+        store.save(new StoredRefreshToken("hash-3", 28, Instant.now().minusSeconds(1), 0L));
+
+        assertTrue(store.find("hash-3").isEmpty());
+    }
+
+    @Test
+    void find_ReadsValueWithoutSecurityVersionAsVersionZero() {
+        Instant expiryDate = Instant.now().plusSeconds(60).truncatedTo(ChronoUnit.MILLIS);
+        redisTemplate.opsForValue().set("dokazovi:refresh-token:hash-4", "28:" + expiryDate.toEpochMilli());
+
+        assertEquals(new StoredRefreshToken("hash-4", 28, expiryDate, 0L), store.find("hash-4").orElseThrow());
+    }
+}
@@ -0,0 +1,78 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.config.AppProperties;
+import com.softserveinc.dokazovi.entity.RoleEntity;
+import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the verification of an access token by the token filter before and after it was parsed once:
+ * two parsers built and two HMAC checks per request, one shared parser, and the verified token lookup.
+ *
+ * <p>The benchmark runs only with {@code -Dbenchmark=true}.</p>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TokenVerificationBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenVerificationBenchmarkTest.class);
+    private static final String SECRET = "926D96C90030DD58429D2751AC1BDBBC";
+    private static final int WARM_UP_RUNS = 20_000;
+    private static final int MEASURED_RUNS = 50_000;
+
+    @Test
+    void verifiedTokenIsLookedUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getAuth().setTokenSecret(SECRET);
+        appProperties.getAuth().setTokenExpirationMsec(600_000L);
+        TokenProvider tokenProvider = new TokenProvider(appProperties);
+        String token = tokenProvider.createToken(UserPrincipal.builder()
+                .id(28)
+                .email("test@test.com")
+                .role(RoleEntity.builder()
+                        .id(1)
+                        .name("ROLE_ADMIN")
+                        .permissions(EnumSet.allOf(RolePermission.class))
+                        .build())
+                .build());
+        assertEquals("28", tokenProvider.verify(token).getSubject());
+
+        long twoParses = median(() -> {
+            Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token);
+            return Jwts.parser().setSigningKey(SECRET).parseClaimsJws(token).getBody();
+        });
+        JwtParser parser = Jwts.parser().setSigningKey(SECRET);
+        long sharedParser = median(() -> parser.parseClaimsJws(token).getBody());
+        long lookup = median(() -> tokenProvider.verify(token));
+
+        logger.info("Two parses: median {} ns, one parse: median {} ns, verified token lookup: median {} ns",
+                twoParses, sharedParser, lookup);
+    }
+
+    /**
+     * @return median duration in nanoseconds
+     */
+    private static long median(Supplier<Claims> verify) {
+        long[] durations = new long[MEASURED_RUNS];
+        for (int i = 0; i < WARM_UP_RUNS + MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            verify.get();
+            if (i >= WARM_UP_RUNS) {
+                durations[i - WARM_UP_RUNS] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(durations);
+        return durations[MEASURED_RUNS / 2];
+    }
+}
@@ -0,0 +1,15 @@
+package com.softserveinc.dokazovi.cache;
+
+/**
+ * Tells the other application nodes to drop entries of their local caches.
+ */
+public interface CacheInvalidationPublisher {
+
+    /**
+     * Publishes an invalidation of a single entry or of the whole cache.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry, {@code null} to clear the whole cache
+     */
+    void publish(String cacheName, String key);
+}
@@ -0,0 +1,26 @@
+package com.softserveinc.dokazovi.cache;
+
+import java.time.Duration;
+
+/**
+ * Lock shared by the application nodes, so that only one of them loads a missing cache entry.
+ */
+public interface CacheLock {
+
+    /**
+     * Tries to acquire the lock without waiting.
+     *
+     * @param key key of the lock
+     * @param lease time after which the lock is released even if its owner fails to release it
+     * @return token of the acquired lock, {@code null} if the lock is held by someone else
+     */
+    String tryAcquire(String key, Duration lease);
+
+    /**
+     * Releases the lock if it is still held with the given token.
+     *
+     * @param key key of the lock
+     * @param token token returned by {@link #tryAcquire(String, Duration)}
+     */
+    void release(String key, String token);
+}
@@ -0,0 +1,25 @@
+package com.softserveinc.dokazovi.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Serialized response of a public endpoint, stored with the version of the data it was built from.
+ */
+@Value
+@Builder
+public class CachedResponse {
+
+    ResponseCache.Group group;
+    String version;
+    String contentType;
+    Map<String, String> headers;
+    byte[] body;
+
+    /**
+     * Gzipped body, {@code null} if the body is too small to be worth compressing.
+     */
+    byte[] gzippedBody;
+}
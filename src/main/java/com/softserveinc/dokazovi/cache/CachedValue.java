@@ -0,0 +1,21 @@
+package com.softserveinc.dokazovi.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cached value stored together with the time it expires at and the time it took to load,
+ * used to refresh hot entries shortly before they expire.
+ *
+ * <p>It is not final, so that it is stored with its type in Redis.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedValue {
+
+    private Object value;
+    private long expiresAt;
+    private long loadMillis;
+}
@@ -0,0 +1,301 @@
+package com.softserveinc.dokazovi.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator loading a missing entry once, however many callers miss it at the same time.
+ *
+ * <p>Callers on one node wait for the first of them. Nodes are coordinated with a {@link CacheLock}:
+ * the node holding it loads the entry, the others wait until it appears in the cache, and load it themselves
+ * only if it does not appear in time.</p>
+ *
+ * <p>Entries are stored as {@link CachedValue}s. A hot entry is refreshed by one of its readers shortly
+ * before it expires, with a probability growing as the expiration comes closer and with the time the entry
+ * took to load, while the other readers keep getting the current value.</p>
+ */
+public class CoalescingCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoalescingCache.class);
+    private static final String UNLOCKED = "";
+
+    private final Cache delegate;
+    private final CacheLock lock;
+    private final CoalescingPolicy policy;
+    private final Clock clock;
+    private final DoubleSupplier random;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the cache.
+     *
+     * @param delegate cache storing the entries
+     * @param lock lock shared by the nodes, {@code null} for a single node
+     * @param policy expiration, lock and early refresh settings
+     */
+    public CoalescingCache(Cache delegate, CacheLock lock, CoalescingPolicy policy) {
+        this(delegate, lock, policy, Clock.systemUTC(), () -> 1.0 - ThreadLocalRandom.current().nextDouble());
+    }
+
+    CoalescingCache(Cache delegate, CacheLock lock, CoalescingPolicy policy, Clock clock, DoubleSupplier random) {
+        this.delegate = delegate;
+        this.lock = lock;
+        this.policy = policy;
+        this.clock = clock;
+        this.random = random;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object cached = lookup(key);
+        return (cached != null) ? new SimpleValueWrapper(unwrap(cached)) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        Object value = unwrap(lookup(key));
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = lookup(key);
+        if (cached == null) {
+            return (T) coalesce(key, () -> loadMissing(key, valueLoader));
+        }
+        if (cached instanceof CachedValue && isDueForRefresh((CachedValue) cached)) {
+            return (T) refreshEarly(key, (CachedValue) cached, valueLoader);
+        }
+        return (T) unwrap(cached);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, wrap(value, 0));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, wrap(value, 0));
+        return (existing != null) ? new SimpleValueWrapper(unwrap(existing.get())) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    /**
+     * Runs the loader unless another caller on this node is already loading the key, in which case waits for it.
+     */
+    private Object coalesce(Object key, Supplier<Object> loader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            Object value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private Object loadMissing(Object key, Callable<?> valueLoader) {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return unwrap(cached);
+        }
+        String token = tryLock(key);
+        if (token == null) {
+            cached = awaitOtherNode(key);
+            if (cached != null) {
+                return unwrap(cached);
+            }
+            logger.warn("Entry {} of cache {} was not loaded by another node in time, loading it", key, getName());
+        }
+        try {
+            cached = (token != null) ? lookup(key) : null;
+            return (cached != null) ? unwrap(cached) : loadAndPut(key, valueLoader);
+        } finally {
+            unlock(key, token);
+        }
+    }
+
+    /**
+     * Refreshes the entry unless it is already being refreshed, on this node or another one.
+     * Until then and if the refresh fails, the current value is returned.
+     */
+    private Object refreshEarly(Object key, CachedValue current, Callable<?> valueLoader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, future) != null) {
+            return current.getValue();
+        }
+        String token = null;
+        try {
+            token = tryLock(key);
+            if (token == null) {
+                future.complete(current.getValue());
+                return current.getValue();
+            }
+            Object value = loadAndPut(key, valueLoader);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh entry {} of cache {}", key, getName(), e);
+            future.completeExceptionally(e);
+            return current.getValue();
+        } finally {
+            unlock(key, token);
+            inFlight.remove(key, future);
+        }
+    }
+
+    private Object loadAndPut(Object key, Callable<?> valueLoader) {
+        long start = clock.millis();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            delegate.put(key, wrap(value, clock.millis() - start));
+        }
+        return value;
+    }
+
+    /**
+     * Decides whether to refresh the entry now: the refresh is moved earlier than the expiration
+     * by a random time, which is usually within a few load times and grows with the beta.
+     */
+    private boolean isDueForRefresh(CachedValue cached) {
+        double advance = cached.getLoadMillis() * policy.getEarlyRefreshBeta() * -Math.log(random.getAsDouble());
+        return clock.millis() + advance >= cached.getExpiresAt();
+    }
+
+    private Object awaitOtherNode(Object key) {
+        long deadline = System.nanoTime() + policy.getLockWait().toNanos();
+        try {
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(policy.getPollInterval().toMillis());
+                Object cached = lookup(key);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    /**
+     * Acquires the lock of the key.
+     *
+     * @return token of the lock, {@link #UNLOCKED} if there is no lock or it fails,
+     *         {@code null} if another node holds it
+     */
+    private String tryLock(Object key) {
+        if (lock == null) {
+            return UNLOCKED;
+        }
+        try {
+            return lock.tryAcquire(lockKey(key), policy.getLockLease());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to lock entry {} of cache {}, loading it without the lock", key, getName(), e);
+            return UNLOCKED;
+        }
+    }
+
+    private void unlock(Object key, String token) {
+        if (token == null || UNLOCKED.equals(token)) {
+            return;
+        }
+        try {
+            lock.release(lockKey(key), token);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to unlock entry {} of cache {}", key, getName(), e);
+        }
+    }
+
+    private String lockKey(Object key) {
+        return getName() + ":" + key;
+    }
+
+    private Object lookup(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return (wrapper != null) ? wrapper.get() : null;
+    }
+
+    private CachedValue wrap(Object value, long loadMillis) {
+        if (value == null) {
+            return null;
+        }
+        return new CachedValue(value, clock.millis() + policy.getTimeToLive().toMillis(), loadMillis);
+    }
+
+    /**
+     * Gets the value of an entry, entries stored before this decorator was applied are returned as they are.
+     */
+    private static Object unwrap(Object cached) {
+        return (cached instanceof CachedValue) ? ((CachedValue) cached).getValue() : cached;
+    }
+
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            throw (e.getCause() instanceof RuntimeException) ? (RuntimeException) e.getCause() : e;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.softserveinc.dokazovi.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager serving the given caches of the delegate as {@link CoalescingCache}s and the others as they are.
+ */
+public class CoalescingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CacheLock lock;
+    private final CoalescingPolicy policy;
+    private final Set<String> coalescingCacheNames;
+    private final ConcurrentMap<String, Cache> coalescingCaches = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the manager.
+     *
+     * @param delegate manager of the caches
+     * @param lock lock shared by the nodes, {@code null} for a single node
+     * @param policy expiration, lock and early refresh settings
+     * @param coalescingCacheNames names of the caches loading missing entries once
+     */
+    public CoalescingCacheManager(CacheManager delegate, CacheLock lock, CoalescingPolicy policy,
+            Collection<String> coalescingCacheNames) {
+        this.delegate = delegate;
+        this.lock = lock;
+        this.policy = policy;
+        this.coalescingCacheNames = Set.copyOf(coalescingCacheNames);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!coalescingCacheNames.contains(name)) {
+            return delegate.getCache(name);
+        }
+        return coalescingCaches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            return (cache != null) ? new CoalescingCache(cache, lock, policy) : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
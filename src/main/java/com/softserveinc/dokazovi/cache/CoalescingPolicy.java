@@ -0,0 +1,39 @@
+package com.softserveinc.dokazovi.cache;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@link CoalescingCache}.
+ */
+@Value
+@Builder
+public class CoalescingPolicy {
+
+    /**
+     * Time after which an entry is refreshed by the first reader, it should not exceed the expiration of the cache.
+     */
+    Duration timeToLive;
+
+    /**
+     * Time after which the lock of a loading node is released even if the node fails.
+     */
+    Duration lockLease;
+
+    /**
+     * Time to wait for another node to load an entry before loading it anyway.
+     */
+    Duration lockWait;
+
+    /**
+     * Interval of checking whether another node has loaded an entry.
+     */
+    Duration pollInterval;
+
+    /**
+     * Eagerness of early refresh, 0 disables it and values above 1 refresh earlier.
+     */
+    double earlyRefreshBeta;
+}
@@ -0,0 +1,265 @@
+package com.softserveinc.dokazovi.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.cache.Cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache decorator counting hits, misses, loads, puts and evictions of the cache, timing the loads
+ * and reporting the number of entries kept on this node.
+ *
+ * <p>The meters are registered with the cache name as a tag, under their own names, so that they do not
+ * clash with the meters Spring Boot binds to the caches it knows. A call of {@link #get(Object, Callable)}
+ * is a miss when it runs the loader and a hit otherwise, also when it waits for a load run by another
+ * caller, and the loader is timed as a load. Without {@code sync}, {@code @Cacheable} methods look the key up
+ * with {@link #get(Object)} and put the value they computed, so a put following a miss of the same key
+ * on the same thread is timed as a load too; their failures can not be told apart and are not timed.
+ * Only explicit evictions are counted, entries expired or pushed out by the size limit are not.</p>
+ */
+public class InstrumentedCache implements Cache {
+
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final int MAX_PENDING_LOADS = 16;
+
+    private final Cache delegate;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Counter clears;
+    private final Timer loads;
+    private final Timer failedLoads;
+    private final ThreadLocal<Map<Object, Long>> pendingLoads = ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * Creates the cache and registers its meters.
+     *
+     * @param delegate the instrumented cache
+     * @param registry registry of the meters
+     */
+    public InstrumentedCache(Cache delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        Tags tags = Tags.of("cache", delegate.getName());
+        this.hits = registry.counter("app.cache.gets", tags.and("result", "hit"));
+        this.misses = registry.counter("app.cache.gets", tags.and("result", "miss"));
+        this.puts = registry.counter("app.cache.puts", tags);
+        this.evictions = registry.counter("app.cache.evictions", tags);
+        this.clears = registry.counter("app.cache.clears", tags);
+        this.loads = loadTimer(registry, tags.and("result", "success"));
+        this.failedLoads = loadTimer(registry, tags.and("result", "failure"));
+        if (!Double.isNaN(localSize(delegate))) {
+            Gauge.builder("app.cache.size", delegate, InstrumentedCache::localSize)
+                    .tags(tags)
+                    .description("Number of entries kept on this node")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return count(key, delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return count(key, delegate.get(key, type));
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        boolean[] loaded = {false};
+        try {
+            return delegate.get(key, () -> {
+                loaded[0] = true;
+                return load(valueLoader);
+            });
+        } finally {
+            (loaded[0] ? misses : hits).increment();
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        puts.increment();
+        recordPendingLoad(key);
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        recordPendingLoad(key);
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.increment();
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            evictions.increment();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        clears.increment();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        clears.increment();
+        return delegate.invalidate();
+    }
+
+    public long getHits() {
+        return (long) hits.count();
+    }
+
+    public long getMisses() {
+        return (long) misses.count();
+    }
+
+    public long getPuts() {
+        return (long) puts.count();
+    }
+
+    public long getEvictions() {
+        return (long) evictions.count();
+    }
+
+    public long getClears() {
+        return (long) clears.count();
+    }
+
+    public long getLoads() {
+        return loads.count();
+    }
+
+    public long getFailedLoads() {
+        return failedLoads.count();
+    }
+
+    public double getLoadMeanMillis() {
+        return loads.mean(TimeUnit.MILLISECONDS);
+    }
+
+    public double getLoadMaxMillis() {
+        return loads.max(TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets a percentile of the load time of the recent loads.
+     *
+     * @param percentile one of 0.5, 0.95 and 0.99
+     * @return the load time in milliseconds, 0 if nothing was loaded recently
+     */
+    public double getLoadPercentileMillis(double percentile) {
+        for (ValueAtPercentile value : loads.takeSnapshot().percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MILLISECONDS);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the number of entries kept on this node.
+     *
+     * @return the size, {@code null} if the entries are kept only remotely
+     */
+    public Long getSize() {
+        double size = localSize(delegate);
+        return Double.isNaN(size) ? null : (long) size;
+    }
+
+    private <T> T load(Callable<T> valueLoader) throws Exception {
+        long start = System.nanoTime();
+        try {
+            T value = valueLoader.call();
+            loads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return value;
+        } catch (Exception e) {
+            failedLoads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private <T> T count(Object key, T value) {
+        Map<Object, Long> pending = pendingLoads.get();
+        if (value != null) {
+            hits.increment();
+            pending.remove(key);
+        } else {
+            misses.increment();
+            if (pending.size() >= MAX_PENDING_LOADS) {
+                pending.clear();
+            }
+            pending.put(key, System.nanoTime());
+        }
+        return value;
+    }
+
+    /**
+     * Times the value put after a miss of the key on this thread as a load. The misses of the loads which failed
+     * are never followed by a put, only so many of them are kept per thread.
+     */
+    private void recordPendingLoad(Object key) {
+        Long start = pendingLoads.get().remove(key);
+        if (start != null) {
+            loads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer loadTimer(MeterRegistry registry, Tags tags) {
+        return Timer.builder("app.cache.loads")
+                .tags(tags)
+                .description("Time of loading missing entries")
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Gets the number of entries in the local cache or in the local level of a two-level cache.
+     */
+    private static double localSize(Cache cache) {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache) {
+            return ((com.github.benmanes.caffeine.cache.Cache<?, ?>) nativeCache).estimatedSize();
+        }
+        if (nativeCache instanceof Map) {
+            return ((Map<?, ?>) nativeCache).size();
+        }
+        return Double.NaN;
+    }
+}
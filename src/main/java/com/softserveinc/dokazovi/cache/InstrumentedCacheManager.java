@@ -0,0 +1,59 @@
+package com.softserveinc.dokazovi.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Cache manager serving all caches of the delegate as {@link InstrumentedCache}s.
+ */
+public class InstrumentedCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, InstrumentedCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the manager.
+     *
+     * @param delegate manager of the caches
+     * @param registry registry of the cache meters
+     */
+    public InstrumentedCacheManager(CacheManager delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public InstrumentedCache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            return (cache != null) ? new InstrumentedCache(cache, registry) : null;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    /**
+     * Gets all caches of the delegate, registering the meters of those which were not used yet.
+     *
+     * @return the instrumented caches
+     */
+    public List<InstrumentedCache> getCaches() {
+        return getCacheNames().stream()
+                .sorted()
+                .map(this::getCache)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,24 @@
+package com.softserveinc.dokazovi.cache;
+
+/**
+ * Data kept in memory by every application node on its own, outside of the cache manager.
+ *
+ * <p>The node changing the data publishes an invalidation under the name of the cache with
+ * the {@link CacheInvalidationPublisher}, the other nodes reload their copies when they receive it.</p>
+ */
+public interface NodeLocalCache {
+
+    /**
+     * Gets the name the invalidations of the data are published under.
+     *
+     * @return name of the cache, distinct from the names of the managed caches
+     */
+    String getCacheName();
+
+    /**
+     * Reloads the data changed by another node.
+     *
+     * @param key the changed part of the data, {@code null} if all of it may have changed
+     */
+    void invalidateLocal(String key);
+}
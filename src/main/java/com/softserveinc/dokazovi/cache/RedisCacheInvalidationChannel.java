@@ -0,0 +1,66 @@
+package com.softserveinc.dokazovi.cache;
+
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Broadcasts cache evictions between the application nodes over Redis pub/sub.
+ *
+ * <p>A message is {@code node|cache} for a clear and {@code node|cache|key} for a single entry.
+ * Every node ignores its own messages, its local levels are already up to date.</p>
+ */
+public class RedisCacheInvalidationChannel implements CacheInvalidationPublisher {
+
+    public static final ChannelTopic TOPIC = new ChannelTopic("dokazovi:cache-invalidation");
+    private static final String SEPARATOR = "|";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisCacheInvalidationChannel(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void publish(String cacheName, String key) {
+        String message = nodeId + SEPARATOR + cacheName;
+        if (key != null) {
+            message += SEPARATOR + key;
+        }
+        redisTemplate.convertAndSend(TOPIC.getTopic(), message);
+    }
+
+    /**
+     * Creates a listener applying the evictions published by the other nodes to the local levels
+     * and to the node-local caches.
+     *
+     * @param cacheManager manager of the two-level caches of this node
+     * @param nodeLocalCaches data kept in memory by this node outside of the cache manager
+     * @return listener of the {@link #TOPIC}
+     */
+    public MessageListener listener(TwoLevelCacheManager cacheManager, Collection<NodeLocalCache> nodeLocalCaches) {
+        Map<String, NodeLocalCache> nodeLocalCachesByName = nodeLocalCaches.stream()
+                .collect(Collectors.toMap(NodeLocalCache::getCacheName, Function.identity()));
+        return (message, pattern) -> {
+            String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+            if (parts.length < 2 || parts[0].equals(nodeId)) {
+                return;
+            }
+            String key = (parts.length == 3) ? parts[2] : null;
+            NodeLocalCache nodeLocalCache = nodeLocalCachesByName.get(parts[1]);
+            if (nodeLocalCache != null) {
+                nodeLocalCache.invalidateLocal(key);
+            } else {
+                cacheManager.evictLocal(parts[1], key);
+            }
+        };
+    }
+}
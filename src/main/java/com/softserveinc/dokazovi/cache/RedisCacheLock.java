@@ -0,0 +1,41 @@
+package com.softserveinc.dokazovi.cache;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cache lock kept in Redis as a key with an expiration.
+ *
+ * <p>The key holds a random token of the owner, so a lock which has expired and has been taken
+ * by another node is not released by the former owner.</p>
+ */
+public class RedisCacheLock implements CacheLock {
+
+    private static final String PREFIX = "dokazovi:cache-lock:";
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisCacheLock(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public String tryAcquire(String key, Duration lease) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(PREFIX + key, token, lease);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    @Override
+    public void release(String key, String token) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(PREFIX + key), token);
+    }
+}
@@ -0,0 +1,138 @@
+package com.softserveinc.dokazovi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.softserveinc.dokazovi.event.PostsChangedEvent;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
+import com.softserveinc.dokazovi.pojo.PostValidators;
+import com.softserveinc.dokazovi.service.PostVersionService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps serialized responses of public endpoints, so that they are written again without
+ * loading, mapping and serializing the data.
+ *
+ * <p>Every response is stored with the version of the data it was built from and is returned only while
+ * the version is the same. Post responses use the post change version kept in the database, and reference data
+ * responses the version derived from the reference data, which every node reloads after a change, so neither are
+ * returned after a change made on another node. Responses are also evicted as soon as their data is changed
+ * on this node.</p>
+ *
+ * <p>The version is read before the response is built and the post service does not serve cached posts loaded
+ * at an older version, so a response may be newer than the version it is stored with, but never older.</p>
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * Data the cached responses are built from.
+     */
+    public enum Group {
+        POSTS,
+        REFERENCE_DATA
+    }
+
+    private final PostVersionService postVersionService;
+    private final ReferenceDataService referenceDataService;
+    private final Cache<String, CachedResponse> responses;
+    private final boolean gzipEnabled;
+    private final int gzipMinSize;
+
+    public ResponseCache(PostVersionService postVersionService, ReferenceDataService referenceDataService,
+            @Value("${response-cache.maximum-size:500}") long maximumSize,
+            @Value("${response-cache.expire-after-write-sec:600}") long expireAfterWriteSec,
+            @Value("${response-cache.gzip-enabled:true}") boolean gzipEnabled,
+            @Value("${response-cache.gzip-min-size:1024}") int gzipMinSize) {
+        this.postVersionService = postVersionService;
+        this.referenceDataService = referenceDataService;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(expireAfterWriteSec))
+                .build();
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    /**
+     * Gets the current version of the data.
+     *
+     * @param group the data
+     * @return version, {@code null} if it is not available and responses should not be cached
+     */
+    public String currentVersion(Group group) {
+        if (group == Group.POSTS) {
+            return postVersionService.getFeedValidators()
+                    .map(PostValidators::getETag)
+                    .orElse(null);
+        }
+        return referenceDataService.getVersion();
+    }
+
+    /**
+     * Gets the response built from the given version of the data.
+     *
+     * @param key path and query of the request
+     * @param version current version of the data
+     * @return the response, {@code null} if it is missing or built from another version
+     */
+    public CachedResponse get(String key, String version) {
+        CachedResponse response = responses.getIfPresent(key);
+        return (response != null && response.getVersion().equals(version)) ? response : null;
+    }
+
+    /**
+     * Stores a response, together with its gzipped body if it is large enough.
+     *
+     * @param key path and query of the request
+     * @param group data the response is built from
+     * @param version version of the data read before building the response
+     * @param contentType content type of the response
+     * @param headers headers to write with the body
+     * @param body serialized body
+     */
+    public void put(String key, Group group, String version, String contentType, Map<String, String> headers,
+            byte[] body) {
+        responses.put(key, CachedResponse.builder()
+                .group(group)
+                .version(version)
+                .contentType(contentType)
+                .headers(Map.copyOf(headers))
+                .body(body)
+                .gzippedBody((gzipEnabled && body.length >= gzipMinSize) ? gzip(body) : null)
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsChanged(PostsChangedEvent event) {
+        evict(Group.POSTS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        evict(Group.REFERENCE_DATA);
+    }
+
+    private void evict(Group group) {
+        responses.asMap().values().removeIf(response -> response.getGroup() == group);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip response", e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,128 @@
+package com.softserveinc.dokazovi.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.softserveinc.dokazovi.controller.EndPoints.DIRECTION;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_IMPORTANT;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_POST_TYPES_AND_ORIGINS;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_TYPE;
+import static com.softserveinc.dokazovi.controller.EndPoints.REGION;
+
+/**
+ * Answers anonymous requests to public endpoints returning the same data to every visitor
+ * with serialized responses from the {@link ResponseCache}, gzipped when the client accepts it.
+ *
+ * <p>Requests with credentials or validators are passed on: the first may get personalized data,
+ * the second are answered with 'NOT MODIFIED' by the endpoints before loading anything.</p>
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Map<String, ResponseCache.Group> CACHED_PATHS = Map.of(
+            POST + POST_LATEST_BY_POST_TYPES_AND_ORIGINS, ResponseCache.Group.POSTS,
+            POST + POST_IMPORTANT, ResponseCache.Group.POSTS,
+            POST + POST_TYPE, ResponseCache.Group.REFERENCE_DATA,
+            DIRECTION, ResponseCache.Group.REFERENCE_DATA,
+            REGION, ResponseCache.Group.REFERENCE_DATA);
+    private static final List<String> CACHED_HEADERS = List.of(
+            HttpHeaders.CACHE_CONTROL, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED);
+    private static final String GZIP = "gzip";
+
+    private final ResponseCache responseCache;
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public ResponseCacheFilter(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null
+                || !CACHED_PATHS.containsKey(urlPathHelper.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        ResponseCache.Group group = CACHED_PATHS.get(path);
+        String version = responseCache.currentVersion(group);
+        if (version == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = (request.getQueryString() != null) ? path + "?" + request.getQueryString() : path;
+        CachedResponse cached = responseCache.get(key, version);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+        if (isCacheable(responseWrapper)) {
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String name : CACHED_HEADERS) {
+                String value = responseWrapper.getHeader(name);
+                if (value != null) {
+                    headers.put(name, value);
+                }
+            }
+            responseCache.put(key, group, version, responseWrapper.getContentType(), headers,
+                    responseWrapper.getContentAsByteArray());
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    /**
+     * Only successful JSON responses without cookies are the same for every visitor.
+     */
+    private static boolean isCacheable(ContentCachingResponseWrapper response) {
+        String contentType = response.getContentType();
+        return response.getStatus() == HttpStatus.OK.value()
+                && contentType != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                && response.getHeader(HttpHeaders.SET_COOKIE) == null
+                && response.getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+    }
+
+    private static void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        byte[] body = cached.getBody();
+        if (cached.getGzippedBody() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+                body = cached.getGzippedBody();
+            }
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.getContentType());
+        cached.getHeaders().forEach(response::setHeader);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains(GZIP);
+    }
+}
@@ -0,0 +1,99 @@
+package com.softserveinc.dokazovi.cache;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+
+/**
+ * Writes cached values in Smile, the binary form of JSON, behind a header with the schema version.
+ *
+ * <p>Values keep their types as {@link RedisSerializer#json()} does, but repeated property names and type names
+ * are written once per value and null properties are skipped. Only application, collection and timestamp
+ * types are read back.</p>
+ *
+ * <p>A value written by another serializer or with another schema version is read as a miss, so it is
+ * reloaded instead of failing. The schema version has to be increased when a cached DTO changes
+ * in a way older values can not be read into.</p>
+ */
+public class SmileCacheSerializer implements RedisSerializer<Object> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmileCacheSerializer.class);
+    private static final byte FORMAT_MARKER = (byte) 0xCA;
+    private static final int HEADER_LENGTH = 3;
+
+    private final int schemaVersion;
+    private final ObjectMapper mapper;
+
+    /**
+     * Creates the serializer.
+     *
+     * @param schemaVersion version of the cached DTOs, from 0 to 65535
+     */
+    public SmileCacheSerializer(int schemaVersion) {
+        if (schemaVersion < 0 || schemaVersion > 0xFFFF) {
+            throw new IllegalArgumentException("Schema version must be from 0 to 65535: " + schemaVersion);
+        }
+        this.schemaVersion = schemaVersion;
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        BasicPolymorphicTypeValidator typeValidator = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.softserveinc.dokazovi.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType(Timestamp.class)
+                .build();
+        this.mapper = new ObjectMapper(factory)
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .activateDefaultTyping(typeValidator, ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        out.write(FORMAT_MARKER);
+        out.write(schemaVersion >>> 8);
+        out.write(schemaVersion);
+        try {
+            mapper.writeValue(out, value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + value.getClass().getName() + " to Smile", e);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[0] != FORMAT_MARKER || versionOf(bytes) != schemaVersion) {
+            return null;
+        }
+        try {
+            return mapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, Object.class);
+        } catch (IOException e) {
+            logger.warn("Failed to read cached value of schema version {}, reading it as a miss", schemaVersion, e);
+            return null;
+        }
+    }
+
+    private static int versionOf(byte[] bytes) {
+        return ((bytes[1] & 0xFF) << 8) | (bytes[2] & 0xFF);
+    }
+}
@@ -0,0 +1,187 @@
+package com.softserveinc.dokazovi.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Read-through cache with a bounded local level in front of a shared remote one.
+ *
+ * <p>Reads are served from the local level first, then from the remote level, then from the loader.
+ * Evictions are applied to both levels and published to the other nodes, so that they drop their
+ * local copies. Without a remote level the cache works as a local one only.</p>
+ *
+ * <p>Failures of the remote level are logged and treated as misses, the local level and the loader
+ * keep serving the reads.</p>
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher publisher;
+
+    /**
+     * Creates the cache.
+     *
+     * @param name name of the cache
+     * @param localSpec size and expiration settings of the local level
+     * @param remote shared remote level, {@code null} for a local cache only
+     * @param publisher publisher of evictions to the other nodes, {@code null} for a single node
+     */
+    public TwoLevelCache(String name, Caffeine<Object, Object> localSpec, Cache remote,
+            CacheInvalidationPublisher publisher) {
+        super(false);
+        this.name = name;
+        this.local = localSpec.build();
+        this.remote = remote;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<String, Object> getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = toLocalKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value == null) {
+            value = remoteGet(key);
+            if (value != null) {
+                local.put(localKey, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value, loading it at most once per node at a time when both levels miss.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) local.get(toLocalKey(key), localKey -> {
+            Object value = remoteGet(key);
+            if (value == null) {
+                value = load(key, valueLoader);
+                remotePut(key, value);
+            }
+            return value;
+        });
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        local.put(toLocalKey(key), value);
+        remotePut(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (remote != null) {
+            try {
+                remote.evict(key);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to evict {} from remote cache {}", key, name, e);
+            }
+        }
+        local.invalidate(toLocalKey(key));
+        publish(toLocalKey(key));
+    }
+
+    @Override
+    public void clear() {
+        if (remote != null) {
+            try {
+                remote.clear();
+            } catch (RuntimeException e) {
+                logger.warn("Failed to clear remote cache {}", name, e);
+            }
+        }
+        local.invalidateAll();
+        publish(null);
+    }
+
+    /**
+     * Drops an entry from the local level only, on an eviction published by another node.
+     */
+    public void evictLocal(String key) {
+        local.invalidate(key);
+    }
+
+    /**
+     * Drops all entries from the local level only, on a clear published by another node.
+     */
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private Object remoteGet(Object key) {
+        if (remote == null) {
+            return null;
+        }
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            return (wrapper != null) ? wrapper.get() : null;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read {} from remote cache {}", key, name, e);
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, Object value) {
+        if (remote == null || value == null) {
+            return;
+        }
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write {} to remote cache {}", key, name, e);
+        }
+    }
+
+    private void publish(String key) {
+        if (publisher == null) {
+            return;
+        }
+        try {
+            publisher.publish(name, key);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to publish invalidation of {} in cache {}", key, name, e);
+        }
+    }
+
+    private static <T> T load(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    /**
+     * Keys are compared as strings, the same way as the remote level and the published evictions do.
+     */
+    private static String toLocalKey(Object key) {
+        return String.valueOf(key);
+    }
+}
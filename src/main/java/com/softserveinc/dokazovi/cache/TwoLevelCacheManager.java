@@ -0,0 +1,77 @@
+package com.softserveinc.dokazovi.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache manager serving the given caches as {@link TwoLevelCache}s and all the others from the delegate.
+ *
+ * <p>Two-level caches are transaction aware: puts and evictions made in a transaction are applied,
+ * and published to the other nodes, after it commits.</p>
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, TwoLevelCache> twoLevelCaches = new HashMap<>();
+    private final Map<String, Cache> decoratedCaches = new HashMap<>();
+
+    /**
+     * Creates the manager.
+     *
+     * @param delegate manager of the other caches
+     * @param remoteCacheManager manager of the remote levels, {@code null} for local caches only
+     * @param publisher publisher of evictions to the other nodes, {@code null} for a single node
+     * @param localSpec size and expiration settings of the local levels
+     * @param twoLevelCacheNames names of the two-level caches
+     */
+    public TwoLevelCacheManager(CacheManager delegate, CacheManager remoteCacheManager,
+            CacheInvalidationPublisher publisher, Caffeine<Object, Object> localSpec,
+            Collection<String> twoLevelCacheNames) {
+        this.delegate = delegate;
+        twoLevelCacheNames.forEach(name -> {
+            Cache remote = (remoteCacheManager != null) ? remoteCacheManager.getCache(name) : null;
+            TwoLevelCache cache = new TwoLevelCache(name, localSpec, remote, publisher);
+            twoLevelCaches.put(name, cache);
+            decoratedCaches.put(name, new TransactionAwareCacheDecorator(cache));
+        });
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = decoratedCaches.get(name);
+        return (cache != null) ? cache : delegate.getCache(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(delegate.getCacheNames());
+        names.addAll(twoLevelCaches.keySet());
+        return names;
+    }
+
+    /**
+     * Applies an eviction published by another node to the local level of the cache.
+     *
+     * @param cacheName name of the cache
+     * @param key key of the entry, {@code null} to clear the whole local level
+     */
+    public void evictLocal(String cacheName, String key) {
+        TwoLevelCache cache = twoLevelCaches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(key);
+        }
+    }
+}
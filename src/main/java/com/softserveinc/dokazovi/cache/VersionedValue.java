@@ -0,0 +1,20 @@
+package com.softserveinc.dokazovi.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cached value stored together with the version of the data it was loaded at, read before loading it,
+ * so that a value loaded before a change and put after the change cleared the cache is recognized as outdated.
+ *
+ * <p>It is not final, so that it is stored with its type in Redis.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionedValue {
+
+    private long version;
+    private Object value;
+}
@@ -19,6 +19,7 @@ public class AppProperties {
         private Long tokenExpirationMsec;
         @Value("${app.auth.refreshTokenExpirationMsec}")
         private Long refreshTokenExpirationMsec;
+        private long verifiedTokenCacheSize = 10_000;
 
         public String getTokenSecret() {
             return tokenSecret;
@@ -43,6 +44,14 @@ public class AppProperties {
         public void setRefreshTokenExpirationMsec(long refreshTokenExpirationMsec) {
             this.refreshTokenExpirationMsec = refreshTokenExpirationMsec;
         }
+
+        public long getVerifiedTokenCacheSize() {
+            return verifiedTokenCacheSize;
+        }
+
+        public void setVerifiedTokenCacheSize(long verifiedTokenCacheSize) {
+            this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+        }
     }
 
     public static final class OAuth2 {
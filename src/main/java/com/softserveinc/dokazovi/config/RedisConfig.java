@@ -1,23 +1,46 @@
 package com.softserveinc.dokazovi.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.softserveinc.dokazovi.cache.CoalescingCacheManager;
+import com.softserveinc.dokazovi.cache.CoalescingPolicy;
+import com.softserveinc.dokazovi.cache.InstrumentedCacheManager;
+import com.softserveinc.dokazovi.cache.NodeLocalCache;
+import com.softserveinc.dokazovi.cache.RedisCacheInvalidationChannel;
+import com.softserveinc.dokazovi.cache.RedisCacheLock;
+import com.softserveinc.dokazovi.cache.SmileCacheSerializer;
+import com.softserveinc.dokazovi.cache.TwoLevelCacheManager;
+import com.softserveinc.dokazovi.repositories.UserRepository;
+import com.softserveinc.dokazovi.security.RedisRefreshTokenStore;
+import com.softserveinc.dokazovi.security.RedisTokenRevocationStore;
+import com.softserveinc.dokazovi.security.TokenRevocationList;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
 
 import java.time.Duration;
+import java.util.List;
 
 @Configuration
 public class RedisConfig {
 
+	public static final String POST_DETAIL_CACHE = "postDetail";
+	public static final String MAIN_PAGE_CACHE = "mainPage";
+	public static final String PRINCIPAL_CACHE = "principal";
+	private static final Duration CACHE_TIME_TO_LIVE = Duration.ofMinutes(15);
+
 	private ApplicationContext applicationContext;
 
 	@Value("${redis.host:127.0.0.1}")
@@ -32,6 +55,30 @@ public class RedisConfig {
 	@Value("${redis.password:none}")
 	private String redisPassword;
 
+	@Value("${post-cache.local.maximum-size:1000}")
+	private long postCacheLocalMaximumSize;
+
+	@Value("${post-cache.local.expire-after-write-sec:60}")
+	private long postCacheLocalExpireAfterWriteSec;
+
+	@Value("${cache-coalescing.lock-lease-ms:30000}")
+	private long cacheCoalescingLockLeaseMs;
+
+	@Value("${cache-coalescing.lock-wait-ms:5000}")
+	private long cacheCoalescingLockWaitMs;
+
+	@Value("${cache-coalescing.poll-interval-ms:50}")
+	private long cacheCoalescingPollIntervalMs;
+
+	@Value("${cache-coalescing.early-refresh-beta:1.0}")
+	private double cacheCoalescingEarlyRefreshBeta;
+
+	@Value("${cache.codec:smile}")
+	private String cacheCodec;
+
+	@Value("${cache.schema-version:1}")
+	private int cacheSchemaVersion;
+
 	public boolean isRedisEnabled() {
 		return redisEnabled;
 	}
@@ -53,20 +100,111 @@ public class RedisConfig {
 		return Companion.redisConnectionFactory;
 	}
 
+	/**
+	 * Creates the cache manager. Missing post details and main page sections are loaded once at a time,
+	 * across the nodes when Redis is enabled, and refreshed shortly before they expire.
+	 * All caches are instrumented with meters tagged with the cache name.
+	 */
+	@Bean
+	@Primary
+	public InstrumentedCacheManager cacheManager(MeterRegistry meterRegistry) {
+		CoalescingPolicy policy = CoalescingPolicy.builder()
+				.timeToLive(CACHE_TIME_TO_LIVE)
+				.lockLease(Duration.ofMillis(cacheCoalescingLockLeaseMs))
+				.lockWait(Duration.ofMillis(cacheCoalescingLockWaitMs))
+				.pollInterval(Duration.ofMillis(cacheCoalescingPollIntervalMs))
+				.earlyRefreshBeta(cacheCoalescingEarlyRefreshBeta)
+				.build();
+		CoalescingCacheManager coalescingCacheManager = new CoalescingCacheManager(twoLevelCacheManager(),
+				redisEnabled ? cacheLock() : null, policy, List.of(POST_DETAIL_CACHE, MAIN_PAGE_CACHE));
+		return new InstrumentedCacheManager(coalescingCacheManager, meterRegistry);
+	}
+
+	/**
+	 * Creates the manager of the cached data. Post details and principals are cached in two levels: a bounded
+	 * local cache in front of Redis, with evictions broadcast to the other nodes. Without Redis all caches are local.
+	 */
 	@Bean
-	public CacheManager cacheManager() {
-		String[] cacheNames = { "viewCount" };
+	public TwoLevelCacheManager twoLevelCacheManager() {
+		String[] cacheNames = { "viewCount", MAIN_PAGE_CACHE };
+		Caffeine<Object, Object> postCacheLocalSpec = Caffeine.newBuilder()
+				.maximumSize(postCacheLocalMaximumSize)
+				.expireAfterWrite(Duration.ofSeconds(postCacheLocalExpireAfterWriteSec));
 		if (redisEnabled) {
 			RedisCacheConfiguration cacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
 					.disableCachingNullValues()
-					.entryTtl(Duration.ofMinutes(15))
+					.entryTtl(CACHE_TIME_TO_LIVE)
+					.computePrefixWith(cacheName ->
+							cacheCodec + ":v" + cacheSchemaVersion + "::" + cacheName + "::")
 					.serializeValuesWith(
 							RedisSerializationContext.SerializationPair.fromSerializer(
-									RedisSerializer.json()));
-			return RedisCacheManager.RedisCacheManagerBuilder.fromConnectionFactory(Companion.redisConnectionFactory)
+									cacheValueSerializer()));
+			RedisCacheManager redisCacheManager = RedisCacheManager.RedisCacheManagerBuilder
+					.fromConnectionFactory(redisConnectionFactory())
 					.cacheDefaults(cacheConfiguration).build();
+			redisCacheManager.afterPropertiesSet();
+			return new TwoLevelCacheManager(redisCacheManager, redisCacheManager, cacheInvalidationChannel(),
+					postCacheLocalSpec, List.of(POST_DETAIL_CACHE, PRINCIPAL_CACHE));
 		} else {
-			return new ConcurrentMapCacheManager(cacheNames);
+			return new TwoLevelCacheManager(new ConcurrentMapCacheManager(cacheNames), null, null,
+					postCacheLocalSpec, List.of(POST_DETAIL_CACHE, PRINCIPAL_CACHE));
+		}
+	}
+
+	/**
+	 * Creates the serializer of the values cached in Redis, compact Smile by default or JSON.
+	 * Keys are prefixed with the codec and the schema version, so that nodes of a rolling deploy
+	 * with different cached DTOs do not read each other's entries.
+	 */
+	private RedisSerializer<Object> cacheValueSerializer() {
+		if ("json".equalsIgnoreCase(cacheCodec)) {
+			return RedisSerializer.json();
 		}
+		return new SmileCacheSerializer(cacheSchemaVersion);
+	}
+
+	/**
+	 * Creates the denylist of access tokens, shared by the nodes through Redis when it is enabled.
+	 */
+	@Bean
+	public TokenRevocationList tokenRevocationList(UserRepository userRepository, AppProperties appProperties) {
+		return new TokenRevocationList(
+				redisEnabled ? new RedisTokenRevocationStore(new StringRedisTemplate(redisConnectionFactory())) : null,
+				userRepository, appProperties.getAuth().getTokenExpirationMsec());
+	}
+
+	/**
+	 * Creates the store of refresh tokens in Redis, used instead of the database one when it is selected.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "refresh-token.store", havingValue = "redis")
+	public RedisRefreshTokenStore refreshTokenStore() {
+		return new RedisRefreshTokenStore(new StringRedisTemplate(redisConnectionFactory()));
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "redis.enabled", havingValue = "true")
+	public RedisCacheInvalidationChannel cacheInvalidationChannel() {
+		return new RedisCacheInvalidationChannel(new StringRedisTemplate(redisConnectionFactory()));
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "redis.enabled", havingValue = "true")
+	public RedisCacheLock cacheLock() {
+		return new RedisCacheLock(new StringRedisTemplate(redisConnectionFactory()));
+	}
+
+	/**
+	 * Creates the container receiving the evictions published by the other nodes, both of the two-level caches
+	 * and of the data every node keeps in memory on its own.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "redis.enabled", havingValue = "true")
+	public RedisMessageListenerContainer cacheInvalidationListenerContainer(List<NodeLocalCache> nodeLocalCaches) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(redisConnectionFactory());
+		container.addMessageListener(cacheInvalidationChannel().listener(twoLevelCacheManager(), nodeLocalCaches),
+				RedisCacheInvalidationChannel.TOPIC);
+		return container;
 	}
 }
@@ -0,0 +1,23 @@
+package com.softserveinc.dokazovi.config;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the SQL functions which JPQL and criteria queries can not express otherwise.
+ *
+ * <p>{@code uk_upper(text)} upper-cases the text under the Ukrainian ICU collation, the same expression
+ * the posts title trigram index is built on, so criteria queries matching titles with it can use the index.</p>
+ */
+public class SqlFunctionsContributor implements MetadataBuilderContributor {
+
+    public static final String UK_UPPER = "uk_upper";
+
+    @Override
+    public void contribute(MetadataBuilder metadataBuilder) {
+        metadataBuilder.applySqlFunction(UK_UPPER, new SQLFunctionTemplate(StandardBasicTypes.STRING,
+                "UPPER((?1) COLLATE \"uk-ua-dokazovi-x-icu\")"));
+    }
+}
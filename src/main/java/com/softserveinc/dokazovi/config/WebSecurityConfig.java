@@ -1,5 +1,7 @@
 package com.softserveinc.dokazovi.config;
 
+import com.softserveinc.dokazovi.cache.ResponseCache;
+import com.softserveinc.dokazovi.cache.ResponseCacheFilter;
 import com.softserveinc.dokazovi.security.CustomUserDetailsService;
 import com.softserveinc.dokazovi.security.RestAuthenticationEntryPoint;
 import com.softserveinc.dokazovi.security.TokenAuthenticationFilter;
@@ -17,7 +19,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -53,26 +54,36 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 
 	private final OAuth2AuthenticationFailureHandler oauth2AuthenticationFailureHandler;
 
+	private final ResponseCache responseCache;
+
+	private final PasswordEncoder passwordEncoder;
+
 	@Autowired
 	public WebSecurityConfig(CustomUserDetailsService customUserDetailsService,
 			CustomOAuth2UserService customOAuth2UserService,
 			OAuth2AuthenticationSuccessHandler oauth2AuthenticationSuccessHandler,
-			OAuth2AuthenticationFailureHandler oauth2AuthenticationFailureHandler) {
+			OAuth2AuthenticationFailureHandler oauth2AuthenticationFailureHandler,
+			ResponseCache responseCache, PasswordEncoder passwordEncoder) {
 		this.customUserDetailsService = customUserDetailsService;
 		this.customOAuth2UserService = customOAuth2UserService;
 		this.oauth2AuthenticationSuccessHandler = oauth2AuthenticationSuccessHandler;
 		this.oauth2AuthenticationFailureHandler = oauth2AuthenticationFailureHandler;
+		this.responseCache = responseCache;
+		this.passwordEncoder = passwordEncoder;
 	}
 
 	public WebSecurityConfig(boolean disableDefaults, CustomUserDetailsService customUserDetailsService,
 			CustomOAuth2UserService customOAuth2UserService,
 			OAuth2AuthenticationSuccessHandler oauth2AuthenticationSuccessHandler,
-			OAuth2AuthenticationFailureHandler oauth2AuthenticationFailureHandler) {
+			OAuth2AuthenticationFailureHandler oauth2AuthenticationFailureHandler,
+			ResponseCache responseCache, PasswordEncoder passwordEncoder) {
 		super(disableDefaults);
 		this.customUserDetailsService = customUserDetailsService;
 		this.customOAuth2UserService = customOAuth2UserService;
 		this.oauth2AuthenticationSuccessHandler = oauth2AuthenticationSuccessHandler;
 		this.oauth2AuthenticationFailureHandler = oauth2AuthenticationFailureHandler;
+		this.responseCache = responseCache;
+		this.passwordEncoder = passwordEncoder;
 	}
 
 	@Bean
@@ -85,11 +96,6 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 		return new HttpCookieOAuth2AuthorizationRequestRepository();
 	}
 
-	@Bean
-	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
-	}
-
 	@Bean(BeanIds.AUTHENTICATION_MANAGER)
 	@Override
 	public AuthenticationManager authenticationManagerBean() throws Exception {
@@ -114,11 +120,13 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 					.and()
 				.authorizeRequests()
 				.antMatchers("/v3/api-docs/**", "/configuration/**", "/swagger*/**", "/webjars/**",
-						"/auth/**", "/oauth2/**")
+						"/auth/**", "/oauth2/**", "/actuator/health/**")
 					.permitAll()
 				.antMatchers(openApi(USER), openApi(POST), openApi(TAG), openApi(DIRECTION), openApi(REGION),
 							 openApi(VERSION), openApi(POST_TYPES), openApi(ORIGIN), openApi(PLATFORM_INFORMATION))
 					.permitAll()
+				.antMatchers("/actuator/metrics/**")
+					.hasAuthority("EDIT_AUTHOR")
 				.anyRequest()
 					.authenticated()
 					.and()
@@ -137,12 +145,13 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
 				.failureHandler(oauth2AuthenticationFailureHandler);
 
 		http.addFilterBefore(tokenAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+		http.addFilterAfter(new ResponseCacheFilter(responseCache), UsernamePasswordAuthenticationFilter.class);
 	}
 
 	@Override
 	public void configure(AuthenticationManagerBuilder authenticationManagerBuilder) throws Exception {
 		authenticationManagerBuilder
 				.userDetailsService(customUserDetailsService)
-				.passwordEncoder(passwordEncoder());
+				.passwordEncoder(passwordEncoder);
 	}
 }
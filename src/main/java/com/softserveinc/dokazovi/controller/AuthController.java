@@ -4,7 +4,6 @@ import com.softserveinc.dokazovi.dto.payload.AuthResponse;
 import com.softserveinc.dokazovi.dto.payload.LoginRequest;
 import com.softserveinc.dokazovi.dto.payload.RefreshToken;
 import com.softserveinc.dokazovi.dto.payload.RefreshTokenRequest;
-import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.exception.TokenRefreshException;
 import com.softserveinc.dokazovi.security.TokenProvider;
@@ -67,18 +66,12 @@ public class AuthController {
                 )
         );
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        UserEntity userEntity = userService.findByEmail(loginRequest.getEmail());
-        if (!userEntity.getEnabled()) {
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        if (!userPrincipal.isEmailConfirmed()) {
             throw new BadRequestException("Please confirm your email!");
         } else {
-            RefreshToken refreshToken = refreshTokenService.createRefreshToken(userEntity.getId());
-            ResponseCookie refreshTokenCookie = ResponseCookie.from("refreshToken", refreshToken.getToken())
-                    .httpOnly(true)
-                    .secure(true)
-                    .domain("dokazovi-sb-fe.herokuapp.com")
-                    .sameSite("none")
-                    .build();
-            response.setHeader(HttpHeaders.SET_COOKIE, refreshTokenCookie.toString());
+            RefreshToken refreshToken = refreshTokenService.createRefreshToken(userPrincipal.getId());
+            setRefreshTokenCookie(response, refreshToken);
             String token = tokenProvider.createToken(authentication);
             AuthResponse authResponse = new AuthResponse(token, refreshToken.getToken());
             authResponse.setAccessToken(token);
@@ -86,18 +79,36 @@ public class AuthController {
         }
     }
 
+    /**
+     * Exchanges the refresh token for a new access token.
+     *
+     * <p>The refresh token is rotated: it is used up and a new one is returned and set as the cookie.</p>
+     *
+     * @param request data class that stores the refresh token
+     * @return new access token and the refresh token to use next time
+     */
     @PostMapping(REFRESH_TOKEN)
-    public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+    public ResponseEntity<AuthResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest request,
+            HttpServletResponse response) {
         String requestRefreshToken = request.getRefreshToken();
 
-        return refreshTokenService.findByToken(requestRefreshToken)
-                .map(refreshTokenService::verifyExpiration)
-                .map(RefreshToken::getUser)
-                .map(user -> {
-                    String token = tokenProvider.createToken(UserPrincipal.create(user));
-                    return ResponseEntity.ok(new AuthResponse(token, requestRefreshToken));
+        return refreshTokenService.refresh(requestRefreshToken)
+                .map(refreshToken -> {
+                    String token = tokenProvider.createToken(UserPrincipal.create(refreshToken.getUser()));
+                    setRefreshTokenCookie(response, refreshToken);
+                    return ResponseEntity.ok(new AuthResponse(token, refreshToken.getToken()));
                 })
                 .orElseThrow(() -> new TokenRefreshException(requestRefreshToken,
                         "Refresh token is not in database!"));
     }
+
+    private static void setRefreshTokenCookie(HttpServletResponse response, RefreshToken refreshToken) {
+        ResponseCookie refreshTokenCookie = ResponseCookie.from("refreshToken", refreshToken.getToken())
+                .httpOnly(true)
+                .secure(true)
+                .domain("dokazovi-sb-fe.herokuapp.com")
+                .sameSite("none")
+                .build();
+        response.setHeader(HttpHeaders.SET_COOKIE, refreshTokenCookie.toString());
+    }
 }
@@ -0,0 +1,44 @@
+package com.softserveinc.dokazovi.controller;
+
+import com.softserveinc.dokazovi.dto.cache.CacheMetricsDTO;
+import com.softserveinc.dokazovi.service.CacheMetricsService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.Authorization;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static com.softserveinc.dokazovi.controller.EndPoints.CACHE;
+import static com.softserveinc.dokazovi.controller.EndPoints.CACHE_METRICS;
+
+/**
+ * The Cache controller responsible for reporting how the application caches are used.
+ */
+@RestController
+@RequestMapping(CACHE)
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheMetricsService cacheMetricsService;
+
+    /**
+     * Gets hits, misses, load times, evictions and sizes of the caches on the node serving the request.
+     *
+     * @return metrics of every cache and 'OK' HttpStatus
+     */
+    @GetMapping(CACHE_METRICS)
+    @PreAuthorize("hasAuthority('EDIT_AUTHOR')")
+    @ApiOperation(value = "Get metrics of the caches on this node",
+            authorizations = {@Authorization(value = "Authorization")})
+    public ResponseEntity<List<CacheMetricsDTO>> getCacheMetrics() {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(cacheMetricsService.getCacheMetrics());
+    }
+}
@@ -1,9 +1,12 @@
 package com.softserveinc.dokazovi.controller;
 
 import com.softserveinc.dokazovi.dto.city.CityDTO;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
 import com.softserveinc.dokazovi.service.CityService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,13 +25,17 @@ import static com.softserveinc.dokazovi.controller.EndPoints.CITY;
 public class CityController {
 
     private final CityService cityService;
+    private final ReferenceDataService referenceDataService;
 
     @GetMapping
     @ApiOperation("Get all cities")
     public ResponseEntity<List<CityDTO>> getAllCities() {
+        ReferenceData<CityDTO> cities = referenceDataService.getCities();
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(cityService.findAllCities());
+                .cacheControl(CacheControl.noCache())
+                .eTag(cities.getETag())
+                .body(cities.getItems());
     }
 
     @GetMapping(CITIES_BY_REGION)
@@ -36,6 +43,8 @@ public class CityController {
     public ResponseEntity<List<CityDTO>> getAllCitiesByRegion(@PathVariable Integer regionId) {
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache())
+                .eTag(referenceDataService.getCities().getETag())
                 .body(cityService.findAllCitiesByRegion(regionId));
     }
 }
\ No newline at end of file
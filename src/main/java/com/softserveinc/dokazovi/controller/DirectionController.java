@@ -1,9 +1,12 @@
 package com.softserveinc.dokazovi.controller;
 
 import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
 import com.softserveinc.dokazovi.service.DirectionService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,18 +28,25 @@ import static com.softserveinc.dokazovi.controller.EndPoints.POST_GET_USER_BY_ID
 public class DirectionController {
 
     private final DirectionService directionService;
+    private final ReferenceDataService referenceDataService;
 
     /**
-     * Gets all directions from the database.
+     * Gets all directions from the reference data.
+     *
+     * <p>Responds with a strong ETag of the data and with HttpStatus 'NOT MODIFIED'
+     * when it matches the If-None-Match header.</p>
      *
      * @return list of all directions and 'OK' HttpStatus
      */
     @GetMapping
     @ApiOperation(value = "Get all directions")
     public ResponseEntity<List<DirectionDTO>> getAllDirections() {
+        ReferenceData<DirectionDTO> directions = referenceDataService.getDirections();
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(directionService.findAllDirections());
+                .cacheControl(CacheControl.noCache())
+                .eTag(directions.getETag())
+                .body(directions.getItems());
     }
 
     /**
@@ -65,6 +65,9 @@ public final class EndPoints {
     public static final String POST_LOGS = "/post-logs";
     public static final String POST_LOG_BY_ID = "/{logId}";
     public static final String POST_GET_POST_DATE_BY_ID = "/{postId}/date";
+    public static final String POST_SEARCH = "/search";
+    public static final String CACHE = "/cache";
+    public static final String CACHE_METRICS = "/metrics";
 
     /**
      * Method that adds slash after each endpoint while calling
@@ -1,9 +1,11 @@
 package com.softserveinc.dokazovi.controller;
 
 import com.softserveinc.dokazovi.dto.origin.OriginDTO;
-import com.softserveinc.dokazovi.service.OriginService;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,18 +21,24 @@ import static com.softserveinc.dokazovi.controller.EndPoints.ORIGIN;
 @RequestMapping(ORIGIN)
 @RequiredArgsConstructor
 public class OriginController {
-    private final OriginService originService;
+    private final ReferenceDataService referenceDataService;
 
     /**
-     * This method will get all origins from database.
+     * This method will get all origins from the reference data.
+     *
+     * <p>Responds with a strong ETag of the data and with HttpStatus 'NOT MODIFIED'
+     * when it matches the If-None-Match header.</p>
      *
      * @return list of all origins and 'OK' HttpStatus
      */
     @GetMapping
     @ApiOperation(value = "Get all origins")
     public ResponseEntity<List<OriginDTO>> getAllOrigins() {
+        ReferenceData<OriginDTO> origins = referenceDataService.getOrigins();
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(originService.findAllOrigins());
+                .cacheControl(CacheControl.noCache())
+                .eTag(origins.getETag())
+                .body(origins.getItems());
     }
 }
\ No newline at end of file
@@ -3,16 +3,24 @@ package com.softserveinc.dokazovi.controller;
 import com.softserveinc.dokazovi.annotations.ApiPageable;
 import com.softserveinc.dokazovi.dto.author.AuthorDTOForUpdatingPost;
 import com.softserveinc.dokazovi.dto.payload.ApiResponseMessage;
+import com.softserveinc.dokazovi.dto.payload.CursorPageDTO;
+import com.softserveinc.dokazovi.dto.payload.SliceDTO;
 import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
 import com.softserveinc.dokazovi.dto.post.PostPublishedAtDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostSearchResultDTO;
 import com.softserveinc.dokazovi.dto.post.PostStatusDTO;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
 import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.pojo.PostCursor;
+import com.softserveinc.dokazovi.pojo.PostValidators;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
 import com.softserveinc.dokazovi.security.UserPrincipal;
 import com.softserveinc.dokazovi.service.PostService;
-import com.softserveinc.dokazovi.service.PostTypeService;
+import com.softserveinc.dokazovi.service.PostVersionService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import io.swagger.annotations.ApiResponse;
@@ -24,6 +32,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -38,12 +47,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static com.softserveinc.dokazovi.controller.EndPoints.BY_USER_ENDPOINT;
@@ -61,6 +72,7 @@ import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_EXPE
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_EXPERT_AND_STATUS;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_POST_TYPES_AND_ORIGINS;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_POST_TYPES_AND_ORIGINS_FOR_MOBILE;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_SEARCH;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_SET_AUTHOR;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_SET_DESIRED_VIEWS;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_SET_IMPORTANT;
@@ -70,14 +82,24 @@ import static com.softserveinc.dokazovi.controller.EndPoints.POST_VIEW_COUNT;
 
 /**
  * The Post controller responsible for handling requests for posts.
+ *
+ * <p>Only the latest published posts, the latest posts by direction and the latest posts by expert can be read
+ * in cursor mode, the other feeds are paged by page number. The cursor is the publication date and id of the last
+ * post, so it fits the feeds ordered by publication date only, not the important posts, search results, main page
+ * sections or the filtered feeds sorted by the client.</p>
  */
 @RestController
 @RequestMapping(POST)
 @RequiredArgsConstructor
 public class PostController {
 
+    private static final String CURSOR_MODE_NOTES = "Cursor mode is supported only by " + POST + POST_LATEST + ", "
+            + POST + POST_LATEST_BY_DIRECTION + " and " + POST + POST_LATEST_BY_EXPERT
+            + ", the other post feeds are paged by page number.";
+
     private final PostService postService;
-    private final PostTypeService postTypeService;
+    private final ReferenceDataService referenceDataService;
+    private final PostVersionService postVersionService;
 
     /**
      * Saves(creates) new post.
@@ -106,30 +128,118 @@ public class PostController {
     /**
      * Finds latest published posts.
      *
+     * <p>If no post has changed since the client's copy, returns HttpStatus 'NOT MODIFIED' without loading posts.</p>
+     *
      * @param pageable interface for pagination information
+     * @param webRequest request with the client's validators
      * @return page with found posts and 'OK' httpStatus
      */
     @GetMapping(POST_LATEST)
     @ApiPageable
     @ApiOperation(value = "Find latest published posts")
-    public ResponseEntity<Page<PostDTO>> findLatestPublished(
-            @PageableDefault(sort = {"createdAt", "id"}, direction = Sort.Direction.DESC) Pageable pageable) {
+    public ResponseEntity<Page<PostSummaryDTO>> findLatestPublished(
+            @PageableDefault(sort = {"createdAt", "id"}, direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest, postVersionService.getFeedValidators())) {
+            return null;
+        }
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache())
                 .body(postService.findAllByStatus(PostStatus.PUBLISHED, pageable));
     }
 
+    /**
+     * Finds latest published posts using a cursor instead of a page number.
+     *
+     * <p>The cost of a page does not depend on how far the client has scrolled
+     * and no total count is calculated.</p>
+     *
+     * @param cursor cursor returned with the previous page, empty for the first page
+     * @param size number of posts on the page
+     * @param webRequest request with the client's validators
+     * @return page with found posts, cursor of the next page and 'OK' httpStatus
+     */
+    @GetMapping(value = POST_LATEST, params = "cursor")
+    @ApiOperation(value = "Find latest published posts, cursor mode", notes = CURSOR_MODE_NOTES)
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> findLatestPublishedByCursor(
+            @ApiParam(value = "Cursor returned with the previous page, empty for the first page")
+            @RequestParam String cursor,
+            @ApiParam(value = "Number of posts on the page")
+            @RequestParam(defaultValue = "20") Integer size,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest, postVersionService.getFeedValidators())) {
+            return null;
+        }
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache())
+                .body(postService.findLatestByCursor(PostStatus.PUBLISHED, PostCursor.decode(cursor), size));
+    }
+
+    /**
+     * Finds latest published posts without counting them.
+     *
+     * @param pageable interface for pagination information
+     * @param approximateTotal whether the approximate number of posts is needed
+     * @param webRequest request with the client's validators
+     * @return slice with found posts and 'OK' httpStatus
+     */
+    @GetMapping(value = POST_LATEST, params = "slice=true")
+    @ApiPageable
+    @ApiOperation(value = "Find latest published posts, slice mode")
+    public ResponseEntity<SliceDTO<PostSummaryDTO>> findLatestPublishedSlice(
+            @PageableDefault(sort = {"createdAt", "id"}, direction = Sort.Direction.DESC) Pageable pageable,
+            @ApiParam(value = "Whether the approximate number of posts is needed")
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            WebRequest webRequest) {
+        if (isNotModified(webRequest, postVersionService.getFeedValidators())) {
+            return null;
+        }
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache())
+                .body(postService.findSliceByStatus(PostStatus.PUBLISHED, pageable, approximateTotal));
+    }
+
+    /**
+     * Searches published posts by title, preview and content.
+     *
+     * @param query search words, quoted phrases and "-word" exclusions are supported
+     * @param pageable interface for pagination information
+     * @return page with found posts sorted by relevance and 'OK' httpStatus
+     */
+    @GetMapping(POST_SEARCH)
+    @ApiPageable
+    @ApiOperation(value = "Search published posts")
+    public ResponseEntity<Page<PostSearchResultDTO>> search(
+            @ApiParam(value = "Search words, quoted phrases and \"-word\" exclusions are supported")
+            @RequestParam String query,
+            @PageableDefault Pageable pageable) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(postService.searchPublished(query, pageable));
+    }
+
     /**
      * Finds important posts.
      *
+     * <p>If no post has changed since the client's copy, returns HttpStatus 'NOT MODIFIED' without loading posts.</p>
+     *
+     * @param pageable interface for pagination information
+     * @param webRequest request with the client's validators
      * @return page with all posts with important status and HttpStatus 'OK'
      */
     @GetMapping(POST_IMPORTANT)
     @ApiPageable
     @ApiOperation(value = "Find important posts")
-    public ResponseEntity<Page<PostDTO>> findImportant(Pageable pageable) {
+    public ResponseEntity<Page<PostSummaryDTO>> findImportant(Pageable pageable, WebRequest webRequest) {
+        if (isNotModified(webRequest, postVersionService.getFeedValidators())) {
+            return null;
+        }
         return ResponseEntity
                 .status(HttpStatus.OK)
+                .cacheControl(CacheControl.noCache())
                 .body(postService.findImportantPosts(pageable));
     }
 
@@ -163,7 +273,7 @@ public class PostController {
     @GetMapping(POST_LATEST_BY_DIRECTION)
     @ApiPageable
     @ApiOperation(value = "Find latest posts by direction")
-    public ResponseEntity<Page<PostDTO>> findLatestByDirection(
+    public ResponseEntity<Page<PostSummaryDTO>> findLatestByDirection(
             @PageableDefault(size = 6, sort = {"createdAt", "id"}, direction = Sort.Direction.DESC) Pageable pageable,
             @ApiParam(value = "Direction id")
             @RequestParam Integer direction,
@@ -176,6 +286,64 @@ public class PostController {
                 .body(postService.findAllByDirection(direction, type, tag, PostStatus.PUBLISHED, pageable));
     }
 
+    /**
+     * Finds latest posts by direction id using a cursor instead of a page number.
+     *
+     * @param cursor cursor returned with the previous page, empty for the first page
+     * @param size number of posts on the page
+     * @param direction direction id
+     * @param type type ids
+     * @param tag tag ids
+     * @return page with found posts, cursor of the next page and HttpStatus 'OK'
+     */
+    @GetMapping(value = POST_LATEST_BY_DIRECTION, params = "cursor")
+    @ApiOperation(value = "Find latest posts by direction, cursor mode", notes = CURSOR_MODE_NOTES)
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> findLatestByDirectionByCursor(
+            @ApiParam(value = "Cursor returned with the previous page, empty for the first page")
+            @RequestParam String cursor,
+            @ApiParam(value = "Number of posts on the page")
+            @RequestParam(defaultValue = "6") Integer size,
+            @ApiParam(value = "Direction id")
+            @RequestParam Integer direction,
+            @ApiParam(value = "You can use multiple comma-separated type IDs, e.g. ?type=1,2,3,4", type = "string")
+            @RequestParam(required = false) Set<Integer> type,
+            @ApiParam(value = "You can use multiple comma-separated tag IDs, e.g. ?tag=1,2,3,4", type = "string")
+            @RequestParam(required = false) Set<Integer> tag) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(postService.findLatestByDirectionAndCursor(
+                        direction, type, tag, PostCursor.decode(cursor), size));
+    }
+
+    /**
+     * Finds latest posts by direction id without counting them.
+     *
+     * @param pageable interface for pagination information
+     * @param direction direction id
+     * @param type type ids
+     * @param tag tag ids
+     * @param approximateTotal whether the approximate number of posts is needed
+     * @return slice with found posts and HttpStatus 'OK'
+     */
+    @GetMapping(value = POST_LATEST_BY_DIRECTION, params = "slice=true")
+    @ApiPageable
+    @ApiOperation(value = "Find latest posts by direction, slice mode")
+    public ResponseEntity<SliceDTO<PostSummaryDTO>> findLatestByDirectionSlice(
+            @PageableDefault(size = 6, sort = {"createdAt", "id"}, direction = Sort.Direction.DESC) Pageable pageable,
+            @ApiParam(value = "Direction id")
+            @RequestParam Integer direction,
+            @ApiParam(value = "You can use multiple comma-separated type IDs, e.g. ?type=1,2,3,4", type = "string")
+            @RequestParam(required = false) Set<Integer> type,
+            @ApiParam(value = "You can use multiple comma-separated tag IDs, e.g. ?tag=1,2,3,4", type = "string")
+            @RequestParam(required = false) Set<Integer> tag,
+            @ApiParam(value = "Whether the approximate number of posts is needed")
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(postService.findSliceByDirection(
+                        direction, type, tag, PostStatus.PUBLISHED, pageable, approximateTotal));
+    }
+
     /**
      * findLatestByExpert method returns latest post by expert id.
      *
@@ -187,7 +355,7 @@ public class PostController {
     @GetMapping(POST_LATEST_BY_EXPERT)
     @ApiPageable
     @ApiOperation(value = "Find latest posts by some expert")
-    public ResponseEntity<Page<PostDTO>> findLatestByExpert(
+    public ResponseEntity<Page<PostSummaryDTO>> findLatestByExpert(
             @PageableDefault Pageable pageable,
             @ApiParam(value = "Expert's id")
             @RequestParam Integer expert,
@@ -211,7 +379,7 @@ public class PostController {
     @GetMapping(POST_LATEST_BY_EXPERT_AND_STATUS)
     @ApiPageable
     @ApiOperation(value = "Find latest posts by some expert and status")
-    public ResponseEntity<Page<PostDTO>> findLatestByExpert(
+    public ResponseEntity<Page<PostSummaryDTO>> findLatestByExpert(
             @PageableDefault Pageable pageable,
             @ApiParam(value = "Expert's id")
             @RequestParam Integer expert,
@@ -225,35 +393,117 @@ public class PostController {
     }
 
     /**
-     * Gets all post types from db.
+     * Finds latest posts by expert id using a cursor instead of a page number.
+     *
+     * @param cursor cursor returned with the previous page, empty for the first page
+     * @param size number of posts on the page
+     * @param expert expert id
+     * @param type post type id
+     * @param direction direction id
+     * @return page with found posts, cursor of the next page and HttpStatus 'OK'
+     */
+    @GetMapping(value = POST_LATEST_BY_EXPERT, params = "cursor")
+    @ApiOperation(value = "Find latest posts by some expert, cursor mode", notes = CURSOR_MODE_NOTES)
+    public ResponseEntity<CursorPageDTO<PostSummaryDTO>> findLatestByExpertByCursor(
+            @ApiParam(value = "Cursor returned with the previous page, empty for the first page")
+            @RequestParam String cursor,
+            @ApiParam(value = "Number of posts on the page")
+            @RequestParam(defaultValue = "20") Integer size,
+            @ApiParam(value = "Expert's id")
+            @RequestParam Integer expert,
+            @ApiParam(value = "Post type id")
+            @RequestParam(required = false) Set<Integer> type,
+            @ApiParam(value = "Direction id")
+            @RequestParam(required = false) Set<Integer> direction) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(postService.findLatestByExpertAndCursor(
+                        expert, type, direction, PostCursor.decode(cursor), size));
+    }
+
+    /**
+     * Finds latest posts by expert id without counting them.
+     *
+     * @param pageable interface for pagination information
+     * @param expert expert id
+     * @param type post type id
+     * @param direction direction id
+     * @param approximateTotal whether the approximate number of posts is needed
+     * @return slice with found posts and HttpStatus 'OK'
+     */
+    @GetMapping(value = POST_LATEST_BY_EXPERT, params = "slice=true")
+    @ApiPageable
+    @ApiOperation(value = "Find latest posts by some expert, slice mode")
+    public ResponseEntity<SliceDTO<PostSummaryDTO>> findLatestByExpertSlice(
+            @PageableDefault Pageable pageable,
+            @ApiParam(value = "Expert's id")
+            @RequestParam Integer expert,
+            @ApiParam(value = "Post type id")
+            @RequestParam(required = false) Set<Integer> type,
+            @ApiParam(value = "Direction id")
+            @RequestParam(required = false) Set<Integer> direction,
+            @ApiParam(value = "Whether the approximate number of posts is needed")
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(postService.findSliceByExpertAndTypeAndDirections(
+                        expert, type, direction, pageable, approximateTotal));
+    }
+
+    /**
+     * Gets all post types from the reference data.
+     *
+     * <p>Responds with a strong ETag of the data and with HttpStatus 'NOT MODIFIED'
+     * when it matches the If-None-Match header.</p>
      *
      * @return list with all post types and HttpStatus 'OK'
      */
     @GetMapping(POST_TYPE)
     @ApiOperation(value = "Find all types of posts")
     public ResponseEntity<List<PostTypeDTO>> findAllPostType() {
+        ReferenceData<PostTypeDTO> postTypes = referenceDataService.getPostTypes();
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(postTypeService.findAll());
+                .cacheControl(CacheControl.noCache())
+                .eTag(postTypes.getETag())
+                .body(postTypes.getItems());
     }
 
     /**
      * Gets post by its id.
      *
-     * <p> Checks if found post exists, if no - returns HttpStatus 'NOT FOUND'.</p>
+     * <p> Checks if found post exists, if no - returns HttpStatus 'NOT FOUND'.
+     * If the post has not changed since the client's copy, returns HttpStatus 'NOT MODIFIED' without loading it.</p>
      *
      * @param postId id of post that we want to get
+     * @param webRequest request with the client's validators
      * @return found post and HttpStatus 'OK'
      */
     @GetMapping(POST_GET_POST_BY_ID)
     @ApiOperation(value = "Get post by Id, as a path variable.")
-    public ResponseEntity<PostDTO> getPostById(@PathVariable("postId") Integer postId) {
+    public ResponseEntity<PostDTO> getPostById(@PathVariable("postId") Integer postId, WebRequest webRequest) {
+        if (isNotModified(webRequest, postVersionService.getPostValidators(postId))) {
+            return null;
+        }
         PostDTO postDTO = postService.findPostById(postId);
         return ResponseEntity
                 .status((postDTO != null) ? HttpStatus.OK : HttpStatus.NOT_FOUND)
+                .cacheControl(CacheControl.noCache())
                 .body(postDTO);
     }
 
+    /**
+     * Checks the client's If-None-Match and If-Modified-Since headers against the validators.
+     *
+     * <p>Sets 'NOT MODIFIED' status when they match, otherwise adds the validators to the response.</p>
+     */
+    private static boolean isNotModified(WebRequest webRequest, Optional<PostValidators> validators) {
+        return validators
+                .map(postValidators -> webRequest.checkNotModified(
+                        postValidators.getETag(), postValidators.getLastModified()))
+                .orElse(false);
+    }
+
     /**
      * Gets all posts by directions by post types and by origins.
      *
@@ -267,7 +517,7 @@ public class PostController {
      */
     @GetMapping(POST_ALL_POSTS)
     @ApiOperation(value = "Get posts, filtered by directions, post types and origins.")
-    public ResponseEntity<Page<PostDTO>> getAllPostsByDirectionsByPostTypesAndByOrigins(
+    public ResponseEntity<Page<PostSummaryDTO>> getAllPostsByDirectionsByPostTypesAndByOrigins(
             @PageableDefault(sort = {"modified_at"}, direction = Sort.Direction.DESC) Pageable pageable,
             @ApiParam(value = "Multiple comma-separated direction's IDs, e.g. ?directions=1,2,3,4...", type = "string")
             @RequestParam(required = false) Set<Integer> directions,
@@ -311,7 +561,7 @@ public class PostController {
      */
     @GetMapping(POST_ALL_POSTS + BY_USER_ENDPOINT)
     @ApiOperation(value = "Get posts, filtered by directions, post types and origins.")
-    public ResponseEntity<Page<PostDTO>> getAllPostsForUserByDirectionsByPostTypesAndByOrigins(
+    public ResponseEntity<Page<PostSummaryDTO>> getAllPostsForUserByDirectionsByPostTypesAndByOrigins(
             @PageableDefault(sort = {"modified_at"}, direction = Sort.Direction.DESC) Pageable pageable,
             @ApiParam(value = "Multiple comma-separated direction's IDs, e.g. ?directions=1,2,3,4...", type = "string")
             @RequestParam(required = false) Set<Integer> directions,
@@ -410,11 +660,11 @@ public class PostController {
      */
     @GetMapping(POST_GET_POST_BY_AUTHOR_ID_AND_DIRECTIONS)
     @ApiOperation(value = "Get post by author Id, as a path variable, and directions.")
-    public ResponseEntity<Page<PostDTO>> getPostsByAuthorIdAndDirections(
+    public ResponseEntity<Page<PostSummaryDTO>> getPostsByAuthorIdAndDirections(
             @PageableDefault(size = 12) Pageable pageable, @NotNull Integer authorId,
             @ApiParam(value = "Multiple comma-separated direction IDs, e.g. ?directions=1,2,3,4", type = "string")
             @RequestParam(required = false) @NotNull Set<Integer> directions) {
-        Page<PostDTO> posts = postService
+        Page<PostSummaryDTO> posts = postService
                 .findPostsByAuthorIdAndDirections(pageable, authorId, directions);
         return ResponseEntity
                 .status((posts.getTotalElements() != 0) ? HttpStatus.OK : HttpStatus.NOT_FOUND)
@@ -478,7 +728,7 @@ public class PostController {
             authorizations = {@Authorization(value = "Authorization")})
     @GetMapping(POST_GET_BY_IMPORTANT_IMAGE)
     @PreAuthorize("hasAuthority('SET_IMPORTANCE')")
-    public ResponseEntity<Page<PostDTO>> findPublishedNotImportantPostsSortedByImportantImagePresence(
+    public ResponseEntity<Page<PostSummaryDTO>> findPublishedNotImportantPostsSortedByImportantImagePresence(
             @PageableDefault Pageable pageable,
             @ApiParam(value = "Multiple comma-separated direction IDs, e.g. ?directions=1,2,3,4", type = "string")
             @RequestParam(defaultValue = "") Set<Integer> directions,
@@ -486,8 +736,9 @@ public class PostController {
             @RequestParam(defaultValue = "") Set<Integer> types,
             @ApiParam(value = "Multiple comma-separated origins IDs, e.g. ?origins=1,2,3,4...", type = "string")
             @RequestParam(defaultValue = "") Set<Integer> origins) {
-        Page<PostDTO> posts = postService.findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence(
-                directions, types, origins, pageable);
+        Page<PostSummaryDTO> posts = postService
+                .findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence(
+                        directions, types, origins, pageable);
         return ResponseEntity.status(HttpStatus.OK).body(posts);
     }
 
@@ -1,9 +1,12 @@
 package com.softserveinc.dokazovi.controller;
 
 import com.softserveinc.dokazovi.dto.region.RegionDTO;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import com.softserveinc.dokazovi.service.RegionService;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,18 +28,25 @@ import static com.softserveinc.dokazovi.controller.EndPoints.REGION_BY_CITY;
 public class RegionController {
 
     private final RegionService regionService;
+    private final ReferenceDataService referenceDataService;
 
     /**
-     * Gets all regions method returns all regions from db.
+     * Gets all regions method returns all regions from the reference data.
+     *
+     * <p>Responds with a strong ETag of the data and with HttpStatus 'NOT MODIFIED'
+     * when it matches the If-None-Match header.</p>
      *
      * @return all regions and HttpStatus 'OK'
      */
     @GetMapping
     @ApiOperation(value = "Get all regions")
     public ResponseEntity<List<RegionDTO>> getAllRegions() {
+        ReferenceData<RegionDTO> regions = referenceDataService.getRegions();
         return ResponseEntity
                 .status(HttpStatus.OK)
-                .body(regionService.findAllRegions());
+                .cacheControl(CacheControl.noCache())
+                .eTag(regions.getETag())
+                .body(regions.getItems());
     }
 
     @GetMapping(REGION_BY_CITY)
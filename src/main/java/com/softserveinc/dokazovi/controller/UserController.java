@@ -2,6 +2,7 @@ package com.softserveinc.dokazovi.controller;
 
 import com.softserveinc.dokazovi.annotations.ApiPageable;
 import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.payload.SliceDTO;
 import com.softserveinc.dokazovi.dto.user.UserEmailDTO;
 import com.softserveinc.dokazovi.dto.user.UserDTO;
 import com.softserveinc.dokazovi.dto.user.UserEmailPasswordDTO;
@@ -108,6 +109,28 @@ public class UserController {
                 .body(userService.findAllExperts(userSearchCriteria, pageable));
     }
 
+    /**
+     * Gets experts depending on the parameters coming through the request without counting them.
+     * Default 6 max per page.
+     *
+     * @param pageable interface for pagination information
+     * @param userSearchCriteria binds request parameters to an object
+     * @param approximateTotal whether the approximate number of experts is needed
+     * @return slice with found experts and 'OK' httpStatus
+     */
+    @GetMapping(value = USER_ALL_EXPERTS, params = "slice=true")
+    @ApiPageable
+    @ApiOperation(value = "Get experts ordered by name, then filtered by directions and/or regions, slice mode."
+            + " Default 6 per page.")
+    public ResponseEntity<SliceDTO<UserDTO>> getExpertSliceByDirectionsAndByRegionsOrderedByRelevance(
+            @PageableDefault(size = 6) Pageable pageable, UserSearchCriteria userSearchCriteria,
+            @ApiParam(value = "Whether the approximate number of experts is needed")
+            @RequestParam(defaultValue = "false") boolean approximateTotal) {
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .body(userService.findExpertSlice(userSearchCriteria, pageable, approximateTotal));
+    }
+
     @GetMapping(USER_EXPERT_ALL_POST_DIRECTIONS)
     @ApiOperation(value = "Get list of all directions which is used in all posts of user")
     public ResponseEntity<List<DirectionDTO>> getAllDirectionsOfUserPosts(@PathVariable("expertId") Integer userId) {
@@ -0,0 +1,30 @@
+package com.softserveinc.dokazovi.dto.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheMetricsDTO {
+
+    private String cacheName;
+    private String node;
+    private Long hits;
+    private Long misses;
+    private Double hitRatio;
+    private Long loads;
+    private Long failedLoads;
+    private Double loadMeanMillis;
+    private Double loadP50Millis;
+    private Double loadP95Millis;
+    private Double loadP99Millis;
+    private Double loadMaxMillis;
+    private Long puts;
+    private Long evictions;
+    private Long clears;
+    private Long size;
+}
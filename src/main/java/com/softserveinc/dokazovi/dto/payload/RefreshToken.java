@@ -6,12 +6,14 @@ import lombok.NoArgsConstructor;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import java.time.Instant;
 
 @Data
@@ -25,14 +27,29 @@ public class RefreshToken {
     @Column(name = "refreshtoken_id")
     private Integer id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", referencedColumnName = "user_id")
     private UserEntity user;
 
+    /**
+     * SHA-256 hash of the token, in hex.
+     */
     @Column(nullable = false, unique = true)
+    private String tokenHash;
+
+    /**
+     * The token itself, known only when it is issued or presented, it is never stored.
+     */
+    @Transient
     private String token;
 
     @Column(nullable = false)
     private Instant expiryDate;
 
+    /**
+     * Security version of the user when the token was issued.
+     */
+    @Column(nullable = false)
+    private long securityVersion;
+
 }
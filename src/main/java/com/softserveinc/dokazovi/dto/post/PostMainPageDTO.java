@@ -14,5 +14,5 @@ import java.util.List;
 public class PostMainPageDTO {
 
     private String fieldName;
-    private List<PostDTO> postDTOS;
+    private List<PostSummaryDTO> postDTOS;
 }
@@ -0,0 +1,22 @@
+package com.softserveinc.dokazovi.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Post found by the full-text search.
+ *
+ * <p>The headline is a fragment of the post where the matched words are wrapped into {@code <b>} tags.</p>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSearchResultDTO {
+
+    private PostSummaryDTO post;
+    private Float rank;
+    private String headline;
+}
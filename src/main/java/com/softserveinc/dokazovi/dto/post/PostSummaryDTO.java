@@ -0,0 +1,46 @@
+package com.softserveinc.dokazovi.dto.post;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.origin.OriginDTO;
+import com.softserveinc.dokazovi.dto.tag.TagDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+import java.util.Set;
+
+/**
+ * Post as it is shown in post lists. Unlike {@link PostDTO} it has no content.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummaryDTO {
+
+    private Integer id;
+    private String title;
+    private String preview;
+    private String videoUrl;
+    private String previewImageUrl;
+    private String importantMobileImageUrl;
+    private PostUserDTO author;
+    private Set<DirectionDTO> directions;
+    private Set<TagDTO> tags;
+    private PostTypeDTO type;
+    private String status;
+    private Set<OriginDTO> origins;
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+    private Timestamp createdAt;
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+    private Timestamp modifiedAt;
+    @JsonFormat(shape = JsonFormat.Shape.NUMBER)
+    private Timestamp publishedAt;
+    private Integer importanceOrder;
+    private String importantImageUrl;
+    private Integer views;
+    private Integer realViews;
+}
@@ -1,10 +1,14 @@
 package com.softserveinc.dokazovi.dto.post;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class PostUserDTO {
 
     private Integer id;
@@ -0,0 +1,43 @@
+package com.softserveinc.dokazovi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.sql.Timestamp;
+
+/**
+ * The PostChangeVersion entity is responsible for correlating with the DB's post_change_version table.
+ * It holds the single row counter which is incremented by every change of posts, so that all nodes
+ * build the same validators for post endpoints.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "post_change_version_entity")
+@Table(name = "post_change_version")
+public class PostChangeVersionEntity {
+
+    /**
+     * The identification number of the only row.
+     */
+    @Id
+    private Integer id;
+
+    /**
+     * The number of post changes, it only grows.
+     */
+    private Long version;
+
+    /**
+     * The time of the last post change.
+     */
+    @Column(name = "changed_at")
+    private Timestamp changedAt;
+}
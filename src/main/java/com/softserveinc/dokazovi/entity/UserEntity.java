@@ -94,6 +94,22 @@ public class UserEntity {
     @EqualsAndHashCode.Exclude
     private Boolean enabled;
 
+    /**
+     * Normalized "first last" and "last first" names, filled by the database trigger.
+     */
+    @Column(insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private String nameSearchKey;
+
+    /**
+     * Version of the role, password and enabled status, incremented by the user repository on every their change.
+     */
+    @Column(insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Long securityVersion;
+
     /**
      * Gets latest expert post, if it exists.
      * If not - returns null
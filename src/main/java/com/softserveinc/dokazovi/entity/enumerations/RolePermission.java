@@ -2,6 +2,14 @@ package com.softserveinc.dokazovi.entity.enumerations;
 
 import org.springframework.security.core.GrantedAuthority;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Permissions of the roles. Access tokens encode the permissions by their positions,
+ * so new permissions are appended to keep the issued tokens valid.
+ */
 public enum RolePermission implements GrantedAuthority {
     SAVE_OWN_PUBLICATION,
     SAVE_TAG,
@@ -19,4 +27,36 @@ public enum RolePermission implements GrantedAuthority {
     public String getAuthority() {
         return name();
     }
+
+    /**
+     * Encodes the permissions among the authorities as a bit mask, one bit per position.
+     *
+     * @param authorities authorities of a user
+     * @return the bit mask
+     */
+    public static long toBits(Collection<? extends GrantedAuthority> authorities) {
+        long bits = 0L;
+        for (GrantedAuthority authority : authorities) {
+            if (authority instanceof RolePermission) {
+                bits |= 1L << ((RolePermission) authority).ordinal();
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Decodes the permissions from a bit mask, ignoring unknown bits.
+     *
+     * @param bits bit mask made by {@link #toBits(Collection)}
+     * @return the permissions
+     */
+    public static Set<RolePermission> fromBits(long bits) {
+        Set<RolePermission> permissions = EnumSet.noneOf(RolePermission.class);
+        for (RolePermission permission : values()) {
+            if ((bits & (1L << permission.ordinal())) != 0) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
 }
\ No newline at end of file
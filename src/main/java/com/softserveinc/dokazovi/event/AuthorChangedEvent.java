@@ -0,0 +1,12 @@
+package com.softserveinc.dokazovi.event;
+
+import lombok.Value;
+
+/**
+ * Published when an author is created, updated or deleted.
+ */
+@Value
+public class AuthorChangedEvent {
+
+    Integer authorId;
+}
@@ -0,0 +1,10 @@
+package com.softserveinc.dokazovi.event;
+
+import lombok.Value;
+
+/**
+ * Published when posts or the data shown with them are changed, after the post change version is incremented.
+ */
+@Value
+public class PostsChangedEvent {
+}
@@ -0,0 +1,13 @@
+package com.softserveinc.dokazovi.event;
+
+import com.softserveinc.dokazovi.pojo.ReferenceDataType;
+import lombok.Value;
+
+/**
+ * Published when reference data of the given type is changed.
+ */
+@Value
+public class ReferenceDataChangedEvent {
+
+    ReferenceDataType dataType;
+}
@@ -0,0 +1,12 @@
+package com.softserveinc.dokazovi.event;
+
+import lombok.Value;
+
+/**
+ * Published when the role, the password or the enabled status of a user changes.
+ */
+@Value
+public class UserSecurityChangedEvent {
+
+    Integer userId;
+}
@@ -4,6 +4,7 @@ import com.softserveinc.dokazovi.exception.DtoException;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.exception.ForbiddenPermissionsException;
 import com.softserveinc.dokazovi.exception.InvalidViewNumberException;
+import com.softserveinc.dokazovi.exception.PasswordHashingRejectedException;
 import com.softserveinc.dokazovi.exception.StatusNotFoundException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -51,4 +52,18 @@ public class CustomRestExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(apiError, new HttpHeaders(), apiError.getStatus());
     }
 
+    // 429
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<Object> handlePasswordHashingRejected(final PasswordHashingRejectedException ex) {
+        logger.info(ex.getClass().getName());
+        final ApiError apiError = ApiError.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .errors(Collections.singletonList(ex.getLocalizedMessage()))
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(apiError, headers, apiError.getStatus());
+    }
+
 }
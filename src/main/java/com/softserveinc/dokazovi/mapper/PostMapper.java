@@ -2,14 +2,25 @@ package com.softserveinc.dokazovi.mapper;
 
 import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserInstitutionCityDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserInstitutionDTO;
 import com.softserveinc.dokazovi.dto.user.LatestUserPostDTO;
+import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.entity.OriginEntity;
 import com.softserveinc.dokazovi.entity.PostEntity;
+import com.softserveinc.dokazovi.entity.TagEntity;
+import com.softserveinc.dokazovi.repositories.projection.PostSummaryView;
 import org.mapstruct.CollectionMappingStrategy;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.ReportingPolicy;
 
+import java.util.Set;
+
 @Mapper(componentModel = "spring",
         unmappedTargetPolicy = ReportingPolicy.IGNORE,
         collectionMappingStrategy = CollectionMappingStrategy.TARGET_IMMUTABLE)
@@ -27,4 +38,53 @@ public interface PostMapper {
     PostEntity updatePostEntityFromDTO(PostSaveFromUserDTO postSaveFromUserDTO, @MappingTarget PostEntity postEntity);
 
     LatestUserPostDTO toLatestExpertPostDTO(PostEntity post);
+
+    @Mapping(target = "id", source = "post.id")
+    @Mapping(target = "status", source = "post.status")
+    @Mapping(target = "author", source = "post")
+    @Mapping(target = "type", source = "post")
+    @Mapping(target = "directions", source = "directions")
+    @Mapping(target = "tags", source = "tags")
+    @Mapping(target = "origins", source = "origins")
+    PostSummaryDTO toPostSummaryDTO(PostSummaryView post, Set<DirectionEntity> directions, Set<TagEntity> tags,
+            Set<OriginEntity> origins);
+
+    default PostUserDTO toPostUserDTO(PostSummaryView post) {
+        if (post.getAuthorId() == null) {
+            return null;
+        }
+        return PostUserDTO.builder()
+                .id(post.getAuthorId())
+                .firstName(post.getAuthorFirstName())
+                .lastName(post.getAuthorLastName())
+                .avatar(post.getAuthorAvatar())
+                .bio(post.getAuthorBio())
+                .mainInstitution(toPostUserInstitutionDTO(post))
+                .build();
+    }
+
+    default PostUserInstitutionDTO toPostUserInstitutionDTO(PostSummaryView post) {
+        if (post.getInstitutionId() == null) {
+            return null;
+        }
+        PostUserInstitutionCityDTO city = post.getCityId() == null ? null : PostUserInstitutionCityDTO.builder()
+                .id(post.getCityId())
+                .name(post.getCityName())
+                .build();
+        return PostUserInstitutionDTO.builder()
+                .id(post.getInstitutionId())
+                .name(post.getInstitutionName())
+                .city(city)
+                .build();
+    }
+
+    default PostTypeDTO toPostTypeDTO(PostSummaryView post) {
+        if (post.getTypeId() == null) {
+            return null;
+        }
+        return PostTypeDTO.builder()
+                .id(post.getTypeId())
+                .name(post.getTypeName())
+                .build();
+    }
 }
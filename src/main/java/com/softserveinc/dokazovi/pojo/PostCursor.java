@@ -0,0 +1,78 @@
+package com.softserveinc.dokazovi.pojo;
+
+import com.softserveinc.dokazovi.exception.BadRequestException;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * The PostCursor is a position in a post feed sorted by publication date and post id, both descending.
+ *
+ * <p>Clients get it as an opaque URL-safe string together with a page of posts
+ * and send it back to receive the posts that follow the last one they have seen.</p>
+ *
+ * <p>The publication date is encoded as epoch seconds and nanoseconds, as it is stored with microseconds
+ * and the posts published in the same millisecond as the last one of a page must not be skipped.
+ * Cursors encoded with epoch milliseconds by earlier versions are still accepted.</p>
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PostCursor {
+
+    /**
+     * Position before the newest post, used when the client has no cursor yet.
+     */
+    public static final PostCursor FIRST_PAGE =
+            new PostCursor(Timestamp.valueOf("9999-12-31 23:59:59"), Integer.MAX_VALUE);
+
+    private static final String SEPARATOR = ":";
+
+    private final Timestamp publishedAt;
+    private final Integer postId;
+
+    public static PostCursor of(Timestamp publishedAt, Integer postId) {
+        return new PostCursor(publishedAt, postId);
+    }
+
+    /**
+     * Decodes the cursor received from the client.
+     *
+     * @param cursor encoded cursor, blank for the first page
+     * @return decoded cursor
+     * @throws BadRequestException if the cursor was not produced by {@link #encode()}
+     */
+    public static PostCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST_PAGE;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split(SEPARATOR);
+            if (parts.length == 2) {
+                return new PostCursor(new Timestamp(Long.parseLong(parts[0])), Integer.parseInt(parts[1]));
+            }
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            Timestamp publishedAt = new Timestamp(Math.multiplyExact(Long.parseLong(parts[0]), 1000L));
+            publishedAt.setNanos(Integer.parseInt(parts[1]));
+            return new PostCursor(publishedAt, Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = Math.floorDiv(publishedAt.getTime(), 1000L) + SEPARATOR + publishedAt.getNanos()
+                + SEPARATOR + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,31 @@
+package com.softserveinc.dokazovi.pojo;
+
+import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.sql.Timestamp;
+import java.util.Set;
+
+/**
+ * The PostFilter holds the optional filters of the admin posts list and of the slice mode of post feeds.
+ *
+ * <p>Null values, empty sets and blank strings mean that the filter was not supplied.
+ * The admin posts list sets {@code authorRequired}, as it lists only the posts which have an author.</p>
+ */
+@Data
+@Builder
+public class PostFilter {
+
+    private Set<Integer> directionIds;
+    private Set<Integer> typeIds;
+    private Set<Integer> originIds;
+    private Set<Integer> tagIds;
+    private Set<PostStatus> statuses;
+    private String title;
+    private String author;
+    private Integer authorId;
+    private Timestamp startDate;
+    private Timestamp endDate;
+    private boolean authorRequired;
+}
@@ -0,0 +1,14 @@
+package com.softserveinc.dokazovi.pojo;
+
+import lombok.Value;
+
+/**
+ * The PostValidators are the ETag and the Last-Modified time of a post response,
+ * computed without loading the posts.
+ */
+@Value
+public class PostValidators {
+
+    String eTag;
+    long lastModified;
+}
@@ -0,0 +1,42 @@
+package com.softserveinc.dokazovi.pojo;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable list of reference data items with an index by id and a strong ETag of the list.
+ *
+ * <p>The items are shared by all requests and must not be modified.</p>
+ *
+ * @param <T> type of the items
+ */
+@Getter
+public final class ReferenceData<T> {
+
+    private final List<T> items;
+    private final Map<Integer, T> itemsById;
+    private final String eTag;
+
+    public ReferenceData(List<T> items, Function<T, Integer> idOf, String eTag) {
+        Map<Integer, T> byId = new LinkedHashMap<>();
+        items.forEach(item -> byId.put(idOf.apply(item), item));
+        this.items = List.copyOf(items);
+        this.itemsById = Collections.unmodifiableMap(byId);
+        this.eTag = eTag;
+    }
+
+    /**
+     * Gets an item by id.
+     *
+     * @param id id of the item
+     * @return found item or {@code null}
+     */
+    public T getById(Integer id) {
+        return itemsById.get(id);
+    }
+}
@@ -0,0 +1,14 @@
+package com.softserveinc.dokazovi.pojo;
+
+/**
+ * Kinds of almost static data served from memory by the reference data service.
+ */
+public enum ReferenceDataType {
+
+    DIRECTIONS,
+    REGIONS,
+    CITIES,
+    ORIGINS,
+    POST_TYPES,
+    PLATFORM_INFORMATION
+}
@@ -1,13 +1,36 @@
 package com.softserveinc.dokazovi.repositories;
 
 import com.softserveinc.dokazovi.entity.AuthorEntity;
+import com.softserveinc.dokazovi.repositories.projection.ExpertDirectionView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Repository
 @Transactional
 public interface AuthorRepository extends JpaRepository<AuthorEntity, Integer> {
 
     AuthorEntity getByProfileId(Integer profileId);
+
+    /**
+     * Gets user ids of all experts with ids of their directions.
+     *
+     * @return one row per expert and direction
+     */
+    @Query(value = "SELECT a.id AS authorId, u.id AS userId, d.id AS directionId "
+            + "FROM author_entity a JOIN a.profile u LEFT JOIN a.directions d")
+    List<ExpertDirectionView> findExpertDirections();
+
+    /**
+     * Gets user id of the expert with ids of the expert's directions.
+     *
+     * @param authorId id of the expert's author profile
+     * @return one row per direction, empty if the expert does not exist
+     */
+    @Query(value = "SELECT a.id AS authorId, u.id AS userId, d.id AS directionId "
+            + "FROM author_entity a JOIN a.profile u LEFT JOIN a.directions d WHERE a.id = :authorId")
+    List<ExpertDirectionView> findExpertDirectionsByAuthorId(Integer authorId);
 }
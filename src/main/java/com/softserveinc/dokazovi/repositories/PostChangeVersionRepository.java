@@ -0,0 +1,29 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.PostChangeVersionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface PostChangeVersionRepository extends JpaRepository<PostChangeVersionEntity, Integer> {
+
+    /**
+     * Reads the version from the database, also when the version entity is already loaded in the current session.
+     */
+    @Query(value = "SELECT v.version FROM post_change_version_entity v WHERE v.id = :id")
+    Optional<Long> findVersionById(Integer id);
+
+    /**
+     * Increments the version in the current transaction, or in a new one when it is called outside of a transaction.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE post_change_version_entity v SET v.version = v.version + 1, "
+            + "v.changedAt = CURRENT_TIMESTAMP WHERE v.id = :id")
+    int increment(Integer id);
+}
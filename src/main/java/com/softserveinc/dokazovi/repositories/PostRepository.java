@@ -3,6 +3,13 @@ package com.softserveinc.dokazovi.repositories;
 import com.softserveinc.dokazovi.entity.DirectionEntity;
 import com.softserveinc.dokazovi.entity.PostEntity;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.repositories.projection.PostBucketView;
+import com.softserveinc.dokazovi.repositories.projection.PostDirectionView;
+import com.softserveinc.dokazovi.repositories.projection.PostIdView;
+import com.softserveinc.dokazovi.repositories.projection.PostOriginView;
+import com.softserveinc.dokazovi.repositories.projection.PostSearchView;
+import com.softserveinc.dokazovi.repositories.projection.PostSummaryView;
+import com.softserveinc.dokazovi.repositories.projection.PostTagView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,39 +18,71 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 @Repository
-public interface PostRepository extends JpaRepository<PostEntity, Integer> {
+public interface PostRepository extends JpaRepository<PostEntity, Integer>, PostRepositoryCustom {
 
-    Page<PostEntity> findAllByImportantIsTrueAndStatusOrderByImportanceOrder(PostStatus status, Pageable pageable);
+    /**
+     * Loads list fields of posts found by one of the ids queries.
+     *
+     * <p>Type, author and author's main institution are joined, the post content is not selected.</p>
+     */
+    @Query(value = "SELECT p.id AS id, p.title AS title, p.preview AS preview, p.videoUrl AS videoUrl, "
+            + "p.previewImageUrl AS previewImageUrl, p.importantMobileImageUrl AS importantMobileImageUrl, "
+            + "p.importantImageUrl AS importantImageUrl, p.status AS status, p.createdAt AS createdAt, "
+            + "p.modifiedAt AS modifiedAt, p.publishedAt AS publishedAt, p.importanceOrder AS importanceOrder, "
+            + "p.views AS views, p.realViews AS realViews, t.id AS typeId, t.name AS typeName, "
+            + "u.id AS authorId, u.firstName AS authorFirstName, u.lastName AS authorLastName, "
+            + "u.avatar AS authorAvatar, a.bio AS authorBio, i.id AS institutionId, i.name AS institutionName, "
+            + "c.id AS cityId, c.name AS cityName "
+            + "FROM post_entity p "
+            + "LEFT JOIN p.type t "
+            + "LEFT JOIN p.author u "
+            + "LEFT JOIN u.author a "
+            + "LEFT JOIN a.mainInstitution i "
+            + "LEFT JOIN i.city c "
+            + "WHERE p.id IN :ids")
+    List<PostSummaryView> findSummariesByIdIn(Collection<Integer> ids);
 
-    Page<PostEntity> findAllByStatus(PostStatus postStatus, Pageable pageable);
+    @Query(value = "SELECT p.id AS postId, d AS direction FROM post_entity p JOIN p.directions d WHERE p.id IN :ids")
+    List<PostDirectionView> findDirectionsByPostIdIn(Collection<Integer> ids);
 
+    @Query(value = "SELECT p.id AS postId, t AS tag FROM post_entity p JOIN p.tags t WHERE p.id IN :ids")
+    List<PostTagView> findTagsByPostIdIn(Collection<Integer> ids);
+
+    @Query(value = "SELECT p.id AS postId, o AS origin FROM post_entity p JOIN p.origins o WHERE p.id IN :ids")
+    List<PostOriginView> findOriginsByPostIdIn(Collection<Integer> ids);
+
+    Page<PostIdView> findIdsByImportantIsTrueAndStatusOrderByImportanceOrder(PostStatus status, Pageable pageable);
+
+    Page<PostIdView> findIdsByStatus(PostStatus postStatus, Pageable pageable);
 
     List<PostEntity> findAllByStatus(PostStatus postStatus);
 
-    Page<PostEntity> findAllByDirectionsContainsAndStatus(
+    Page<PostIdView> findIdsByDirectionsContainsAndStatus(
             DirectionEntity direction, PostStatus postStatus, Pageable pageable);
 
-    Page<PostEntity> findAllByDirectionsContainsAndTypeIdInAndStatus(
+    Page<PostIdView> findIdsByDirectionsContainsAndTypeIdInAndStatus(
             DirectionEntity direction, Set<Integer> typeId, PostStatus postStatus, Pageable pageable);
 
-    Page<PostEntity> findAllByDirectionsContainsAndTagsIdInAndStatus(
+    Page<PostIdView> findIdsByDirectionsContainsAndTagsIdInAndStatus(
             DirectionEntity direction, Set<Integer> tagId, PostStatus postStatus, Pageable pageable);
 
-    Page<PostEntity> findAllByDirectionsContainsAndTypeIdInAndTagsIdInAndStatus(
+    Page<PostIdView> findIdsByDirectionsContainsAndTypeIdInAndTagsIdInAndStatus(
             DirectionEntity direction, Set<Integer> typeId, Set<Integer> tagId, PostStatus postStatus,
             Pageable pageable);
 
-    Page<PostEntity> findAllByAuthorIdAndStatusOrderByPublishedAtDesc(Integer authorId, PostStatus postStatus,
+    Page<PostIdView> findIdsByAuthorIdAndStatusOrderByPublishedAtDesc(Integer authorId, PostStatus postStatus,
             Pageable pageable);
 
     @Query(value = "SELECT p.fakeViews FROM post_entity p WHERE p.id = :postId")
     Integer getFakeViewsByPostId(Integer postId);
 
-    Page<PostEntity> findAllByAuthorIdAndTypeIdInAndStatus(
+    Page<PostIdView> findIdsByAuthorIdAndTypeIdInAndStatus(
             Integer authorId, Set<Integer> typeId, PostStatus postStatus, Pageable pageable);
 
     @Query(nativeQuery = true,
@@ -70,16 +109,22 @@ public interface PostRepository extends JpaRepository<PostEntity, Integer> {
     @Modifying
     void setPublishedAt(Integer postId, Timestamp publishedAt);
 
+    /**
+     * Gets the time of the last modification of the post, or of its creation if it was never modified.
+     */
+    @Query(value = "SELECT COALESCE(p.modifiedAt, p.createdAt) FROM post_entity p WHERE p.id = :postId")
+    Optional<Timestamp> findModifiedAtById(Integer postId);
+
     @Query(nativeQuery = true,
-            value = "SELECT * FROM POSTS "
+            value = "SELECT POSTS.POST_ID FROM POSTS "
                     + " WHERE POSTS.STATUS IN ('PUBLISHED')"
                     + " ORDER BY POST_ID",
             countQuery = "SELECT COUNT(POSTS.POST_ID) FROM POSTS"
                     + " WHERE POSTS.STATUS IN ('PUBLISHED')")
-    Page<PostEntity> findAll(Pageable pageable);
+    Page<Integer> findPublishedIds(Pageable pageable);
 
     @Query(nativeQuery = true,
-            value = " SELECT P.* FROM POSTS P "
+            value = " SELECT P.POST_ID FROM POSTS P "
                     + " WHERE (P.AUTHOR_ID IN (:authorId)) "
                     + " AND(array_length(ARRAY[(:typesIds)],1)>0 "
                     + "    AND P.TYPE_ID IN (:typesIds)) "
@@ -88,11 +133,11 @@ public interface PostRepository extends JpaRepository<PostEntity, Integer> {
                     + "                       FROM POSTS_DIRECTIONS "
                     + "                       WHERE DIRECTION_ID IN (:directionsIds)))"
                     + " AND P.STATUS IN ('PUBLISHED') ")
-    Page<PostEntity> findAllByExpertAndByDirectionsAndByPostType(Integer authorId, Set<Integer> typesIds,
+    Page<Integer> findIdsByExpertAndByDirectionsAndByPostType(Integer authorId, Set<Integer> typesIds,
             Set<Integer> directionsIds, Pageable pageable);
 
     @Query(nativeQuery = true,
-            value = " SELECT P.* "
+            value = " SELECT P.POST_ID "
                     + " FROM POSTS P "
                     + " WHERE (P.AUTHOR_ID IN (:authorId)) "
                     + "  AND (array_length(ARRAY [(:directionsIds)], 1) > 0 "
@@ -100,52 +145,36 @@ public interface PostRepository extends JpaRepository<PostEntity, Integer> {
                     + "                      FROM POSTS_DIRECTIONS "
                     + "                      WHERE DIRECTION_ID IN (:directionsIds))) "
                     + "  AND P.STATUS IN ('PUBLISHED')")
-    Page<PostEntity> findPostsByAuthorIdAndDirections(Pageable pageable, Integer authorId, Set<Integer> directionsIds);
-
-    @Query(nativeQuery = true,
-            value = " SELECT P1.* "
-                    + " FROM POSTS P1 "
-                    + " WHERE (P1.POST_ID IN (SELECT POST_ID"
-                    + "                      FROM POSTS_ORIGINS"
-                    + "                      WHERE ORIGIN_ID = 1))"
-                    + "  AND P1.STATUS IN ('PUBLISHED')"
-                    + "  AND P1.TYPE_ID NOT IN (2)"
-                    + " ORDER BY PUBLISHED_AT DESC, P1.POST_ID DESC")
-    Page<PostEntity> findLatestByPostTypeExpertOpinion(Pageable pageable);
-
-    @Query(nativeQuery = true,
-            value = " SELECT P1.* "
-                    + " FROM POSTS P1 "
-                    + " WHERE (P1.POST_ID IN (SELECT POST_ID "
-                    + "                       FROM POSTS_ORIGINS "
-                    + "                       WHERE ORIGIN_ID = 2)) "
-                    + "   AND P1.STATUS IN ('PUBLISHED') "
-                    + "   AND P1.TYPE_ID NOT IN (2) "
-                    + " ORDER BY PUBLISHED_AT DESC, P1.POST_ID DESC ")
-    Page<PostEntity> findLatestByPostTypeMedia(Pageable pageable);
-
-
-    @Query(nativeQuery = true,
-            value = " SELECT P1.*"
-                    + " FROM POSTS P1 "
-                    + " WHERE (P1.POST_ID IN (SELECT POST_ID "
-                    + "                      FROM POSTS_ORIGINS "
-                    + "                      WHERE ORIGIN_ID = 3)) "
-                    + "  AND P1.STATUS IN ('PUBLISHED') "
-                    + "  AND P1.TYPE_ID NOT IN (2) "
-                    + " ORDER BY PUBLISHED_AT DESC, P1.POST_ID DESC ")
-    Page<PostEntity> findLatestByPostTypeTranslation(Pageable pageable);
+    Page<Integer> findIdsByAuthorIdAndDirections(Pageable pageable, Integer authorId, Set<Integer> directionsIds);
 
     @Query(nativeQuery = true,
-            value = "SELECT P1.* "
-                    + "   FROM POSTS P1 "
-                    + "   WHERE P1.TYPE_ID IN (2) "
-                    + "   AND P1.STATUS IN ('PUBLISHED') "
-                    + " ORDER BY PUBLISHED_AT DESC, P1.POST_ID DESC ")
-    Page<PostEntity> findLatestByOriginVideo(Pageable pageable);
+            value = "SELECT B.BUCKET AS \"bucket\", B.POST_ID AS \"postId\" "
+                    + "FROM (SELECT R.BUCKET, R.POST_ID, "
+                    + "             ROW_NUMBER() OVER (PARTITION BY R.BUCKET "
+                    + "                                ORDER BY R.PUBLISHED_AT DESC, R.POST_ID DESC) AS RN "
+                    + "      FROM (SELECT CASE PO.ORIGIN_ID "
+                    + "                       WHEN 1 THEN 'expertOpinion' "
+                    + "                       WHEN 2 THEN 'media' "
+                    + "                       ELSE 'translation' "
+                    + "                   END AS BUCKET, "
+                    + "                   P.POST_ID, P.PUBLISHED_AT "
+                    + "            FROM POSTS P "
+                    + "                     JOIN POSTS_ORIGINS PO ON PO.POST_ID = P.POST_ID "
+                    + "            WHERE P.STATUS = 'PUBLISHED' "
+                    + "              AND P.TYPE_ID <> 2 "
+                    + "              AND PO.ORIGIN_ID IN (1, 2, 3) "
+                    + "            UNION ALL "
+                    + "            SELECT 'video', P.POST_ID, P.PUBLISHED_AT "
+                    + "            FROM POSTS P "
+                    + "            WHERE P.STATUS = 'PUBLISHED' "
+                    + "              AND P.TYPE_ID = 2) R) B "
+                    + "WHERE B.RN > :offset "
+                    + "  AND B.RN <= :offset + :size "
+                    + "ORDER BY B.BUCKET, B.RN")
+    List<PostBucketView> findLatestIdsForMainPage(Integer offset, Integer size);
 
     @Query(nativeQuery = true,
-            value = "SELECT P1.* FROM POSTS P1 "
+            value = "SELECT P1.POST_ID FROM POSTS P1 "
                     + "WHERE P1.STATUS = :#{#postStatus.name()} "
                     + "  AND P1.IMPORTANT = :important "
                     + "  AND CASE WHEN :typesIds IS NOT NULL "
@@ -165,75 +194,81 @@ public interface PostRepository extends JpaRepository<PostEntity, Integer> {
                     + "ORDER BY (P1.IMPORTANT_IMAGE_URL <> '' AND P1.IMPORTANT_IMAGE_URL IS NOT NULL) DESC, "
                     + "          P1.PUBLISHED_AT DESC, P1.POST_ID "
     )
-    Page<PostEntity> findByDirectionsAndTypesAndOriginsAndStatusAndImportantSortedByImportantImagePresence(
+    Page<Integer> findIdsByDirectionsAndTypesAndOriginsAndStatusAndImportantSortedByImportantImagePresence(
             Set<Integer> directionsIds, Set<Integer> typesIds, Set<Integer> originsIds, PostStatus postStatus,
             Boolean important, Pageable pageable);
 
 
     @Query(nativeQuery = true,
-            value = "SELECT p.*, u.first_name FROM posts p, users u "
-                    + "WHERE p.author_id = u.user_id "
-                    + "AND CASE WHEN :typeIds IS NOT NULL "
-                    + "THEN p.type_id IN (:typeIds) "
-                    + "ELSE p.post_id IS NOT NULL "
-                    + "END "
-                    + "AND CASE WHEN :directionIds IS NOT NULL "
-                    + "THEN p.post_id IN "
-                    + "(SELECT pd.post_id FROM posts_directions pd WHERE pd.direction_id IN (:directionIds)) "
-                    + "ELSE p.post_id IS NOT NULL "
-                    + "END "
-                    + "AND CASE WHEN :originIds IS NOT NULL "
-                    + "THEN p.post_id IN "
-                    + "(SELECT po.post_id FROM posts_origins po WHERE po.origin_id IN (:originIds)) "
-                    + "ELSE p.post_id IS NOT NULL "
-                    + "END "
-                    + "AND CASE WHEN :statuses IS NOT NULL "
-                    + "THEN p.status IN (:statuses) "
-                    + "ELSE p.post_id IS NOT NULL "
-                    + "END "
-                    + "AND p.modified_at between :startDate and :endDate "
-                    + "AND p.author_id IN "
-                    + "(SELECT user_id FROM users u "
-                    + "WHERE UPPER((u.first_name || ' ' || u.last_name) COLLATE \"uk-ua-dokazovi-x-icu\") "
-                    + "LIKE UPPER((:author || '%') COLLATE \"uk-ua-dokazovi-x-icu\") "
-                    + "OR UPPER((u.last_name || ' ' || u.first_name) COLLATE \"uk-ua-dokazovi-x-icu\") "
-                    + "LIKE UPPER((:author || '%') COLLATE \"uk-ua-dokazovi-x-icu\")) "
-                    + "AND UPPER((p.title) COLLATE \"uk-ua-dokazovi-x-icu\") "
-                    + "LIKE UPPER(('%' || :title || '%') COLLATE \"uk-ua-dokazovi-x-icu\")")
-    Page<PostEntity> findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(Set<Integer> typeIds,
-            Set<Integer> directionIds, Set<String> statuses, Set<Integer> originIds, String title, String author,
-            Timestamp startDate, Timestamp endDate, Pageable pageable);
+            value = "SELECT p.post_id FROM posts p "
+                    + "WHERE p.author_id = :authorId")
+    Page<Integer> findIdsByAuthorId(Integer authorId, Pageable pageable);
 
+    /**
+     * Finds published posts matching the search query, the most relevant first.
+     *
+     * <p>Uses the GIN index on the search vector. Headlines are built only for the rows of the requested page.</p>
+     */
     @Query(nativeQuery = true,
-            value = "SELECT p.* FROM posts p "
-                    + "WHERE p.author_id = :authorId "
-                    + "AND CASE WHEN :typeIds IS NOT NULL "
-                    + "THEN p.type_id IN (:typeIds) "
-                    + "ELSE p.post_id IS NOT NULL "
-                    + "END "
-                    + "AND CASE WHEN :directionIds IS NOT NULL "
-                    + "THEN p.post_id IN "
-                    + "(SELECT pd.post_id FROM posts_directions pd WHERE pd.direction_id IN (:directionIds)) "
-                    + "ELSE p.post_id IS NOT NULL "
-                    + "END "
-                    + "AND CASE WHEN :originIds IS NOT NULL "
-                    + "THEN p.post_id IN "
-                    + "(SELECT po.post_id FROM posts_origins po WHERE po.origin_id IN (:originIds)) "
-                    + "ELSE p.post_id IS NOT NULL "
-                    + "END "
-                    + "AND CASE WHEN :statuses IS NOT NULL "
-                    + "THEN p.status IN (:statuses) "
-                    + "ELSE p.post_id IS NOT NULL "
-                    + "END "
-                    + "AND p.modified_at between :startDate and :endDate "
-                    + "AND UPPER((p.title) COLLATE \"uk-ua-dokazovi-x-icu\") "
-                    + "LIKE UPPER(('%' || :title || '%') COLLATE \"uk-ua-dokazovi-x-icu\")")
-    Page<PostEntity> findAllByAuthorIdByTypesAndStatusAndDirectionsAndOriginsAndTitle(Set<Integer> typeIds,
-            Set<Integer> directionIds, Set<String> statuses, Set<Integer> originIds, String title, Integer authorId,
-            Timestamp startDate, Timestamp endDate, Pageable pageable);
+            value = "SELECT P.POST_ID AS \"postId\", "
+                    + "       ts_rank(P.SEARCH_VECTOR, Q.QUERY) AS \"rank\", "
+                    + "       ts_headline('simple', "
+                    + "                   COALESCE(P.PREVIEW, '') || ' ' "
+                    + "                       || regexp_replace(COALESCE(P.CONTENT, ''), '<[^>]*>', ' ', 'g'), "
+                    + "                   Q.QUERY, 'StartSel=<b>, StopSel=</b>, MaxFragments=2') AS \"headline\" "
+                    + "FROM POSTS P, websearch_to_tsquery('simple', :query) Q(QUERY) "
+                    + "WHERE P.STATUS = 'PUBLISHED' "
+                    + "  AND P.SEARCH_VECTOR @@ Q.QUERY "
+                    + "ORDER BY ts_rank(P.SEARCH_VECTOR, Q.QUERY) DESC, P.PUBLISHED_AT DESC, P.POST_ID DESC",
+            countQuery = "SELECT COUNT(P.POST_ID) "
+                    + "FROM POSTS P "
+                    + "WHERE P.STATUS = 'PUBLISHED' "
+                    + "  AND P.SEARCH_VECTOR @@ websearch_to_tsquery('simple', :query)")
+    Page<PostSearchView> searchPublished(String query, Pageable pageable);
 
     @Query(nativeQuery = true,
-            value = "SELECT p.* FROM posts p "
-                    + "WHERE p.author_id = :authorId")
-    Page<PostEntity> findAllByAuthorId(Integer authorId, Pageable pageable);
+            value = "SELECT P.POST_ID FROM POSTS P "
+                    + "WHERE P.STATUS = :#{#postStatus.name()} "
+                    + "  AND (P.PUBLISHED_AT, P.POST_ID) < (:publishedAt, :postId) "
+                    + "ORDER BY P.PUBLISHED_AT DESC, P.POST_ID DESC "
+                    + "LIMIT :limit")
+    List<Integer> findIdsByStatusBeforeCursor(PostStatus postStatus, Timestamp publishedAt, Integer postId,
+            Integer limit);
+
+    @Query(nativeQuery = true,
+            value = "SELECT P.POST_ID FROM POSTS P "
+                    + "WHERE P.STATUS = :#{#postStatus.name()} "
+                    + "  AND P.POST_ID IN (SELECT POST_ID FROM POSTS_DIRECTIONS WHERE DIRECTION_ID = :directionId) "
+                    + "  AND CASE WHEN :typeIds IS NOT NULL "
+                    + "           THEN P.TYPE_ID IN (:typeIds) "
+                    + "           ELSE P.POST_ID IS NOT NULL "
+                    + "      END "
+                    + "  AND CASE WHEN :tagIds IS NOT NULL "
+                    + "           THEN P.POST_ID IN (SELECT POST_ID FROM POSTS_TAGS WHERE TAG_ID IN (:tagIds)) "
+                    + "           ELSE P.POST_ID IS NOT NULL "
+                    + "      END "
+                    + "  AND (P.PUBLISHED_AT, P.POST_ID) < (:publishedAt, :postId) "
+                    + "ORDER BY P.PUBLISHED_AT DESC, P.POST_ID DESC "
+                    + "LIMIT :limit")
+    List<Integer> findIdsByDirectionAndTypesAndTagsBeforeCursor(Integer directionId, Set<Integer> typeIds,
+            Set<Integer> tagIds, PostStatus postStatus, Timestamp publishedAt, Integer postId, Integer limit);
+
+    @Query(nativeQuery = true,
+            value = "SELECT P.POST_ID FROM POSTS P "
+                    + "WHERE P.AUTHOR_ID = :authorId "
+                    + "  AND P.STATUS = :#{#postStatus.name()} "
+                    + "  AND CASE WHEN :typeIds IS NOT NULL "
+                    + "           THEN P.TYPE_ID IN (:typeIds) "
+                    + "           ELSE P.POST_ID IS NOT NULL "
+                    + "      END "
+                    + "  AND CASE WHEN :directionIds IS NOT NULL "
+                    + "           THEN P.POST_ID IN "
+                    + "                  (SELECT POST_ID FROM POSTS_DIRECTIONS WHERE DIRECTION_ID IN (:directionIds)) "
+                    + "           ELSE P.POST_ID IS NOT NULL "
+                    + "      END "
+                    + "  AND (P.PUBLISHED_AT, P.POST_ID) < (:publishedAt, :postId) "
+                    + "ORDER BY P.PUBLISHED_AT DESC, P.POST_ID DESC "
+                    + "LIMIT :limit")
+    List<Integer> findIdsByAuthorIdAndTypesAndDirectionsBeforeCursor(Integer authorId, Set<Integer> typeIds,
+            Set<Integer> directionIds, PostStatus postStatus, Timestamp publishedAt, Integer postId, Integer limit);
 }
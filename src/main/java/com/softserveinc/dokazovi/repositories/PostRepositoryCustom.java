@@ -0,0 +1,44 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.pojo.PostFilter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Post queries which are built at runtime instead of being declared with {@code @Query}.
+ */
+public interface PostRepositoryCustom {
+
+    /**
+     * Finds ids of the posts matching the admin posts list filter.
+     *
+     * <p>Only the supplied filters become predicates, directions, origins and tags are checked with EXISTS.
+     * Sort properties may be given either as entity attributes or as column names, e.g. modified_at,
+     * first_name and last_name sort by the author.</p>
+     *
+     * @param filter the filters received from post service
+     * @param pageable interface for pagination information received from post service
+     * @return the page of matching post ids
+     */
+    Page<Integer> findIdsByFilter(PostFilter filter, Pageable pageable);
+
+    /**
+     * Finds ids of the posts matching the filter without counting them.
+     *
+     * <p>One extra row is fetched to tell whether there is a next slice.</p>
+     *
+     * @param filter the filters received from post service
+     * @param pageable interface for pagination information received from post service
+     * @return the slice of matching post ids
+     */
+    Slice<Integer> findIdSliceByFilter(PostFilter filter, Pageable pageable);
+
+    /**
+     * Counts the posts matching the filter.
+     *
+     * @param filter the filters received from post service
+     * @return number of matching posts
+     */
+    long countByFilter(PostFilter filter);
+}
@@ -0,0 +1,196 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.config.SqlFunctionsContributor;
+import com.softserveinc.dokazovi.entity.PostEntity;
+import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.pojo.PostFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.support.PageableExecutionUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class PostRepositoryImpl implements PostRepositoryCustom {
+
+    private static final String NAME_SEARCH_NORMALIZE = "name_search_normalize";
+    private static final String ID = "id";
+    private static final String AUTHOR = "author";
+    private static final Map<String, String> AUTHOR_SORT_COLUMNS = Map.of(
+            "first_name", "firstName",
+            "last_name", "lastName");
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<Integer> findIdsByFilter(PostFilter filter, Pageable pageable) {
+        TypedQuery<Integer> query = createIdQuery(filter, pageable);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> countByFilter(filter));
+    }
+
+    @Override
+    public Slice<Integer> findIdSliceByFilter(PostFilter filter, Pageable pageable) {
+        TypedQuery<Integer> query = createIdQuery(filter, pageable);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+        List<Integer> ids = query
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? ids.subList(0, pageable.getPageSize()) : ids, pageable, hasNext);
+    }
+
+    @Override
+    public long countByFilter(PostFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<PostEntity> post = query.from(PostEntity.class);
+        Join<PostEntity, UserEntity> author = joinAuthor(filter, Sort.unsorted(), post);
+        query.select(builder.count(post))
+                .where(toPredicates(filter, builder, query, post, author));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private TypedQuery<Integer> createIdQuery(PostFilter filter, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> query = builder.createQuery(Integer.class);
+        Root<PostEntity> post = query.from(PostEntity.class);
+        Join<PostEntity, UserEntity> author = joinAuthor(filter, pageable.getSort(), post);
+        query.select(post.<Integer>get(ID))
+                .where(toPredicates(filter, builder, query, post, author))
+                .orderBy(toOrders(pageable.getSort(), builder, post, author));
+        return entityManager.createQuery(query);
+    }
+
+    /**
+     * Joins the author when the filter or the sort needs the author, otherwise the posts are queried alone.
+     *
+     * <p>The author filters keep only posts which have an author, sorting by the author keeps all the posts.</p>
+     */
+    private Join<PostEntity, UserEntity> joinAuthor(PostFilter filter, Sort sort, Root<PostEntity> post) {
+        if (filter.isAuthorRequired() || (filter.getAuthorId() == null && isSupplied(filter.getAuthor()))) {
+            return post.join(AUTHOR, JoinType.INNER);
+        }
+        if (sort.stream().anyMatch(order -> AUTHOR_SORT_COLUMNS.containsKey(order.getProperty()))) {
+            return post.join(AUTHOR, JoinType.LEFT);
+        }
+        return null;
+    }
+
+    private Predicate[] toPredicates(PostFilter filter, CriteriaBuilder builder, CriteriaQuery<?> query,
+            Root<PostEntity> post, Join<PostEntity, UserEntity> author) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getAuthorId() != null) {
+            predicates.add(builder.equal(post.get(AUTHOR).get(ID), filter.getAuthorId()));
+        }
+        if (isSupplied(filter.getStatuses())) {
+            predicates.add(post.<PostStatus>get("status").in(filter.getStatuses()));
+        }
+        if (isSupplied(filter.getTypeIds())) {
+            predicates.add(post.get("type").get(ID).in(filter.getTypeIds()));
+        }
+        if (isSupplied(filter.getDirectionIds())) {
+            predicates.add(builder.exists(joinedIdIn(query, post, "directions", filter.getDirectionIds())));
+        }
+        if (isSupplied(filter.getOriginIds())) {
+            predicates.add(builder.exists(joinedIdIn(query, post, "origins", filter.getOriginIds())));
+        }
+        if (isSupplied(filter.getTagIds())) {
+            predicates.add(builder.exists(joinedIdIn(query, post, "tags", filter.getTagIds())));
+        }
+        if (filter.getStartDate() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(post.<Timestamp>get("modifiedAt"), filter.getStartDate()));
+        }
+        if (filter.getEndDate() != null) {
+            predicates.add(builder.lessThanOrEqualTo(post.<Timestamp>get("modifiedAt"), filter.getEndDate()));
+        }
+        if (isSupplied(filter.getTitle())) {
+            predicates.add(builder.like(ukUpper(builder, post.get("title")),
+                    ukUpper(builder, builder.concat(builder.concat("%", builder.literal(filter.getTitle())), "%"))));
+        }
+        if (filter.getAuthorId() == null && isSupplied(filter.getAuthor())) {
+            predicates.add(builder.like(author.get("nameSearchKey"),
+                    builder.concat(builder.concat("%|", normalized(builder, builder.literal(filter.getAuthor()))),
+                            "%")));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    /**
+     * Builds the semi-join "post has one of the given directions (origins, tags)".
+     */
+    private Subquery<Integer> joinedIdIn(CriteriaQuery<?> query, Root<PostEntity> post, String attribute,
+            Collection<Integer> ids) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Join<PostEntity, Object> joined = subquery.correlate(post).join(attribute);
+        return subquery.select(joined.<Integer>get(ID))
+                .where(joined.get(ID).in(ids));
+    }
+
+    private Expression<String> normalized(CriteriaBuilder builder, Expression<?> value) {
+        return builder.function(NAME_SEARCH_NORMALIZE, String.class, value);
+    }
+
+    private Expression<String> ukUpper(CriteriaBuilder builder, Expression<?> value) {
+        return builder.function(SqlFunctionsContributor.UK_UPPER, String.class, value);
+    }
+
+    /**
+     * The admin posts list is sorted by column names, which are turned into entity attributes here.
+     *
+     * <p>The first and last name columns are those of the author, as the list used to select posts
+     * together with their authors.</p>
+     */
+    private List<Order> toOrders(Sort sort, CriteriaBuilder builder, Root<PostEntity> post,
+            Join<PostEntity, UserEntity> author) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            Expression<?> expression;
+            if (AUTHOR_SORT_COLUMNS.containsKey(property)) {
+                expression = author.get(AUTHOR_SORT_COLUMNS.get(property));
+            } else {
+                expression = post.get(property.contains("_")
+                        ? JdbcUtils.convertUnderscoreNameToPropertyName(property)
+                        : property);
+            }
+            orders.add(order.isAscending() ? builder.asc(expression) : builder.desc(expression));
+        }
+        return orders;
+    }
+
+    private boolean isSupplied(Collection<?> values) {
+        return values != null && !values.isEmpty();
+    }
+
+    private boolean isSupplied(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -2,12 +2,42 @@ package com.softserveinc.dokazovi.repositories;
 
 import com.softserveinc.dokazovi.dto.payload.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Integer> {
 
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Deletes the refresh token.
+     *
+     * @param tokenHash hash of the token
+     * @return number of deleted tokens, 0 if another request has already deleted it
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM refresh_token r WHERE r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Deletes a batch of expired refresh tokens.
+     *
+     * @param now current time
+     * @param batchSize maximum number of tokens to delete
+     * @return number of deleted tokens
+     */
+    @Transactional
+    @Modifying
+    @Query(nativeQuery = true, value = "DELETE FROM refreshtoken WHERE refreshtoken_id IN ( "
+            + "    SELECT refreshtoken_id FROM refreshtoken WHERE expiry_date < :now LIMIT :batchSize "
+            + ")")
+    int deleteExpired(@Param("now") Instant now, @Param("batchSize") int batchSize);
 }
@@ -1,8 +1,9 @@
 package com.softserveinc.dokazovi.repositories;
 
 import com.softserveinc.dokazovi.entity.TagEntity;
-import org.springframework.cache.annotation.Cacheable;
+import com.softserveinc.dokazovi.repositories.projection.TagUsageView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,7 +11,12 @@ import java.util.List;
 @Repository
 public interface TagRepository extends JpaRepository<TagEntity, Integer> {
 
-    @Override
-    @Cacheable("tags")
-    List<TagEntity> findAll();
+    /**
+     * Gets all tags with the number of posts using each of them.
+     *
+     * @return one row per tag
+     */
+    @Query(value = "SELECT t.id AS id, t.tag AS tag, COUNT(p.id) AS usageCount "
+            + "FROM tag_entity t LEFT JOIN t.posts p GROUP BY t.id, t.tag")
+    List<TagUsageView> findAllWithUsageCount();
 }
@@ -1,13 +1,18 @@
 package com.softserveinc.dokazovi.repositories;
 
 import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.repositories.projection.UserCredentialsView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,6 +23,70 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<UserEntity, Integer> {
 
+    String DOCTORS_BY_DIRECTIONS_AND_REGIONS = " SELECT U.* FROM ( "
+            + "     SELECT AUTHOR_ID FROM AUTHORS D "
+            + "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
+            + "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
+            + "     WHERE C.REGION_ID IN (:regionsIds) "
+            + " ) DOCS_REG "
+            + "     JOIN ( "
+            + "         SELECT DD.AUTHOR_ID, COUNT(DD.DIRECTION_ID) DIR_MATCHED "
+            + "         FROM AUTHORS_DIRECTIONS DD "
+            + "         WHERE DD.DIRECTION_ID IN (:directionsIds) "
+            + "         GROUP BY DD.AUTHOR_ID "
+            + "     ) DOCS_DIR ON DOCS_REG.AUTHOR_ID=DOCS_DIR.AUTHOR_ID "
+            + "         JOIN AUTHORS D ON DOCS_DIR.AUTHOR_ID=D.AUTHOR_ID "
+            + "         JOIN USERS U ON U.USER_ID = D.USER_ID "
+            + " ORDER BY DOCS_DIR.DIR_MATCHED DESC, D.PROMOTION_LEVEL DESC, D.RATING DESC, "
+            + "          U.LAST_NAME, U.FIRST_NAME ";
+
+    String COUNT_DOCTORS_BY_DIRECTIONS_AND_REGIONS = " SELECT COUNT(DOCS_DIR.AUTHOR_ID) FROM ( "
+            + "     SELECT AUTHOR_ID FROM AUTHORS D "
+            + "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
+            + "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
+            + "     WHERE C.REGION_ID IN (:regionsIds) "
+            + " ) DOCS_REG "
+            + "     JOIN ( "
+            + "         SELECT DISTINCT DD.AUTHOR_ID FROM AUTHORS_DIRECTIONS DD "
+            + "         WHERE DD.DIRECTION_ID IN (:directionsIds) "
+            + "     ) DOCS_DIR ON DOCS_REG.AUTHOR_ID=DOCS_DIR.AUTHOR_ID ";
+
+    String DOCTORS_BY_REGIONS = " SELECT U.* FROM ( "
+            + "     SELECT D.PROMOTION_LEVEL, D.RATING, D.USER_ID FROM AUTHORS D "
+            + "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
+            + "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
+            + "     WHERE C.REGION_ID IN (:regionsIds) "
+            + " ) DOCS_REG "
+            + "     JOIN USERS U ON U.USER_ID = DOCS_REG.USER_ID "
+            + " ORDER BY DOCS_REG.PROMOTION_LEVEL DESC, DOCS_REG.RATING DESC, "
+            + "          U.LAST_NAME, U.FIRST_NAME ";
+
+    String COUNT_DOCTORS_BY_REGIONS = " SELECT COUNT(D.AUTHOR_ID) FROM AUTHORS D "
+            + "     JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
+            + "     JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
+            + " WHERE C.REGION_ID IN (:regionsIds) ";
+
+    String DOCTORS_BY_DIRECTIONS = " SELECT U.* FROM ( "
+            + "     SELECT DD.AUTHOR_ID, COUNT(DD.DIRECTION_ID) DIR_MATCHED"
+            + "     FROM AUTHORS_DIRECTIONS DD "
+            + "     WHERE DD.DIRECTION_ID IN (:directionsIds) "
+            + "     GROUP BY DD.AUTHOR_ID "
+            + " ) DOCS_DIR "
+            + "     JOIN AUTHORS D ON DOCS_DIR.AUTHOR_ID=D.AUTHOR_ID "
+            + "     JOIN USERS U ON U.USER_ID=D.USER_ID "
+            + " ORDER BY DOCS_DIR.DIR_MATCHED DESC, D.PROMOTION_LEVEL DESC, D.RATING DESC, "
+            + "          U.LAST_NAME, U.FIRST_NAME ";
+
+    String COUNT_DOCTORS_BY_DIRECTIONS = " SELECT COUNT(DISTINCT DD.AUTHOR_ID) FROM AUTHORS_DIRECTIONS DD "
+            + " WHERE DD.DIRECTION_ID IN (:directionsIds) ";
+
+    String DOCTORS_BY_NAME = " SELECT U.* FROM USERS U "
+            + "     WHERE U.NAME_SEARCH_KEY LIKE ('%|' || NAME_SEARCH_NORMALIZE(:name) || '%') "
+            + "   ORDER BY U.FIRST_NAME, U.LAST_NAME ";
+
+    String COUNT_DOCTORS_BY_NAME = " SELECT COUNT(*) FROM USERS U "
+            + "     WHERE U.NAME_SEARCH_KEY LIKE ('%|' || NAME_SEARCH_NORMALIZE(:name) || '%') ";
+
     Optional<UserEntity> findById (Integer userId);
 
     /**
@@ -31,6 +100,18 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
                     + "SELECT  u.user_id FROM providers u WHERE  u.email IN (:email) LIMIT 1)")
     Optional<UserEntity> findByEmail(@Param("email") String email);
 
+    /**
+     * Gets the data needed to check the password of the user with the email, in one query
+     * using the provider email index and the user primary key.
+     *
+     * @param email email the user logs in with
+     * @return one row per provider of the user having the email, empty if there is no such user
+     */
+    @Query(value = "SELECT u.id AS id, u.email AS email, u.password AS password, u.enabled AS enabled, "
+            + "u.role.id AS roleId, u.securityVersion AS securityVersion "
+            + "FROM provider_entity p JOIN p.user u WHERE p.email = :email")
+    List<UserCredentialsView> findCredentialsByEmail(@Param("email") String email);
+
     /**
      * Gets the user by its email.
      *
@@ -41,38 +122,6 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
             value = "SELECT * FROM users WHERE email = :email")
     Optional<UserEntity> findUserEntityByEmail(@Param("email") String email);
 
-    /**
-     * Gets the page of random doctors.
-     *
-     * @param pageable interface for pagination information received from user service
-     * @return the resulting user entity page
-     */
-    @Query(nativeQuery = true,
-            value = " SELECT U.* FROM AUTHORS D "
-                    + "     JOIN USERS U ON D.USER_ID = U.USER_ID "
-                    + " ORDER BY RANDOM() ")
-    Page<UserEntity> findRandomExperts(Pageable pageable);
-
-    /**
-     * Gets the page of doctors by directions id.
-     *
-     * @param pageable interface for pagination information received from user service
-     * @param directionsIds received from user service
-     * @return the resulting user entity page
-     */
-    @Query(nativeQuery = true,
-            value = " SELECT U.* FROM ( "
-                    + "     SELECT DD.AUTHOR_ID FROM AUTHORS_DIRECTIONS DD "
-                    + "     WHERE DD.DIRECTION_ID IN (:directionsIds) "
-                    + "     GROUP BY DD.AUTHOR_ID "
-                    + " ) DOCS_DIRS "
-                    + "     JOIN AUTHORS D ON DOCS_DIRS.AUTHOR_ID=D.AUTHOR_ID "
-                    + "     JOIN USERS U ON D.USER_ID = U.USER_ID "
-                    + " ORDER BY RANDOM() ",
-            countQuery = " SELECT COUNT(DISTINCT DD.AUTHOR_ID) FROM AUTHORS_DIRECTIONS DD "
-                    + " WHERE DD.DIRECTION_ID IN (:directionsIds) ")
-    Page<UserEntity> findRandomExpertsByDirectionsIdIn(Iterable<Integer> directionsIds, Pageable pageable);
-
     /**
      * Gets the page of doctors order by promotion level and rating.
      *
@@ -96,32 +145,8 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
      * @return the resulting user entity page
      */
     @Query(nativeQuery = true,
-            value = " SELECT U.* FROM ( "
-                    + "     SELECT AUTHOR_ID FROM AUTHORS D "
-                    + "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
-                    + "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
-                    + "     WHERE C.REGION_ID IN (:regionsIds) "
-                    + " ) DOCS_REG "
-                    + "     JOIN ( "
-                    + "         SELECT DD.AUTHOR_ID, COUNT(DD.DIRECTION_ID) DIR_MATCHED "
-                    + "         FROM AUTHORS_DIRECTIONS DD "
-                    + "         WHERE DD.DIRECTION_ID IN (:directionsIds) "
-                    + "         GROUP BY DD.AUTHOR_ID "
-                    + "     ) DOCS_DIR ON DOCS_REG.AUTHOR_ID=DOCS_DIR.AUTHOR_ID "
-                    + "         JOIN AUTHORS D ON DOCS_DIR.AUTHOR_ID=D.AUTHOR_ID "
-                    + "         JOIN USERS U ON U.USER_ID = D.USER_ID "
-                    + " ORDER BY DOCS_DIR.DIR_MATCHED DESC, D.PROMOTION_LEVEL DESC, D.RATING DESC, "
-                    + "          U.LAST_NAME, U.FIRST_NAME ",
-            countQuery = " SELECT COUNT(DOCS_DIR.AUTHOR_ID) FROM ( "
-                    + "     SELECT AUTHOR_ID FROM AUTHORS D "
-                    + "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
-                    + "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
-                    + "     WHERE C.REGION_ID IN (:regionsIds) "
-                    + " ) DOCS_REG "
-                    + "     JOIN ( "
-                    + "         SELECT DISTINCT DD.AUTHOR_ID FROM AUTHORS_DIRECTIONS DD "
-                    + "         WHERE DD.DIRECTION_ID IN (:directionsIds) "
-                    + "     ) DOCS_DIR ON DOCS_REG.AUTHOR_ID=DOCS_DIR.AUTHOR_ID ")
+            value = DOCTORS_BY_DIRECTIONS_AND_REGIONS,
+            countQuery = COUNT_DOCTORS_BY_DIRECTIONS_AND_REGIONS)
     Page<UserEntity> findDoctorsProfiles(
             Iterable<Integer> directionsIds, Iterable<Integer> regionsIds, Pageable pageable);
 
@@ -133,19 +158,8 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
      * @return the resulting user entity page
      */
     @Query(nativeQuery = true,
-            value = " SELECT U.* FROM ( "
-                    + "     SELECT D.PROMOTION_LEVEL, D.RATING, D.USER_ID FROM AUTHORS D "
-                    + "         JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
-                    + "         JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
-                    + "     WHERE C.REGION_ID IN (:regionsIds) "
-                    + " ) DOCS_REG "
-                    + "     JOIN USERS U ON U.USER_ID = DOCS_REG.USER_ID "
-                    + " ORDER BY DOCS_REG.PROMOTION_LEVEL DESC, DOCS_REG.RATING DESC, "
-                    + "          U.LAST_NAME, U.FIRST_NAME ",
-            countQuery = " SELECT COUNT(D.AUTHOR_ID) FROM AUTHORS D "
-                    + "     JOIN INSTITUTIONS I ON D.INSTITUTION_ID=I.INSTITUTION_ID "
-                    + "     JOIN CITIES C ON I.CITY_ID=C.CITY_ID "
-                    + " WHERE C.REGION_ID IN (:regionsIds) ")
+            value = DOCTORS_BY_REGIONS,
+            countQuery = COUNT_DOCTORS_BY_REGIONS)
     Page<UserEntity> findDoctorsProfilesByRegionsIds(
             Iterable<Integer> regionsIds, Pageable pageable);
 
@@ -157,37 +171,113 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
      * @return the resulting user entity page
      */
     @Query(nativeQuery = true,
-            value = " SELECT U.* FROM ( "
-                    + "     SELECT DD.AUTHOR_ID, COUNT(DD.DIRECTION_ID) DIR_MATCHED"
-                    + "     FROM AUTHORS_DIRECTIONS DD "
-                    + "     WHERE DD.DIRECTION_ID IN (:directionsIds) "
-                    + "     GROUP BY DD.AUTHOR_ID "
-                    + " ) DOCS_DIR "
-                    + "     JOIN AUTHORS D ON DOCS_DIR.AUTHOR_ID=D.AUTHOR_ID "
-                    + "     JOIN USERS U ON U.USER_ID=D.USER_ID "
-                    + " ORDER BY DOCS_DIR.DIR_MATCHED DESC, D.PROMOTION_LEVEL DESC, D.RATING DESC, "
-                    + "          U.LAST_NAME, U.FIRST_NAME ",
-            countQuery = " SELECT COUNT(DISTINCT DD.AUTHOR_ID) FROM AUTHORS_DIRECTIONS DD "
-                    + " WHERE DD.DIRECTION_ID IN (:directionsIds) ")
+            value = DOCTORS_BY_DIRECTIONS,
+            countQuery = COUNT_DOCTORS_BY_DIRECTIONS)
     Page<UserEntity> findDoctorsProfilesByDirectionsIds(
             Iterable<Integer> directionsIds, Pageable pageable);
 
     /**
      * Gets the page of doctors by single name.
      *
+     * <p>Matches the beginning of "first last" or "last first" name, case and apostrophe insensitive,
+     * using the trigram-indexed NAME_SEARCH_KEY column maintained by the database trigger.</p>
+     *
      * @param name user name received from user service
      * @param pageable interface for pagination information received from user service
      * @return the resulting user entity page
      */
     @Query(nativeQuery = true,
-            value = " SELECT U.* FROM USERS U "
-                    + "     WHERE UPPER((U.FIRST_NAME || ' ' || U.LAST_NAME) COLLATE \"uk-ua-dokazovi-x-icu\")"
-                    + "         LIKE UPPER((:name || '%') COLLATE \"uk-ua-dokazovi-x-icu\") "
-                    + "        OR UPPER((U.LAST_NAME || ' ' || U.FIRST_NAME) COLLATE \"uk-ua-dokazovi-x-icu\")"
-                    + "         LIKE UPPER((:name || '%') COLLATE \"uk-ua-dokazovi-x-icu\") "
-                    + "   ORDER BY U.FIRST_NAME, U.LAST_NAME ")
+            value = DOCTORS_BY_NAME,
+            countQuery = COUNT_DOCTORS_BY_NAME)
     Page<UserEntity> findDoctorsByName(@Param("name") String name, Pageable pageable);
 
+    /**
+     * Gets the slice of users without counting them.
+     *
+     * @param pageable interface for pagination information received from user service
+     * @return the resulting user entity slice
+     */
+    Slice<UserEntity> findAllBy(Pageable pageable);
+
+    /**
+     * Gets the slice of doctors by directions ids and regions ids without counting them.
+     *
+     * @param directionsIds received from user service
+     * @param regionsIds received from user service
+     * @param pageable interface for pagination information received from user service
+     * @return the resulting user entity slice
+     */
+    @Query(nativeQuery = true, value = DOCTORS_BY_DIRECTIONS_AND_REGIONS)
+    Slice<UserEntity> findDoctorsProfilesSlice(
+            Iterable<Integer> directionsIds, Iterable<Integer> regionsIds, Pageable pageable);
+
+    /**
+     * Counts doctors by directions ids and regions ids.
+     *
+     * @param directionsIds received from user service
+     * @param regionsIds received from user service
+     * @return number of found doctors
+     */
+    @Query(nativeQuery = true, value = COUNT_DOCTORS_BY_DIRECTIONS_AND_REGIONS)
+    long countDoctorsProfiles(Iterable<Integer> directionsIds, Iterable<Integer> regionsIds);
+
+    /**
+     * Gets the slice of doctors by regions ids without counting them.
+     *
+     * @param regionsIds received from user service
+     * @param pageable interface for pagination information received from user service
+     * @return the resulting user entity slice
+     */
+    @Query(nativeQuery = true, value = DOCTORS_BY_REGIONS)
+    Slice<UserEntity> findDoctorsProfilesSliceByRegionsIds(Iterable<Integer> regionsIds, Pageable pageable);
+
+    /**
+     * Counts doctors by regions ids.
+     *
+     * @param regionsIds received from user service
+     * @return number of found doctors
+     */
+    @Query(nativeQuery = true, value = COUNT_DOCTORS_BY_REGIONS)
+    long countDoctorsProfilesByRegionsIds(Iterable<Integer> regionsIds);
+
+    /**
+     * Gets the slice of doctors by directions ids without counting them.
+     *
+     * @param directionsIds received from user service
+     * @param pageable interface for pagination information received from user service
+     * @return the resulting user entity slice
+     */
+    @Query(nativeQuery = true, value = DOCTORS_BY_DIRECTIONS)
+    Slice<UserEntity> findDoctorsProfilesSliceByDirectionsIds(Iterable<Integer> directionsIds, Pageable pageable);
+
+    /**
+     * Counts doctors by directions ids.
+     *
+     * @param directionsIds received from user service
+     * @return number of found doctors
+     */
+    @Query(nativeQuery = true, value = COUNT_DOCTORS_BY_DIRECTIONS)
+    long countDoctorsProfilesByDirectionsIds(Iterable<Integer> directionsIds);
+
+    /**
+     * Gets the slice of doctors by single name without counting them.
+     *
+     * @param name user name received from user service
+     * @param pageable interface for pagination information received from user service
+     * @return the resulting user entity slice
+     */
+    @Query(nativeQuery = true, value = DOCTORS_BY_NAME)
+    Slice<UserEntity> findDoctorsSliceByName(@Param("name") String name, Pageable pageable);
+
+    /**
+     * Counts doctors by single name.
+     *
+     * @param name user name received from user service
+     * @return number of found doctors
+     */
+    @Query(nativeQuery = true, value = COUNT_DOCTORS_BY_NAME)
+    long countDoctorsByName(@Param("name") String name);
+
     /**
      * Checks whether the user exists by email.
      *
@@ -195,4 +285,25 @@ public interface UserRepository extends JpaRepository<UserEntity, Integer> {
      * @return true or false
      */
     Boolean existsByEmail(String email);
+
+    /**
+     * Increments the security version of the user in the current transaction,
+     * or in a new one when it is called outside of a transaction.
+     *
+     * @param userId id of the user
+     * @return number of updated users
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE user_entity u SET u.securityVersion = COALESCE(u.securityVersion, 0) + 1 WHERE u.id = :userId")
+    int incrementSecurityVersion(@Param("userId") Integer userId);
+
+    /**
+     * Gets the security version of the user.
+     *
+     * @param userId id of the user
+     * @return the security version, empty if the user does not exist
+     */
+    @Query("SELECT COALESCE(u.securityVersion, 0) FROM user_entity u WHERE u.id = :userId")
+    Optional<Long> findSecurityVersionById(@Param("userId") Integer userId);
 }
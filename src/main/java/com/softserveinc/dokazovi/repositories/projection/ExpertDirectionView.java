@@ -0,0 +1,15 @@
+package com.softserveinc.dokazovi.repositories.projection;
+
+/**
+ * Direction of an expert, used to build the in-memory index of experts.
+ *
+ * <p>Experts without directions are represented by a single row with an empty direction id.</p>
+ */
+public interface ExpertDirectionView {
+
+    Integer getAuthorId();
+
+    Integer getUserId();
+
+    Integer getDirectionId();
+}
@@ -0,0 +1,11 @@
+package com.softserveinc.dokazovi.repositories.projection;
+
+/**
+ * Id of a post that belongs to one of the main page sections (expert opinion, media, translation, video).
+ */
+public interface PostBucketView {
+
+    String getBucket();
+
+    Integer getPostId();
+}
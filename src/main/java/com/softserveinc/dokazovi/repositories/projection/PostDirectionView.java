@@ -0,0 +1,10 @@
+package com.softserveinc.dokazovi.repositories.projection;
+
+import com.softserveinc.dokazovi.entity.DirectionEntity;
+
+public interface PostDirectionView {
+
+    Integer getPostId();
+
+    DirectionEntity getDirection();
+}
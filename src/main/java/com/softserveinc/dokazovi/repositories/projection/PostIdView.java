@@ -0,0 +1,9 @@
+package com.softserveinc.dokazovi.repositories.projection;
+
+/**
+ * Id of a found post, used to select a page of posts before loading the posts themselves.
+ */
+public interface PostIdView {
+
+    Integer getId();
+}
@@ -0,0 +1,10 @@
+package com.softserveinc.dokazovi.repositories.projection;
+
+import com.softserveinc.dokazovi.entity.OriginEntity;
+
+public interface PostOriginView {
+
+    Integer getPostId();
+
+    OriginEntity getOrigin();
+}
@@ -0,0 +1,13 @@
+package com.softserveinc.dokazovi.repositories.projection;
+
+/**
+ * Post found by the full-text search with its rank and highlighted fragment.
+ */
+public interface PostSearchView {
+
+    Integer getPostId();
+
+    Float getRank();
+
+    String getHeadline();
+}
@@ -0,0 +1,63 @@
+package com.softserveinc.dokazovi.repositories.projection;
+
+import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+
+import java.sql.Timestamp;
+
+/**
+ * Post fields shown in post lists, together with its type and author.
+ *
+ * <p>Never contains the post content.</p>
+ */
+public interface PostSummaryView {
+
+    Integer getId();
+
+    String getTitle();
+
+    String getPreview();
+
+    String getVideoUrl();
+
+    String getPreviewImageUrl();
+
+    String getImportantMobileImageUrl();
+
+    String getImportantImageUrl();
+
+    PostStatus getStatus();
+
+    Timestamp getCreatedAt();
+
+    Timestamp getModifiedAt();
+
+    Timestamp getPublishedAt();
+
+    Integer getImportanceOrder();
+
+    Integer getViews();
+
+    Integer getRealViews();
+
+    Integer getTypeId();
+
+    String getTypeName();
+
+    Integer getAuthorId();
+
+    String getAuthorFirstName();
+
+    String getAuthorLastName();
+
+    String getAuthorAvatar();
+
+    String getAuthorBio();
+
+    Integer getInstitutionId();
+
+    String getInstitutionName();
+
+    Integer getCityId();
+
+    String getCityName();
+}
@@ -0,0 +1,10 @@
+package com.softserveinc.dokazovi.repositories.projection;
+
+import com.softserveinc.dokazovi.entity.TagEntity;
+
+public interface PostTagView {
+
+    Integer getPostId();
+
+    TagEntity getTag();
+}
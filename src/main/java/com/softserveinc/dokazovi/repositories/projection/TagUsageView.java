@@ -0,0 +1,13 @@
+package com.softserveinc.dokazovi.repositories.projection;
+
+/**
+ * Tag with the number of posts using it, used to build the in-memory tag search index.
+ */
+public interface TagUsageView {
+
+    Integer getId();
+
+    String getTag();
+
+    Long getUsageCount();
+}
@@ -0,0 +1,20 @@
+package com.softserveinc.dokazovi.repositories.projection;
+
+/**
+ * Data of a user needed to check its password on login, loaded without the user entity,
+ * its providers and its role.
+ */
+public interface UserCredentialsView {
+
+    Integer getId();
+
+    String getEmail();
+
+    String getPassword();
+
+    Boolean getEnabled();
+
+    Integer getRoleId();
+
+    Long getSecurityVersion();
+}
@@ -0,0 +1,158 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password encoder hashing passwords on a dedicated bounded pool instead of the request threads,
+ * so that a burst of logins cannot take all the request threads from the other endpoints.
+ *
+ * <p>At most {@code pool-size} passwords are hashed at once and at most {@code queue-capacity} wait for it.
+ * A password which does not fit into the queue, or is not hashed in {@code timeout-ms}, is rejected at once
+ * with a {@link PasswordHashingRejectedException}, answered with 429 Too Many Requests.
+ * The time passwords wait in the queue and the time they are hashed are published as metrics.</p>
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final Timer queueWait;
+    private final Timer encodes;
+    private final Timer matches;
+    private final Counter rejections;
+
+    @Autowired
+    public BoundedPasswordEncoder(MeterRegistry registry,
+            @Value("${password-hashing.pool-size:0}") int poolSize,
+            @Value("${password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${password-hashing.timeout-ms:5000}") long timeoutMs) {
+        this(new BCryptPasswordEncoder(), registry, poolSize, queueCapacity, timeoutMs);
+    }
+
+    /**
+     * Creates the encoder.
+     *
+     * @param delegate encoder hashing the passwords
+     * @param registry registry of the metrics
+     * @param poolSize number of hashing threads, the number of processors if not positive
+     * @param queueCapacity number of passwords which may wait for a hashing thread
+     * @param timeoutMs time a password may wait and be hashed before it is rejected
+     */
+    BoundedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry, int poolSize, int queueCapacity,
+            long timeoutMs) {
+        int threads = (poolSize > 0) ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.delegate = delegate;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.queueWait = Timer.builder("app.password.hashing.queue")
+                .description("Time passwords wait for a hashing thread")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.encodes = hashTimer(registry, "encode");
+        this.matches = hashTimer(registry, "matches");
+        this.rejections = registry.counter("app.password.hashing.rejections");
+        Gauge.builder("app.password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+                .description("Number of passwords waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("app.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Number of passwords being hashed")
+                .register(registry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(encodes, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(matches, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Timer hashTimer, Callable<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return hashTimer.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            return reject("Too many passwords are being checked, try again later");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Password is not hashed in {} ms", timeoutMs);
+            return reject("Password is not checked in time, try again later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return reject("Password check is interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private <T> T reject(String message) {
+        rejections.increment();
+        throw new PasswordHashingRejectedException(message);
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("app.password.hashing.duration")
+                .description("Time passwords are hashed")
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+}
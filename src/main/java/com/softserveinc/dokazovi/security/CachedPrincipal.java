@@ -0,0 +1,59 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.entity.RoleEntity;
+import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Security data of a user needed to authenticate its requests, cached by the {@link PrincipalCache}.
+ * The password is left out, requests are authenticated with tokens.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedPrincipal {
+
+    private Integer id;
+    private String email;
+    private Integer roleId;
+    private String roleName;
+    private Set<RolePermission> permissions;
+    private long securityVersion;
+
+    public static CachedPrincipal of(UserEntity user) {
+        RoleEntity role = user.getRole();
+        return CachedPrincipal.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .roleId((role != null) ? role.getId() : null)
+                .roleName((role != null) ? role.getName() : null)
+                .permissions((role != null && role.getPermissions() != null)
+                        ? new HashSet<>(role.getPermissions()) : null)
+                .securityVersion((user.getSecurityVersion() != null) ? user.getSecurityVersion() : 0L)
+                .build();
+    }
+
+    public UserPrincipal toPrincipal() {
+        RoleEntity role = (roleId != null)
+                ? RoleEntity.builder()
+                        .id(roleId)
+                        .name(roleName)
+                        .permissions((permissions != null) ? new HashSet<>(permissions) : new HashSet<>())
+                        .build()
+                : null;
+        return UserPrincipal.builder()
+                .id(id)
+                .email(email)
+                .role(role)
+                .securityVersion(securityVersion)
+                .build();
+    }
+}
@@ -1,39 +1,50 @@
 package com.softserveinc.dokazovi.security;
 
-import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
 import com.softserveinc.dokazovi.repositories.UserRepository;
+import com.softserveinc.dokazovi.repositories.projection.UserCredentialsView;
 import lombok.AllArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @AllArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final RoleTable roleTable;
 
+    /**
+     * Gets the principal of a user logging in with its password. Only the columns needed for the login are loaded,
+     * the role and its permissions are taken from the {@link RoleTable}.
+     *
+     * @param email email the user logs in with
+     * @return the principal, with the password hash
+     * @throws UsernameNotFoundException if there is no user with the email
+     */
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
-        UserEntity user = userRepository.findByEmail(email)
+        UserCredentialsView credentials = userRepository.findCredentialsByEmail(email).stream()
+                .findFirst()
                 .orElseThrow(() ->
                         new UsernameNotFoundException("User not found with email : " + email)
                 );
 
-        return UserPrincipal.create(user);
+        return UserPrincipal.create(credentials, roleTable.get(credentials.getRoleId()));
     }
 
-    @Transactional
+    /**
+     * Gets the principal of a user authenticated by a token from the {@link PrincipalCache}.
+     *
+     * @param id id of the user
+     * @return the principal, without the password
+     * @throws ResourceNotFoundException if the user does not exist
+     */
     public UserDetails loadUserById(Integer id) {
-        UserEntity user = userRepository.findById(id).orElseThrow(
-                () -> new ResourceNotFoundException("User", "id", id)
-        );
-
-        return UserPrincipal.create(user);
+        return principalCache.get(id);
     }
 }
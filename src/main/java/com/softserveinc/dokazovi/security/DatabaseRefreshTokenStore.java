@@ -0,0 +1,82 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.dto.payload.RefreshToken;
+import com.softserveinc.dokazovi.repositories.RefreshTokenRepository;
+import com.softserveinc.dokazovi.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Refresh tokens kept in the refreshtoken table, looked up by the indexed hash of the token.
+ * Expired tokens are deleted periodically in batches, so that the table does not grow with every login.
+ */
+@Component
+@ConditionalOnProperty(name = "refresh-token.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseRefreshTokenStore implements RefreshTokenStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseRefreshTokenStore.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final int sweepBatchSize;
+
+    public DatabaseRefreshTokenStore(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+            @Value("${refresh-token.sweep-batch-size:1000}") int sweepBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.sweepBatchSize = sweepBatchSize;
+    }
+
+    @Override
+    public void save(StoredRefreshToken token) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(token.getTokenHash());
+        refreshToken.setUser(userRepository.getOne(token.getUserId()));
+        refreshToken.setExpiryDate(token.getExpiryDate());
+        refreshToken.setSecurityVersion(token.getSecurityVersion());
+        refreshTokenRepository.save(refreshToken);
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash).map(DatabaseRefreshTokenStore::toStored);
+    }
+
+    @Override
+    @Transactional
+    public Optional<StoredRefreshToken> remove(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash)
+                .filter(refreshToken -> refreshTokenRepository.deleteByTokenHash(tokenHash) > 0)
+                .map(DatabaseRefreshTokenStore::toStored);
+    }
+
+    /**
+     * Deletes the expired tokens, a batch at a time so that no transaction locks many rows.
+     */
+    @Scheduled(fixedDelayString = "${refresh-token.sweep-delay-msec:3600000}")
+    public void sweepExpired() {
+        Instant now = Instant.now();
+        int deleted = 0;
+        int batch;
+        do {
+            batch = refreshTokenRepository.deleteExpired(now, sweepBatchSize);
+            deleted += batch;
+        } while (batch >= sweepBatchSize);
+        if (deleted > 0) {
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private static StoredRefreshToken toStored(RefreshToken refreshToken) {
+        return new StoredRefreshToken(refreshToken.getTokenHash(), refreshToken.getUser().getId(),
+                refreshToken.getExpiryDate(), refreshToken.getSecurityVersion());
+    }
+}
@@ -0,0 +1,109 @@
+package com.softserveinc.dokazovi.security;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.softserveinc.dokazovi.config.RedisConfig;
+import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.event.UserSecurityChangedEvent;
+import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
+import com.softserveinc.dokazovi.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Cache of the principals authenticated by tokens, so that a request does not load the user,
+ * its role and permissions from the database.
+ *
+ * <p>Principals are cached by user id in the two-level principal cache: a local cache in front of Redis,
+ * with evictions broadcast to the other nodes. A principal is evicted once a change of the role, the password
+ * or the enabled status of its user commits. Each cached principal keeps the security version its user had
+ * when it was loaded.</p>
+ *
+ * <p>A request on any node may load the user just before a change commits and put the outdated principal
+ * after the eviction. So a principal is checked against the security version in the database after it is
+ * put, and evicted again if it is outdated: the put either precedes the eviction or is seen by the check.
+ * Until then a principal older than the latest version this node has seen is loaded again, this node-local
+ * check only closes the gap on the node making the change.</p>
+ */
+@Component
+public class PrincipalCache {
+
+    private final CacheManager cacheManager;
+    private final UserRepository userRepository;
+    private final com.github.benmanes.caffeine.cache.Cache<Integer, Long> latestVersions;
+
+    public PrincipalCache(CacheManager cacheManager, UserRepository userRepository,
+            @Value("${principal-cache.version-retention-sec:900}") long versionRetentionSec) {
+        this.cacheManager = cacheManager;
+        this.userRepository = userRepository;
+        this.latestVersions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(versionRetentionSec))
+                .build();
+    }
+
+    /**
+     * Gets the principal of the user, loading it if it is not cached or outdated.
+     *
+     * @param userId id of the user
+     * @return the principal, without the password
+     * @throws ResourceNotFoundException if the user does not exist
+     */
+    public UserPrincipal get(Integer userId) {
+        Cache cache = cacheManager.getCache(RedisConfig.PRINCIPAL_CACHE);
+        if (cache == null) {
+            return load(userId).toPrincipal();
+        }
+        boolean[] loaded = {false};
+        CachedPrincipal cached = cache.get(userId, () -> {
+            loaded[0] = true;
+            return load(userId);
+        });
+        Long latestVersion = latestVersions.getIfPresent(userId);
+        if (cached == null || (latestVersion != null && cached.getSecurityVersion() < latestVersion)) {
+            cached = load(userId);
+            cache.put(userId, cached);
+            loaded[0] = true;
+        }
+        if (loaded[0] && isOutdated(cached)) {
+            cache.evict(userId);
+            cached = load(userId);
+        }
+        return cached.toPrincipal();
+    }
+
+    /**
+     * Evicts the principal of the user once its change commits.
+     *
+     * @param event the change of the user
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        Integer userId = event.getUserId();
+        userRepository.findSecurityVersionById(userId)
+                .ifPresent(version -> latestVersions.asMap().merge(userId, version, Math::max));
+        Cache cache = cacheManager.getCache(RedisConfig.PRINCIPAL_CACHE);
+        if (cache != null) {
+            cache.evict(userId);
+        }
+    }
+
+    /**
+     * Checks a just cached principal against the security version of its user in the database.
+     */
+    private boolean isOutdated(CachedPrincipal principal) {
+        return userRepository.findSecurityVersionById(principal.getId())
+                .map(version -> principal.getSecurityVersion() < version)
+                .orElse(false);
+    }
+
+    private CachedPrincipal load(Integer userId) {
+        UserEntity user = userRepository.findById(userId).orElseThrow(
+                () -> new ResourceNotFoundException("User", "id", userId)
+        );
+        return CachedPrincipal.of(user);
+    }
+}
@@ -0,0 +1,62 @@
+package com.softserveinc.dokazovi.security;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Refresh tokens kept in Redis as keys of the token hashes, expiring with the tokens.
+ * The value holds the user id, the expiry date and the security version of the user; values saved before
+ * the security version was kept have none and are read as of version 0.
+ */
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String PREFIX = "dokazovi:refresh-token:";
+    private static final String SEPARATOR = ":";
+    private static final RedisScript<String> REMOVE_SCRIPT = new DefaultRedisScript<>(
+            "local value = redis.call('get', KEYS[1]) "
+                    + "if value then redis.call('del', KEYS[1]) end "
+                    + "return value",
+            String.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void save(StoredRefreshToken token) {
+        Duration timeToLive = Duration.between(Instant.now(), token.getExpiryDate());
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            return;
+        }
+        redisTemplate.opsForValue().set(PREFIX + token.getTokenHash(),
+                token.getUserId() + SEPARATOR + token.getExpiryDate().toEpochMilli() + SEPARATOR
+                        + token.getSecurityVersion(), timeToLive);
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> find(String tokenHash) {
+        return parse(tokenHash, redisTemplate.opsForValue().get(PREFIX + tokenHash));
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> remove(String tokenHash) {
+        return parse(tokenHash, redisTemplate.execute(REMOVE_SCRIPT, List.of(PREFIX + tokenHash)));
+    }
+
+    private static Optional<StoredRefreshToken> parse(String tokenHash, String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String[] parts = value.split(SEPARATOR);
+        return Optional.of(new StoredRefreshToken(tokenHash, Integer.valueOf(parts[0]),
+                Instant.ofEpochMilli(Long.parseLong(parts[1])), (parts.length > 2) ? Long.parseLong(parts[2]) : 0L));
+    }
+}
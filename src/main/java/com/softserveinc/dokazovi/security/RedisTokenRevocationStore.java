@@ -0,0 +1,68 @@
+package com.softserveinc.dokazovi.security;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token revocations kept in a Redis hash, a field per user holding the minimum version and the expiration.
+ *
+ * <p>Both saving and pruning are scripts, so that a revocation saved by one node meanwhile is neither
+ * downgraded nor dropped.</p>
+ */
+public class RedisTokenRevocationStore implements TokenRevocationStore {
+
+    private static final String KEY = "dokazovi:token-revocations";
+    private static final String SEPARATOR = ":";
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('hget', KEYS[1], ARGV[1]) "
+                    + "if current and tonumber(string.match(current, '^(%d+)')) >= tonumber(ARGV[2]) "
+                    + "then return 0 end "
+                    + "return redis.call('hset', KEYS[1], ARGV[1], ARGV[2] .. ':' .. ARGV[3])",
+            Long.class);
+    private static final RedisScript<Long> PRUNE_SCRIPT = new DefaultRedisScript<>(
+            "local removed = 0 "
+                    + "for i = 1, #ARGV, 2 do "
+                    + "if redis.call('hget', KEYS[1], ARGV[i]) == ARGV[i + 1] then "
+                    + "removed = removed + redis.call('hdel', KEYS[1], ARGV[i]) end end "
+                    + "return removed",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisTokenRevocationStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public void save(TokenRevocation revocation) {
+        redisTemplate.execute(SAVE_SCRIPT, List.of(KEY), String.valueOf(revocation.getUserId()),
+                String.valueOf(revocation.getMinimumVersion()), String.valueOf(revocation.getExpiresAt()));
+    }
+
+    @Override
+    public List<TokenRevocation> findActive(long now) {
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(KEY);
+        List<TokenRevocation> active = new ArrayList<>();
+        List<String> expired = new ArrayList<>();
+        entries.forEach((field, value) -> {
+            String[] parts = String.valueOf(value).split(SEPARATOR);
+            long expiresAt = Long.parseLong(parts[1]);
+            if (expiresAt <= now) {
+                expired.add(String.valueOf(field));
+                expired.add(String.valueOf(value));
+            } else {
+                active.add(new TokenRevocation(Integer.valueOf(String.valueOf(field)),
+                        Long.parseLong(parts[0]), expiresAt));
+            }
+        });
+        if (!expired.isEmpty()) {
+            redisTemplate.execute(PRUNE_SCRIPT, List.of(KEY), expired.toArray());
+        }
+        return active;
+    }
+}
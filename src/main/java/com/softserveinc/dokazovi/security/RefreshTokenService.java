@@ -3,47 +3,134 @@ package com.softserveinc.dokazovi.security;
 import com.softserveinc.dokazovi.config.AppProperties;
 import com.softserveinc.dokazovi.dto.payload.RefreshToken;
 import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
 import com.softserveinc.dokazovi.exception.TokenRefreshException;
-import com.softserveinc.dokazovi.repositories.RefreshTokenRepository;
 import com.softserveinc.dokazovi.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Issues refresh tokens and exchanges them for access tokens. The tokens are kept by the {@link RefreshTokenStore}
+ * as their SHA-256 hashes.
+ */
 @Service
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     private final AppProperties appProperties;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final UserRepository userRepository;
 
+    @Value("${app.auth.refreshTokenRotation:true}")
+    private boolean rotation;
+
     public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        return refreshTokenStore.find(hash(token))
+                .flatMap(stored -> userRepository.findById(stored.getUserId())
+                        .map(user -> toRefreshToken(stored, token, user)));
     }
 
     public RefreshToken createRefreshToken(Integer userId) {
-        RefreshToken refreshToken = new RefreshToken();
-        long expirationTime = appProperties.getAuth().getRefreshTokenExpirationMsec();
-
-        Optional<UserEntity> userEntity = userRepository.findById(userId);
-        if (userEntity.isPresent()) {
-            refreshToken.setUser(userEntity.get());
-            refreshToken.setExpiryDate(Instant.now().plusMillis(expirationTime));
-            refreshToken.setToken(UUID.randomUUID().toString());
-        }
-        return refreshTokenRepository.save(refreshToken);
+        return createRefreshToken(findUser(userId));
     }
 
     public RefreshToken verifyExpiration(RefreshToken token) {
         if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-            refreshTokenRepository.delete(token);
+            refreshTokenStore.remove(hash(token.getToken()));
             throw new TokenRefreshException(token.getToken(),
                     "Refresh token was expired. Please make a new signin request");
         }
         return token;
     }
+
+    /**
+     * Rejects the token if it was issued before the security data of its user changed, e.g. before
+     * the password was reset, and removes it.
+     */
+    public RefreshToken verifySecurityVersion(RefreshToken token) {
+        if (token.getSecurityVersion() < securityVersionOf(token.getUser())) {
+            refreshTokenStore.remove(hash(token.getToken()));
+            throw new TokenRefreshException(token.getToken(),
+                    "Refresh token was revoked. Please make a new signin request");
+        }
+        return token;
+    }
+
+    /**
+     * Exchanges the refresh token presented by a client. With rotation, which is on by default, the token
+     * is used up and a new one is issued, so a token replayed after it has been used is rejected.
+     *
+     * @param token the presented token
+     * @return the token to give back to the client, empty if the token does not exist or has been used
+     * @throws TokenRefreshException if the token has expired or was issued before the last change
+     *         of the password, the role or the enabled status of the user
+     */
+    public Optional<RefreshToken> refresh(String token) {
+        if (!rotation) {
+            return findByToken(token).map(this::verifyExpiration).map(this::verifySecurityVersion);
+        }
+        return refreshTokenStore.remove(hash(token))
+                .map(stored -> {
+                    if (stored.getExpiryDate().isBefore(Instant.now())) {
+                        throw new TokenRefreshException(token,
+                                "Refresh token was expired. Please make a new signin request");
+                    }
+                    UserEntity user = findUser(stored.getUserId());
+                    verifySecurityVersion(toRefreshToken(stored, token, user));
+                    return createRefreshToken(user);
+                });
+    }
+
+    private RefreshToken createRefreshToken(UserEntity user) {
+        String token = UUID.randomUUID().toString();
+        Instant expiryDate = Instant.now().plusMillis(appProperties.getAuth().getRefreshTokenExpirationMsec());
+        StoredRefreshToken stored = new StoredRefreshToken(hash(token), user.getId(), expiryDate,
+                securityVersionOf(user));
+        refreshTokenStore.save(stored);
+        return toRefreshToken(stored, token, user);
+    }
+
+    private UserEntity findUser(Integer userId) {
+        return userRepository.findById(userId).orElseThrow(
+                () -> new ResourceNotFoundException("User", "id", userId)
+        );
+    }
+
+    private static long securityVersionOf(UserEntity user) {
+        return (user.getSecurityVersion() != null) ? user.getSecurityVersion() : 0L;
+    }
+
+    private static RefreshToken toRefreshToken(StoredRefreshToken stored, String token, UserEntity user) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(stored.getTokenHash());
+        refreshToken.setToken(token);
+        refreshToken.setUser(user);
+        refreshToken.setExpiryDate(stored.getExpiryDate());
+        refreshToken.setSecurityVersion(stored.getSecurityVersion());
+        return refreshToken;
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            char[] hex = new char[digest.length * 2];
+            for (int i = 0; i < digest.length; i++) {
+                hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xF];
+            }
+            return new String(hex);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
 }
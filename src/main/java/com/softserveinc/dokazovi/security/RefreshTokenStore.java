@@ -0,0 +1,33 @@
+package com.softserveinc.dokazovi.security;
+
+import java.util.Optional;
+
+/**
+ * Store of the issued refresh tokens, selected by the {@code refresh-token.store} property:
+ * {@code database} by default, or {@code redis}.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * Saves the token until it expires.
+     *
+     * @param token the token
+     */
+    void save(StoredRefreshToken token);
+
+    /**
+     * Finds the token.
+     *
+     * @param tokenHash hash of the token
+     * @return the token, empty if it does not exist or has been removed
+     */
+    Optional<StoredRefreshToken> find(String tokenHash);
+
+    /**
+     * Removes the token. Of concurrent calls for the same token only one gets it.
+     *
+     * @param tokenHash hash of the token
+     * @return the removed token, empty if it does not exist or has already been removed
+     */
+    Optional<StoredRefreshToken> remove(String tokenHash);
+}
@@ -0,0 +1,80 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.entity.RoleEntity;
+import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
+import com.softserveinc.dokazovi.repositories.RoleRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory table of the roles with their permissions, so that a login does not load the role of the user
+ * and its permissions from the database.
+ *
+ * <p>Roles are few and change only with migrations. The table is loaded on first use, reloaded periodically,
+ * and reloaded at once when a role missing from it is asked for.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleTable.class);
+
+    private final RoleRepository roleRepository;
+    private volatile Map<Integer, RoleEntity> roles;
+
+    /**
+     * Gets the role with its permissions.
+     *
+     * @param roleId id of the role
+     * @return the role, {@code null} if the id is {@code null} or there is no such role;
+     *         its permissions must not be modified
+     */
+    public RoleEntity get(Integer roleId) {
+        if (roleId == null) {
+            return null;
+        }
+        RoleEntity role = getRoles().get(roleId);
+        if (role == null) {
+            reload();
+            role = roles.get(roleId);
+        }
+        return role;
+    }
+
+    @Scheduled(fixedDelayString = "${role-table.reload-delay-msec:300000}")
+    public synchronized void reload() {
+        Map<Integer, RoleEntity> reloaded = new HashMap<>();
+        for (RoleEntity role : roleRepository.findAll()) {
+            reloaded.put(role.getId(), RoleEntity.builder()
+                    .id(role.getId())
+                    .name(role.getName())
+                    .permissions(Collections.unmodifiableSet(permissionsOf(role)))
+                    .build());
+        }
+        roles = reloaded;
+        logger.debug("Role table is loaded with {} roles", reloaded.size());
+    }
+
+    private Map<Integer, RoleEntity> getRoles() {
+        Map<Integer, RoleEntity> current = roles;
+        if (current == null) {
+            reload();
+            current = roles;
+        }
+        return current;
+    }
+
+    private static EnumSet<RolePermission> permissionsOf(RoleEntity role) {
+        return (role.getPermissions() == null || role.getPermissions().isEmpty())
+                ? EnumSet.noneOf(RolePermission.class)
+                : EnumSet.copyOf(role.getPermissions());
+    }
+}
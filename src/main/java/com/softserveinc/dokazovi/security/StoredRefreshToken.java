@@ -0,0 +1,20 @@
+package com.softserveinc.dokazovi.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Refresh token as kept by a {@link RefreshTokenStore}: the hash of the token, never the token itself.
+ *
+ * <p>The security version is the one the user had when the token was issued, a token issued before
+ * the password, the role or the enabled status of the user changed is not exchanged any more.</p>
+ */
+@Value
+public class StoredRefreshToken {
+
+    String tokenHash;
+    Integer userId;
+    Instant expiryDate;
+    long securityVersion;
+}
@@ -1,8 +1,10 @@
 package com.softserveinc.dokazovi.security;
 
+import io.jsonwebtoken.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -25,6 +27,12 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+
+    @Value("${app.auth.statelessPrincipal:true}")
+    private boolean statelessPrincipal;
+
     private static final Logger tokenAuthenticationFilterLogger = LoggerFactory
             .getLogger(TokenAuthenticationFilter.class);
 
@@ -33,14 +41,16 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Integer userId = tokenProvider.getUserIdFromToken(jwt);
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails,
-                                null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.verify(jwt) : null;
+            if (claims != null) {
+                UserDetails userDetails = loadPrincipal(claims);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails,
+                                    null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             tokenAuthenticationFilterLogger.error("Could not set user authentication in security context", ex);
@@ -48,6 +58,25 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Builds the principal from the claims of the token in the stateless mode, unless the token is revoked.
+     * Otherwise, and for tokens issued without the claims, gets the principal of the user.
+     *
+     * @param claims claims of the verified token
+     * @return the principal, {@code null} if the token is revoked
+     */
+    protected UserDetails loadPrincipal(Claims claims) {
+        UserPrincipal principal = statelessPrincipal ? tokenProvider.getPrincipal(claims) : null;
+        if (principal == null) {
+            return customUserDetailsService.loadUserById(tokenProvider.getUserId(claims));
+        }
+        if (tokenRevocationList.isRevoked(principal.getId(), principal.getSecurityVersion())) {
+            tokenAuthenticationFilterLogger.debug("Token of user {} is revoked", principal.getId());
+            return null;
+        }
+        return principal;
+    }
+
     protected String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,8 +1,14 @@
 package com.softserveinc.dokazovi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.softserveinc.dokazovi.config.AppProperties;
+import com.softserveinc.dokazovi.entity.RoleEntity;
+import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -12,17 +18,31 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class TokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(TokenProvider.class);
+    private static final String EMAIL_CLAIM = "email";
+    private static final String ROLE_ID_CLAIM = "roleId";
+    private static final String ROLE_NAME_CLAIM = "role";
+    private static final String PERMISSION_BITS_CLAIM = "perms";
+    private static final String SECURITY_VERSION_CLAIM = "sv";
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(TokenProvider::sha256);
 
     private AppProperties appProperties;
+    private volatile JwtParser parser;
+    private volatile Cache<ByteBuffer, Claims> verifiedTokens;
 
     public TokenProvider(AppProperties appProperties) {
         this.appProperties = appProperties;
@@ -38,6 +58,14 @@ public class TokenProvider {
         Date expiryDate = new Date(now.getTime() + appProperties.getAuth().getTokenExpirationMsec());
         Map<String, Object> claims = new HashMap<>();
         claims.put("Permissions", userPrincipal.getAuthorities().toString());
+        claims.put(EMAIL_CLAIM, userPrincipal.getEmail());
+        RoleEntity role = userPrincipal.getRole();
+        if (role != null) {
+            claims.put(ROLE_ID_CLAIM, role.getId());
+            claims.put(ROLE_NAME_CLAIM, role.getName());
+        }
+        claims.put(PERMISSION_BITS_CLAIM, RolePermission.toBits(userPrincipal.getAuthorities()));
+        claims.put(SECURITY_VERSION_CLAIM, userPrincipal.getSecurityVersion());
         return Jwts.builder()
                 .setSubject(Long.toString(userPrincipal.getId()))
                 .setIssuedAt(new Date())
@@ -47,19 +75,16 @@ public class TokenProvider {
                 .compact();
     }
 
-    public Integer getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .setSigningKey(appProperties.getAuth().getTokenSecret())
-                .parseClaimsJws(token)
-                .getBody();
-
-        return Integer.parseInt(claims.getSubject());
-    }
-
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies the token and gets its claims. The token is parsed and its signature is checked once,
+     * until it expires only its digest is looked up.
+     *
+     * @param token the token
+     * @return the claims, not to be modified, or {@code null} if the token is not valid
+     */
+    public Claims verify(String token) {
         try {
-            Jwts.parser().setSigningKey(appProperties.getAuth().getTokenSecret()).parseClaimsJws(authToken);
-            return true;
+            return parse(token);
         } catch (SignatureException ex) {
             logger.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -71,6 +96,124 @@ public class TokenProvider {
         } catch (IllegalArgumentException ex) {
             logger.error("JWT claims string is empty.");
         }
-        return false;
+        return null;
+    }
+
+    public Integer getUserIdFromToken(String token) {
+        return getUserId(parse(token));
+    }
+
+    public Integer getUserId(Claims claims) {
+        return Integer.parseInt(claims.getSubject());
+    }
+
+    /**
+     * Builds the principal from the claims of a verified token, without loading the user.
+     *
+     * @param claims claims of the token
+     * @return the principal, without the password, or {@code null} for a token issued without the claims
+     */
+    public UserPrincipal getPrincipal(Claims claims) {
+        Number securityVersion = claims.get(SECURITY_VERSION_CLAIM, Number.class);
+        Number permissionBits = claims.get(PERMISSION_BITS_CLAIM, Number.class);
+        if (securityVersion == null || permissionBits == null) {
+            return null;
+        }
+        Number roleId = claims.get(ROLE_ID_CLAIM, Number.class);
+        RoleEntity role = (roleId != null)
+                ? RoleEntity.builder()
+                        .id(roleId.intValue())
+                        .name(claims.get(ROLE_NAME_CLAIM, String.class))
+                        .permissions(RolePermission.fromBits(permissionBits.longValue()))
+                        .build()
+                : null;
+        return UserPrincipal.builder()
+                .id(getUserId(claims))
+                .email(claims.get(EMAIL_CLAIM, String.class))
+                .role(role)
+                .securityVersion(securityVersion.longValue())
+                .build();
+    }
+
+    public boolean validateToken(String authToken) {
+        return verify(authToken) != null;
+    }
+
+    private Claims parse(String token) {
+        if (!StringUtils.hasText(token)) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+        ByteBuffer digest = digest(token);
+        Cache<ByteBuffer, Claims> verified = verifiedTokens();
+        Claims claims = verified.getIfPresent(digest);
+        if (claims == null) {
+            claims = parser().parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                verified.put(digest, claims);
+            }
+        }
+        return claims;
+    }
+
+    /**
+     * Gets the parser, created once with the decoded key. It is not changed afterwards, so it is shared
+     * by all the requests.
+     */
+    private JwtParser parser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser().setSigningKey(appProperties.getAuth().getTokenSecret());
+            parser = current;
+        }
+        return current;
+    }
+
+    private Cache<ByteBuffer, Claims> verifiedTokens() {
+        Cache<ByteBuffer, Claims> current = verifiedTokens;
+        if (current == null) {
+            current = Caffeine.newBuilder()
+                    .maximumSize(appProperties.getAuth().getVerifiedTokenCacheSize())
+                    .expireAfter(new UntilTokenExpires())
+                    .build();
+            verifiedTokens = current;
+        }
+        return current;
+    }
+
+    /**
+     * Digests the token, so that the tokens themselves are not kept in memory.
+     */
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Keeps a verified token until it expires.
+     */
+    private static final class UntilTokenExpires implements Expiry<ByteBuffer, Claims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            long millis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(millis, 0L));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
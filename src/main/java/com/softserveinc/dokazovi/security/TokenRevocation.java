@@ -0,0 +1,22 @@
+package com.softserveinc.dokazovi.security;
+
+import lombok.Value;
+
+/**
+ * Revocation of the access tokens of a user issued before a change of its security version.
+ */
+@Value
+public class TokenRevocation {
+
+    Integer userId;
+
+    /**
+     * Lowest security version of the tokens still accepted.
+     */
+    long minimumVersion;
+
+    /**
+     * Time in milliseconds when all the revoked tokens have expired and the revocation can be dropped.
+     */
+    long expiresAt;
+}
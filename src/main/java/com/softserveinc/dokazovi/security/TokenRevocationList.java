@@ -0,0 +1,117 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.event.UserSecurityChangedEvent;
+import com.softserveinc.dokazovi.repositories.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denylist of the access tokens issued before a change of the role, the password or the enabled status
+ * of their users, checked for every request authenticated by the claims of its token.
+ *
+ * <p>A user is revoked with its new security version: its tokens carrying an older version are rejected
+ * until all of them have expired. The list is kept in memory, so that checking it costs no round trip,
+ * and shared by the nodes through a {@link TokenRevocationStore} which is read periodically. The reads run on
+ * the scheduling pool sized by {@code spring.task.scheduling.pool.size}, so that they are not held up by the
+ * longer scheduled jobs.</p>
+ */
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final TokenRevocationStore store;
+    private final UserRepository userRepository;
+    private final long tokenExpirationMsec;
+    private final Clock clock;
+    private final Map<Integer, TokenRevocation> revocations = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the list.
+     *
+     * @param store store shared by the nodes, {@code null} for a single node
+     * @param userRepository repository reading the security versions
+     * @param tokenExpirationMsec lifetime of the access tokens
+     */
+    public TokenRevocationList(TokenRevocationStore store, UserRepository userRepository, long tokenExpirationMsec) {
+        this(store, userRepository, tokenExpirationMsec, Clock.systemUTC());
+    }
+
+    TokenRevocationList(TokenRevocationStore store, UserRepository userRepository, long tokenExpirationMsec,
+            Clock clock) {
+        this.store = store;
+        this.userRepository = userRepository;
+        this.tokenExpirationMsec = tokenExpirationMsec;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether the tokens of the user with the security version are revoked.
+     *
+     * @param userId id of the user
+     * @param securityVersion security version carried by the token
+     * @return true if the token has to be rejected
+     */
+    public boolean isRevoked(Integer userId, long securityVersion) {
+        TokenRevocation revocation = revocations.get(userId);
+        return revocation != null
+                && securityVersion < revocation.getMinimumVersion()
+                && revocation.getExpiresAt() > clock.millis();
+    }
+
+    /**
+     * Revokes the tokens of the user issued before its security version changed to the given one.
+     *
+     * @param userId id of the user
+     * @param minimumVersion lowest security version of the tokens still accepted
+     */
+    public void revoke(Integer userId, long minimumVersion) {
+        TokenRevocation revocation = new TokenRevocation(userId, minimumVersion, clock.millis() + tokenExpirationMsec);
+        merge(revocation);
+        if (store != null) {
+            try {
+                store.save(revocation);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to share revocation of tokens of user {}", userId, e);
+            }
+        }
+    }
+
+    /**
+     * Revokes the tokens of the user once the change of its security data commits.
+     *
+     * @param event the change of the user
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        userRepository.findSecurityVersionById(event.getUserId())
+                .ifPresent(version -> revoke(event.getUserId(), version));
+    }
+
+    /**
+     * Reads the revocations made by the other nodes and drops the expired ones.
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.refresh-delay-msec:5000}")
+    public void refresh() {
+        long now = clock.millis();
+        revocations.values().removeIf(revocation -> revocation.getExpiresAt() <= now);
+        if (store == null) {
+            return;
+        }
+        try {
+            store.findActive(now).forEach(this::merge);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read shared token revocations", e);
+        }
+    }
+
+    private void merge(TokenRevocation revocation) {
+        revocations.merge(revocation.getUserId(), revocation, (current, added) ->
+                (added.getMinimumVersion() >= current.getMinimumVersion()) ? added : current);
+    }
+}
@@ -0,0 +1,24 @@
+package com.softserveinc.dokazovi.security;
+
+import java.util.List;
+
+/**
+ * Store of token revocations shared by the nodes.
+ */
+public interface TokenRevocationStore {
+
+    /**
+     * Saves the revocation, keeping the higher minimum version if the user is already revoked.
+     *
+     * @param revocation the revocation
+     */
+    void save(TokenRevocation revocation);
+
+    /**
+     * Gets the revocations which have not expired, dropping the expired ones.
+     *
+     * @param now current time in milliseconds
+     * @return the revocations
+     */
+    List<TokenRevocation> findActive(long now);
+}
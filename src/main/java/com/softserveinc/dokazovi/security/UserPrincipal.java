@@ -3,6 +3,7 @@ package com.softserveinc.dokazovi.security;
 
 import com.softserveinc.dokazovi.entity.RoleEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.repositories.projection.UserCredentialsView;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
@@ -23,6 +24,8 @@ public class UserPrincipal implements OAuth2User, UserDetails {
     private String email;
     private String password;
     private RoleEntity role;
+    private long securityVersion;
+    private boolean emailConfirmed;
     private transient Map<String, Object> attributes;
 
     public static UserPrincipal create(UserEntity user) {
@@ -31,6 +34,26 @@ public class UserPrincipal implements OAuth2User, UserDetails {
                 .email(user.getEmail())
                 .password(user.getPassword())
                 .role(user.getRole())
+                .securityVersion((user.getSecurityVersion() != null) ? user.getSecurityVersion() : 0L)
+                .emailConfirmed(Boolean.TRUE.equals(user.getEnabled()))
+                .build();
+    }
+
+    /**
+     * Creates the principal of a user logging in with its password.
+     *
+     * @param credentials data of the user loaded for the login
+     * @param role role of the user with its permissions
+     * @return the principal, with the password hash
+     */
+    public static UserPrincipal create(UserCredentialsView credentials, RoleEntity role) {
+        return UserPrincipal.builder()
+                .id(credentials.getId())
+                .email(credentials.getEmail())
+                .password(credentials.getPassword())
+                .role(role)
+                .securityVersion((credentials.getSecurityVersion() != null) ? credentials.getSecurityVersion() : 0L)
+                .emailConfirmed(Boolean.TRUE.equals(credentials.getEnabled()))
                 .build();
     }
 
@@ -48,6 +71,25 @@ public class UserPrincipal implements OAuth2User, UserDetails {
         return email;
     }
 
+    public RoleEntity getRole() {
+        return role;
+    }
+
+    /**
+     * Gets the security version the user had when the principal was loaded or its token was issued.
+     */
+    public long getSecurityVersion() {
+        return securityVersion;
+    }
+
+    /**
+     * Tells whether the user has confirmed its email. Unlike {@link #isEnabled()}, it does not stop the login,
+     * so that the user is asked to confirm the email only once its password is checked.
+     */
+    public boolean isEmailConfirmed() {
+        return emailConfirmed;
+    }
+
     @Override
     public String getPassword() {
         return password;
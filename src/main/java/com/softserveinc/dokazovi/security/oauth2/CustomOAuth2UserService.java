@@ -5,6 +5,7 @@ import com.softserveinc.dokazovi.entity.ProviderEntity;
 import com.softserveinc.dokazovi.entity.RoleEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.enumerations.UserStatus;
+import com.softserveinc.dokazovi.event.AuthorChangedEvent;
 import com.softserveinc.dokazovi.exception.OAuth2AuthenticationProcessingException;
 import com.softserveinc.dokazovi.repositories.ProviderRepository;
 import com.softserveinc.dokazovi.repositories.RoleRepository;
@@ -14,6 +15,7 @@ import com.softserveinc.dokazovi.security.oauth2.user.OAuth2UserInfo;
 import com.softserveinc.dokazovi.security.oauth2.user.OAuth2UserInfoFactory;
 import com.softserveinc.dokazovi.util.StringToNameParser;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
@@ -23,6 +25,7 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -32,6 +35,7 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
     private final UserRepository userRepository;
     private final ProviderRepository userProviderRepository;
     private final RoleRepository roleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest oauth2UserRequest) throws OAuth2AuthenticationException {
@@ -86,11 +90,24 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
         return savedUser;
     }
 
+    /**
+     * Updates the name and the avatar of the user from the provider. They are shown with the posts of an author,
+     * so a change of them is published as a change of the author.
+     */
     private UserEntity updateExistingUser(UserEntity existingUser, OAuth2UserInfo oauth2UserInfo) {
-        existingUser.setFirstName(oauth2UserInfo.getName().split(" ")[0]);
-        existingUser.setLastName(oauth2UserInfo.getName().split(" ")[1]);
+        String firstName = oauth2UserInfo.getName().split(" ")[0];
+        String lastName = oauth2UserInfo.getName().split(" ")[1];
+        boolean changed = !Objects.equals(existingUser.getFirstName(), firstName)
+                || !Objects.equals(existingUser.getLastName(), lastName)
+                || !Objects.equals(existingUser.getAvatar(), oauth2UserInfo.getImageUrl());
+        existingUser.setFirstName(firstName);
+        existingUser.setLastName(lastName);
         existingUser.setAvatar(oauth2UserInfo.getImageUrl());
-        return userRepository.save(existingUser);
+        UserEntity savedUser = userRepository.save(existingUser);
+        if (changed && savedUser.getAuthor() != null) {
+            eventPublisher.publishEvent(new AuthorChangedEvent(savedUser.getAuthor().getId()));
+        }
+        return savedUser;
     }
 
 }
@@ -0,0 +1,24 @@
+package com.softserveinc.dokazovi.service;
+
+import java.util.function.Supplier;
+
+/**
+ * Serves row counts which may lag behind the data, so that totals of large lists
+ * do not cost a COUNT query on every request.
+ */
+public interface ApproximateCountService {
+
+    /**
+     * Gets the cached count of the given query, counting it only on the first request.
+     *
+     * @param key identifies the counted query and its parameters, must implement equals and hashCode
+     * @param counter runs the exact count, it is reused for the background refresh
+     * @return the last counted value
+     */
+    long count(Object key, Supplier<Long> counter);
+
+    /**
+     * Recounts the cached queries and drops those which were not requested for a while.
+     */
+    void refresh();
+}
@@ -0,0 +1,18 @@
+package com.softserveinc.dokazovi.service;
+
+import com.softserveinc.dokazovi.dto.cache.CacheMetricsDTO;
+
+import java.util.List;
+
+/**
+ * Reports how the application caches are used on this node.
+ */
+public interface CacheMetricsService {
+
+    /**
+     * Gets the metrics of all application caches, counted since this node started.
+     *
+     * @return metrics of every cache, sorted by cache name
+     */
+    List<CacheMetricsDTO> getCacheMetrics();
+}
@@ -1,11 +1,16 @@
 package com.softserveinc.dokazovi.service;
 
+import com.softserveinc.dokazovi.dto.payload.CursorPageDTO;
+import com.softserveinc.dokazovi.dto.payload.SliceDTO;
 import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
 import com.softserveinc.dokazovi.dto.post.PostPublishedAtDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostSearchResultDTO;
 import com.softserveinc.dokazovi.dto.post.PostStatusDTO;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.pojo.PostCursor;
 import com.softserveinc.dokazovi.security.UserPrincipal;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,21 +22,33 @@ public interface PostService {
 
     PostDTO findPostById(Integer postId);
 
-    Page<PostDTO> findAllByStatus(PostStatus postStatus, Pageable pageable);
+    Page<PostSummaryDTO> findAllByStatus(PostStatus postStatus, Pageable pageable);
 
-    Page<PostDTO> findImportantPosts(Pageable pageable);
+    CursorPageDTO<PostSummaryDTO> findLatestByCursor(PostStatus postStatus, PostCursor cursor, Integer size);
 
-    Page<PostDTO> findAllByDirection(
+    SliceDTO<PostSummaryDTO> findSliceByStatus(PostStatus postStatus, Pageable pageable, boolean approximateTotal);
+
+    Page<PostSummaryDTO> findImportantPosts(Pageable pageable);
+
+    Page<PostSearchResultDTO> searchPublished(String query, Pageable pageable);
+
+    Page<PostSummaryDTO> findAllByDirection(
             Integer directionId, Set<Integer> typeId, Set<Integer> tagId, PostStatus postStatus, Pageable pageable);
 
+    CursorPageDTO<PostSummaryDTO> findLatestByDirectionAndCursor(
+            Integer directionId, Set<Integer> typeId, Set<Integer> tagId, PostCursor cursor, Integer size);
+
+    SliceDTO<PostSummaryDTO> findSliceByDirection(Integer directionId, Set<Integer> typeId, Set<Integer> tagId,
+            PostStatus postStatus, Pageable pageable, boolean approximateTotal);
+
     PostDTO saveFromUser(PostSaveFromUserDTO postSaveDTO, UserPrincipal user);
 
-    Page<PostDTO> findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(
+    Page<PostSummaryDTO> findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(
             Set<Integer> directionIds, Set<Integer> typeIds, Set<Integer> originIds, Set<Integer> statuses,
             String title, String author, Integer authorId, LocalDate startDate, LocalDate endDate,
             Pageable pageable);
 
-    Page<PostDTO> findPostsByAuthorIdAndDirections(
+    Page<PostSummaryDTO> findPostsByAuthorIdAndDirections(
             Pageable pageable, Integer expertId, Set<Integer> directions);
 
     Boolean removePostById(UserPrincipal userId, Integer postId);
@@ -42,10 +59,16 @@ public interface PostService {
 
     Page<PostMainPageDTO> findLatestByPostTypesAndOriginsForMobile(Pageable pageable);
 
-    Page<PostDTO> findAllByExpertAndTypeAndDirections(Integer expertId, Set<Integer> typeId, Set<Integer> directionId,
-            Pageable pageable);
+    Page<PostSummaryDTO> findAllByExpertAndTypeAndDirections(Integer expertId, Set<Integer> typeId,
+            Set<Integer> directionId, Pageable pageable);
+
+    CursorPageDTO<PostSummaryDTO> findLatestByExpertAndCursor(Integer expertId, Set<Integer> typeId,
+            Set<Integer> directionId, PostCursor cursor, Integer size);
+
+    SliceDTO<PostSummaryDTO> findSliceByExpertAndTypeAndDirections(Integer expertId, Set<Integer> typeId,
+            Set<Integer> directionId, Pageable pageable, boolean approximateTotal);
 
-    Page<PostDTO> findAllByExpertAndTypeAndStatus(Integer expertId, Set<Integer> typeId,
+    Page<PostSummaryDTO> findAllByExpertAndTypeAndStatus(Integer expertId, Set<Integer> typeId,
             PostStatus postStatus, Pageable pageable);
 
     Boolean setPostsAsImportantWithOrder(Set<Integer> importantPostIds);
@@ -54,7 +77,7 @@ public interface PostService {
 
     Integer getFakeViewsByPostUrl(String url);
 
-    Page<PostDTO> findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence(
+    Page<PostSummaryDTO> findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence(
             Set<Integer> directionIds, Set<Integer> typeIds, Set<Integer> originIds, Pageable pageable);
 
     void updateRealViews();
@@ -0,0 +1,39 @@
+package com.softserveinc.dokazovi.service;
+
+import com.softserveinc.dokazovi.pojo.PostValidators;
+
+import java.util.Optional;
+
+/**
+ * Keeps the global post change version and builds validators for conditional requests to post endpoints,
+ * so that unchanged responses are answered with 'NOT MODIFIED' before the posts are loaded.
+ */
+public interface PostVersionService {
+
+    /**
+     * Gets validators of post feeds, they change with every change of any post.
+     *
+     * @return validators, empty if the version is not available
+     */
+    Optional<PostValidators> getFeedValidators();
+
+    /**
+     * Gets validators of a single post.
+     *
+     * @param postId id of the post
+     * @return validators, empty if the post or the version is not found
+     */
+    Optional<PostValidators> getPostValidators(Integer postId);
+
+    /**
+     * Gets the current version, read from the database on every call.
+     *
+     * @return the version, empty if it is not available
+     */
+    Optional<Long> getVersion();
+
+    /**
+     * Increments the version. It is called in the transaction which changes posts.
+     */
+    void markChanged();
+}
@@ -0,0 +1,44 @@
+package com.softserveinc.dokazovi.service;
+
+import com.softserveinc.dokazovi.dto.city.CityDTO;
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.info.PlatformInformationDTO;
+import com.softserveinc.dokazovi.dto.origin.OriginDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.dto.region.RegionDTO;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+
+/**
+ * Serves almost static data from an in-memory snapshot, which is loaded once
+ * and replaced as a whole when any of its data is changed.
+ */
+public interface ReferenceDataService {
+
+    ReferenceData<DirectionDTO> getDirections();
+
+    ReferenceData<RegionDTO> getRegions();
+
+    ReferenceData<CityDTO> getCities();
+
+    ReferenceData<OriginDTO> getOrigins();
+
+    ReferenceData<PostTypeDTO> getPostTypes();
+
+    ReferenceData<PlatformInformationDTO> getPlatformInformation();
+
+    /**
+     * Gets the version of the snapshot. It is derived from the data, so it changes with the data
+     * and is the same on every node serving the same data.
+     *
+     * @return version of the snapshot
+     */
+    String getVersion();
+
+    /**
+     * Reloads the changed data and replaces the snapshot.
+     *
+     * @param event the change
+     */
+    void onReferenceDataChanged(ReferenceDataChangedEvent event);
+}
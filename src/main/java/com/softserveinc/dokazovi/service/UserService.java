@@ -1,5 +1,6 @@
 package com.softserveinc.dokazovi.service;
 
+import com.softserveinc.dokazovi.dto.payload.SliceDTO;
 import com.softserveinc.dokazovi.dto.user.UserDTO;
 import com.softserveinc.dokazovi.entity.PasswordResetTokenEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
@@ -22,6 +23,9 @@ public interface UserService {
 
     Page<UserDTO> findAllExperts(UserSearchCriteria userSearchCriteria, Pageable pageable);
 
+    SliceDTO<UserDTO> findExpertSlice(UserSearchCriteria userSearchCriteria, Pageable pageable,
+            boolean approximateTotal);
+
     Page<UserDTO> findRandomExpertPreview(Set<Integer> directionsIds, Pageable pageable);
 
     void setEnableTrue(UserEntity user);
@@ -0,0 +1,66 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.service.ApproximateCountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Service
+public class ApproximateCountServiceImpl implements ApproximateCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApproximateCountServiceImpl.class);
+    private static final int MAX_CACHED_COUNTS = 1000;
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(30);
+
+    private final Map<Object, CachedCount> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public long count(Object key, Supplier<Long> counter) {
+        CachedCount cached = counts.get(key);
+        if (cached != null) {
+            cached.lastRequestedAt = System.nanoTime();
+            return cached.value;
+        }
+        long value = counter.get();
+        if (counts.size() < MAX_CACHED_COUNTS) {
+            counts.putIfAbsent(key, new CachedCount(counter, value));
+        }
+        return value;
+    }
+
+    /**
+     * Runs on the scheduler thread, requests never wait for a recount.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${approximate-count.refresh-delay-msec:60000}")
+    public void refresh() {
+        long idleSince = System.nanoTime() - IDLE_TIMEOUT_NANOS;
+        counts.values().removeIf(cached -> cached.lastRequestedAt - idleSince < 0);
+        counts.forEach((key, cached) -> {
+            try {
+                cached.value = cached.counter.get();
+            } catch (RuntimeException e) {
+                logger.warn("Count of {} was not refreshed", key, e);
+            }
+        });
+    }
+
+    private static final class CachedCount {
+
+        private final Supplier<Long> counter;
+        private volatile long value;
+        private volatile long lastRequestedAt;
+
+        private CachedCount(Supplier<Long> counter, long value) {
+            this.counter = counter;
+            this.value = value;
+            this.lastRequestedAt = System.nanoTime();
+        }
+    }
+}
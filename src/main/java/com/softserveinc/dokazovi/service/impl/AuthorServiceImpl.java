@@ -5,6 +5,8 @@ import com.softserveinc.dokazovi.dto.author.AuthorResponseDTO;
 import com.softserveinc.dokazovi.entity.AuthorEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
+import com.softserveinc.dokazovi.event.AuthorChangedEvent;
+import com.softserveinc.dokazovi.event.UserSecurityChangedEvent;
 import com.softserveinc.dokazovi.exception.ForbiddenPermissionsException;
 import com.softserveinc.dokazovi.mapper.AuthorMapper;
 import com.softserveinc.dokazovi.repositories.AuthorRepository;
@@ -13,6 +15,7 @@ import com.softserveinc.dokazovi.repositories.UserRepository;
 import com.softserveinc.dokazovi.security.UserPrincipal;
 import com.softserveinc.dokazovi.service.AuthorService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -28,6 +31,7 @@ public class AuthorServiceImpl implements AuthorService {
     private final UserRepository userRepository;
     private final CityRepository cityRepository;
     private final AuthorMapper authorMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public AuthorEntity findAuthorById(Integer authorId) {
@@ -58,7 +62,9 @@ public class AuthorServiceImpl implements AuthorService {
                 .profile(user)
                 .bio(authorRequestDTO.getBio())
                 .build();
-        return authorRepository.save(author);
+        AuthorEntity savedAuthor = authorRepository.save(author);
+        eventPublisher.publishEvent(new AuthorChangedEvent(savedAuthor.getId()));
+        return savedAuthor;
     }
 
     @Override
@@ -76,6 +82,8 @@ public class AuthorServiceImpl implements AuthorService {
                 .socialNetworks(authorRequestDTO.getSocialNetworks())
                 .build();
         userRepository.save(newUser);
+        userRepository.incrementSecurityVersion(newUser.getId());
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(newUser.getId()));
         AuthorEntity newAuthor = AuthorEntity.builder()
                 .id(authorId)
                 .publishedPosts(oldAuthor.getPublishedPosts())
@@ -88,6 +96,7 @@ public class AuthorServiceImpl implements AuthorService {
                 .bio(authorRequestDTO.getBio())
                 .build();
         authorRepository.save(newAuthor);
+        eventPublisher.publishEvent(new AuthorChangedEvent(authorId));
         return newAuthor;
     }
 
@@ -98,6 +107,7 @@ public class AuthorServiceImpl implements AuthorService {
         }
         AuthorEntity author = findAuthorById(authorId);
         authorRepository.delete(author);
+        eventPublisher.publishEvent(new AuthorChangedEvent(authorId));
         return authorId;
     }
 
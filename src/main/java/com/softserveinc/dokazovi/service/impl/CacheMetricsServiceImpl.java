@@ -0,0 +1,55 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.cache.InstrumentedCache;
+import com.softserveinc.dokazovi.cache.InstrumentedCacheManager;
+import com.softserveinc.dokazovi.dto.cache.CacheMetricsDTO;
+import com.softserveinc.dokazovi.service.CacheMetricsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The CacheMetricsServiceImpl reads the meters of the instrumented caches, the same meters are published
+ * to the metrics registry tagged with the cache name and the node.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheMetricsServiceImpl implements CacheMetricsService {
+
+    private final InstrumentedCacheManager cacheManager;
+
+    @Value("${management.metrics.tags.node:local}")
+    private String node;
+
+    @Override
+    public List<CacheMetricsDTO> getCacheMetrics() {
+        return cacheManager.getCaches().stream()
+                .map(this::toCacheMetricsDTO)
+                .collect(Collectors.toList());
+    }
+
+    private CacheMetricsDTO toCacheMetricsDTO(InstrumentedCache cache) {
+        long gets = cache.getHits() + cache.getMisses();
+        return CacheMetricsDTO.builder()
+                .cacheName(cache.getName())
+                .node(node)
+                .hits(cache.getHits())
+                .misses(cache.getMisses())
+                .hitRatio((gets > 0) ? (double) cache.getHits() / gets : null)
+                .loads(cache.getLoads())
+                .failedLoads(cache.getFailedLoads())
+                .loadMeanMillis(cache.getLoadMeanMillis())
+                .loadP50Millis(cache.getLoadPercentileMillis(0.5))
+                .loadP95Millis(cache.getLoadPercentileMillis(0.95))
+                .loadP99Millis(cache.getLoadPercentileMillis(0.99))
+                .loadMaxMillis(cache.getLoadMaxMillis())
+                .puts(cache.getPuts())
+                .evictions(cache.getEvictions())
+                .clears(cache.getClears())
+                .size(cache.getSize())
+                .build();
+    }
+}
@@ -1,33 +1,30 @@
 package com.softserveinc.dokazovi.service.impl;
 
 import com.softserveinc.dokazovi.dto.city.CityDTO;
-import com.softserveinc.dokazovi.mapper.CityMapper;
-import com.softserveinc.dokazovi.repositories.CityRepository;
 import com.softserveinc.dokazovi.service.CityService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CityServiceImpl implements CityService {
 
-    private final CityRepository cityRepository;
-    private final CityMapper cityMapper;
+    private final ReferenceDataService referenceDataService;
 
     @Override
     public List<CityDTO> findAllCities() {
-        return cityRepository.findAll().stream()
-                .map(cityMapper::toCityDTO)
-                .collect(Collectors.toList());
+        return referenceDataService.getCities().getItems();
     }
 
     @Override
     public List<CityDTO> findAllCitiesByRegion(Integer regionId) {
-        return cityRepository.findAllByRegionId(regionId).stream()
-                .map(cityMapper::toCityDTO)
+        return referenceDataService.getCities().getItems().stream()
+                .filter(city -> Objects.equals(city.getRegionId(), regionId))
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
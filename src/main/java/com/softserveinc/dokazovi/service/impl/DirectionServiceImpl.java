@@ -2,10 +2,14 @@ package com.softserveinc.dokazovi.service.impl;
 
 import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
 import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
 import com.softserveinc.dokazovi.mapper.DirectionMapper;
+import com.softserveinc.dokazovi.pojo.ReferenceDataType;
 import com.softserveinc.dokazovi.repositories.DirectionRepository;
 import com.softserveinc.dokazovi.service.DirectionService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -26,17 +30,17 @@ public class DirectionServiceImpl implements DirectionService {
 
     private final DirectionRepository directionRepository;
     private final DirectionMapper directionMapper;
+    private final ReferenceDataService referenceDataService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Gets all directions.
+     * Gets all directions from the reference data.
      *
      * @return all found directions
      */
     @Override
     public List<DirectionDTO> findAllDirections() {
-        return directionRepository.findAll().stream()
-                .map(directionMapper::toDirectionDTO)
-                .collect(Collectors.toList());
+        return referenceDataService.getDirections().getItems();
     }
 
     /**
@@ -109,6 +113,7 @@ public class DirectionServiceImpl implements DirectionService {
     @Scheduled(cron = "0 0 */4 * * *")
     public void updateDirectionsHasDoctorsStatus() {
         directionRepository.updateDirectionsHasDoctorsStatus();
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.DIRECTIONS));
     }
 
     /**
@@ -119,6 +124,7 @@ public class DirectionServiceImpl implements DirectionService {
     @Transactional
     public void updateDirectionsHasPostsStatus(Set<Integer> directions) {
         directionRepository.updateDirectionsHasPostsStatus(directions);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.DIRECTIONS));
     }
 
     @Override
@@ -130,6 +136,7 @@ public class DirectionServiceImpl implements DirectionService {
                         .map(DirectionEntity::getId)
                         .collect(Collectors.toSet())
         );
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.DIRECTIONS));
     }
 
 }
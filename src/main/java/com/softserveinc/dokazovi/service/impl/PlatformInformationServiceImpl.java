@@ -2,13 +2,17 @@ package com.softserveinc.dokazovi.service.impl;
 
 import com.softserveinc.dokazovi.dto.info.PlatformInformationDTO;
 import com.softserveinc.dokazovi.entity.PlatformInformationEntity;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.exception.ForbiddenPermissionsException;
 import com.softserveinc.dokazovi.mapper.PlatformInformationMapper;
+import com.softserveinc.dokazovi.pojo.ReferenceDataType;
 import com.softserveinc.dokazovi.repositories.PlatformInformationRepository;
 import com.softserveinc.dokazovi.security.UserPrincipal;
 import com.softserveinc.dokazovi.service.PlatformInformationService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,19 +21,22 @@ public class PlatformInformationServiceImpl implements PlatformInformationServic
 
     private final PlatformInformationRepository platformInformationRepository;
     private final PlatformInformationMapper platformInformationMapper;
+    private final ReferenceDataService referenceDataService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public PlatformInformationDTO getInfoById(Integer infoId) {
-        return platformInformationMapper
-                .toPlatformInformationDTO(platformInformationRepository.findById(infoId).orElse(null));
+        return referenceDataService.getPlatformInformation().getById(infoId);
     }
 
     @Override
     public PlatformInformationDTO saveInfo(UserPrincipal userPrincipal, PlatformInformationDTO infoDTO) {
         PlatformInformationEntity upToDateInfoEntity = getUpToDatePlatformInfoEntityFromPlatformInfoDTO(infoDTO);
         if (verifyAuthority(userPrincipal, "SAVE_PLATFORM_INFORMATION")) {
-            return platformInformationMapper
+            PlatformInformationDTO savedInfo = platformInformationMapper
                     .toPlatformInformationDTO(platformInformationRepository.save(upToDateInfoEntity));
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.PLATFORM_INFORMATION));
+            return savedInfo;
         } else {
             throw new ForbiddenPermissionsException();
         }
@@ -39,8 +46,10 @@ public class PlatformInformationServiceImpl implements PlatformInformationServic
     public PlatformInformationDTO updateInfo(UserPrincipal userPrincipal, PlatformInformationDTO infoDTO) {
         PlatformInformationEntity upToDateInfoEntity = getUpToDatePlatformInfoEntityFromPlatformInfoDTO(infoDTO);
         if (verifyAuthority(userPrincipal, "UPDATE_PLATFORM_INFORMATION")) {
-            return platformInformationMapper
+            PlatformInformationDTO savedInfo = platformInformationMapper
                     .toPlatformInformationDTO(platformInformationRepository.save(upToDateInfoEntity));
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.PLATFORM_INFORMATION));
+            return savedInfo;
         } else {
             throw new ForbiddenPermissionsException();
         }
@@ -1,33 +1,58 @@
 package com.softserveinc.dokazovi.service.impl;
 
 import com.softserveinc.dokazovi.analytics.GoogleAnalytics;
+import com.softserveinc.dokazovi.cache.VersionedValue;
+import com.softserveinc.dokazovi.config.RedisConfig;
+import com.softserveinc.dokazovi.dto.payload.CursorPageDTO;
+import com.softserveinc.dokazovi.dto.payload.SliceDTO;
 import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
 import com.softserveinc.dokazovi.dto.post.PostPublishedAtDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostSearchResultDTO;
 import com.softserveinc.dokazovi.dto.post.PostStatusDTO;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
 import com.softserveinc.dokazovi.entity.AuthorEntity;
 import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.entity.OriginEntity;
 import com.softserveinc.dokazovi.entity.PostEntity;
+import com.softserveinc.dokazovi.entity.TagEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.exception.ForbiddenPermissionsException;
 import com.softserveinc.dokazovi.exception.InvalidViewNumberException;
 import com.softserveinc.dokazovi.exception.StatusNotFoundException;
 import com.softserveinc.dokazovi.mapper.PostMapper;
+import com.softserveinc.dokazovi.pojo.PostCursor;
+import com.softserveinc.dokazovi.pojo.PostFilter;
 import com.softserveinc.dokazovi.repositories.AuthorRepository;
 import com.softserveinc.dokazovi.repositories.PostRepository;
 import com.softserveinc.dokazovi.repositories.UserRepository;
+import com.softserveinc.dokazovi.repositories.projection.PostBucketView;
+import com.softserveinc.dokazovi.repositories.projection.PostDirectionView;
+import com.softserveinc.dokazovi.repositories.projection.PostIdView;
+import com.softserveinc.dokazovi.repositories.projection.PostOriginView;
+import com.softserveinc.dokazovi.repositories.projection.PostSearchView;
+import com.softserveinc.dokazovi.repositories.projection.PostSummaryView;
+import com.softserveinc.dokazovi.repositories.projection.PostTagView;
 import com.softserveinc.dokazovi.security.UserPrincipal;
+import com.softserveinc.dokazovi.service.ApproximateCountService;
 import com.softserveinc.dokazovi.service.PostService;
+import com.softserveinc.dokazovi.service.PostVersionService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -38,6 +63,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumSet;
@@ -48,6 +74,8 @@ import java.util.Optional;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -55,21 +83,60 @@ import java.util.stream.Collectors;
 public class PostServiceImpl implements PostService {
 
     private static final Logger logger = LoggerFactory.getLogger(PostServiceImpl.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final String MAIN_PAGE_CACHE = RedisConfig.MAIN_PAGE_CACHE;
+    private static final String POST_DETAIL_CACHE = RedisConfig.POST_DETAIL_CACHE;
+    private static final List<String> MAIN_PAGE_SECTIONS = List.of("expertOpinion", "media", "translation", "video");
+    private static final int MAIN_PAGE_SECTION_SIZE = 4;
+    private static final int MOBILE_MAIN_PAGE_SECTION_SIZE = 10;
+    private static final int CACHED_MAIN_PAGES = 3;
     private final PostRepository postRepository;
     private final PostMapper postMapper;
     private final UserRepository userRepository;
     private final DirectionServiceImpl directionService;
     private final GoogleAnalytics googleAnalytics;
     private final AuthorRepository authorRepository;
+    private final CacheManager cacheManager;
+    private final ApproximateCountService approximateCountService;
+    private final PostVersionService postVersionService;
     private final ThreadLocal<PostEntity> postEntityThreadLocal = new ThreadLocal<>();
 
     @Override
     public PostDTO findPostById(Integer postId) {
-        return postMapper.toPostDTO(postRepository.findById(postId)
-                .orElseThrow(EntityNotFoundException::new));
+        return getVersioned(POST_DETAIL_CACHE, postId, () -> postMapper.toPostDTO(postRepository.findById(postId)
+                .orElseThrow(EntityNotFoundException::new)));
+    }
+
+    /**
+     * Gets a post body from the cache if it was loaded at the current post change version, otherwise loads it.
+     *
+     * <p>The version is read before loading and stored with the body. A request may load a post before a change
+     * commits and put it after the change has cleared the cache, such a body carries an older version than
+     * the current one and is loaded again instead of being served until it expires.</p>
+     *
+     * <p>Controllers read the validators before calling the service, so the body returned here is never older
+     * than the version in the ETag sent with it.</p>
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getVersioned(String cacheName, Object key, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        Long version = (cache != null) ? postVersionService.getVersion().orElse(null) : null;
+        if (version == null) {
+            return loader.get();
+        }
+        Object cached = cache.<Object>get(key, () -> new VersionedValue(version, loader.get()));
+        if (!(cached instanceof VersionedValue) || ((VersionedValue) cached).getVersion() < version) {
+            cached = new VersionedValue(version, loader.get());
+            cache.put(key, cached);
+        }
+        return (T) ((VersionedValue) cached).getValue();
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = MAIN_PAGE_CACHE, allEntries = true),
+            @CacheEvict(value = POST_DETAIL_CACHE, key = "#postDTO.id", condition = "#postDTO.id != null")
+    })
     public PostDTO saveFromUser(PostSaveFromUserDTO postDTO, UserPrincipal userPrincipal) {
         Optional<PostEntity> oldEntity = (postDTO.getId() != null)
                 ? postRepository.findById(postDTO.getId())
@@ -100,6 +167,7 @@ public class PostServiceImpl implements PostService {
 
             PostDTO dto = postMapper.toPostDTO(postRepository.save(mappedEntity));
             directionService.updateDirectionsHasPostsStatusByEntities(directionsToUpdate);
+            postVersionService.markChanged();
             return dto;
         } else {
             throw new ForbiddenPermissionsException();
@@ -107,7 +175,7 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
-    public Page<PostDTO> findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(
+    public Page<PostSummaryDTO> findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(
             Set<Integer> directionIds, Set<Integer> typeIds, Set<Integer> originIds, Set<Integer> statuses,
             String title, String author, Integer authorId, LocalDate startDate, LocalDate endDate,
             Pageable pageable) {
@@ -116,11 +184,9 @@ public class PostServiceImpl implements PostService {
         if (directionIds == null && typeIds == null && originIds == null && statuses == null &&
                 startDate == null && endDate == null && title.isEmpty() && author.isEmpty()) {
             if (isAuthorIdNotSet) {
-                return postRepository.findAll(pageable)
-                        .map(postMapper::toPostDTO);
+                return toPostSummaryPage(postRepository.findPublishedIds(pageable));
             } else {
-                return postRepository.findAllByAuthorId(authorId, pageable)
-                        .map(postMapper::toPostDTO);
+                return toPostSummaryPage(postRepository.findIdsByAuthorId(authorId, pageable));
             }
         }
 
@@ -130,30 +196,23 @@ public class PostServiceImpl implements PostService {
         }
         LocalDate startLocalDate = Optional.ofNullable(startDate).orElse(LocalDate.EPOCH);
         LocalDate endLocalDate = Optional.ofNullable(endDate).orElse(LocalDate.now());
-        Timestamp startDateTimestamp = Timestamp.valueOf(startLocalDate.atStartOfDay());
-        Timestamp endDateTimestamp = Timestamp.valueOf(endLocalDate.atTime(LocalTime.MAX));
-        directionIds = validateValues(directionIds);
-        typeIds = validateValues(typeIds);
-        originIds = validateValues(originIds);
         PostStatus[] statusesArray = PostStatus.values();
-        Set<String> statusNames = statuses == null ? Collections.emptySet() :
-                statuses.stream()
+        PostFilter filter = PostFilter.builder()
+                .directionIds(validateValues(directionIds))
+                .typeIds(validateValues(typeIds))
+                .originIds(validateValues(originIds))
+                .statuses(validateValues(statuses).stream()
                         .map(statusOrdinal -> statusesArray[statusOrdinal])
-                        .map(PostStatus::name)
-                        .collect(Collectors.toSet());
+                        .collect(Collectors.toSet()))
+                .title(title)
+                .author(isAuthorIdNotSet ? author : "")
+                .authorId(authorId)
+                .authorRequired(isAuthorIdNotSet)
+                .startDate(Timestamp.valueOf(startLocalDate.atStartOfDay()))
+                .endDate(Timestamp.valueOf(endLocalDate.atTime(LocalTime.MAX)))
+                .build();
         try {
-            if (isAuthorIdNotSet) {
-                return postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typeIds, directionIds,
-                                statusNames,
-                                originIds, title, author, startDateTimestamp, endDateTimestamp, pageable)
-                        .map(postMapper::toPostDTO);
-            } else {
-                return postRepository.findAllByAuthorIdByTypesAndStatusAndDirectionsAndOriginsAndTitle(typeIds,
-                                directionIds, statusNames, originIds, title, authorId, startDateTimestamp,
-                                endDateTimestamp, pageable)
-                        .map(postMapper::toPostDTO);
-            }
+            return toPostSummaryPage(postRepository.findIdsByFilter(filter, pageable));
         } catch (Exception e) {
             logger.error(
                     String.format("Fail with posts filter with params typeIds=%s, directionIds=%s, statuses=%s, "
@@ -163,57 +222,216 @@ public class PostServiceImpl implements PostService {
         }
     }
 
-
     private <T> Set<T> validateValues(Set<T> set) {
         return set != null ? set : Collections.emptySet();
     }
 
     @Override
-    public Page<PostDTO> findAllByStatus(PostStatus postStatus, Pageable pageable) {
-        return postRepository.findAllByStatus(postStatus, pageable)
-                .map(postMapper::toPostDTO);
+    public Page<PostSummaryDTO> findAllByStatus(PostStatus postStatus, Pageable pageable) {
+        return toPostSummaryPage(postRepository.findIdsByStatus(postStatus, pageable)
+                .map(PostIdView::getId));
+    }
+
+    @Override
+    public CursorPageDTO<PostSummaryDTO> findLatestByCursor(PostStatus postStatus, PostCursor cursor, Integer size) {
+        int pageSize = toCursorPageSize(size);
+        return toCursorPage(postRepository.findIdsByStatusBeforeCursor(
+                postStatus, cursor.getPublishedAt(), cursor.getPostId(), pageSize + 1), pageSize);
+    }
+
+    @Override
+    public SliceDTO<PostSummaryDTO> findSliceByStatus(PostStatus postStatus, Pageable pageable,
+            boolean approximateTotal) {
+        return toPostSummarySlice(PostFilter.builder()
+                .statuses(Set.of(postStatus))
+                .build(), pageable, approximateTotal);
+    }
+
+    @Override
+    public Page<PostSummaryDTO> findImportantPosts(Pageable pageable) {
+        return toPostSummaryPage(postRepository
+                .findIdsByImportantIsTrueAndStatusOrderByImportanceOrder(PostStatus.PUBLISHED, pageable)
+                .map(PostIdView::getId));
     }
 
+    /**
+     * Searches published posts by title, preview and content.
+     *
+     * <p>Results are always sorted by relevance, so the sort requested by the client is ignored.</p>
+     */
     @Override
-    public Page<PostDTO> findImportantPosts(Pageable pageable) {
-        return postRepository
-                .findAllByImportantIsTrueAndStatusOrderByImportanceOrder(PostStatus.PUBLISHED, pageable)
-                .map(postMapper::toPostDTO);
+    public Page<PostSearchResultDTO> searchPublished(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query can not be empty");
+        }
+        Page<PostSearchView> found = postRepository.searchPublished(query.trim(),
+                PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        Map<Integer, PostSummaryDTO> posts = findSummariesInOrder(found.map(PostSearchView::getPostId).getContent())
+                .stream()
+                .collect(Collectors.toMap(PostSummaryDTO::getId, Function.identity()));
+        return found.map(result -> PostSearchResultDTO.builder()
+                .post(posts.get(result.getPostId()))
+                .rank(result.getRank())
+                .headline(result.getHeadline())
+                .build());
     }
 
     @Override
-    public Page<PostDTO> findAllByDirection(
+    public Page<PostSummaryDTO> findAllByDirection(
             Integer directionId, Set<Integer> typeId, Set<Integer> tagId, PostStatus postStatus, Pageable pageable) {
         DirectionEntity direction = DirectionEntity.builder()
                 .id(directionId)
                 .build();
+        Page<PostIdView> postIds;
         if (typeId == null && tagId == null) {
-            return postRepository.findAllByDirectionsContainsAndStatus(direction, postStatus, pageable)
-                    .map(postMapper::toPostDTO);
+            postIds = postRepository.findIdsByDirectionsContainsAndStatus(direction, postStatus, pageable);
         } else if (typeId == null) {
-            return postRepository.findAllByDirectionsContainsAndTagsIdInAndStatus(
-                            direction, tagId, postStatus, pageable)
-                    .map(postMapper::toPostDTO);
+            postIds = postRepository.findIdsByDirectionsContainsAndTagsIdInAndStatus(
+                    direction, tagId, postStatus, pageable);
         } else if (tagId == null) {
-            return postRepository.findAllByDirectionsContainsAndTypeIdInAndStatus(
-                            direction, typeId, postStatus, pageable)
-                    .map(postMapper::toPostDTO);
+            postIds = postRepository.findIdsByDirectionsContainsAndTypeIdInAndStatus(
+                    direction, typeId, postStatus, pageable);
+        } else {
+            postIds = postRepository.findIdsByDirectionsContainsAndTypeIdInAndTagsIdInAndStatus(
+                    direction, typeId, tagId, postStatus, pageable);
+        }
+        return toPostSummaryPage(postIds.map(PostIdView::getId));
+    }
+
+    @Override
+    public SliceDTO<PostSummaryDTO> findSliceByDirection(Integer directionId, Set<Integer> typeId,
+            Set<Integer> tagId, PostStatus postStatus, Pageable pageable, boolean approximateTotal) {
+        return toPostSummarySlice(PostFilter.builder()
+                .directionIds(Set.of(directionId))
+                .typeIds(typeId)
+                .tagIds(tagId)
+                .statuses(Set.of(postStatus))
+                .build(), pageable, approximateTotal);
+    }
+
+    @Override
+    public CursorPageDTO<PostSummaryDTO> findLatestByDirectionAndCursor(
+            Integer directionId, Set<Integer> typeId, Set<Integer> tagId, PostCursor cursor, Integer size) {
+        int pageSize = toCursorPageSize(size);
+        return toCursorPage(postRepository.findIdsByDirectionAndTypesAndTagsBeforeCursor(
+                directionId, validateValues(typeId), validateValues(tagId), PostStatus.PUBLISHED,
+                cursor.getPublishedAt(), cursor.getPostId(), pageSize + 1), pageSize);
+    }
+
+    @Override
+    public SliceDTO<PostSummaryDTO> findSliceByExpertAndTypeAndDirections(Integer expertId, Set<Integer> typeId,
+            Set<Integer> directionId, Pageable pageable, boolean approximateTotal) {
+        Pageable sortedPageable = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                        Sort.by(Sort.Direction.DESC, "publishedAt", "id"));
+        return toPostSummarySlice(PostFilter.builder()
+                .authorId(expertId)
+                .typeIds(typeId)
+                .directionIds(directionId)
+                .statuses(Set.of(PostStatus.PUBLISHED))
+                .build(), sortedPageable, approximateTotal);
+    }
+
+    @Override
+    public CursorPageDTO<PostSummaryDTO> findLatestByExpertAndCursor(Integer expertId, Set<Integer> typeId,
+            Set<Integer> directionId, PostCursor cursor, Integer size) {
+        int pageSize = toCursorPageSize(size);
+        return toCursorPage(postRepository.findIdsByAuthorIdAndTypesAndDirectionsBeforeCursor(
+                expertId, validateValues(typeId), validateValues(directionId), PostStatus.PUBLISHED,
+                cursor.getPublishedAt(), cursor.getPostId(), pageSize + 1), pageSize);
+    }
+
+    private int toCursorPageSize(Integer size) {
+        return Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+    }
+
+    /**
+     * Builds a cursor page from ids of posts fetched with one extra row.
+     *
+     * <p>The extra row is never returned, it only tells whether there is a next page.</p>
+     */
+    private CursorPageDTO<PostSummaryDTO> toCursorPage(List<Integer> postIds, int pageSize) {
+        boolean hasNext = postIds.size() > pageSize;
+        List<PostSummaryDTO> posts = findSummariesInOrder(hasNext ? postIds.subList(0, pageSize) : postIds);
+        String nextCursor = null;
+        if (hasNext && !posts.isEmpty()) {
+            PostSummaryDTO last = posts.get(posts.size() - 1);
+            nextCursor = PostCursor.of(last.getPublishedAt(), last.getId()).encode();
+        }
+        return CursorPageDTO.<PostSummaryDTO>builder()
+                .content(posts)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+
+    /**
+     * Builds a slice of posts matching the filter, the posts are never counted unless the total is requested.
+     *
+     * <p>The requested total is approximate, it is served from counts refreshed in the background.</p>
+     */
+    private SliceDTO<PostSummaryDTO> toPostSummarySlice(PostFilter filter, Pageable pageable,
+            boolean approximateTotal) {
+        Slice<Integer> postIds = postRepository.findIdSliceByFilter(filter, pageable);
+        return SliceDTO.<PostSummaryDTO>builder()
+                .content(findSummariesInOrder(postIds.getContent()))
+                .number(postIds.getNumber())
+                .size(postIds.getSize())
+                .hasNext(postIds.hasNext())
+                .approximateTotalElements(approximateTotal
+                        ? approximateCountService.count(filter, () -> postRepository.countByFilter(filter))
+                        : null)
+                .build();
+    }
+
+    private Page<PostSummaryDTO> toPostSummaryPage(Page<Integer> postIds) {
+        return new PageImpl<>(findSummariesInOrder(postIds.getContent()), postIds.getPageable(),
+                postIds.getTotalElements());
+    }
+
+    /**
+     * Loads post summaries with their directions, tags and origins in four queries
+     * and keeps the order in which the ids were found. Post content is never loaded.
+     */
+    private List<PostSummaryDTO> findSummariesInOrder(Collection<Integer> postIds) {
+        if (postIds.isEmpty()) {
+            return Collections.emptyList();
         }
-        return postRepository.findAllByDirectionsContainsAndTypeIdInAndTagsIdInAndStatus(
-                        direction, typeId, tagId, postStatus, pageable)
-                .map(postMapper::toPostDTO);
+        Map<Integer, Set<DirectionEntity>> directions = postRepository.findDirectionsByPostIdIn(postIds).stream()
+                .collect(Collectors.groupingBy(PostDirectionView::getPostId,
+                        Collectors.mapping(PostDirectionView::getDirection, Collectors.toSet())));
+        Map<Integer, Set<TagEntity>> tags = postRepository.findTagsByPostIdIn(postIds).stream()
+                .collect(Collectors.groupingBy(PostTagView::getPostId,
+                        Collectors.mapping(PostTagView::getTag, Collectors.toSet())));
+        Map<Integer, Set<OriginEntity>> origins = postRepository.findOriginsByPostIdIn(postIds).stream()
+                .collect(Collectors.groupingBy(PostOriginView::getPostId,
+                        Collectors.mapping(PostOriginView::getOrigin, Collectors.toSet())));
+        Map<Integer, PostSummaryView> posts = postRepository.findSummariesByIdIn(postIds).stream()
+                .collect(Collectors.toMap(PostSummaryView::getId, Function.identity()));
+        return postIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .map(post -> postMapper.toPostSummaryDTO(post,
+                        directions.getOrDefault(post.getId(), Collections.emptySet()),
+                        tags.getOrDefault(post.getId(), Collections.emptySet()),
+                        origins.getOrDefault(post.getId(), Collections.emptySet())))
+                .collect(Collectors.toList());
     }
 
     @Override
-    public Page<PostDTO> findPostsByAuthorIdAndDirections(
+    public Page<PostSummaryDTO> findPostsByAuthorIdAndDirections(
             Pageable pageable, Integer authorId, Set<Integer> directions) {
 
-        return postRepository.findPostsByAuthorIdAndDirections(pageable, authorId, directions)
-                .map(postMapper::toPostDTO);
+        return toPostSummaryPage(postRepository.findIdsByAuthorIdAndDirections(pageable, authorId, directions));
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = MAIN_PAGE_CACHE, allEntries = true),
+            @CacheEvict(value = POST_DETAIL_CACHE, key = "#postDTO.id")
+    })
     public Boolean updatePostById(UserPrincipal userPrincipal, PostSaveFromUserDTO postDTO)
             throws EntityNotFoundException {
 
@@ -243,6 +461,7 @@ public class PostServiceImpl implements PostService {
         directionService.updateDirectionsHasPostsStatusByEntities(
                 getDirectionsFromPostsEntities(Optional.empty(), mappedEntity)
         );
+        postVersionService.markChanged();
     }
 
     private boolean checkAuthority(UserPrincipal userPrincipal, String authority) {
@@ -253,80 +472,102 @@ public class PostServiceImpl implements PostService {
     @Override
     @Transactional
     public Page<PostMainPageDTO> findLatestByPostTypesAndOrigins(Pageable pageable) {
-        PostMainPageDTO expertOptions = PostMainPageDTO.builder()
-                .fieldName("expertOpinion")
-                .postDTOS(postRepository.findLatestByPostTypeExpertOpinion(PageRequest.of(pageable.getPageNumber(), 4))
-                        .map(postMapper::toPostDTO).toList()).build();
-        PostMainPageDTO media = PostMainPageDTO.builder()
-                .fieldName("media")
-                .postDTOS(postRepository.findLatestByPostTypeMedia(PageRequest.of(pageable.getPageNumber(), 4))
-                        .map(postMapper::toPostDTO).toList()).build();
-        PostMainPageDTO translation = PostMainPageDTO.builder()
-                .fieldName("translation")
-                .postDTOS(postRepository.findLatestByPostTypeTranslation(PageRequest.of(pageable.getPageNumber(), 4))
-                        .map(postMapper::toPostDTO).toList()).build();
-        PostMainPageDTO video = PostMainPageDTO.builder()
-                .fieldName("video")
-                .postDTOS(postRepository.findLatestByOriginVideo(PageRequest.of(pageable.getPageNumber(), 4))
-                        .map(postMapper::toPostDTO).toList()).build();
-
-        return new PageImpl<>(List.of(expertOptions, media, translation, video));
+        return new PageImpl<>(findMainPageSections(pageable.getPageNumber(), MAIN_PAGE_SECTION_SIZE));
     }
 
     @Override
+    @Transactional
     public Page<PostMainPageDTO> findLatestByPostTypesAndOriginsForMobile(Pageable pageable) {
-        PostMainPageDTO expertOptions = PostMainPageDTO.builder()
-                .fieldName("expertOpinion")
-                .postDTOS(postRepository.findLatestByPostTypeExpertOpinion(PageRequest.of(pageable.getPageNumber(), 10))
-                        .map(postMapper::toPostDTO).toList()).build();
-        PostMainPageDTO media = PostMainPageDTO.builder()
-                .fieldName("media")
-                .postDTOS(postRepository.findLatestByPostTypeMedia(PageRequest.of(pageable.getPageNumber(), 10))
-                        .map(postMapper::toPostDTO).toList()).build();
-        PostMainPageDTO translation = PostMainPageDTO.builder()
-                .fieldName("translation")
-                .postDTOS(postRepository.findLatestByPostTypeTranslation(PageRequest.of(pageable.getPageNumber(), 10))
-                        .map(postMapper::toPostDTO).toList()).build();
-        PostMainPageDTO video = PostMainPageDTO.builder()
-                .fieldName("video")
-                .postDTOS(postRepository.findLatestByOriginVideo(PageRequest.of(pageable.getPageNumber(), 10))
-                        .map(postMapper::toPostDTO).toList()).build();
-
-        return new PageImpl<>(List.of(expertOptions, media, translation, video));
+        return new PageImpl<>(findMainPageSections(pageable.getPageNumber(), MOBILE_MAIN_PAGE_SECTION_SIZE));
+    }
+
+    /**
+     * Gets main page sections from the cache or loads them from db.
+     *
+     * <p>Sections are cached as a list because a page object can not be restored from the cache. Like post
+     * details, they are stored with the post change version they were loaded at.</p>
+     *
+     * <p>Only the first pages are cached, the page number comes from the request and caching every page would let
+     * the cache grow without a limit when it is not backed by Redis. Pages whose rows do not fit in an integer
+     * offset are rejected.</p>
+     */
+    private List<PostMainPageDTO> findMainPageSections(int page, int size) {
+        if ((page + 1L) * size > Integer.MAX_VALUE) {
+            throw new BadRequestException("Page number is too large: " + page);
+        }
+        int offset = page * size;
+        if (page >= CACHED_MAIN_PAGES) {
+            return loadMainPageSections(offset, size);
+        }
+        return getVersioned(MAIN_PAGE_CACHE, size + ":" + page, () -> loadMainPageSections(offset, size));
+    }
+
+    /**
+     * Loads ids of all sections with one window query, then the post summaries for all of them at once.
+     */
+    private List<PostMainPageDTO> loadMainPageSections(int offset, int size) {
+        List<PostBucketView> rows = postRepository.findLatestIdsForMainPage(offset, size);
+        Set<Integer> postIds = rows.stream()
+                .map(PostBucketView::getPostId)
+                .collect(Collectors.toSet());
+        Map<Integer, PostSummaryDTO> posts = findSummariesInOrder(postIds).stream()
+                .collect(Collectors.toMap(PostSummaryDTO::getId, Function.identity()));
+        Map<String, List<PostSummaryDTO>> sections = rows.stream()
+                .collect(Collectors.groupingBy(PostBucketView::getBucket,
+                        Collectors.mapping(row -> posts.get(row.getPostId()), Collectors.toList())));
+        return MAIN_PAGE_SECTIONS.stream()
+                .map(section -> PostMainPageDTO.builder()
+                        .fieldName(section)
+                        .postDTOS(sections.getOrDefault(section, new ArrayList<>()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private void evictMainPage() {
+        Cache cache = cacheManager.getCache(MAIN_PAGE_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evictPostDetails(Collection<PostEntity> posts) {
+        Cache cache = cacheManager.getCache(POST_DETAIL_CACHE);
+        if (cache != null) {
+            posts.forEach(post -> cache.evict(post.getId()));
+        }
     }
 
     @Override
-    public Page<PostDTO> findAllByExpertAndTypeAndDirections(Integer expertId, Set<Integer> typeId,
+    public Page<PostSummaryDTO> findAllByExpertAndTypeAndDirections(Integer expertId, Set<Integer> typeId,
             Set<Integer> directionId, Pageable pageable) {
         if (typeId == null && directionId == null) {
-            return postRepository.findAllByAuthorIdAndStatusOrderByPublishedAtDesc(expertId, PostStatus.PUBLISHED,
-                            pageable)
-                    .map(postMapper::toPostDTO);
+            return toPostSummaryPage(postRepository
+                    .findIdsByAuthorIdAndStatusOrderByPublishedAtDesc(expertId, PostStatus.PUBLISHED, pageable)
+                    .map(PostIdView::getId));
         }
         if (typeId == null) {
-            return postRepository.findPostsByAuthorIdAndDirections(pageable, expertId, directionId)
-                    .map(postMapper::toPostDTO);
+            return toPostSummaryPage(postRepository.findIdsByAuthorIdAndDirections(pageable, expertId, directionId));
         }
         if (directionId == null) {
-            return postRepository
-                    .findAllByAuthorIdAndTypeIdInAndStatus(expertId, typeId, PostStatus.PUBLISHED, pageable)
-                    .map(postMapper::toPostDTO);
+            return toPostSummaryPage(postRepository
+                    .findIdsByAuthorIdAndTypeIdInAndStatus(expertId, typeId, PostStatus.PUBLISHED, pageable)
+                    .map(PostIdView::getId));
         }
-        return postRepository.findAllByExpertAndByDirectionsAndByPostType(expertId, typeId, directionId, pageable)
-                .map(postMapper::toPostDTO);
+        return toPostSummaryPage(postRepository
+                .findIdsByExpertAndByDirectionsAndByPostType(expertId, typeId, directionId, pageable));
     }
 
     @Override
-    public Page<PostDTO> findAllByExpertAndTypeAndStatus(Integer expertId, Set<Integer> typeId,
+    public Page<PostSummaryDTO> findAllByExpertAndTypeAndStatus(Integer expertId, Set<Integer> typeId,
             PostStatus postStatus, Pageable pageable) {
         if (typeId == null) {
-            return postRepository
-                    .findAllByAuthorIdAndStatusOrderByPublishedAtDesc(expertId, postStatus, pageable)
-                    .map(postMapper::toPostDTO);
+            return toPostSummaryPage(postRepository
+                    .findIdsByAuthorIdAndStatusOrderByPublishedAtDesc(expertId, postStatus, pageable)
+                    .map(PostIdView::getId));
         }
-        return postRepository
-                .findAllByAuthorIdAndTypeIdInAndStatus(expertId, typeId, postStatus, pageable)
-                .map(postMapper::toPostDTO);
+        return toPostSummaryPage(postRepository
+                .findIdsByAuthorIdAndTypeIdInAndStatus(expertId, typeId, postStatus, pageable)
+                .map(PostIdView::getId));
     }
 
     @Override
@@ -340,6 +581,7 @@ public class PostServiceImpl implements PostService {
         for (int i = 0; i < importantPostIdsList.size(); i++) {
             postRepository.setImportantPostOrder((i + 1), importantPostIdsList.get(i));
         }
+        postVersionService.markChanged();
         return true;
     }
 
@@ -384,10 +626,11 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
-    public Page<PostDTO> findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence(
+    public Page<PostSummaryDTO> findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence(
             Set<Integer> directions, Set<Integer> types, Set<Integer> origins, Pageable pageable) {
-        return postRepository.findByDirectionsAndTypesAndOriginsAndStatusAndImportantSortedByImportantImagePresence(
-                directions, types, origins, PostStatus.PUBLISHED, false, pageable).map(postMapper::toPostDTO);
+        return toPostSummaryPage(postRepository
+                .findIdsByDirectionsAndTypesAndOriginsAndStatusAndImportantSortedByImportantImagePresence(
+                        directions, types, origins, PostStatus.PUBLISHED, false, pageable));
     }
 
     public Set<DirectionEntity> getDirectionsFromPostsEntities(Optional<PostEntity> oldEntity, PostEntity newEntity) {
@@ -414,10 +657,17 @@ public class PostServiceImpl implements PostService {
     public void updateRealViews() {
         Map<Integer, Integer> postIdsAndViews = googleAnalytics.getAllPostsViewCount();
         postIdsAndViews.forEach(postRepository::updateRealViews);
+        if (!postIdsAndViews.isEmpty()) {
+            postVersionService.markChanged();
+        }
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = MAIN_PAGE_CACHE, allEntries = true),
+            @CacheEvict(value = POST_DETAIL_CACHE, key = "#postId")
+    })
     public boolean setPublishedAt(Integer postId, PostPublishedAtDTO publishedAt) {
         Optional<PostEntity> post = postRepository.findById(postId);
         if (post.isPresent()) {
@@ -437,6 +687,7 @@ public class PostServiceImpl implements PostService {
                 }
             }
             postRepository.save(postEntity);
+            postVersionService.markChanged();
             return true;
         } else {
             throw new EntityNotFoundException("Post with this id=" + postId + " doesn't exist");
@@ -449,13 +700,23 @@ public class PostServiceImpl implements PostService {
     public void updatePlannedStatus() {
         List<PostEntity> allByStatus = postRepository.findAllByStatus(PostStatus.PLANNED);
         Timestamp date = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MIN));
-        allByStatus.stream()
+        List<PostEntity> postsToPublish = allByStatus.stream()
                 .filter(postEntity -> postEntity.getPublishedAt().before(date))
-                .forEach(postEntity -> postEntity.setStatus(PostStatus.PUBLISHED));
+                .collect(Collectors.toList());
+        postsToPublish.forEach(postEntity -> postEntity.setStatus(PostStatus.PUBLISHED));
+        if (!postsToPublish.isEmpty()) {
+            evictMainPage();
+            evictPostDetails(postsToPublish);
+            postVersionService.markChanged();
+        }
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = MAIN_PAGE_CACHE, allEntries = true),
+            @CacheEvict(value = POST_DETAIL_CACHE, key = "#postId")
+    })
     public void setPostStatus(UserPrincipal userPrincipal, Integer postId, PostStatusDTO postStatusDTO)
             throws EntityNotFoundException {
 
@@ -492,6 +753,10 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = MAIN_PAGE_CACHE, allEntries = true),
+            @CacheEvict(value = POST_DETAIL_CACHE, key = "#postId")
+    })
     public void setAuthor(Integer postId, Integer authorId) {
         Optional<PostEntity> post = postRepository.findById(postId);
         Optional<AuthorEntity> author = authorRepository.findById(authorId);
@@ -514,6 +779,7 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional
+    @CacheEvict(value = POST_DETAIL_CACHE, key = "#postId")
     public void setPostViews(UserPrincipal userPrincipal, Integer postId, Integer desiredViews)
             throws EntityNotFoundException {
         if (desiredViews < 0) {
@@ -540,6 +806,10 @@ public class PostServiceImpl implements PostService {
 
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = MAIN_PAGE_CACHE, allEntries = true),
+            @CacheEvict(value = POST_DETAIL_CACHE, key = "#postId")
+    })
     public Boolean removePostById(UserPrincipal userPrincipal, Integer postId)
             throws EntityNotFoundException {
 
@@ -561,6 +831,7 @@ public class PostServiceImpl implements PostService {
                     checkAuthority(userPrincipal,"DELETE_POST")) {
                 postEntityThreadLocal.set(mappedEntity);
                 postRepository.delete(mappedEntity);
+                postVersionService.markChanged();
             } else {
                 throw new ForbiddenPermissionsException();
             }
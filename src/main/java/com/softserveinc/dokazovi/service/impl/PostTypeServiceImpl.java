@@ -5,6 +5,7 @@ import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
 import com.softserveinc.dokazovi.mapper.PostTypeMapper;
 import com.softserveinc.dokazovi.repositories.PostTypeRepository;
 import com.softserveinc.dokazovi.service.PostTypeService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -17,13 +18,11 @@ public class PostTypeServiceImpl implements PostTypeService {
 
     private final PostTypeRepository postTypeRepository;
     private final PostTypeMapper postTypeMapper;
+    private final ReferenceDataService referenceDataService;
 
     @Override
     public List<PostTypeDTO> findAll() {
-        return postTypeRepository.findAll()
-                .stream()
-                .map(postTypeMapper::toPostTypeDTO)
-                .collect(Collectors.toList());
+        return referenceDataService.getPostTypes().getItems();
     }
 
     @Override
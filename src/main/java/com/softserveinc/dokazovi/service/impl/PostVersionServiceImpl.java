@@ -0,0 +1,112 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.config.RedisConfig;
+import com.softserveinc.dokazovi.event.AuthorChangedEvent;
+import com.softserveinc.dokazovi.event.PostsChangedEvent;
+import com.softserveinc.dokazovi.pojo.PostValidators;
+import com.softserveinc.dokazovi.repositories.PostChangeVersionRepository;
+import com.softserveinc.dokazovi.repositories.PostRepository;
+import com.softserveinc.dokazovi.service.PostVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+/**
+ * The PostVersionServiceImpl keeps the version in a single row of the database, so that it is the same on every node.
+ *
+ * <p>The modification time of a post alone is not enough: views, importance and publication dates are updated
+ * in bulk without touching it, and post responses also contain author data. So the post validators
+ * combine it with the global version.</p>
+ *
+ * <p>As the version is a part of the validators of every feed and post, the cached main page sections and post
+ * details are evicted whenever it changes: once in the transaction changing it and once more after the commit.
+ * Evicting alone does not keep an old body from being served with the new validators, a request which loaded
+ * it before the commit may still put it afterwards. So the cached bodies also carry the version they were loaded
+ * at, see {@link #getVersion()}, and a body older than the current version is loaded again.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class PostVersionServiceImpl implements PostVersionService {
+
+    private static final Integer VERSION_ID = 1;
+
+    private final PostChangeVersionRepository postChangeVersionRepository;
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    @Override
+    public Optional<Long> getVersion() {
+        return postChangeVersionRepository.findVersionById(VERSION_ID);
+    }
+
+    @Override
+    public Optional<PostValidators> getFeedValidators() {
+        return postChangeVersionRepository.findById(VERSION_ID)
+                .map(version -> new PostValidators(
+                        weakETag(String.valueOf(version.getVersion())),
+                        version.getChangedAt().getTime()));
+    }
+
+    @Override
+    public Optional<PostValidators> getPostValidators(Integer postId) {
+        Optional<Timestamp> modifiedAt = postRepository.findModifiedAtById(postId);
+        if (modifiedAt.isEmpty()) {
+            return Optional.empty();
+        }
+        long postModifiedAt = modifiedAt.get().getTime();
+        return postChangeVersionRepository.findById(VERSION_ID)
+                .map(version -> new PostValidators(
+                        weakETag(version.getVersion() + "-" + postModifiedAt),
+                        Math.max(postModifiedAt, version.getChangedAt().getTime())));
+    }
+
+    @Override
+    public void markChanged() {
+        postChangeVersionRepository.increment(VERSION_ID);
+        evictPostCaches();
+        eventPublisher.publishEvent(new PostsChangedEvent());
+    }
+
+    /**
+     * Evicts the bodies which may have been loaded by other requests while the change was not committed yet.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostsChanged(PostsChangedEvent event) {
+        evictPostCaches();
+    }
+
+    /**
+     * Author names, avatars and bios are shown with posts, so their changes change the version too.
+     */
+    @EventListener
+    public void onAuthorChanged(AuthorChangedEvent event) {
+        markChanged();
+    }
+
+    private void evictPostCaches() {
+        clear(RedisConfig.MAIN_PAGE_CACHE);
+        clear(RedisConfig.POST_DETAIL_CACHE);
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Builds a weak ETag, as the same version may be serialized differently, e.g. after a deploy.
+     */
+    private static String weakETag(String value) {
+        return "W/\"" + value + "\"";
+    }
+}
@@ -0,0 +1,254 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.event.AuthorChangedEvent;
+import com.softserveinc.dokazovi.repositories.AuthorRepository;
+import com.softserveinc.dokazovi.repositories.projection.ExpertDirectionView;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of expert user ids, global and per direction, used to pick random experts
+ * instead of sorting all of them by RANDOM() in the database.
+ *
+ * <p>The index is built on startup and rebuilt periodically. Changes of a single author
+ * are applied to it as soon as they are committed.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class RandomExpertIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RandomExpertIndex.class);
+    private static final int MAX_CACHED_UNION_COUNTS = 256;
+
+    private final AuthorRepository authorRepository;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Picks random experts uniformly and without repetitions.
+     *
+     * <p>Takes O(count) steps for all experts or a single direction. For several directions the experts
+     * found in more than one of them are skipped in all but the first, so the expected number of steps
+     * grows only with the overlap of the directions.</p>
+     *
+     * @param directionIds directions of the experts, empty for all experts
+     * @param count number of experts to pick
+     * @return user ids of the picked experts in random order
+     */
+    public List<Integer> sample(Set<Integer> directionIds, int count) {
+        List<int[]> segments = getSnapshot().segments(directionIds);
+        int total = segments.stream().mapToInt(segment -> segment.length).sum();
+        List<Integer> picked = new ArrayList<>(Math.min(count, total));
+        Map<Integer, Integer> swapped = new HashMap<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int drawn = 0; drawn < total && picked.size() < count; drawn++) {
+            int position = random.nextInt(drawn, total);
+            int value = swapped.getOrDefault(position, position);
+            swapped.put(position, swapped.getOrDefault(drawn, drawn));
+
+            int segment = 0;
+            while (value >= segments.get(segment).length) {
+                value -= segments.get(segment).length;
+                segment++;
+            }
+            int userId = segments.get(segment)[value];
+            if (!containsBefore(segments, segment, userId)) {
+                picked.add(userId);
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * Counts experts having at least one of the given directions.
+     *
+     * @param directionIds directions of the experts, empty for all experts
+     * @return number of experts
+     */
+    public int count(Set<Integer> directionIds) {
+        Snapshot current = getSnapshot();
+        List<int[]> segments = current.segments(directionIds);
+        if (segments.size() == 1) {
+            return segments.get(0).length;
+        }
+        Integer cached = current.unionCounts.get(directionIds);
+        if (cached != null) {
+            return cached;
+        }
+        int count = 0;
+        for (int segment = 0; segment < segments.size(); segment++) {
+            for (int userId : segments.get(segment)) {
+                if (!containsBefore(segments, segment, userId)) {
+                    count++;
+                }
+            }
+        }
+        if (current.unionCounts.size() < MAX_CACHED_UNION_COUNTS) {
+            current.unionCounts.put(Set.copyOf(directionIds), count);
+        }
+        return count;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${random-expert-index.rebuild-cron:0 0 * * * *}")
+    public synchronized void rebuild() {
+        Map<Integer, Expert> experts = toExperts(authorRepository.findExpertDirections());
+        Set<Integer> all = new HashSet<>();
+        Map<Integer, Set<Integer>> byDirection = new HashMap<>();
+        experts.values().forEach(expert -> {
+            all.add(expert.userId);
+            expert.directionIds.forEach(directionId ->
+                    byDirection.computeIfAbsent(directionId, id -> new HashSet<>()).add(expert.userId));
+        });
+        snapshot = new Snapshot(experts, toSortedArray(all), byDirection.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> toSortedArray(entry.getValue()))));
+        logger.info("Random expert index is built for {} experts", experts.size());
+    }
+
+    /**
+     * Reloads a single author and applies the difference to the index.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAuthorChanged(AuthorChangedEvent event) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            return;
+        }
+        Map<Integer, Expert> experts = new HashMap<>(current.experts);
+        Expert old = experts.remove(event.getAuthorId());
+        Expert updated = toExperts(authorRepository.findExpertDirectionsByAuthorId(event.getAuthorId()))
+                .get(event.getAuthorId());
+        if (updated != null) {
+            experts.put(event.getAuthorId(), updated);
+        }
+
+        int[] all = current.all;
+        Map<Integer, int[]> byDirection = new HashMap<>(current.byDirection);
+        if (old != null) {
+            all = without(all, old.userId);
+            old.directionIds.forEach(directionId ->
+                    byDirection.computeIfPresent(directionId, (id, userIds) -> without(userIds, old.userId)));
+        }
+        if (updated != null) {
+            all = with(all, updated.userId);
+            updated.directionIds.forEach(directionId ->
+                    byDirection.merge(directionId, new int[]{updated.userId}, (userIds, added) ->
+                            with(userIds, updated.userId)));
+        }
+        snapshot = new Snapshot(experts, all, byDirection);
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static Map<Integer, Expert> toExperts(Collection<ExpertDirectionView> rows) {
+        Map<Integer, Expert> experts = new HashMap<>();
+        rows.forEach(row -> {
+            Expert expert = experts.computeIfAbsent(row.getAuthorId(), id -> new Expert(row.getUserId()));
+            if (row.getDirectionId() != null) {
+                expert.directionIds.add(row.getDirectionId());
+            }
+        });
+        return experts;
+    }
+
+    private static boolean containsBefore(List<int[]> segments, int segment, int userId) {
+        for (int previous = 0; previous < segment; previous++) {
+            if (Arrays.binarySearch(segments.get(previous), userId) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int[] toSortedArray(Collection<Integer> userIds) {
+        return userIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    private static int[] with(int[] sorted, int userId) {
+        int index = Arrays.binarySearch(sorted, userId);
+        if (index >= 0) {
+            return sorted;
+        }
+        int insertAt = -index - 1;
+        int[] result = new int[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, insertAt);
+        result[insertAt] = userId;
+        System.arraycopy(sorted, insertAt, result, insertAt + 1, sorted.length - insertAt);
+        return result;
+    }
+
+    private static int[] without(int[] sorted, int userId) {
+        int index = Arrays.binarySearch(sorted, userId);
+        if (index < 0) {
+            return sorted;
+        }
+        int[] result = new int[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, index);
+        System.arraycopy(sorted, index + 1, result, index, sorted.length - index - 1);
+        return result;
+    }
+
+    private static final class Expert {
+
+        private final int userId;
+        private final Set<Integer> directionIds = new HashSet<>();
+
+        private Expert(int userId) {
+            this.userId = userId;
+        }
+    }
+
+    /**
+     * Immutable state of the index, replaced as a whole on every change.
+     */
+    private static final class Snapshot {
+
+        private final Map<Integer, Expert> experts;
+        private final int[] all;
+        private final Map<Integer, int[]> byDirection;
+        private final Map<Set<Integer>, Integer> unionCounts = new ConcurrentHashMap<>();
+
+        private Snapshot(Map<Integer, Expert> experts, int[] all, Map<Integer, int[]> byDirection) {
+            this.experts = experts;
+            this.all = all;
+            this.byDirection = byDirection;
+        }
+
+        private List<int[]> segments(Set<Integer> directionIds) {
+            if (directionIds == null || directionIds.isEmpty()) {
+                return Collections.singletonList(all);
+            }
+            return directionIds.stream()
+                    .sorted()
+                    .map(directionId -> byDirection.getOrDefault(directionId, new int[0]))
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserveinc.dokazovi.cache.CacheInvalidationPublisher;
+import com.softserveinc.dokazovi.cache.NodeLocalCache;
+import com.softserveinc.dokazovi.dto.city.CityDTO;
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.info.PlatformInformationDTO;
+import com.softserveinc.dokazovi.dto.origin.OriginDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.dto.region.RegionDTO;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
+import com.softserveinc.dokazovi.mapper.CityMapper;
+import com.softserveinc.dokazovi.mapper.DirectionMapper;
+import com.softserveinc.dokazovi.mapper.OriginMapper;
+import com.softserveinc.dokazovi.mapper.PlatformInformationMapper;
+import com.softserveinc.dokazovi.mapper.PostTypeMapper;
+import com.softserveinc.dokazovi.mapper.RegionMapper;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.pojo.ReferenceDataType;
+import com.softserveinc.dokazovi.repositories.CityRepository;
+import com.softserveinc.dokazovi.repositories.DirectionRepository;
+import com.softserveinc.dokazovi.repositories.OriginRepository;
+import com.softserveinc.dokazovi.repositories.PlatformInformationRepository;
+import com.softserveinc.dokazovi.repositories.PostTypeRepository;
+import com.softserveinc.dokazovi.repositories.RegionRepository;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The ReferenceDataServiceImpl keeps directions, regions, cities, origins, post types and platform information
+ * in an immutable snapshot.
+ *
+ * <p>The snapshot is loaded on startup. When some data is changed, only that data is reloaded after the commit
+ * and a new snapshot replaces the old one, so readers never see a partly updated one.</p>
+ *
+ * <p>The change is published to the other nodes, when there are any, and they reload the same data,
+ * so that every node serves it with the same ETag.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceDataServiceImpl implements ReferenceDataService, NodeLocalCache {
+
+    public static final String CACHE_NAME = "referenceData";
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataServiceImpl.class);
+
+    private final DirectionRepository directionRepository;
+    private final DirectionMapper directionMapper;
+    private final RegionRepository regionRepository;
+    private final RegionMapper regionMapper;
+    private final CityRepository cityRepository;
+    private final CityMapper cityMapper;
+    private final OriginRepository originRepository;
+    private final OriginMapper originMapper;
+    private final PostTypeRepository postTypeRepository;
+    private final PostTypeMapper postTypeMapper;
+    private final PlatformInformationRepository platformInformationRepository;
+    private final PlatformInformationMapper platformInformationMapper;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<CacheInvalidationPublisher> invalidationPublisher;
+    private volatile Snapshot snapshot;
+
+    @Override
+    public ReferenceData<DirectionDTO> getDirections() {
+        return getSnapshot().get(ReferenceDataType.DIRECTIONS);
+    }
+
+    @Override
+    public ReferenceData<RegionDTO> getRegions() {
+        return getSnapshot().get(ReferenceDataType.REGIONS);
+    }
+
+    @Override
+    public ReferenceData<CityDTO> getCities() {
+        return getSnapshot().get(ReferenceDataType.CITIES);
+    }
+
+    @Override
+    public ReferenceData<OriginDTO> getOrigins() {
+        return getSnapshot().get(ReferenceDataType.ORIGINS);
+    }
+
+    @Override
+    public ReferenceData<PostTypeDTO> getPostTypes() {
+        return getSnapshot().get(ReferenceDataType.POST_TYPES);
+    }
+
+    @Override
+    public ReferenceData<PlatformInformationDTO> getPlatformInformation() {
+        return getSnapshot().get(ReferenceDataType.PLATFORM_INFORMATION);
+    }
+
+    @Override
+    public String getVersion() {
+        return getSnapshot().version;
+    }
+
+    /**
+     * Loads all reference data.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadAll() {
+        Map<ReferenceDataType, ReferenceData<?>> data = new EnumMap<>(ReferenceDataType.class);
+        for (ReferenceDataType type : ReferenceDataType.values()) {
+            data.put(type, load(type));
+        }
+        snapshot = new Snapshot(data);
+        logger.info("Reference data version {} is loaded", snapshot.version);
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        reload(event.getDataType());
+        CacheInvalidationPublisher publisher = invalidationPublisher.getIfAvailable();
+        if (publisher != null) {
+            publisher.publish(CACHE_NAME, event.getDataType().name());
+        }
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Reloads the data changed on another node.
+     *
+     * @param key name of the changed {@link ReferenceDataType}, {@code null} to reload all data
+     */
+    @Override
+    public void invalidateLocal(String key) {
+        if (key == null) {
+            loadAll();
+        } else {
+            reload(ReferenceDataType.valueOf(key));
+        }
+    }
+
+    private synchronized void reload(ReferenceDataType type) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            loadAll();
+            return;
+        }
+        Map<ReferenceDataType, ReferenceData<?>> data = new EnumMap<>(current.data);
+        data.put(type, load(type));
+        snapshot = new Snapshot(data);
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            loadAll();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private ReferenceData<?> load(ReferenceDataType type) {
+        switch (type) {
+            case DIRECTIONS:
+                return toReferenceData(directionRepository.findAll().stream()
+                        .map(directionMapper::toDirectionDTO), DirectionDTO::getId);
+            case REGIONS:
+                return toReferenceData(regionRepository.findAll().stream()
+                        .map(regionMapper::toRegionDTO), RegionDTO::getId);
+            case CITIES:
+                return toReferenceData(cityRepository.findAll().stream()
+                        .map(cityMapper::toCityDTO), CityDTO::getId);
+            case ORIGINS:
+                return toReferenceData(originRepository.findAll().stream()
+                        .map(originMapper::toOriginDTO), OriginDTO::getId);
+            case POST_TYPES:
+                return toReferenceData(postTypeRepository.findAll().stream()
+                        .map(postTypeMapper::toPostTypeDTO), PostTypeDTO::getId);
+            case PLATFORM_INFORMATION:
+                return toReferenceData(platformInformationRepository.findAll().stream()
+                        .map(platformInformationMapper::toPlatformInformationDTO), PlatformInformationDTO::getId);
+            default:
+                throw new IllegalArgumentException("Unknown reference data type " + type);
+        }
+    }
+
+    private <T> ReferenceData<T> toReferenceData(Stream<T> items, Function<T, Integer> idOf) {
+        List<T> list = items.collect(Collectors.toList());
+        return new ReferenceData<>(list, idOf, eTagOf(list));
+    }
+
+    /**
+     * Computes a strong ETag from the serialized items, so that it is the same on every node
+     * and survives restarts while the data stays the same.
+     */
+    private String eTagOf(List<?> items) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(items)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize reference data", e);
+        }
+    }
+
+    /**
+     * Immutable state of the reference data, replaced as a whole on every change. Its version is a digest
+     * of the ETags of all the data, the same on every node holding the same data.
+     */
+    private static final class Snapshot {
+
+        private final String version;
+        private final Map<ReferenceDataType, ReferenceData<?>> data;
+
+        private Snapshot(Map<ReferenceDataType, ReferenceData<?>> data) {
+            this.data = Collections.unmodifiableMap(data);
+            this.version = DigestUtils.md5DigestAsHex(this.data.values().stream()
+                    .map(ReferenceData::getETag)
+                    .collect(Collectors.joining(","))
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> ReferenceData<T> get(ReferenceDataType type) {
+            return (ReferenceData<T>) data.get(type);
+        }
+    }
+}
@@ -2,16 +2,19 @@ package com.softserveinc.dokazovi.service.impl;
 
 import com.softserveinc.dokazovi.dto.region.RegionDTO;
 import com.softserveinc.dokazovi.entity.RegionEntity;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
 import com.softserveinc.dokazovi.mapper.RegionMapper;
+import com.softserveinc.dokazovi.pojo.ReferenceDataType;
 import com.softserveinc.dokazovi.repositories.RegionRepository;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import com.softserveinc.dokazovi.service.RegionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * The RegionServiceImpl is responsible for doing any required logic
@@ -25,17 +28,17 @@ public class RegionServiceImpl implements RegionService {
 
     private final RegionRepository regionRepository;
     private final RegionMapper regionMapper;
+    private final ReferenceDataService referenceDataService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Gets all regions.
+     * Gets all regions from the reference data.
      *
      * @return all found regions
      */
     @Override
     public List<RegionDTO> findAllRegions() {
-        return regionRepository.findAll().stream()
-                .map(regionMapper::toRegionDTO)
-                .collect(Collectors.toList());
+        return referenceDataService.getRegions().getItems();
     }
 
     /**
@@ -47,6 +50,7 @@ public class RegionServiceImpl implements RegionService {
     @Scheduled(cron = "0 0 */4 * * *")
     public void updateRegionsStatus() {
         regionRepository.updateRegionsStatus();
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.REGIONS));
     }
 
     @Override
@@ -0,0 +1,227 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.cache.CacheInvalidationPublisher;
+import com.softserveinc.dokazovi.cache.NodeLocalCache;
+import com.softserveinc.dokazovi.dto.tag.TagDTO;
+import com.softserveinc.dokazovi.repositories.TagRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory n-gram index of tags, used to autocomplete tags in the post editor
+ * instead of scanning all of them on every keystroke.
+ *
+ * <p>Every substring of up to three characters of a tag points to the tag. A value of up to three characters
+ * is looked up directly, a longer one only checks the tags having all of its trigrams.
+ * Found tags starting with the value go first, then the ones used by more posts.</p>
+ *
+ * <p>The index is built on startup and rebuilt periodically to refresh usage counts.
+ * New tags are added to it as soon as they are saved, and the other nodes, when there are any,
+ * are told to add them to their indexes too.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class TagSearchIndex implements NodeLocalCache {
+
+    public static final String CACHE_NAME = "tagSearchIndex";
+    private static final Logger logger = LoggerFactory.getLogger(TagSearchIndex.class);
+    private static final int GRAM_LENGTH = 3;
+    private static final Comparator<Match> RANKING = Comparator
+            .comparing((Match match) -> !match.prefix)
+            .thenComparing(match -> match.tag.usageCount, Comparator.reverseOrder())
+            .thenComparingInt(match -> match.tag.normalized.length())
+            .thenComparing(match -> match.tag.normalized);
+
+    private final TagRepository tagRepository;
+    private final ObjectProvider<CacheInvalidationPublisher> invalidationPublisher;
+    private volatile Snapshot snapshot;
+
+    /**
+     * Finds tags containing the value, ignoring case.
+     *
+     * @param value part of the tag
+     * @param limit maximum number of tags
+     * @return best matching tags, the best one first
+     */
+    public List<TagDTO> search(String value, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        String query = normalize(value);
+        Snapshot current = getSnapshot();
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (Integer tagId : current.candidates(query)) {
+            IndexedTag tag = current.tags.get(tagId);
+            if (tag != null && tag.normalized.contains(query)) {
+                best.add(new Match(tag, tag.normalized.startsWith(query)));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        return best.stream()
+                .sorted(RANKING)
+                .map(match -> TagDTO.builder()
+                        .id(match.tag.id)
+                        .tag(match.tag.tag)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Adds a just saved tag without rebuilding the index, and publishes it to the other nodes.
+     *
+     * @param tag the saved tag
+     */
+    public void add(TagDTO tag) {
+        addLocal(tag.getId(), tag.getTag());
+        CacheInvalidationPublisher publisher = invalidationPublisher.getIfAvailable();
+        if (publisher != null) {
+            publisher.publish(CACHE_NAME, String.valueOf(tag.getId()));
+        }
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Adds a tag saved on another node.
+     *
+     * @param key id of the saved tag, {@code null} to rebuild the index
+     */
+    @Override
+    public void invalidateLocal(String key) {
+        if (key == null) {
+            rebuild();
+            return;
+        }
+        tagRepository.findById(Integer.valueOf(key))
+                .ifPresent(tag -> addLocal(tag.getId(), tag.getTag()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${tag-search-index.rebuild-cron:0 30 * * * *}")
+    public synchronized void rebuild() {
+        Snapshot rebuilt = new Snapshot();
+        tagRepository.findAllWithUsageCount().forEach(row ->
+                rebuilt.add(new IndexedTag(row.getId(), row.getTag(), row.getUsageCount())));
+        snapshot = rebuilt;
+        logger.info("Tag search index is built for {} tags", rebuilt.tags.size());
+    }
+
+    private synchronized void addLocal(Integer id, String tag) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            return;
+        }
+        current.add(new IndexedTag(id, tag, 0L));
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static String normalize(String value) {
+        return (value == null) ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class IndexedTag {
+
+        private final int id;
+        private final String tag;
+        private final String normalized;
+        private final long usageCount;
+
+        private IndexedTag(Integer id, String tag, Long usageCount) {
+            this.id = id;
+            this.tag = tag;
+            this.normalized = normalize(tag);
+            this.usageCount = (usageCount != null) ? usageCount : 0L;
+        }
+    }
+
+    private static final class Match {
+
+        private final IndexedTag tag;
+        private final boolean prefix;
+
+        private Match(IndexedTag tag, boolean prefix) {
+            this.tag = tag;
+            this.prefix = prefix;
+        }
+    }
+
+    /**
+     * State of the index. It is replaced as a whole on rebuild, and only grows in between,
+     * so readers never need a lock.
+     */
+    private static final class Snapshot {
+
+        private final Map<Integer, IndexedTag> tags = new ConcurrentHashMap<>();
+        private final Map<String, Set<Integer>> grams = new ConcurrentHashMap<>();
+
+        private void add(IndexedTag tag) {
+            tags.put(tag.id, tag);
+            String text = tag.normalized;
+            for (int length = 1; length <= GRAM_LENGTH; length++) {
+                for (int start = 0; start + length <= text.length(); start++) {
+                    grams.computeIfAbsent(text.substring(start, start + length),
+                            gram -> ConcurrentHashMap.newKeySet()).add(tag.id);
+                }
+            }
+        }
+
+        /**
+         * Gets ids of the tags which may contain the query. For a query of up to three characters
+         * all of them contain it, for a longer one they have to be checked.
+         */
+        private Collection<Integer> candidates(String query) {
+            if (query.isEmpty()) {
+                return tags.keySet();
+            }
+            if (query.length() <= GRAM_LENGTH) {
+                return grams.getOrDefault(query, Collections.emptySet());
+            }
+            List<Set<Integer>> postings = new ArrayList<>();
+            for (int start = 0; start + GRAM_LENGTH <= query.length(); start++) {
+                Set<Integer> posting = grams.get(query.substring(start, start + GRAM_LENGTH));
+                if (posting == null) {
+                    return Collections.emptySet();
+                }
+                postings.add(posting);
+            }
+            postings.sort(Comparator.comparingInt(Set::size));
+            Set<Integer> smallest = postings.get(0);
+            List<Set<Integer>> others = postings.subList(1, postings.size());
+            return smallest.stream()
+                    .filter(tagId -> others.stream().allMatch(posting -> posting.contains(tagId)))
+                    .collect(Collectors.toList());
+        }
+    }
+}
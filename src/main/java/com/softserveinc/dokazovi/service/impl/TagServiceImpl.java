@@ -7,11 +7,9 @@ import com.softserveinc.dokazovi.mapper.TagMapper;
 import com.softserveinc.dokazovi.repositories.TagRepository;
 import com.softserveinc.dokazovi.service.TagService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -19,20 +17,16 @@ public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
     private final TagMapper tagMapper;
+    private final TagSearchIndex tagSearchIndex;
 
-    @CacheEvict(value = "tags", allEntries = true)
     public TagDTO save(TagSaveDTO tagSaveDTO) {
         TagEntity tagEntity = tagRepository.save(tagMapper.toTagEntity(tagSaveDTO));
-        return tagMapper.toTagDTO(tagEntity);
+        TagDTO tagDTO = tagMapper.toTagDTO(tagEntity);
+        tagSearchIndex.add(tagDTO);
+        return tagDTO;
     }
 
     public List<TagDTO> findTagsByValue(String value, Integer limit) {
-        String filter = value.toLowerCase();
-        return tagRepository.findAll()
-                .stream()
-                .filter(tagDTO -> tagDTO.getTag().toLowerCase().contains(filter))
-                .limit(limit)
-                .map(tagMapper::toTagDTO)
-                .collect(Collectors.toList());
+        return tagSearchIndex.search(value, limit);
     }
 }
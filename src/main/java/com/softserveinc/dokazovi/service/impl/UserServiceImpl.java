@@ -1,28 +1,40 @@
 package com.softserveinc.dokazovi.service.impl;
 
+import com.softserveinc.dokazovi.dto.payload.SliceDTO;
 import com.softserveinc.dokazovi.dto.user.UserDTO;
 import com.softserveinc.dokazovi.entity.PasswordResetTokenEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.VerificationToken;
+import com.softserveinc.dokazovi.event.UserSecurityChangedEvent;
 import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.mapper.UserMapper;
 import com.softserveinc.dokazovi.pojo.UserSearchCriteria;
 import com.softserveinc.dokazovi.repositories.UserRepository;
 import com.softserveinc.dokazovi.repositories.VerificationTokenRepository;
+import com.softserveinc.dokazovi.service.ApproximateCountService;
 import com.softserveinc.dokazovi.service.MailSenderService;
 import com.softserveinc.dokazovi.service.PasswordResetTokenService;
 import com.softserveinc.dokazovi.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 
 import javax.transaction.Transactional;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 
 /**
@@ -41,10 +53,14 @@ public class UserServiceImpl implements UserService {
     private final PasswordEncoder passwordEncoder;
     private final PasswordResetTokenService passwordResetTokenService;
     private final MailSenderService mailSenderService;
+    private final ApproximateCountService approximateCountService;
+    private final RandomExpertIndex randomExpertIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String HAS_NO_DIRECTIONS = "hasNoDirections";
     private static final String HAS_NO_REGIONS = "hasNoRegions";
     private static final String HAS_NO_USERNAME = "hasNoUserName";
+    private static final String EXPERTS_COUNT_KEY = "experts";
 
 
     /**
@@ -135,6 +151,56 @@ public class UserServiceImpl implements UserService {
         throw new EntityNotFoundException("Wrong search parameters");
     }
 
+    /**
+     * Gets doctors by search criteria without counting them, the criteria are handled as in findAllExperts.
+     * The requested total is approximate, it is served from counts refreshed in the background.
+     *
+     * @param userSearchCriteria received from User controller
+     * @param pageable received from User controller
+     * @param approximateTotal whether the approximate number of found doctors is needed
+     * @return slice of found doctors by criteria
+     */
+    @Override
+    @Transactional
+    public SliceDTO<UserDTO> findExpertSlice(UserSearchCriteria userSearchCriteria, Pageable pageable,
+            boolean approximateTotal) {
+        final String name = userSearchCriteria.getUserName();
+        final Set<Integer> directions = userSearchCriteria.getDirections();
+        final Set<Integer> regions = userSearchCriteria.getRegions();
+        Slice<UserEntity> experts;
+        Supplier<Long> counter;
+
+        if (validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_REGIONS, HAS_NO_USERNAME)) {
+            experts = userRepository.findAllBy(pageable);
+            counter = userRepository::count;
+        } else if (validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_REGIONS)) {
+            experts = userRepository.findDoctorsSliceByName(name, pageable);
+            counter = () -> userRepository.countDoctorsByName(name);
+        } else if (validateParameters(userSearchCriteria, HAS_NO_DIRECTIONS, HAS_NO_USERNAME)) {
+            experts = userRepository.findDoctorsProfilesSliceByRegionsIds(regions, pageable);
+            counter = () -> userRepository.countDoctorsProfilesByRegionsIds(regions);
+        } else if (validateParameters(userSearchCriteria, HAS_NO_REGIONS, HAS_NO_USERNAME)) {
+            experts = userRepository.findDoctorsProfilesSliceByDirectionsIds(directions, pageable);
+            counter = () -> userRepository.countDoctorsProfilesByDirectionsIds(directions);
+        } else if (validateParameters(userSearchCriteria, HAS_NO_USERNAME)) {
+            experts = userRepository.findDoctorsProfilesSlice(directions, regions, pageable);
+            counter = () -> userRepository.countDoctorsProfiles(directions, regions);
+        } else {
+            throw new EntityNotFoundException("Wrong search parameters");
+        }
+
+        return SliceDTO.<UserDTO>builder()
+                .content(experts.map(userMapper::toUserDTO).getContent())
+                .number(experts.getNumber())
+                .size(experts.getSize())
+                .hasNext(experts.hasNext())
+                .approximateTotalElements(approximateTotal
+                        ? approximateCountService.count(
+                                Arrays.asList(EXPERTS_COUNT_KEY, directions, regions, name), counter)
+                        : null)
+                .build();
+    }
+
     private boolean validateParameters(UserSearchCriteria userSearchCriteria, String... args) {
 
         if (args.length == 3) {
@@ -164,7 +230,8 @@ public class UserServiceImpl implements UserService {
 
     /**
      * Gets random experts by directions.
-     * If directions are empty, gets random experts without filters
+     * If directions are empty, gets random experts without filters.
+     * The experts are picked from the in-memory index and loaded with a single query.
      *
      * @param directionsIds the directions ids received from User controller
      * @param pageable received from User controller
@@ -172,13 +239,18 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public Page<UserDTO> findRandomExpertPreview(Set<Integer> directionsIds, Pageable pageable) {
-        if (CollectionUtils.isEmpty(directionsIds)) {
-            return userRepository.findRandomExperts(pageable)
-                    .map(userMapper::toUserDTO);
-        }
-
-        return userRepository.findRandomExpertsByDirectionsIdIn(directionsIds, pageable)
-                .map(userMapper::toUserDTO);
+        int total = randomExpertIndex.count(directionsIds);
+        int size = (int) Math.max(0, Math.min(pageable.getPageSize(), total - pageable.getOffset()));
+        List<Integer> userIds = randomExpertIndex.sample(directionsIds, size);
+        Map<Integer, UserEntity> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+
+        List<UserDTO> experts = userIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(userMapper::toUserDTO)
+                .collect(Collectors.toList());
+        return new PageImpl<>(experts, pageable, total);
     }
 
     /**
@@ -194,6 +266,7 @@ public class UserServiceImpl implements UserService {
         }
         userEntity.setEnabled(true);
         userRepository.save(userEntity);
+        securityChanged(userEntity.getId());
     }
 
     /**
@@ -232,7 +305,9 @@ public class UserServiceImpl implements UserService {
         if (user != null) {
             UserEntity oldUser = getById(user.getId());
             if (oldUser != null) {
-                return userRepository.save(user);
+                UserEntity savedUser = userRepository.save(user);
+                securityChanged(user.getId());
+                return savedUser;
             }
         }
         throw new BadRequestException("Something went wrong!!!");
@@ -256,4 +331,12 @@ public class UserServiceImpl implements UserService {
     public boolean isPasswordMatches(UserEntity user, String password) {
         return user != null && passwordEncoder.matches(password, user.getPassword());
     }
+
+    /**
+     * Increments the security version of the user, so that its cached principal is loaded again.
+     */
+    private void securityChanged(Integer userId) {
+        userRepository.incrementSecurityVersion(userId);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(userId));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.softserveinc.dokazovi.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
+import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.service.PostService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
+import com.softserveinc.dokazovi.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Warms the instance up before it reports ready, so that the first visitors after a deploy
+ * do not pay for cold Hibernate metadata, empty caches and interpreted code.
+ *
+ * <p>On startup it loads the main page, important posts with their details, latest posts, reference data
+ * and the expert preview a few times, and serializes the results. This fills the main page and post details
+ * caches and runs the hot queries, the post and user mappers and the JSON serializers.</p>
+ *
+ * <p>It runs after the other startup tasks and blocks the startup until it completes or times out,
+ * so the readiness state is changed to accepting traffic only afterwards. When it times out,
+ * it goes on in the background.</p>
+ */
+@Component
+public class StartupWarmUp {
+
+    /**
+     * Progress of the warm-up.
+     */
+    public enum State {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        TIMED_OUT,
+        FAILED,
+        DISABLED
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmUp.class);
+    private static final int MAIN_PAGE_SIZE = 16;
+    private static final int IMPORTANT_POSTS_SIZE = 10;
+    private static final int LATEST_POSTS_SIZE = 20;
+    private static final int EXPERT_PREVIEW_SIZE = 12;
+
+    private final PostService postService;
+    private final UserService userService;
+    private final ReferenceDataService referenceDataService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int iterations;
+    private final long timeoutMs;
+    private volatile State state = State.PENDING;
+
+    public StartupWarmUp(PostService postService, UserService userService, ReferenceDataService referenceDataService,
+            ObjectMapper objectMapper,
+            @Value("${warm-up.enabled:true}") boolean enabled,
+            @Value("${warm-up.iterations:5}") int iterations,
+            @Value("${warm-up.timeout-ms:60000}") long timeoutMs) {
+        this.postService = postService;
+        this.userService = userService;
+        this.referenceDataService = referenceDataService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Checks whether the instance may get traffic: the warm-up is over, successfully or not, or disabled.
+     *
+     * @return true unless the warm-up is still pending or running
+     */
+    public boolean isFinished() {
+        State current = state;
+        return current != State.PENDING && current != State.RUNNING;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        if (!enabled) {
+            state = State.DISABLED;
+            return;
+        }
+        state = State.RUNNING;
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "startup-warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Future<?> warmUp = executor.submit(this::runIterations);
+        executor.shutdown();
+        try {
+            warmUp.get(timeoutMs, TimeUnit.MILLISECONDS);
+            state = State.COMPLETED;
+            logger.info("Warm-up is completed in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (TimeoutException e) {
+            state = State.TIMED_OUT;
+            logger.warn("Warm-up is not completed in {} ms, it goes on in the background", timeoutMs);
+        } catch (ExecutionException e) {
+            state = State.FAILED;
+            logger.warn("Warm-up failed", e.getCause());
+        } catch (InterruptedException e) {
+            state = State.FAILED;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runIterations() {
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            run("main page", () -> postService.findLatestByPostTypesAndOrigins(PageRequest.of(0, MAIN_PAGE_SIZE)));
+            run("mobile main page", () -> postService.findLatestByPostTypesAndOriginsForMobile(
+                    PageRequest.of(0, MAIN_PAGE_SIZE)));
+            run("important posts", () -> postService.findImportantPosts(PageRequest.of(0, IMPORTANT_POSTS_SIZE)))
+                    .ifPresent(page -> page.getContent().stream()
+                            .map(PostSummaryDTO::getId)
+                            .forEach(postId -> run("post details", () -> postService.findPostById(postId))));
+            run("latest posts", () -> postService.findAllByStatus(PostStatus.PUBLISHED,
+                    PageRequest.of(0, LATEST_POSTS_SIZE, Sort.by(Sort.Direction.DESC, "createdAt", "id"))));
+            run("directions", () -> referenceDataService.getDirections().getItems());
+            run("post types", () -> referenceDataService.getPostTypes().getItems());
+            run("regions", () -> referenceDataService.getRegions().getItems());
+            run("expert preview", () -> userService.findRandomExpertPreview(
+                    Collections.emptySet(), PageRequest.of(0, EXPERT_PREVIEW_SIZE)));
+        }
+    }
+
+    /**
+     * Runs a single step and serializes its result, a failed step is logged and skipped.
+     *
+     * @return result of the step, empty if it failed
+     */
+    private <T> Optional<T> run(String step, Supplier<T> loader) {
+        try {
+            T result = loader.get();
+            objectMapper.writeValueAsBytes(result);
+            return Optional.ofNullable(result);
+        } catch (Exception e) {
+            logger.warn("Warm-up step '{}' failed", step, e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.softserveinc.dokazovi.warmup;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the instance out of service until the startup warm-up is over. It is a part of the readiness group,
+ * so the instance gets traffic only after the warm-up completes or times out.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final StartupWarmUp startupWarmUp;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = startupWarmUp.isFinished() ? Health.up() : Health.outOfService();
+        return builder.withDetail("state", startupWarmUp.getState()).build();
+    }
+}
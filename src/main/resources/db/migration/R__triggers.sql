@@ -238,4 +238,42 @@ CREATE TRIGGER update_first_name_for_post_trigger
     for each row execute procedure update_first_name_for_post();
 
 DROP TRIGGER IF EXISTS update_first_name_for_post_trigger on public.posts;
-DROP FUNCTION IF EXISTS update_first_name_for_post() CASCADE;
\ No newline at end of file
+DROP FUNCTION IF EXISTS update_first_name_for_post() CASCADE;
+
+--
+-- Keeping full-text search vector of the post up to date
+--
+
+CREATE OR REPLACE FUNCTION update_search_vector_for_post() RETURNS TRIGGER
+AS $$
+BEGIN
+        NEW.search_vector = posts_search_vector(NEW.title, NEW.preview, NEW.content);
+        return NEW;
+end;
+$$
+LANGUAGE plpgsql;
+DROP TRIGGER IF EXISTS update_search_vector_for_post_trigger
+    on public.posts;
+CREATE TRIGGER update_search_vector_for_post_trigger
+    BEFORE INSERT OR UPDATE OF title, preview, content
+    on public.posts
+    FOR EACH ROW EXECUTE PROCEDURE update_search_vector_for_post();
+
+--
+-- Keeping name search key of the user up to date
+--
+
+CREATE OR REPLACE FUNCTION update_name_search_key_for_user() RETURNS TRIGGER
+AS $$
+BEGIN
+        NEW.name_search_key = users_name_search_key(NEW.first_name, NEW.last_name);
+        return NEW;
+end;
+$$
+LANGUAGE plpgsql;
+DROP TRIGGER IF EXISTS update_name_search_key_for_user_trigger
+    on public.users;
+CREATE TRIGGER update_name_search_key_for_user_trigger
+    BEFORE INSERT OR UPDATE OF first_name, last_name
+    on public.users
+    FOR EACH ROW EXECUTE PROCEDURE update_name_search_key_for_user();
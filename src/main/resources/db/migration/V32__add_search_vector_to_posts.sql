@@ -0,0 +1,18 @@
+CREATE OR REPLACE FUNCTION posts_search_vector(title VARCHAR, preview TEXT, content TEXT)
+    RETURNS TSVECTOR
+AS $$
+SELECT setweight(to_tsvector('simple', COALESCE(title, '')), 'A')
+           || setweight(to_tsvector('simple', COALESCE(preview, '')), 'B')
+           || setweight(to_tsvector('simple', regexp_replace(COALESCE(content, ''), '<[^>]*>', ' ', 'g')), 'C');
+$$
+    LANGUAGE sql
+    IMMUTABLE;
+
+ALTER TABLE POSTS
+    ADD COLUMN SEARCH_VECTOR TSVECTOR;
+
+UPDATE POSTS
+SET SEARCH_VECTOR = posts_search_vector(TITLE, PREVIEW, CONTENT);
+
+CREATE INDEX POSTS_SEARCH_VECTOR_IDX
+    ON POSTS USING GIN (SEARCH_VECTOR);
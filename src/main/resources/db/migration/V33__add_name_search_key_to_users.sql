@@ -0,0 +1,38 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+--
+-- Lower-cased name with collapsed spaces and a single kind of apostrophe,
+-- used both for the stored search key and for the searched text
+--
+
+CREATE OR REPLACE FUNCTION name_search_normalize(value TEXT)
+    RETURNS TEXT
+AS $$
+SELECT LOWER(REGEXP_REPLACE(TRIM(TRANSLATE(COALESCE(value, ''), '’ʼ`', '''''''')), '\s+', ' ', 'g')
+           COLLATE "uk-ua-dokazovi-x-icu");
+$$
+    LANGUAGE sql
+    IMMUTABLE;
+
+--
+-- Search key holds both name orders, each one prefixed with '|',
+-- so "'%|' || term || '%'" matches a prefix of "first last" or "last first"
+--
+
+CREATE OR REPLACE FUNCTION users_name_search_key(first_name VARCHAR, last_name VARCHAR)
+    RETURNS TEXT
+AS $$
+SELECT '|' || name_search_normalize(first_name || ' ' || last_name)
+           || '|' || name_search_normalize(last_name || ' ' || first_name);
+$$
+    LANGUAGE sql
+    IMMUTABLE;
+
+ALTER TABLE USERS
+    ADD COLUMN NAME_SEARCH_KEY TEXT;
+
+UPDATE USERS
+SET NAME_SEARCH_KEY = users_name_search_key(FIRST_NAME, LAST_NAME);
+
+CREATE INDEX USERS_NAME_SEARCH_KEY_TRGM_IDX
+    ON USERS USING GIN (NAME_SEARCH_KEY gin_trgm_ops);
@@ -0,0 +1,125 @@
+--
+-- Posts: published feeds, cursor pages, author pages and admin lists
+--
+
+CREATE INDEX POSTS_STATUS_PUBLISHED_AT_IDX
+    ON POSTS (STATUS, PUBLISHED_AT DESC, POST_ID DESC);
+
+CREATE INDEX POSTS_STATUS_CREATED_AT_IDX
+    ON POSTS (STATUS, CREATED_AT DESC, POST_ID DESC);
+
+CREATE INDEX POSTS_STATUS_MODIFIED_AT_IDX
+    ON POSTS (STATUS, MODIFIED_AT DESC);
+
+CREATE INDEX POSTS_MODIFIED_AT_IDX
+    ON POSTS (MODIFIED_AT DESC);
+
+CREATE INDEX POSTS_AUTHOR_ID_STATUS_PUBLISHED_AT_IDX
+    ON POSTS (AUTHOR_ID, STATUS, PUBLISHED_AT DESC, POST_ID DESC);
+
+CREATE INDEX POSTS_IMPORTANT_IDX
+    ON POSTS (STATUS, IMPORTANCE_ORDER)
+    WHERE IMPORTANT = TRUE;
+
+CREATE INDEX POSTS_TYPE_ID_IDX
+    ON POSTS (TYPE_ID);
+
+CREATE INDEX POSTS_TITLE_TRGM_IDX
+    ON POSTS USING GIN (UPPER((TITLE) COLLATE "uk-ua-dokazovi-x-icu") gin_trgm_ops);
+
+--
+-- Post join tables, looked up both by post and by the referenced entity
+--
+
+CREATE INDEX POSTS_DIRECTIONS_DIRECTION_ID_POST_ID_IDX
+    ON POSTS_DIRECTIONS (DIRECTION_ID, POST_ID);
+
+CREATE INDEX POSTS_DIRECTIONS_POST_ID_IDX
+    ON POSTS_DIRECTIONS (POST_ID);
+
+CREATE INDEX POSTS_TAGS_TAG_ID_POST_ID_IDX
+    ON POSTS_TAGS (TAG_ID, POST_ID);
+
+CREATE INDEX POSTS_TAGS_POST_ID_IDX
+    ON POSTS_TAGS (POST_ID);
+
+CREATE INDEX POSTS_ORIGINS_ORIGIN_ID_POST_ID_IDX
+    ON POSTS_ORIGINS (ORIGIN_ID, POST_ID);
+
+CREATE INDEX POSTS_ORIGINS_POST_ID_IDX
+    ON POSTS_ORIGINS (POST_ID);
+
+--
+-- Users, authors and the tables experts are filtered by
+--
+
+CREATE INDEX USERS_EMAIL_IDX
+    ON USERS (EMAIL);
+
+CREATE INDEX PROVIDERS_EMAIL_IDX
+    ON PROVIDERS (EMAIL);
+
+CREATE INDEX PROVIDERS_USER_ID_IDX
+    ON PROVIDERS (USER_ID);
+
+CREATE INDEX AUTHORS_USER_ID_IDX
+    ON AUTHORS (USER_ID);
+
+CREATE INDEX AUTHORS_INSTITUTION_ID_IDX
+    ON AUTHORS (INSTITUTION_ID);
+
+CREATE INDEX AUTHORS_PROMOTION_LEVEL_RATING_IDX
+    ON AUTHORS (PROMOTION_LEVEL DESC, RATING DESC);
+
+CREATE INDEX AUTHORS_DIRECTIONS_DIRECTION_ID_AUTHOR_ID_IDX
+    ON AUTHORS_DIRECTIONS (DIRECTION_ID, AUTHOR_ID);
+
+CREATE INDEX AUTHORS_DIRECTIONS_AUTHOR_ID_IDX
+    ON AUTHORS_DIRECTIONS (AUTHOR_ID);
+
+CREATE INDEX INSTITUTIONS_CITY_ID_IDX
+    ON INSTITUTIONS (CITY_ID);
+
+CREATE INDEX CITIES_REGION_ID_IDX
+    ON CITIES (REGION_ID);
+
+CREATE INDEX USERS_SOCIAL_NETWORKS_USER_ID_IDX
+    ON USERS_SOCIAL_NETWORKS (USER_ID);
+
+--
+-- Directions of the author's posts, only visible ones are ever selected
+--
+
+CREATE INDEX AUTHOR_POST_DIRECTIONS_USER_ID_VISIBLE_IDX
+    ON AUTHOR_POST_DIRECTIONS (USER_ID)
+    WHERE VISIBLE = TRUE;
+
+CREATE INDEX AUTHOR_POST_DIRECTIONS_DIRECTION_ID_VISIBLE_IDX
+    ON AUTHOR_POST_DIRECTIONS (DIRECTION_ID)
+    WHERE VISIBLE = TRUE;
+
+CREATE INDEX AUTHOR_POST_DIRECTIONS_POST_ID_IDX
+    ON AUTHOR_POST_DIRECTIONS (POST_ID);
+
+--
+-- Change log and refresh tokens
+--
+
+CREATE INDEX LOG_DATE_OF_CHANGE_IDX
+    ON LOG (DATE_OF_CHANGE DESC);
+
+CREATE INDEX LOG_TITLE_TRGM_IDX
+    ON LOG USING GIN (UPPER(TITLE) gin_trgm_ops);
+
+CREATE INDEX LOG_NAME_OF_CHANGER_TRGM_IDX
+    ON LOG USING GIN (UPPER(NAME_OF_CHANGER) gin_trgm_ops);
+
+CREATE INDEX REFRESHTOKEN_TOKEN_IDX
+    ON REFRESHTOKEN (TOKEN);
+
+ANALYZE POSTS;
+ANALYZE POSTS_DIRECTIONS;
+ANALYZE POSTS_TAGS;
+ANALYZE POSTS_ORIGINS;
+ANALYZE USERS;
+ANALYZE AUTHORS;
@@ -0,0 +1,13 @@
+--
+-- A single row counter incremented by every change of posts, used to build the validators of post endpoints
+--
+
+CREATE TABLE POST_CHANGE_VERSION
+(
+    ID         INTEGER PRIMARY KEY,
+    VERSION    BIGINT    NOT NULL,
+    CHANGED_AT TIMESTAMP NOT NULL
+);
+
+INSERT INTO POST_CHANGE_VERSION (ID, VERSION, CHANGED_AT)
+VALUES (1, 1, NOW());
@@ -0,0 +1,7 @@
+--
+-- Version of the security data of a user, incremented whenever the role, the password or the enabled status
+-- of the user changes, used to discard cached principals loaded before the change
+--
+
+ALTER TABLE USERS
+    ADD COLUMN SECURITY_VERSION BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,26 @@
+--
+-- Refresh tokens are looked up by the SHA-256 hash of the token instead of the token itself,
+-- and expired ones are swept in batches by their expiry date
+--
+
+DELETE FROM REFRESHTOKEN WHERE EXPIRY_DATE < NOW();
+
+ALTER TABLE REFRESHTOKEN
+    ADD COLUMN TOKEN_HASH VARCHAR(64);
+
+UPDATE REFRESHTOKEN
+SET TOKEN_HASH = ENCODE(SHA256(CONVERT_TO(TOKEN, 'UTF8')), 'hex');
+
+ALTER TABLE REFRESHTOKEN
+    ALTER COLUMN TOKEN_HASH SET NOT NULL;
+
+DROP INDEX REFRESHTOKEN_TOKEN_IDX;
+
+ALTER TABLE REFRESHTOKEN
+    DROP COLUMN TOKEN;
+
+CREATE UNIQUE INDEX REFRESHTOKEN_TOKEN_HASH_IDX
+    ON REFRESHTOKEN (TOKEN_HASH);
+
+CREATE INDEX REFRESHTOKEN_EXPIRY_DATE_IDX
+    ON REFRESHTOKEN (EXPIRY_DATE);
@@ -0,0 +1,7 @@
+--
+-- Security version of the user at the time the refresh token was issued, tokens issued before the password,
+-- the role or the enabled status of the user changed are rejected
+--
+
+ALTER TABLE REFRESHTOKEN
+    ADD COLUMN SECURITY_VERSION BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,192 @@
+package com.softserveinc.dokazovi.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingCacheTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(15);
+
+    @Mock
+    private CacheLock lock;
+    private ConcurrentMapCache storage;
+
+    @BeforeEach
+    void init() {
+        storage = new ConcurrentMapCache("postDetail");
+    }
+
+    @Test
+    void get_WhenMissedConcurrently_LoadsOnce() throws Exception {
+        when(lock.tryAcquire("postDetail:1", Duration.ofSeconds(30))).thenReturn("token");
+        CoalescingCache cache = cache(Duration.ofSeconds(1), 1.0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(1, () -> {
+                    loads.incrementAndGet();
+                    loading.await(1, TimeUnit.SECONDS);
+                    return "post";
+                })));
+            }
+            Thread.sleep(100);
+            loading.countDown();
+            for (Future<String> result : results) {
+                assertEquals("post", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        verify(lock).release("postDetail:1", "token");
+    }
+
+    @Test
+    void get_WhenOtherNodeLoads_WaitsForItsValue() throws Exception {
+        when(lock.tryAcquire(anyString(), any())).thenReturn(null);
+        CoalescingCache cache = cache(Duration.ofSeconds(5), 1.0);
+        Thread otherNode = new Thread(() -> {
+            sleep(100);
+            storage.put(1, new CachedValue("loaded by other node", NOW + TIME_TO_LIVE.toMillis(), 10));
+        });
+        otherNode.start();
+
+        assertEquals("loaded by other node", cache.get(1, () -> "loaded here"));
+        otherNode.join();
+        verify(lock, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void get_WhenOtherNodeDoesNotLoadInTime_LoadsItself() {
+        when(lock.tryAcquire(anyString(), any())).thenReturn(null);
+        CoalescingCache cache = cache(Duration.ofMillis(100), 1.0);
+
+        assertEquals("loaded here", cache.get(1, () -> "loaded here"));
+        assertEquals("loaded here", cache.get(1).get());
+    }
+
+    @Test
+    void get_WhenLockFails_LoadsWithoutIt() {
+        when(lock.tryAcquire(anyString(), any())).thenThrow(new IllegalStateException("Redis is down"));
+        CoalescingCache cache = cache(Duration.ofSeconds(1), 1.0);
+
+        assertEquals("post", cache.get(1, () -> "post"));
+        verify(lock, never()).release(anyString(), anyString());
+    }
+
+    @Test
+    void get_WhenEntryIsCloseToExpiration_RefreshesIt() {
+        when(lock.tryAcquire(anyString(), any())).thenReturn("token");
+        storage.put(1, new CachedValue("old", NOW + 1_000, 500));
+        CoalescingCache cache = cache(Duration.ofSeconds(1), 1.0, 0.01);
+
+        assertEquals("new", cache.get(1, () -> "new"));
+        CachedValue stored = (CachedValue) storage.get(1).get();
+        assertEquals("new", stored.getValue());
+        assertEquals(NOW + TIME_TO_LIVE.toMillis(), stored.getExpiresAt());
+    }
+
+    @Test
+    void get_WhenEntryIsFarFromExpiration_ReturnsIt() {
+        storage.put(1, new CachedValue("old", NOW + 60_000, 500));
+        CoalescingCache cache = cache(Duration.ofSeconds(1), 1.0, 0.01);
+
+        assertEquals("old", cache.get(1, () -> "new"));
+        verify(lock, never()).tryAcquire(anyString(), any());
+    }
+
+    @Test
+    void get_WhenOtherNodeRefreshes_ReturnsCurrentValue() {
+        when(lock.tryAcquire(anyString(), any())).thenReturn(null);
+        storage.put(1, new CachedValue("old", NOW, 500));
+        CoalescingCache cache = cache(Duration.ofSeconds(1), 1.0);
+
+        assertEquals("old", cache.get(1, () -> "new"));
+    }
+
+    @Test
+    void get_WhenRefreshFails_ReturnsCurrentValue() {
+        when(lock.tryAcquire(anyString(), any())).thenReturn("token");
+        storage.put(1, new CachedValue("old", NOW, 500));
+        CoalescingCache cache = cache(Duration.ofSeconds(1), 1.0);
+
+        assertEquals("old", cache.get(1, () -> {
+            throw new IllegalStateException("Database is down");
+        }));
+        verify(lock).release("postDetail:1", "token");
+    }
+
+    @Test
+    void get_WhenValueIsStoredWithoutMetadata_ReturnsItAsItIs() {
+        storage.put(1, "stored before");
+        CoalescingCache cache = cache(Duration.ofSeconds(1), 1.0);
+
+        assertEquals("stored before", cache.get(1, () -> "new"));
+        assertEquals("stored before", cache.get(1, String.class));
+    }
+
+    @Test
+    void put_StoresValueWithExpiration() {
+        CoalescingCache cache = cache(Duration.ofSeconds(1), 1.0);
+
+        cache.put(1, "post");
+
+        assertTrue(storage.get(1).get() instanceof CachedValue);
+        assertEquals("post", cache.get(1).get());
+    }
+
+    private CoalescingCache cache(Duration lockWait, double beta) {
+        return cache(lockWait, beta, 1.0);
+    }
+
+    private CoalescingCache cache(Duration lockWait, double beta, double random) {
+        CoalescingPolicy policy = CoalescingPolicy.builder()
+                .timeToLive(TIME_TO_LIVE)
+                .lockLease(Duration.ofSeconds(30))
+                .lockWait(lockWait)
+                .pollInterval(Duration.ofMillis(10))
+                .earlyRefreshBeta(beta)
+                .build();
+        return new CoalescingCache(storage, lock, policy,
+                Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC), () -> random);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.softserveinc.dokazovi.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.CacheInterceptor;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InstrumentedCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private InstrumentedCache cache;
+
+    @BeforeEach
+    void init() {
+        registry = new SimpleMeterRegistry();
+        cache = new InstrumentedCache(new ConcurrentMapCache("viewCount"), registry);
+    }
+
+    @Test
+    void get_CountsHitsAndMisses() {
+        cache.get("missing");
+        cache.put("url", 5);
+        cache.get("url");
+        cache.get("url", Integer.class);
+
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getPuts());
+        assertEquals(2.0, registry.get("app.cache.gets").tag("cache", "viewCount").tag("result", "hit")
+                .counter().count());
+    }
+
+    @Test
+    void get_WithLoader_CountsAndTimesLoads() {
+        Integer loaded = cache.get("url", () -> 5);
+        Integer cached = cache.get("url", () -> 6);
+
+        assertEquals(Integer.valueOf(5), loaded);
+        assertEquals(Integer.valueOf(5), cached);
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getLoads());
+        assertEquals(1, registry.get("app.cache.loads").tag("cache", "viewCount").tag("result", "success")
+                .timer().count());
+    }
+
+    @Test
+    void put_AfterMissOfSameKey_TimesLoad() {
+        cache.get("url");
+        cache.get("other");
+        cache.put("other", 6);
+        cache.put("url", 5);
+        cache.put("url", 7);
+
+        assertEquals(2, cache.getMisses());
+        assertEquals(3, cache.getPuts());
+        assertEquals(2, cache.getLoads());
+    }
+
+    @Test
+    void cacheable_WithoutSync_TimesLoads() {
+        SimpleMeterRegistry managerRegistry = new SimpleMeterRegistry();
+        InstrumentedCacheManager manager = new InstrumentedCacheManager(
+                new ConcurrentMapCacheManager("viewCount"), managerRegistry);
+        CacheInterceptor interceptor = new CacheInterceptor();
+        interceptor.setCacheOperationSource(new AnnotationCacheOperationSource());
+        interceptor.setCacheManager(manager);
+        interceptor.afterPropertiesSet();
+        interceptor.afterSingletonsInstantiated();
+        ProxyFactory proxyFactory = new ProxyFactory(new ViewCounter());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        ViewCounter viewCounter = (ViewCounter) proxyFactory.getProxy();
+
+        viewCounter.getPostViewCount("url");
+        viewCounter.getPostViewCount("url");
+
+        InstrumentedCache viewCount = (InstrumentedCache) manager.getCache("viewCount");
+        assertEquals(1, viewCount.getMisses());
+        assertEquals(1, viewCount.getHits());
+        assertEquals(1, viewCount.getLoads());
+        assertEquals(1, managerRegistry.get("app.cache.loads").tag("cache", "viewCount").tag("result", "success")
+                .timer().count());
+    }
+
+    @Test
+    void get_WhenLoaderFails_CountsFailedLoad() {
+        assertThrows(Cache.ValueRetrievalException.class, () -> cache.get("url", () -> {
+            throw new IllegalStateException("analytics");
+        }));
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, cache.getLoads());
+        assertEquals(1, cache.getFailedLoads());
+    }
+
+    @Test
+    void evictAndClear_AreCounted() {
+        cache.put("url", 5);
+        cache.evict("url");
+        cache.evictIfPresent("url");
+        cache.clear();
+
+        assertEquals(1, cache.getEvictions());
+        assertEquals(1, cache.getClears());
+    }
+
+    @Test
+    void getSize_ReportsLocalEntries() {
+        cache.put("first", 1);
+        cache.put("second", 2);
+
+        assertEquals(Long.valueOf(2), cache.getSize());
+        assertEquals(2.0, registry.get("app.cache.size").tag("cache", "viewCount").gauge().value());
+    }
+
+    @Test
+    void manager_InstrumentsEveryCacheOnce() {
+        InstrumentedCacheManager manager = new InstrumentedCacheManager(
+                new ConcurrentMapCacheManager("viewCount", "mainPage"), registry);
+
+        assertSame(manager.getCache("mainPage"), manager.getCache("mainPage"));
+        assertEquals(2, manager.getCaches().size());
+        assertNull(manager.getCache("tags"));
+    }
+
+    static class ViewCounter {
+
+        private final AtomicInteger views = new AtomicInteger();
+
+        @Cacheable("viewCount")
+        public Integer getPostViewCount(String url) {
+            return views.incrementAndGet();
+        }
+    }
+}
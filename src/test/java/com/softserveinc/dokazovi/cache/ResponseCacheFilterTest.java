@@ -0,0 +1,210 @@
+package com.softserveinc.dokazovi.cache;
+
+import com.softserveinc.dokazovi.event.PostsChangedEvent;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
+import com.softserveinc.dokazovi.pojo.PostValidators;
+import com.softserveinc.dokazovi.pojo.ReferenceDataType;
+import com.softserveinc.dokazovi.service.PostVersionService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"id\":1,\"name\":\"covid-19\"}]";
+
+    @Mock
+    private PostVersionService postVersionService;
+    @Mock
+    private ReferenceDataService referenceDataService;
+    private ResponseCache responseCache;
+    private ResponseCacheFilter filter;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void init() {
+        responseCache = new ResponseCache(postVersionService, referenceDataService, 100, 600, true, 16);
+        filter = new ResponseCacheFilter(responseCache);
+        when(referenceDataService.getVersion()).thenReturn("1");
+        stubPostVersion("W/\"1\"");
+    }
+
+    @Test
+    void doFilter_WhenCached_WritesStoredBodyWithoutCallingEndpoint() throws Exception {
+        perform(request("/direction"), okChain(BODY));
+        MockHttpServletResponse response = perform(request("/direction"), okChain("other"));
+
+        assertEquals(1, calls.get());
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals("\"etag\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, response.getContentType());
+    }
+
+    @Test
+    void doFilter_WhenClientAcceptsGzip_WritesGzippedBody() throws Exception {
+        perform(request("/direction"), okChain(BODY));
+        MockHttpServletRequest request = request("/direction");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        MockHttpServletResponse response = perform(request, okChain(BODY));
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(BODY, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void doFilter_KeysResponsesByQuery() throws Exception {
+        perform(request("/post/important", "page=0"), okChain(BODY));
+        perform(request("/post/important", "page=1"), okChain(BODY));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doFilter_WhenPostsChangedOnAnotherNode_CallsEndpoint() throws Exception {
+        perform(request("/post/latest"), okChain(BODY));
+        stubPostVersion("W/\"2\"");
+
+        MockHttpServletResponse response = perform(request("/post/latest"), okChain("changed"));
+
+        assertEquals(2, calls.get());
+        assertEquals("changed", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_WhenReferenceDataChangedOnAnotherNode_CallsEndpoint() throws Exception {
+        perform(request("/region"), okChain(BODY));
+        when(referenceDataService.getVersion()).thenReturn("2");
+
+        MockHttpServletResponse response = perform(request("/region"), okChain("changed"));
+
+        assertEquals(2, calls.get());
+        assertEquals("changed", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_WhenDataChanged_EvictsOnlyItsResponses() throws Exception {
+        perform(request("/post/latest"), okChain(BODY));
+        perform(request("/region"), okChain(BODY));
+
+        responseCache.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataType.REGIONS));
+        perform(request("/post/latest"), okChain(BODY));
+        perform(request("/region"), okChain(BODY));
+        responseCache.onPostsChanged(new PostsChangedEvent());
+        perform(request("/post/latest"), okChain(BODY));
+
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void doFilter_WhenAuthorized_CallsEndpoint() throws Exception {
+        perform(request("/direction"), okChain(BODY));
+        MockHttpServletRequest request = request("/direction");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+        perform(request, okChain(BODY));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doFilter_WhenPathIsNotCached_CallsEndpoint() throws Exception {
+        perform(request("/post/latest-all"), okChain(BODY));
+        perform(request("/post/latest-all"), okChain(BODY));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void doFilter_WhenResponseIsNotOk_DoesNotCacheIt() throws Exception {
+        FilterChain notFound = (request, response) -> {
+            calls.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(HttpStatus.NOT_FOUND.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(BODY);
+        };
+
+        perform(request("/post/latest"), notFound);
+        MockHttpServletResponse response = perform(request("/post/latest"), notFound);
+
+        assertEquals(2, calls.get());
+        assertEquals(HttpStatus.NOT_FOUND.value(), response.getStatus());
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_WhenVersionIsNotAvailable_DoesNotCache() throws Exception {
+        when(postVersionService.getFeedValidators()).thenReturn(Optional.empty());
+
+        perform(request("/post/important"), okChain(BODY));
+        MockHttpServletResponse response = perform(request("/post/important"), okChain(BODY));
+
+        assertEquals(2, calls.get());
+        assertNull(response.getHeader(HttpHeaders.VARY));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain okChain(String body) {
+        return (request, response) -> {
+            calls.incrementAndGet();
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(HttpStatus.OK.value());
+            httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            httpResponse.setHeader(HttpHeaders.ETAG, "\"etag\"");
+            httpResponse.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private void stubPostVersion(String eTag) {
+        when(postVersionService.getFeedValidators()).thenReturn(Optional.of(new PostValidators(eTag, 1000L)));
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return request(path, null);
+    }
+
+    private static MockHttpServletRequest request(String path, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api" + path);
+        request.setContextPath("/api");
+        request.setQueryString(query);
+        return request;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.softserveinc.dokazovi.cache;
+
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.dto.origin.OriginDTO;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
+import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserInstitutionCityDTO;
+import com.softserveinc.dokazovi.dto.post.PostUserInstitutionDTO;
+import com.softserveinc.dokazovi.dto.tag.TagDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SmileCacheSerializerTest {
+
+    private final SmileCacheSerializer serializer = new SmileCacheSerializer(1);
+
+    @Test
+    void deserialize_ReadsWhatWasSerialized() {
+        CachedValue cached = new CachedValue(post(1), 1_000L, 25L);
+
+        Object read = serializer.deserialize(serializer.serialize(cached));
+
+        assertEquals(cached, read);
+    }
+
+    @Test
+    void deserialize_ReadsMainPageSections() {
+        List<PostMainPageDTO> sections = new ArrayList<>(Arrays.asList(
+                new PostMainPageDTO("important", summaries(3)),
+                new PostMainPageDTO("video", summaries(2))));
+        CachedValue cached = new CachedValue(sections, 1_000L, 25L);
+
+        Object read = serializer.deserialize(serializer.serialize(cached));
+
+        assertEquals(cached, read);
+    }
+
+    @Test
+    void deserialize_WhenWrittenWithOtherSchemaVersion_ReturnsNull() {
+        byte[] bytes = new SmileCacheSerializer(2).serialize(new CachedValue(post(1), 1_000L, 25L));
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void deserialize_WhenWrittenAsJson_ReturnsNull() {
+        byte[] bytes = RedisSerializer.json().serialize(new CachedValue(post(1), 1_000L, 25L));
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    @Test
+    void deserialize_WhenCorrupted_ReturnsNull() {
+        byte[] bytes = serializer.serialize(new CachedValue(post(1), 1_000L, 25L));
+
+        assertNull(serializer.deserialize(Arrays.copyOf(bytes, bytes.length / 2)));
+    }
+
+    @Test
+    void serialize_WhenNull_ReturnsEmptyArray() {
+        assertArrayEquals(new byte[0], serializer.serialize(null));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+
+    @Test
+    void serialize_IsSmallerThanJson() {
+        CachedValue cached = new CachedValue(summaries(12), 1_000L, 25L);
+
+        int smileLength = serializer.serialize(cached).length;
+        int jsonLength = RedisSerializer.json().serialize(cached).length;
+
+        assertTrue(smileLength < jsonLength, smileLength + " bytes in Smile, " + jsonLength + " bytes in JSON");
+    }
+
+    @Test
+    void constructor_WhenSchemaVersionOutOfRange_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new SmileCacheSerializer(0x10000));
+    }
+
+    private static PostDTO post(int id) {
+        return PostDTO.builder()
+                .id(id)
+                .title("Вакцинація від COVID-19 " + id)
+                .preview("Що потрібно знати перед щепленням")
+                .content("<p>Вакцини проходять три фази клінічних досліджень.</p>")
+                .author(author())
+                .directions(setOf(DirectionDTO.builder().id(1).name("covid-19").label("COVID-19")
+                        .color("#ef5350").hasAuthors(true).hasPosts(true).build()))
+                .tags(setOf(TagDTO.builder().id(1).tag("вакцина").build(),
+                        TagDTO.builder().id(2).tag("імунітет").build()))
+                .origins(setOf(OriginDTO.builder().id(1).name("Думка експерта").build()))
+                .type(PostTypeDTO.builder().id(1).name("Стаття").build())
+                .status("PUBLISHED")
+                .createdAt(new Timestamp(1_600_000_000_000L))
+                .publishedAt(new Timestamp(1_600_000_100_000L))
+                .views(42)
+                .build();
+    }
+
+    private static List<PostSummaryDTO> summaries(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(id -> PostSummaryDTO.builder()
+                        .id(id)
+                        .title("Вакцинація від COVID-19 " + id)
+                        .preview("Що потрібно знати перед щепленням")
+                        .author(author())
+                        .directions(setOf(DirectionDTO.builder().id(1).name("covid-19").label("COVID-19")
+                                .color("#ef5350").hasAuthors(true).hasPosts(true).build()))
+                        .tags(setOf(TagDTO.builder().id(1).tag("вакцина").build()))
+                        .origins(setOf(OriginDTO.builder().id(1).name("Думка експерта").build()))
+                        .type(PostTypeDTO.builder().id(1).name("Стаття").build())
+                        .status("PUBLISHED")
+                        .createdAt(new Timestamp(1_600_000_000_000L + id))
+                        .publishedAt(new Timestamp(1_600_000_100_000L + id))
+                        .views(id * 10)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private static PostUserDTO author() {
+        return PostUserDTO.builder()
+                .id(7)
+                .firstName("Олена")
+                .lastName("Коваль")
+                .avatar("https://dokazovi.example/avatars/7.png")
+                .mainInstitution(PostUserInstitutionDTO.builder()
+                        .id(3)
+                        .name("Київська міська клінічна лікарня")
+                        .city(PostUserInstitutionCityDTO.builder().id(1).name("Київ").build())
+                        .build())
+                .build();
+    }
+
+    /**
+     * Creates a mutable set, as the mappers do, since immutable collections can not be read back.
+     */
+    @SafeVarargs
+    private static <T> Set<T> setOf(T... elements) {
+        return new HashSet<>(Arrays.asList(elements));
+    }
+}
@@ -0,0 +1,137 @@
+package com.softserveinc.dokazovi.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+
+    @Mock
+    private CacheInvalidationPublisher publisher;
+    private ConcurrentMapCache remote;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void init() {
+        remote = new ConcurrentMapCache("postDetail");
+        cache = new TwoLevelCache("postDetail", localSpec(), remote, publisher);
+    }
+
+    @Test
+    void get_WhenMissing_LoadsOnceAndStoresInBothLevels() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("post", cache.get(1, () -> {
+            loads.incrementAndGet();
+            return "post";
+        }));
+        assertEquals("post", cache.get(1, () -> {
+            loads.incrementAndGet();
+            return "reloaded";
+        }));
+
+        assertEquals(1, loads.get());
+        assertEquals("post", cache.getNativeCache().getIfPresent("1"));
+        assertEquals("post", remote.get(1).get());
+    }
+
+    @Test
+    void get_WhenOnlyInRemote_CopiesToLocal() {
+        remote.put(1, "post");
+
+        assertEquals("post", cache.get(1).get());
+        assertEquals("post", cache.getNativeCache().getIfPresent("1"));
+    }
+
+    @Test
+    void evict_ClearsBothLevelsAndPublishes() {
+        cache.put(1, "post");
+
+        cache.evict(1);
+
+        assertNull(cache.getNativeCache().getIfPresent("1"));
+        assertNull(remote.get(1));
+        verify(publisher).publish("postDetail", "1");
+    }
+
+    @Test
+    void clear_ClearsBothLevelsAndPublishes() {
+        cache.put(1, "post");
+
+        cache.clear();
+
+        assertNull(cache.get(1));
+        verify(publisher).publish("postDetail", null);
+    }
+
+    @Test
+    void evictLocal_KeepsRemoteAndDoesNotPublish() {
+        cache.put(1, "post");
+
+        cache.evictLocal("1");
+
+        assertNull(cache.getNativeCache().getIfPresent("1"));
+        assertEquals("post", remote.get(1).get());
+        verify(publisher, never()).publish(any(), any());
+    }
+
+    @Test
+    void get_WhenRemoteFails_LoadsFromLoader() {
+        Cache failingRemote = mock(Cache.class);
+        when(failingRemote.get(1)).thenThrow(new RedisConnectionFailureException("Redis is down"));
+        TwoLevelCache degraded = new TwoLevelCache("postDetail", localSpec(), failingRemote, null);
+
+        assertEquals("post", degraded.get(1, () -> "post"));
+        assertEquals("post", degraded.getNativeCache().getIfPresent("1"));
+    }
+
+    @Test
+    void get_WithoutRemote_WorksLocally() {
+        TwoLevelCache localOnly = new TwoLevelCache("postDetail", localSpec(), null, null);
+
+        localOnly.put(1, "post");
+
+        assertEquals("post", localOnly.get(1).get());
+        localOnly.evict(1);
+        assertNull(localOnly.get(1));
+    }
+
+    @Test
+    void manager_EvictLocal_DropsLocalEntryOfTwoLevelCache() {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                new ConcurrentMapCacheManager("mainPage"),
+                null, null, localSpec(), List.of("postDetail"));
+        cacheManager.getCache("postDetail").put(1, "post");
+
+        cacheManager.evictLocal("postDetail", "1");
+
+        assertNull(cacheManager.getCache("postDetail").get(1));
+        assertEquals("mainPage", cacheManager.getCache("mainPage").getName());
+    }
+
+    private static Caffeine<Object, Object> localSpec() {
+        return Caffeine.newBuilder()
+                .maximumSize(10)
+                .expireAfterWrite(Duration.ofMinutes(1));
+    }
+}
@@ -37,6 +37,7 @@ import static com.softserveinc.dokazovi.controller.EndPoints.REFRESH_TOKEN;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -89,13 +90,16 @@ class AuthControllerTest {
         refreshToken.setToken(refreshTokenString);
         refreshToken.setUser(user);
         refreshToken.setExpiryDate(Instant.now().plusMillis(600000L));
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+        UserPrincipal principal = UserPrincipal.builder()
+                .id(1)
+                .email(email)
+                .emailConfirmed(true)
+                .build();
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, null);
         String token = "950c9760-805e-449c-a966-2d0d5ebd86f4";
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
         when(tokenProvider.createToken(any(Authentication.class))).thenReturn(token);
-        when(userService.findByEmail(anyString())).thenReturn(user);
         when(refreshTokenService.createRefreshToken(anyInt())).thenReturn(refreshToken);
         String uri = AUTH + AUTH_LOGIN;
         mockMvc.perform(MockMvcRequestBuilders.post(uri)
@@ -103,12 +107,33 @@ class AuthControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
-        verify(authenticationManager, times(2))
+        verify(authenticationManager, times(1))
                 .authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userService, times(1))
+        verify(refreshTokenService).createRefreshToken(1);
+        verify(userService, never())
                 .findByEmail(anyString());
     }
 
+    @Test
+    void loginUser_WhenEmailIsNotConfirmed_ReturnsBadRequest() throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail("user@mail.com");
+        loginRequest.setPassword("user");
+        UserPrincipal principal = UserPrincipal.builder()
+                .id(1)
+                .email("user@mail.com")
+                .emailConfirmed(false)
+                .build();
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null));
+        mockMvc.perform(MockMvcRequestBuilders.post(AUTH + AUTH_LOGIN)
+                        .content(asJsonString(loginRequest))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(refreshTokenService, never()).createRefreshToken(anyInt());
+    }
+
     public static String asJsonString(final Object obj) {
         try {
             return new ObjectMapper().writeValueAsString(obj);
@@ -128,8 +153,7 @@ class AuthControllerTest {
         refreshToken.setId(1);
         refreshToken.setToken(refreshTokenString);
         refreshToken.setUser(user);
-        when(refreshTokenService.findByToken(anyString())).thenReturn(Optional.of(refreshToken));
-        when(refreshTokenService.verifyExpiration(any(RefreshToken.class))).thenReturn(refreshToken);
+        when(refreshTokenService.refresh(anyString())).thenReturn(Optional.of(refreshToken));
         String token = "950c9760-805e-449c-a966-2d0d5ebd86f4";
         when(tokenProvider.createToken(any(UserPrincipal.class))).thenReturn(token);
         String uri = AUTH + REFRESH_TOKEN;
@@ -139,6 +163,6 @@ class AuthControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
         verify(refreshTokenService, times(1))
-                .findByToken(anyString());
+                .refresh(anyString());
     }
 }
@@ -0,0 +1,57 @@
+package com.softserveinc.dokazovi.controller;
+
+import com.softserveinc.dokazovi.dto.cache.CacheMetricsDTO;
+import com.softserveinc.dokazovi.service.CacheMetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static com.softserveinc.dokazovi.controller.EndPoints.CACHE;
+import static com.softserveinc.dokazovi.controller.EndPoints.CACHE_METRICS;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CacheControllerTest {
+
+    private MockMvc mockMvc;
+    @Mock
+    private CacheMetricsService cacheMetricsService;
+    @InjectMocks
+    private CacheController cacheController;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders
+                .standaloneSetup(cacheController)
+                .build();
+    }
+
+    @Test
+    void getCacheMetrics() throws Exception {
+        when(cacheMetricsService.getCacheMetrics()).thenReturn(List.of(CacheMetricsDTO.builder()
+                .cacheName("viewCount")
+                .hits(3L)
+                .build()));
+
+        mockMvc.perform(get(CACHE + CACHE_METRICS))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].cacheName").value("viewCount"))
+                .andExpect(jsonPath("$[0].hits").value(3));
+
+        verify(cacheMetricsService).getCacheMetrics();
+    }
+}
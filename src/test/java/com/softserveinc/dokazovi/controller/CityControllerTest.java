@@ -1,6 +1,9 @@
 package com.softserveinc.dokazovi.controller;
 
+import com.softserveinc.dokazovi.dto.city.CityDTO;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
 import com.softserveinc.dokazovi.service.CityService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,22 +13,31 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+
 import static com.softserveinc.dokazovi.controller.EndPoints.CITY;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class CityControllerTest {
 
+    private static final String E_TAG = "\"cities-1\"";
+
     private MockMvc mockMvc;
     @Mock
     private CityService cityService;
+    @Mock
+    private ReferenceDataService referenceDataService;
     @InjectMocks
     private CityController cityController;
 
@@ -35,13 +47,23 @@ class CityControllerTest {
                 .standaloneSetup(cityController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .build();
+        when(referenceDataService.getCities()).thenReturn(new ReferenceData<>(
+                List.of(CityDTO.builder().id(1).name("Київ").regionId(1).build()), CityDTO::getId, E_TAG));
     }
 
     @Test
     void getAllCities() throws Exception {
-        mockMvc.perform(get(CITY)).andExpect(status().isOk());
+        mockMvc.perform(get(CITY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, E_TAG));
 
-        verify(cityService).findAllCities();
+        verify(referenceDataService).getCities();
+    }
+
+    @Test
+    void getAllCities_WhenETagMatches_IsNotModified() throws Exception {
+        mockMvc.perform(get(CITY).header(HttpHeaders.IF_NONE_MATCH, E_TAG))
+                .andExpect(status().isNotModified());
     }
 
     @Test
@@ -1,6 +1,9 @@
 package com.softserveinc.dokazovi.controller;
 
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
 import com.softserveinc.dokazovi.service.DirectionService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,22 +13,33 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+
 import static com.softserveinc.dokazovi.controller.EndPoints.DIRECTION;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class DirectionControllerTest {
 
+    private static final String E_TAG = "\"directions-1\"";
+
     private MockMvc mockMvc;
 
     @Mock
     private DirectionService directionService;
+    @Mock
+    private ReferenceDataService referenceDataService;
     @InjectMocks
     private DirectionController directionController;
 
@@ -35,13 +49,25 @@ class DirectionControllerTest {
                 .standaloneSetup(directionController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .build();
+        when(referenceDataService.getDirections()).thenReturn(new ReferenceData<>(
+                List.of(DirectionDTO.builder().id(1).name("covid-19").build()), DirectionDTO::getId, E_TAG));
     }
 
     @Test
     void getAllDirections() throws Exception {
-        mockMvc.perform(get(DIRECTION)).andExpect(status().isOk());
+        mockMvc.perform(get(DIRECTION))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, E_TAG))
+                .andExpect(jsonPath("$[0].name").value("covid-19"));
 
-        verify(directionService).findAllDirections();
+        verify(referenceDataService).getDirections();
+    }
+
+    @Test
+    void getAllDirections_WhenETagMatches_IsNotModified() throws Exception {
+        mockMvc.perform(get(DIRECTION).header(HttpHeaders.IF_NONE_MATCH, E_TAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
     }
 
     @Test
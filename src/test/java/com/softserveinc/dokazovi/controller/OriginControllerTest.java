@@ -1,6 +1,8 @@
 package com.softserveinc.dokazovi.controller;
 
-import com.softserveinc.dokazovi.service.OriginService;
+import com.softserveinc.dokazovi.dto.origin.OriginDTO;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,22 +12,29 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+
 import static com.softserveinc.dokazovi.controller.EndPoints.ORIGIN;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class OriginControllerTest {
 
+    private static final String E_TAG = "\"origins-1\"";
+
     private MockMvc mockMvc;
 
     @Mock
-    private OriginService originService;
+    private ReferenceDataService referenceDataService;
     @InjectMocks
     private OriginController originController;
 
@@ -35,12 +44,22 @@ class OriginControllerTest {
                 .standaloneSetup(originController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .build();
+        when(referenceDataService.getOrigins()).thenReturn(new ReferenceData<>(
+                List.of(OriginDTO.builder().id(1).name("Переклад").build()), OriginDTO::getId, E_TAG));
     }
 
     @Test
     void getAllOrigins() throws Exception {
-        mockMvc.perform(get(ORIGIN)).andExpect(status().isOk());
+        mockMvc.perform(get(ORIGIN))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, E_TAG));
 
-        verify(originService).findAllOrigins();
+        verify(referenceDataService).getOrigins();
+    }
+
+    @Test
+    void getAllOrigins_WhenETagMatches_IsNotModified() throws Exception {
+        mockMvc.perform(get(ORIGIN).header(HttpHeaders.IF_NONE_MATCH, E_TAG))
+                .andExpect(status().isNotModified());
     }
 }
\ No newline at end of file
@@ -5,11 +5,17 @@ import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
 import com.softserveinc.dokazovi.dto.post.PostPublishedAtDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
 import com.softserveinc.dokazovi.exception.BadRequestException;
+import com.softserveinc.dokazovi.pojo.PostCursor;
+import com.softserveinc.dokazovi.pojo.PostValidators;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
 import com.softserveinc.dokazovi.security.UserPrincipal;
 import com.softserveinc.dokazovi.service.PostService;
-import com.softserveinc.dokazovi.service.PostTypeService;
+import com.softserveinc.dokazovi.service.PostVersionService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -29,6 +35,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -41,6 +48,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static com.softserveinc.dokazovi.controller.EndPoints.POST;
@@ -55,11 +63,13 @@ import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_EXPE
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_EXPERT_AND_STATUS;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_POST_TYPES_AND_ORIGINS;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_LATEST_BY_POST_TYPES_AND_ORIGINS_FOR_MOBILE;
+import static com.softserveinc.dokazovi.controller.EndPoints.POST_SEARCH;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_SET_IMPORTANT;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_TYPE;
 import static com.softserveinc.dokazovi.controller.EndPoints.POST_VIEW_COUNT;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -82,7 +92,9 @@ class PostControllerTest {
     @Mock
     private PostService postService;
     @Mock
-    private PostTypeService postTypeService;
+    private ReferenceDataService referenceDataService;
+    @Mock
+    private PostVersionService postVersionService;
     @Mock
     private Validator validator;
 
@@ -120,6 +132,22 @@ class PostControllerTest {
         verify(postService).findPostById(eq(notExistingPostId));
     }
 
+    @Test
+    void getPostById_WhenNotChanged_isNotModified() throws Exception {
+        String eTag = "W/\"7-1620208800000\"";
+        when(postVersionService.getPostValidators(1))
+                .thenReturn(Optional.of(new PostValidators(eTag, 1620208800000L)));
+        when(postService.findPostById(1)).thenReturn(PostDTO.builder().id(1).build());
+
+        mockMvc.perform(get(POST + "/1"))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag));
+        mockMvc.perform(get(POST + "/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        verify(postService, times(1)).findPostById(1);
+    }
+
     @Test
     void savePost() throws Exception {
         String content = "{\n"
@@ -171,6 +199,81 @@ class PostControllerTest {
         verify(postService).findAllByStatus(eq(PostStatus.PUBLISHED), eq(pageable));
     }
 
+    @Test
+    void findLatestPublished_WhenVersionIsTheSame_isNotModified() throws Exception {
+        String eTag = "W/\"7\"";
+        when(postVersionService.getFeedValidators())
+                .thenReturn(Optional.of(new PostValidators(eTag, 1620208800000L)));
+
+        mockMvc.perform(get(POST + POST_LATEST).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get(POST + POST_LATEST).header(HttpHeaders.IF_NONE_MATCH, "W/\"6\""))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag));
+
+        verify(postService, times(1)).findAllByStatus(eq(PostStatus.PUBLISHED), any(Pageable.class));
+    }
+
+    @Test
+    void findLatestPublishedByCursor_FirstPage_isOk() throws Exception {
+        mockMvc.perform(get(POST + POST_LATEST + "?cursor=&size=5"))
+                .andExpect(status().isOk());
+        verify(postService).findLatestByCursor(PostStatus.PUBLISHED, PostCursor.FIRST_PAGE, 5);
+    }
+
+    @Test
+    void findLatestPublishedByCursor_NextPage_isOk() throws Exception {
+        PostCursor cursor = PostCursor.of(Timestamp.valueOf(LocalDateTime.of(2021, 5, 5, 10, 0)), 42);
+        mockMvc.perform(get(POST + POST_LATEST + "?cursor=" + cursor.encode()))
+                .andExpect(status().isOk());
+        verify(postService).findLatestByCursor(PostStatus.PUBLISHED, cursor, 20);
+    }
+
+    @Test
+    void findLatestPublishedByCursor_WhenCursorIsBroken_isBadRequest() throws Exception {
+        mockMvc.perform(get(POST + POST_LATEST + "?cursor=broken"))
+                .andExpect(status().isBadRequest());
+        verify(postService, times(0)).findLatestByCursor(any(), any(), any());
+    }
+
+    @Test
+    void findLatestByDirectionByCursor_isOk() throws Exception {
+        mockMvc.perform(get(POST + POST_LATEST_BY_DIRECTION + "?direction=1&cursor=&type=2&tag=3,4"))
+                .andExpect(status().isOk());
+        verify(postService).findLatestByDirectionAndCursor(1, Set.of(2), Set.of(3, 4), PostCursor.FIRST_PAGE, 6);
+    }
+
+    @Test
+    void findLatestByExpertByCursor_isOk() throws Exception {
+        mockMvc.perform(get(POST + POST_LATEST_BY_EXPERT + "?expert=2&cursor=&size=10&direction=1,2"))
+                .andExpect(status().isOk());
+        verify(postService).findLatestByExpertAndCursor(2, null, Set.of(1, 2), PostCursor.FIRST_PAGE, 10);
+    }
+
+    @Test
+    void findLatestPublishedSlice_isOk() throws Exception {
+        mockMvc.perform(get(POST + POST_LATEST + "?slice=true&page=1&size=5"))
+                .andExpect(status().isOk());
+        verify(postService).findSliceByStatus(PostStatus.PUBLISHED,
+                PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "createdAt", "id")), false);
+        verify(postService, times(0)).findAllByStatus(any(), any());
+    }
+
+    @Test
+    void findLatestByDirectionSlice_WithApproximateTotal_isOk() throws Exception {
+        mockMvc.perform(get(POST + POST_LATEST_BY_DIRECTION + "?slice=true&approximateTotal=true&direction=1&tag=3"))
+                .andExpect(status().isOk());
+        verify(postService).findSliceByDirection(1, null, Set.of(3), PostStatus.PUBLISHED,
+                PageRequest.of(0, 6, Sort.by(Sort.Direction.DESC, "createdAt", "id")), true);
+    }
+
+    @Test
+    void findLatestByExpertSlice_isOk() throws Exception {
+        mockMvc.perform(get(POST + POST_LATEST_BY_EXPERT + "?slice=true&expert=2&type=1"))
+                .andExpect(status().isOk());
+        verify(postService).findSliceByExpertAndTypeAndDirections(2, Set.of(1), null, PageRequest.of(0, 10), false);
+    }
+
     @Test
     void findImportant_GetWithPagination_isOk() throws Exception {
         Pageable pageable = PageRequest.of(0, 20, Sort.unsorted());
@@ -179,6 +282,32 @@ class PostControllerTest {
         verify(postService).findImportantPosts(eq(pageable));
     }
 
+    @Test
+    void findImportant_WhenNotModifiedSince_isNotModified() throws Exception {
+        when(postVersionService.getFeedValidators())
+                .thenReturn(Optional.of(new PostValidators("W/\"7\"", 1620208800000L)));
+
+        mockMvc.perform(get(POST + POST_IMPORTANT)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 05 May 2021 10:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(postService, never()).findImportantPosts(any());
+    }
+
+    @Test
+    void search_isOk() throws Exception {
+        mockMvc.perform(get(POST + POST_SEARCH + "?query=vaccine&page=1&size=5"))
+                .andExpect(status().isOk());
+        verify(postService).searchPublished("vaccine", PageRequest.of(1, 5));
+    }
+
+    @Test
+    void search_WhenQueryIsMissing_isBadRequest() throws Exception {
+        mockMvc.perform(get(POST + POST_SEARCH))
+                .andExpect(status().isBadRequest());
+        verify(postService, times(0)).searchPublished(any(), any());
+    }
+
     @Test
     void findLatestByDirection() throws Exception {
         Integer directionId = 1;
@@ -197,11 +326,11 @@ class PostControllerTest {
         Pageable pageable = PageRequest.of(0, 12);
 
         String uri = POST + POST_GET_POST_BY_AUTHOR_ID_AND_DIRECTIONS + "?authorId=1&directions=1,4";
-        PostDTO postDTO = PostDTO.builder()
+        PostSummaryDTO postDTO = PostSummaryDTO.builder()
                 .id(1)
                 .build();
 
-        Page<PostDTO> page = new PageImpl<>(List.of(postDTO));
+        Page<PostSummaryDTO> page = new PageImpl<>(List.of(postDTO));
 
         when(postService.findPostsByAuthorIdAndDirections(any(), any(), any())).thenReturn(page);
 
@@ -217,7 +346,7 @@ class PostControllerTest {
 
         String uri = POST + POST_GET_POST_BY_AUTHOR_ID_AND_DIRECTIONS + "?authorId=1&directions=1,4";
 
-        Page<PostDTO> page = new PageImpl<>(List.of());
+        Page<PostSummaryDTO> page = new PageImpl<>(List.of());
 
         when(postService.findPostsByAuthorIdAndDirections(any(), any(), any())).thenReturn(page);
 
@@ -252,8 +381,16 @@ class PostControllerTest {
 
     @Test
     void findAllPostType() throws Exception {
-        mockMvc.perform(get(POST + POST_TYPE)).andExpect(status().isOk());
-        verify(postTypeService).findAll();
+        String eTag = "\"post-types-1\"";
+        when(referenceDataService.getPostTypes()).thenReturn(new ReferenceData<>(
+                List.of(PostTypeDTO.builder().id(1).name("Стаття").build()), PostTypeDTO::getId, eTag));
+
+        mockMvc.perform(get(POST + POST_TYPE))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag));
+        mockMvc.perform(get(POST + POST_TYPE).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        verify(referenceDataService, times(2)).getPostTypes();
     }
 
     @Test
@@ -335,10 +472,10 @@ class PostControllerTest {
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
         Pageable pageable = PageRequest.of(0, 10, Sort.by("modified_at").descending());
-        PostDTO postDTO = PostDTO.builder()
+        PostSummaryDTO postDTO = PostSummaryDTO.builder()
                 .id(1)
                 .build();
-        Page<PostDTO> page = new PageImpl<>(List.of(postDTO));
+        Page<PostSummaryDTO> page = new PageImpl<>(List.of(postDTO));
         Mockito.when(postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directions, types,
                         origins, statuses, title, author, null, startLocalDate, endLocalDate, pageable))
                 .thenReturn(page);
@@ -374,10 +511,10 @@ class PostControllerTest {
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
         Pageable pageable = PageRequest.of(0, 10, Sort.by("modified_at").descending());
-        PostDTO postDTO = PostDTO.builder()
+        PostSummaryDTO postDTO = PostSummaryDTO.builder()
                 .id(0)
                 .build();
-        Page<PostDTO> page = new PageImpl<>(List.of(postDTO));
+        Page<PostSummaryDTO> page = new PageImpl<>(List.of(postDTO));
 
         Mockito.when(postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directions, types,
                         origins, statuses, title, author, null, startLocalDate, endLocalDate, pageable))
@@ -462,11 +599,11 @@ class PostControllerTest {
     @Test
     void findPublishedNotImportantPostsSortedByImportantImagePresence_isOk() throws Exception {
         Pageable pageable = PageRequest.of(0, 12);
-        PostDTO postDTO = PostDTO.builder()
+        PostSummaryDTO postDTO = PostSummaryDTO.builder()
                 .id(1)
                 .importantImageUrl("http://test.test")
                 .build();
-        Page<PostDTO> page = new PageImpl<>(List.of(postDTO));
+        Page<PostSummaryDTO> page = new PageImpl<>(List.of(postDTO));
         Mockito.when(postService.findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence(
                         new HashSet<>(), new HashSet<>(), new HashSet<>(), pageable))
                 .thenReturn(page);
@@ -1,5 +1,8 @@
 package com.softserveinc.dokazovi.controller;
 
+import com.softserveinc.dokazovi.dto.region.RegionDTO;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import com.softserveinc.dokazovi.service.RegionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,23 +13,32 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.util.List;
+
 import static com.softserveinc.dokazovi.controller.EndPoints.REGION;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class RegionControllerTest {
 
+    private static final String E_TAG = "\"regions-1\"";
+
     private MockMvc mockMvc;
 
     @Mock
     private RegionService regionService;
+    @Mock
+    private ReferenceDataService referenceDataService;
     @InjectMocks
     private RegionController regionController;
 
@@ -36,13 +48,23 @@ class RegionControllerTest {
                 .standaloneSetup(regionController)
                 .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
                 .build();
+        when(referenceDataService.getRegions()).thenReturn(new ReferenceData<>(
+                List.of(RegionDTO.builder().id(1).name("Київська").build()), RegionDTO::getId, E_TAG));
     }
 
     @Test
     void getAllRegions() throws Exception {
-        mockMvc.perform(get(REGION)).andExpect(status().isOk());
+        mockMvc.perform(get(REGION))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, E_TAG));
 
-        verify(regionService).findAllRegions();
+        verify(referenceDataService).getRegions();
+    }
+
+    @Test
+    void getAllRegions_WhenETagMatches_IsNotModified() throws Exception {
+        mockMvc.perform(get(REGION).header(HttpHeaders.IF_NONE_MATCH, E_TAG))
+                .andExpect(status().isNotModified());
     }
 
     @Test
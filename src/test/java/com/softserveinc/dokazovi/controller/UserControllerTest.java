@@ -161,6 +161,19 @@ class UserControllerTest {
         verify(userService).findAllExperts(userSearchCriteria, pageable);
     }
 
+    @Test
+    void getExpertSliceByDirectionsAndByRegions_isOk() throws Exception {
+        String uri = USER + USER_ALL_EXPERTS + "/?page=1&slice=true&approximateTotal=true&directions=2";
+
+        UserSearchCriteria userSearchCriteria = new UserSearchCriteria();
+        userSearchCriteria.setDirections(Set.of(2));
+
+        mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+        verify(userService).findExpertSlice(userSearchCriteria, PageRequest.of(1, 6), true);
+        verify(userService, times(0)).findAllExperts(any(), any());
+    }
+
     @Test
     void getAllExpertsByDirectionsAndByRegions_FilteredByRegionsOnly_isOk() throws Exception {
         String uri = USER + USER_ALL_EXPERTS + "/?page=0&regions=1,4,6";
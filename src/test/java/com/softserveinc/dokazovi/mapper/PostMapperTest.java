@@ -6,6 +6,7 @@ import com.softserveinc.dokazovi.dto.origin.OriginDTO;
 import com.softserveinc.dokazovi.dto.origin.OriginDTOForSavingPost;
 import com.softserveinc.dokazovi.dto.post.PostDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
 import com.softserveinc.dokazovi.dto.post.PostTypeIdOnlyDTO;
 import com.softserveinc.dokazovi.dto.tag.TagDTO;
 import com.softserveinc.dokazovi.dto.user.LatestUserPostDTO;
@@ -19,6 +20,7 @@ import com.softserveinc.dokazovi.entity.PostTypeEntity;
 import com.softserveinc.dokazovi.entity.TagEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.repositories.projection.PostSummaryView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -33,6 +35,8 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class PostMapperTest {
 
@@ -235,6 +239,49 @@ class PostMapperTest {
         assertNull(postDTO);
     }
 
+    @Test
+    void toPostSummaryDTO() {
+        PostSummaryView view = mock(PostSummaryView.class);
+        when(view.getId()).thenReturn(post.getId());
+        when(view.getTitle()).thenReturn(post.getTitle());
+        when(view.getStatus()).thenReturn(post.getStatus());
+        when(view.getTypeId()).thenReturn(type.getId());
+        when(view.getTypeName()).thenReturn(type.getName());
+        when(view.getAuthorId()).thenReturn(author.getId());
+        when(view.getAuthorFirstName()).thenReturn(author.getFirstName());
+        when(view.getInstitutionId()).thenReturn(mainInstitution.getId());
+        when(view.getInstitutionName()).thenReturn(mainInstitution.getName());
+        when(view.getCityId()).thenReturn(city.getId());
+        when(view.getCityName()).thenReturn(city.getName());
+
+        PostSummaryDTO postSummaryDTO = postMapper.toPostSummaryDTO(view, post.getDirections(), post.getTags(),
+                post.getOrigins());
+
+        assertEquals(post.getId(), postSummaryDTO.getId());
+        assertEquals(post.getTitle(), postSummaryDTO.getTitle());
+        assertEquals(post.getStatus().name(), postSummaryDTO.getStatus());
+        assertEquals(type.getName(), postSummaryDTO.getType().getName());
+        assertEquals(author.getFirstName(), postSummaryDTO.getAuthor().getFirstName());
+        assertEquals(mainInstitution.getName(), postSummaryDTO.getAuthor().getMainInstitution().getName());
+        assertEquals(city.getName(), postSummaryDTO.getAuthor().getMainInstitution().getCity().getName());
+        assertEquals(post.getDirections().size(), postSummaryDTO.getDirections().size());
+        assertEquals(post.getTags().size(), postSummaryDTO.getTags().size());
+        assertEquals(post.getOrigins().size(), postSummaryDTO.getOrigins().size());
+    }
+
+    @Test
+    void toPostSummaryDTO_WhenAuthorHasNoInstitution() {
+        PostSummaryView view = mock(PostSummaryView.class);
+        when(view.getAuthorId()).thenReturn(author.getId());
+
+        PostSummaryDTO postSummaryDTO = postMapper.toPostSummaryDTO(view, Set.of(), Set.of(), Set.of());
+
+        assertEquals(author.getId(), postSummaryDTO.getAuthor().getId());
+        assertNull(postSummaryDTO.getAuthor().getMainInstitution());
+        assertNull(postSummaryDTO.getType());
+        assertTrue(postSummaryDTO.getDirections().isEmpty());
+    }
+
     @Test
     void toPostEntity() {
         PostEntity postEntity = postMapper.toPostEntity(postSaveFromUserDTO);
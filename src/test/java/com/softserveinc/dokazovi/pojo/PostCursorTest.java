@@ -0,0 +1,56 @@
+package com.softserveinc.dokazovi.pojo;
+
+import com.softserveinc.dokazovi.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PostCursorTest {
+
+    @Test
+    void decode_WhenEncoded_ReturnsSameCursor() {
+        PostCursor cursor = PostCursor.of(Timestamp.valueOf(LocalDateTime.of(2021, 5, 5, 10, 15, 30)), 42);
+
+        assertEquals(cursor, PostCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_KeepsMicroseconds() {
+        Timestamp publishedAt = Timestamp.valueOf(LocalDateTime.of(2021, 5, 5, 10, 15, 30, 123_457_000));
+        Timestamp beforeEpoch = Timestamp.valueOf(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000));
+
+        assertEquals(publishedAt, PostCursor.decode(PostCursor.of(publishedAt, 42).encode()).getPublishedAt());
+        assertEquals(beforeEpoch, PostCursor.decode(PostCursor.of(beforeEpoch, 42).encode()).getPublishedAt());
+    }
+
+    @Test
+    void decode_WhenEncodedWithMilliseconds_ReturnsCursor() {
+        String cursor = Base64.getUrlEncoder().encodeToString("1620209730123:42".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(PostCursor.of(new Timestamp(1620209730123L), 42), PostCursor.decode(cursor));
+    }
+
+    @Test
+    void decode_WhenBlank_ReturnsFirstPage() {
+        assertEquals(PostCursor.FIRST_PAGE, PostCursor.decode(""));
+        assertEquals(PostCursor.FIRST_PAGE, PostCursor.decode(null));
+    }
+
+    @Test
+    void decode_WhenNotBase64_ThrowException() {
+        assertThrows(BadRequestException.class, () -> PostCursor.decode("not a cursor"));
+    }
+
+    @Test
+    void decode_WhenWrongFormat_ThrowException() {
+        String cursor = Base64.getUrlEncoder().encodeToString("1620209730000".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class, () -> PostCursor.decode(cursor));
+    }
+}
@@ -0,0 +1,289 @@
+package com.softserveinc.dokazovi.repositories;
+
+import com.softserveinc.dokazovi.entity.AuthorEntity;
+import com.softserveinc.dokazovi.entity.CityEntity;
+import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.entity.InstitutionEntity;
+import com.softserveinc.dokazovi.entity.OriginEntity;
+import com.softserveinc.dokazovi.entity.PostEntity;
+import com.softserveinc.dokazovi.entity.PostTypeEntity;
+import com.softserveinc.dokazovi.entity.RegionEntity;
+import com.softserveinc.dokazovi.entity.RoleEntity;
+import com.softserveinc.dokazovi.entity.TagEntity;
+import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
+import com.softserveinc.dokazovi.entity.enumerations.UserStatus;
+import com.softserveinc.dokazovi.pojo.PostCursor;
+import com.softserveinc.dokazovi.pojo.PostFilter;
+import com.softserveinc.dokazovi.repositories.projection.PostDirectionView;
+import com.softserveinc.dokazovi.repositories.projection.PostOriginView;
+import com.softserveinc.dokazovi.repositories.projection.PostSummaryView;
+import com.softserveinc.dokazovi.repositories.projection.PostTagView;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PostRepositoryTest {
+
+    private static final int POSTS_COUNT = 10;
+
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Integer> postIds = new ArrayList<>();
+    private final List<Integer> directionIds = new ArrayList<>();
+    private final List<Integer> authorIds = new ArrayList<>();
+    private final List<Integer> tagIds = new ArrayList<>();
+    private Integer originId;
+
+    @BeforeEach
+    void init() {
+        RegionEntity region = entityManager.persist(RegionEntity.builder().name("region").build());
+        CityEntity city = entityManager.persist(CityEntity.builder().name("city").region(region).build());
+        RoleEntity role = entityManager.persist(RoleEntity.builder().name("Doctor").permissions(Set.of()).build());
+        PostTypeEntity type = entityManager.persist(PostTypeEntity.builder().name("type").build());
+        OriginEntity origin = entityManager.persist(OriginEntity.builder().name("origin").build());
+
+        for (int i = 0; i < POSTS_COUNT; i++) {
+            InstitutionEntity institution = entityManager.persist(InstitutionEntity.builder()
+                    .name("institution" + i)
+                    .address("address")
+                    .city(city)
+                    .build());
+            UserEntity user = entityManager.persist(UserEntity.builder()
+                    .firstName("first" + i)
+                    .lastName("last" + i)
+                    .email("user" + i + "@mail.com")
+                    .status(UserStatus.ACTIVE)
+                    .role(role)
+                    .build());
+            entityManager.persist(AuthorEntity.builder()
+                    .profile(user)
+                    .city(city)
+                    .mainInstitution(institution)
+                    .bio("bio")
+                    .publishedPosts(1L)
+                    .promotionScale(1.0)
+                    .build());
+            DirectionEntity direction = entityManager.persist(DirectionEntity.builder().name("direction" + i).build());
+            directionIds.add(direction.getId());
+            authorIds.add(user.getId());
+            TagEntity tag = entityManager.persist(TagEntity.builder().tag("tag" + i).build());
+            tagIds.add(tag.getId());
+            PostEntity post = entityManager.persist(PostEntity.builder()
+                    .title("post" + i)
+                    .author(user)
+                    .type(type)
+                    .status(PostStatus.PUBLISHED)
+                    .directions(Set.of(direction))
+                    .tags(Set.of(tag))
+                    .origins(Set.of(origin))
+                    .build());
+            postIds.add(post.getId());
+        }
+        originId = origin.getId();
+        entityManager.flush();
+    }
+
+    @Test
+    void findSummariesByIdIn_StatementCountDoesNotDependOnPageSize() {
+        long smallPageStatements = countStatementsToLoad(postIds.subList(0, 2));
+        long fullPageStatements = countStatementsToLoad(postIds);
+
+        assertEquals(4, smallPageStatements);
+        assertEquals(smallPageStatements, fullPageStatements);
+    }
+
+    @Test
+    void findSummariesByIdIn_JoinsAuthorAndInstitution() {
+        PostSummaryView summary = postRepository.findSummariesByIdIn(List.of(postIds.get(0))).get(0);
+
+        assertEquals("post0", summary.getTitle());
+        assertEquals("type", summary.getTypeName());
+        assertEquals("first0", summary.getAuthorFirstName());
+        assertEquals("bio", summary.getAuthorBio());
+        assertEquals("institution0", summary.getInstitutionName());
+        assertEquals("city", summary.getCityName());
+    }
+
+    @Test
+    void findIdsByFilter_WithoutFilters_ReturnsAllPosts() {
+        Page<Integer> page = postRepository.findIdsByFilter(PostFilter.builder().build(), PageRequest.of(0, 20));
+
+        assertEquals(POSTS_COUNT, page.getTotalElements());
+        assertEquals(Set.copyOf(postIds), Set.copyOf(page.getContent()));
+    }
+
+    @Test
+    void findIdsByFilter_ByDirectionsAndOrigins_UsesOnlySuppliedFilters() {
+        PostFilter filter = PostFilter.builder()
+                .directionIds(Set.of(directionIds.get(1), directionIds.get(3)))
+                .originIds(Set.of(originId))
+                .typeIds(Set.of())
+                .title("")
+                .build();
+
+        Page<Integer> page = postRepository.findIdsByFilter(filter, PageRequest.of(0, 20));
+
+        assertEquals(Set.of(postIds.get(1), postIds.get(3)), Set.copyOf(page.getContent()));
+    }
+
+    @Test
+    void findIdsByFilter_ByAuthorIdAndStatus() {
+        PostFilter published = PostFilter.builder()
+                .authorId(authorIds.get(2))
+                .statuses(Set.of(PostStatus.PUBLISHED))
+                .build();
+        PostFilter drafts = PostFilter.builder()
+                .authorId(authorIds.get(2))
+                .statuses(Set.of(PostStatus.DRAFT))
+                .build();
+
+        assertEquals(List.of(postIds.get(2)),
+                postRepository.findIdsByFilter(published, PageRequest.of(0, 20)).getContent());
+        assertEquals(0, postRepository.findIdsByFilter(drafts, PageRequest.of(0, 20)).getTotalElements());
+    }
+
+    @Test
+    void findIdsByFilter_SortsByColumnName() {
+        Page<Integer> page = postRepository.findIdsByFilter(PostFilter.builder().build(),
+                PageRequest.of(0, 3, Sort.by("title").descending().and(Sort.by("modified_at"))));
+
+        assertEquals(List.of(postIds.get(9), postIds.get(8), postIds.get(7)), page.getContent());
+        assertEquals(POSTS_COUNT, page.getTotalElements());
+    }
+
+    @Test
+    void findIdsByFilter_SortsByAuthorColumnName() {
+        Page<Integer> page = postRepository.findIdsByFilter(PostFilter.builder().authorRequired(true).build(),
+                PageRequest.of(0, 3, Sort.by("first_name").descending().and(Sort.by("modified_at"))));
+
+        assertEquals(List.of(postIds.get(9), postIds.get(8), postIds.get(7)), page.getContent());
+        assertEquals(POSTS_COUNT, page.getTotalElements());
+    }
+
+    @Test
+    void findIdsByFilter_WhenAuthorRequired_SkipsPostsWithoutAuthor() {
+        PostEntity withoutAuthor = entityManager.persist(PostEntity.builder()
+                .title("anonymous")
+                .type(entityManager.find(PostEntity.class, postIds.get(0)).getType())
+                .status(PostStatus.PUBLISHED)
+                .build());
+        entityManager.flush();
+
+        Page<Integer> required = postRepository.findIdsByFilter(PostFilter.builder().authorRequired(true).build(),
+                PageRequest.of(0, 20));
+        Page<Integer> all = postRepository.findIdsByFilter(PostFilter.builder().build(), PageRequest.of(0, 20));
+
+        assertEquals(Set.copyOf(postIds), Set.copyOf(required.getContent()));
+        assertEquals(POSTS_COUNT, required.getTotalElements());
+        assertTrue(all.getContent().contains(withoutAuthor.getId()));
+    }
+
+    @Test
+    void findIdsByFilter_ByModificationDates() {
+        PostFilter past = PostFilter.builder()
+                .startDate(Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0)))
+                .endDate(Timestamp.valueOf(LocalDateTime.of(2000, 1, 1, 0, 0)))
+                .build();
+        PostFilter untilNow = PostFilter.builder()
+                .endDate(Timestamp.valueOf(LocalDateTime.now().plusDays(1)))
+                .build();
+
+        assertEquals(0, postRepository.findIdsByFilter(past, PageRequest.of(0, 20)).getTotalElements());
+        assertEquals(POSTS_COUNT, postRepository.findIdsByFilter(untilNow, PageRequest.of(0, 20)).getTotalElements());
+    }
+
+    @Test
+    void findIdSliceByFilter_FetchesOneExtraRowForNextSlice() {
+        Sort byTitle = Sort.by("title").descending();
+
+        Slice<Integer> first = postRepository.findIdSliceByFilter(PostFilter.builder().build(),
+                PageRequest.of(0, 3, byTitle));
+        Slice<Integer> last = postRepository.findIdSliceByFilter(PostFilter.builder().build(),
+                PageRequest.of(3, 3, byTitle));
+
+        assertEquals(List.of(postIds.get(9), postIds.get(8), postIds.get(7)), first.getContent());
+        assertTrue(first.hasNext());
+        assertEquals(List.of(postIds.get(0)), last.getContent());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void findIdSliceByFilter_ByTagsAndStatus() {
+        PostFilter filter = PostFilter.builder()
+                .tagIds(Set.of(tagIds.get(4), tagIds.get(5)))
+                .statuses(Set.of(PostStatus.PUBLISHED))
+                .build();
+
+        Slice<Integer> slice = postRepository.findIdSliceByFilter(filter, PageRequest.of(0, 2));
+
+        assertEquals(Set.of(postIds.get(4), postIds.get(5)), Set.copyOf(slice.getContent()));
+        assertFalse(slice.hasNext());
+        assertEquals(2, postRepository.countByFilter(filter));
+    }
+
+    @Test
+    void findIdsByStatusBeforeCursor_DoesNotSkipPostsPublishedInSameMillisecond() {
+        LocalDateTime published = LocalDateTime.of(2099, 1, 1, 10, 0);
+        PostEntity later = entityManager.find(PostEntity.class, postIds.get(0));
+        PostEntity earlier = entityManager.find(PostEntity.class, postIds.get(1));
+        later.setPublishedAt(Timestamp.valueOf(published.plusNanos(2000)));
+        earlier.setPublishedAt(Timestamp.valueOf(published.plusNanos(1000)));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Integer> first = postRepository.findIdsByStatusBeforeCursor(PostStatus.PUBLISHED,
+                PostCursor.FIRST_PAGE.getPublishedAt(), PostCursor.FIRST_PAGE.getPostId(), 1);
+        PostCursor cursor = PostCursor.decode(PostCursor.of(
+                entityManager.find(PostEntity.class, first.get(0)).getPublishedAt(), first.get(0)).encode());
+        List<Integer> next = postRepository.findIdsByStatusBeforeCursor(PostStatus.PUBLISHED,
+                cursor.getPublishedAt(), cursor.getPostId(), 1);
+
+        assertEquals(List.of(postIds.get(0)), first);
+        assertEquals(List.of(postIds.get(1)), next);
+    }
+
+    private long countStatementsToLoad(List<Integer> ids) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<PostSummaryView> posts = postRepository.findSummariesByIdIn(ids);
+        List<PostDirectionView> directions = postRepository.findDirectionsByPostIdIn(ids);
+        List<PostTagView> tags = postRepository.findTagsByPostIdIn(ids);
+        List<PostOriginView> origins = postRepository.findOriginsByPostIdIn(ids);
+
+        posts.forEach(post -> post.getInstitutionName().length());
+        directions.forEach(direction -> direction.getDirection().getName().length());
+        tags.forEach(tag -> tag.getTag().getTag().length());
+        origins.forEach(origin -> origin.getOrigin().getName().length());
+        assertEquals(ids.size(), posts.size());
+        assertEquals(ids.size(), directions.size());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,124 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.exception.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    private SimpleMeterRegistry registry;
+    private CountDownLatch started;
+    private CountDownLatch release;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void init() {
+        registry = new SimpleMeterRegistry();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(0);
+    }
+
+    @AfterEach
+    void shutdown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encodeAndMatches_HashOnPoolAndRecordTimes() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), registry, 1, 1, 5000);
+
+        assertEquals("hashed:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hashed:secret"));
+        assertFalse(encoder.matches("other", "hashed:secret"));
+
+        assertEquals(1, registry.get("app.password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("app.password.hashing.duration").tag("operation", "matches").timer().count());
+        assertEquals(3, registry.get("app.password.hashing.queue").timer().count());
+        assertEquals(0.0, registry.get("app.password.hashing.rejections").counter().count());
+    }
+
+    @Test
+    void matches_WhenPoolAndQueueAreFull_RejectsAtOnce() throws Exception {
+        release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), registry, 1, 1, 5000);
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(
+                () -> encoder.matches("secret", "hashed:secret"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(
+                () -> encoder.matches("secret", "hashed:secret"));
+        awaitQueueSize(1);
+
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.matches("secret", "hashed:secret"));
+        assertEquals(1.0, registry.get("app.password.hashing.rejections").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void encode_WhenNotHashedInTime_Rejects() {
+        release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), registry, 1, 1, 50);
+
+        assertThrows(PasswordHashingRejectedException.class, () -> encoder.encode("secret"));
+        assertEquals(1.0, registry.get("app.password.hashing.rejections").counter().count());
+    }
+
+    @Test
+    void matches_WhenEncoderFails_RethrowsItsException() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(), registry, 1, 1, 5000);
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.matches("secret", null));
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("app.password.hashing.queue.size").gauge().value() < size) {
+            assertTrue(System.nanoTime() < deadline, "Password is not queued");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Encoder which waits for the test to release it.
+     */
+    private class BlockingEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            block();
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (encodedPassword == null) {
+                throw new IllegalArgumentException("Encoded password is empty");
+            }
+            block();
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+
+        private void block() {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -1,23 +1,26 @@
 package com.softserveinc.dokazovi.security;
 
-import com.softserveinc.dokazovi.entity.ProviderEntity;
 import com.softserveinc.dokazovi.entity.RoleEntity;
-import com.softserveinc.dokazovi.entity.UserEntity;
-import com.softserveinc.dokazovi.entity.enumerations.UserStatus;
+import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
 import com.softserveinc.dokazovi.repositories.UserRepository;
+import com.softserveinc.dokazovi.repositories.projection.UserCredentialsView;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
-import java.util.HashSet;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -26,7 +29,7 @@ import static org.mockito.Mockito.when;
 class CustomUserDetailsServiceTest {
 
     @Mock
-    private UserEntity userEntity;
+    private UserCredentialsView credentials;
 
     @Mock
     private UserRepository userRepository;
@@ -34,6 +37,12 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserPrincipal userPrincipal;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private RoleTable roleTable;
+
     @InjectMocks
     private CustomUserDetailsService customUserDetailsService;
 
@@ -41,46 +50,52 @@ class CustomUserDetailsServiceTest {
     @Test
     void loadUserByUsername() {
         String email = "test@test.com";
-        RoleEntity roleEntity = RoleEntity.builder().id(1).name("ROLE_DOCTOR").build();
-        UserEntity user = UserEntity.builder()
+        RoleEntity roleEntity = RoleEntity.builder()
                 .id(1)
-                .status(UserStatus.ACTIVE)
-                .email(email)
-                .role(roleEntity)
-                .enabled(true)
+                .name("ROLE_DOCTOR")
+                .permissions(Set.of(RolePermission.SAVE_OWN_PUBLICATION))
                 .build();
-        ProviderEntity providerEntity = ProviderEntity.builder().id(1).email(email).name("LOCAL").userIdByProvider("1")
-                .user(user).build();
-        Set<ProviderEntity> providerEntities = new HashSet<>();
-        providerEntities.add(providerEntity);
-        user.setUserProviderEntities(providerEntities);
-        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
-        UserDetails resultUser = customUserDetailsService.loadUserByUsername(email);
-        verify(userRepository, times(1)).findByEmail(email);
+        when(credentials.getId()).thenReturn(1);
+        when(credentials.getEmail()).thenReturn(email);
+        when(credentials.getPassword()).thenReturn("hash");
+        when(credentials.getEnabled()).thenReturn(true);
+        when(credentials.getRoleId()).thenReturn(1);
+        when(credentials.getSecurityVersion()).thenReturn(3L);
+        when(userRepository.findCredentialsByEmail(anyString())).thenReturn(List.of(credentials));
+        when(roleTable.get(1)).thenReturn(roleEntity);
+
+        UserPrincipal resultUser = (UserPrincipal) customUserDetailsService.loadUserByUsername(email);
+
+        verify(userRepository, times(1)).findCredentialsByEmail(email);
+        verify(userRepository, never()).findByEmail(anyString());
         assertEquals(email, resultUser.getUsername());
+        assertEquals(1, resultUser.getId());
+        assertEquals("hash", resultUser.getPassword());
+        assertEquals(3L, resultUser.getSecurityVersion());
+        assertTrue(resultUser.isEmailConfirmed());
+        assertEquals(Set.of(RolePermission.SAVE_OWN_PUBLICATION), resultUser.getAuthorities());
+    }
+
+    @Test
+    void loadUserByUsername_WhenNotFound_Throws() {
+        when(userRepository.findCredentialsByEmail(anyString())).thenReturn(Collections.emptyList());
+
+        assertThrows(UsernameNotFoundException.class,
+                () -> customUserDetailsService.loadUserByUsername("test@test.com"));
     }
 
     @Test
     void loadUserById() {
         Integer id = 1;
         String email = "test@test.com";
-        RoleEntity roleEntity = RoleEntity.builder().id(1).name("ROLE_DOCTOR").build();
-        UserEntity userEntity = UserEntity.builder()
-                .id(1)
-                .status(UserStatus.ACTIVE)
+        UserPrincipal cachedPrincipal = UserPrincipal.builder()
+                .id(id)
                 .email(email)
-                .role(roleEntity)
-                .enabled(true)
                 .build();
-        ProviderEntity providerEntity = ProviderEntity.builder().id(1).email(email).name("LOCAL").userIdByProvider("1")
-                .user(userEntity).build();
-        Set<ProviderEntity> providerEntities = new HashSet<>();
-        providerEntities.add(providerEntity);
-        userEntity.setUserProviderEntities(providerEntities);
-        when(userRepository.findById(id))
-                .thenReturn(Optional.of(userEntity));
+        when(principalCache.get(id)).thenReturn(cachedPrincipal);
         UserDetails resultUser = customUserDetailsService.loadUserById(id);
-        verify(userRepository, times(1)).findById(id);
+        verify(principalCache, times(1)).get(id);
+        verify(userRepository, never()).findById(id);
         assertEquals(email, resultUser.getUsername());
     }
 }
@@ -0,0 +1,98 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.dto.payload.RefreshToken;
+import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.repositories.RefreshTokenRepository;
+import com.softserveinc.dokazovi.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseRefreshTokenStoreTest {
+
+    private static final String HASH = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private DatabaseRefreshTokenStore store;
+
+    @BeforeEach
+    void init() {
+        store = new DatabaseRefreshTokenStore(refreshTokenRepository, userRepository, 2);
+    }
+
+    @Test
+    void saveKeepsHashOnly() {
+        UserEntity user = UserEntity.builder().id(28).build();
+        Instant expiryDate = Instant.now();
+        when(userRepository.getOne(28)).thenReturn(user);
+
+        store.save(new StoredRefreshToken(HASH, 28, expiryDate, 2L));
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals(HASH, saved.getValue().getTokenHash());
+        assertEquals(user, saved.getValue().getUser());
+        assertEquals(expiryDate, saved.getValue().getExpiryDate());
+        assertEquals(2L, saved.getValue().getSecurityVersion());
+        assertNull(saved.getValue().getToken());
+    }
+
+    @Test
+    void removeReturnsTokenOnce() {
+        when(refreshTokenRepository.findByTokenHash(HASH)).thenReturn(Optional.of(refreshToken()));
+        when(refreshTokenRepository.deleteByTokenHash(HASH)).thenReturn(1).thenReturn(0);
+
+        assertEquals(28, store.remove(HASH).orElseThrow().getUserId());
+        assertTrue(store.remove(HASH).isEmpty());
+    }
+
+    @Test
+    void findMapsToken() {
+        when(refreshTokenRepository.findByTokenHash(HASH)).thenReturn(Optional.of(refreshToken()));
+
+        StoredRefreshToken found = store.find(HASH).orElseThrow();
+
+        assertEquals(HASH, found.getTokenHash());
+        assertEquals(28, found.getUserId());
+        assertEquals(2L, found.getSecurityVersion());
+    }
+
+    @Test
+    void sweepExpiredDeletesInBatches() {
+        when(refreshTokenRepository.deleteExpired(any(Instant.class), eq(2))).thenReturn(2, 2, 1);
+
+        store.sweepExpired();
+
+        verify(refreshTokenRepository, times(3)).deleteExpired(any(Instant.class), eq(2));
+    }
+
+    private static RefreshToken refreshToken() {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(HASH);
+        refreshToken.setUser(UserEntity.builder().id(28).build());
+        refreshToken.setExpiryDate(Instant.now().plusMillis(60000L));
+        refreshToken.setSecurityVersion(2L);
+        return refreshToken;
+    }
+}
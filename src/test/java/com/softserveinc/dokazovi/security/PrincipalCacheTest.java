@@ -0,0 +1,143 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.config.RedisConfig;
+import com.softserveinc.dokazovi.entity.RoleEntity;
+import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
+import com.softserveinc.dokazovi.event.UserSecurityChangedEvent;
+import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
+import com.softserveinc.dokazovi.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void init() {
+        cacheManager = new ConcurrentMapCacheManager(RedisConfig.PRINCIPAL_CACHE);
+        principalCache = new PrincipalCache(cacheManager, userRepository, 900);
+    }
+
+    @Test
+    void getLoadsPrincipalOnce() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user(0L, RolePermission.EDIT_AUTHOR)));
+
+        principalCache.get(1);
+        UserPrincipal principal = principalCache.get(1);
+
+        verify(userRepository, times(1)).findById(1);
+        assertEquals(1, principal.getId());
+        assertEquals("test@test.com", principal.getUsername());
+        assertNull(principal.getPassword());
+        assertEquals(Set.of("EDIT_AUTHOR"), authorities(principal));
+    }
+
+    @Test
+    void getThrowsWhenUserDoesNotExist() {
+        when(userRepository.findById(1)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> principalCache.get(1));
+    }
+
+    @Test
+    void getKeepsUserWithoutRole() {
+        UserEntity user = user(0L);
+        user.setRole(null);
+        when(userRepository.findById(1)).thenReturn(Optional.of(user));
+
+        assertEquals(Set.of(), authorities(principalCache.get(1)));
+    }
+
+    @Test
+    void changeEvictsPrincipal() {
+        when(userRepository.findById(1))
+                .thenReturn(Optional.of(user(0L, RolePermission.EDIT_AUTHOR)))
+                .thenReturn(Optional.of(user(1L)));
+        when(userRepository.findSecurityVersionById(1))
+                .thenReturn(Optional.of(0L))
+                .thenReturn(Optional.of(1L));
+
+        principalCache.get(1);
+        principalCache.onUserSecurityChanged(new UserSecurityChangedEvent(1));
+        UserPrincipal principal = principalCache.get(1);
+
+        verify(userRepository, times(2)).findById(1);
+        assertEquals(Set.of(), authorities(principal));
+    }
+
+    @Test
+    void outdatedPrincipalIsLoadedAgain() {
+        when(userRepository.findById(1)).thenReturn(Optional.of(user(2L)));
+        when(userRepository.findSecurityVersionById(1)).thenReturn(Optional.of(2L));
+        principalCache.onUserSecurityChanged(new UserSecurityChangedEvent(1));
+        UserEntity outdated = user(1L, RolePermission.EDIT_AUTHOR);
+        cacheManager.getCache(RedisConfig.PRINCIPAL_CACHE).put(1, CachedPrincipal.of(outdated));
+
+        UserPrincipal principal = principalCache.get(1);
+
+        verify(userRepository, times(1)).findById(1);
+        assertEquals(Set.of(), authorities(principal));
+        assertEquals(2L, cacheManager.getCache(RedisConfig.PRINCIPAL_CACHE)
+                .get(1, CachedPrincipal.class).getSecurityVersion());
+    }
+
+    @Test
+    void principalLoadedWhileUserChangesIsNotKeptCached() {
+        when(userRepository.findById(1))
+                .thenReturn(Optional.of(user(0L, RolePermission.EDIT_AUTHOR)))
+                .thenReturn(Optional.of(user(1L)));
+        when(userRepository.findSecurityVersionById(1)).thenReturn(Optional.of(1L));
+
+        UserPrincipal principal = principalCache.get(1);
+
+        verify(userRepository, times(2)).findById(1);
+        assertEquals(Set.of(), authorities(principal));
+        assertNull(cacheManager.getCache(RedisConfig.PRINCIPAL_CACHE).get(1));
+    }
+
+    private static UserEntity user(Long securityVersion, RolePermission... permissions) {
+        RoleEntity role = RoleEntity.builder()
+                .id(1)
+                .name("ROLE_ADMIN")
+                .permissions(new HashSet<>(Set.of(permissions)))
+                .build();
+        return UserEntity.builder()
+                .id(1)
+                .email("test@test.com")
+                .password("password")
+                .role(role)
+                .enabled(true)
+                .securityVersion(securityVersion)
+                .build();
+    }
+
+    private static Set<String> authorities(UserPrincipal principal) {
+        return principal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+}
@@ -3,37 +3,41 @@ package com.softserveinc.dokazovi.security;
 import com.softserveinc.dokazovi.config.AppProperties;
 import com.softserveinc.dokazovi.dto.payload.RefreshToken;
 import com.softserveinc.dokazovi.entity.UserEntity;
+import com.softserveinc.dokazovi.exception.ResourceNotFoundException;
 import com.softserveinc.dokazovi.exception.TokenRefreshException;
-import com.softserveinc.dokazovi.repositories.RefreshTokenRepository;
 import com.softserveinc.dokazovi.repositories.UserRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
 import java.util.Optional;
 
 import static org.junit.Assert.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 
 @ExtendWith(MockitoExtension.class)
 class RefreshTokenServiceTest {
 
+    private static final String TOKEN = "950c9760-805e-449c-a966-2d0d5ebd86f4";
+
     @Mock
     UserRepository userRepository;
     @Mock
-    RefreshTokenRepository refreshTokenRepository;
+    RefreshTokenStore refreshTokenStore;
     @Mock(answer = Answers.RETURNS_DEEP_STUBS)
     AppProperties appProperties;
-    @Mock
-    AppProperties.Auth auth;
     @InjectMocks
     RefreshTokenService refreshTokenService;
 
@@ -45,20 +49,54 @@ class RefreshTokenServiceTest {
                 .id(28)
                 .enabled(true)
                 .build();
+        ReflectionTestUtils.setField(refreshTokenService, "rotation", true);
     }
 
     @Test
     void createRefreshToken() {
-        RefreshToken refreshToken = new RefreshToken();
-        refreshToken.setUser(user);
-        refreshToken.setExpiryDate(Instant.now().plusMillis(60000L));
         when(userRepository.findById(28)).thenReturn(Optional.of(user));
         when(appProperties.getAuth().getRefreshTokenExpirationMsec()).thenReturn(60000L);
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(refreshToken);
         RefreshToken refreshTokenResult = refreshTokenService.createRefreshToken(user.getId());
-        Assertions.assertEquals(refreshToken.getUser().getId(), refreshTokenResult.getUser().getId());
-        Assertions.assertEquals(refreshToken.getUser(), refreshTokenResult.getUser());
+        ArgumentCaptor<StoredRefreshToken> stored = ArgumentCaptor.forClass(StoredRefreshToken.class);
+        verify(refreshTokenStore).save(stored.capture());
+        Assertions.assertEquals(user, refreshTokenResult.getUser());
         Assertions.assertNotNull(refreshTokenResult.getExpiryDate());
+        Assertions.assertEquals(RefreshTokenService.hash(refreshTokenResult.getToken()),
+                stored.getValue().getTokenHash());
+        Assertions.assertNotEquals(refreshTokenResult.getToken(), stored.getValue().getTokenHash());
+        Assertions.assertEquals(28, stored.getValue().getUserId());
+        Assertions.assertEquals(0L, stored.getValue().getSecurityVersion());
+    }
+
+    @Test
+    void createRefreshTokenKeepsSecurityVersion() {
+        user.setSecurityVersion(3L);
+        when(userRepository.findById(28)).thenReturn(Optional.of(user));
+        when(appProperties.getAuth().getRefreshTokenExpirationMsec()).thenReturn(60000L);
+        RefreshToken refreshTokenResult = refreshTokenService.createRefreshToken(28);
+        ArgumentCaptor<StoredRefreshToken> stored = ArgumentCaptor.forClass(StoredRefreshToken.class);
+        verify(refreshTokenStore).save(stored.capture());
+        Assertions.assertEquals(3L, stored.getValue().getSecurityVersion());
+        Assertions.assertEquals(3L, refreshTokenResult.getSecurityVersion());
+    }
+
+    @Test
+    void createRefreshTokenForMissingUser() {
+        when(userRepository.findById(28)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> refreshTokenService.createRefreshToken(28));
+        verify(refreshTokenStore, never()).save(any(StoredRefreshToken.class));
+    }
+
+    @Test
+    void findByToken() {
+        Instant expiryDate = Instant.now().plusMillis(60000L);
+        when(refreshTokenStore.find(RefreshTokenService.hash(TOKEN)))
+                .thenReturn(Optional.of(new StoredRefreshToken(RefreshTokenService.hash(TOKEN), 28, expiryDate, 0L)));
+        when(userRepository.findById(28)).thenReturn(Optional.of(user));
+        RefreshToken refreshToken = refreshTokenService.findByToken(TOKEN).orElseThrow();
+        Assertions.assertEquals(TOKEN, refreshToken.getToken());
+        Assertions.assertEquals(user, refreshToken.getUser());
+        Assertions.assertEquals(expiryDate, refreshToken.getExpiryDate());
     }
 
     @Test
@@ -67,7 +105,7 @@ class RefreshTokenServiceTest {
         refreshToken.setId(1);
         refreshToken.setUser(user);
         refreshToken.setExpiryDate(Instant.now().plusMillis(60000L));
-        refreshToken.setToken("950c9760-805e-449c-a966-2d0d5ebd86f4");
+        refreshToken.setToken(TOKEN);
         RefreshToken refreshTokenResut = refreshTokenService.verifyExpiration(refreshToken);
         Assertions.assertEquals(refreshToken, refreshTokenResut);
     }
@@ -78,7 +116,79 @@ class RefreshTokenServiceTest {
         refreshToken.setId(1);
         refreshToken.setUser(user);
         refreshToken.setExpiryDate(Instant.now().minusMillis(60000L));
-        refreshToken.setToken("950c9760-805e-449c-a966-2d0d5ebd86f4");
+        refreshToken.setToken(TOKEN);
         assertThrows(TokenRefreshException.class, () -> refreshTokenService.verifyExpiration(refreshToken));
+        verify(refreshTokenStore).remove(RefreshTokenService.hash(TOKEN));
+    }
+
+    @Test
+    void refreshRotatesToken() {
+        when(refreshTokenStore.remove(RefreshTokenService.hash(TOKEN))).thenReturn(Optional.of(
+                new StoredRefreshToken(RefreshTokenService.hash(TOKEN), 28, Instant.now().plusMillis(60000L), 0L)));
+        when(userRepository.findById(28)).thenReturn(Optional.of(user));
+        when(appProperties.getAuth().getRefreshTokenExpirationMsec()).thenReturn(60000L);
+        RefreshToken rotated = refreshTokenService.refresh(TOKEN).orElseThrow();
+        Assertions.assertNotEquals(TOKEN, rotated.getToken());
+        Assertions.assertEquals(user, rotated.getUser());
+        verify(refreshTokenStore).save(any(StoredRefreshToken.class));
+    }
+
+    @Test
+    void refreshRejectsUsedToken() {
+        when(refreshTokenStore.remove(RefreshTokenService.hash(TOKEN))).thenReturn(Optional.empty());
+        Assertions.assertTrue(refreshTokenService.refresh(TOKEN).isEmpty());
+        verify(refreshTokenStore, never()).save(any(StoredRefreshToken.class));
+    }
+
+    @Test
+    void refreshRejectsExpiredToken() {
+        when(refreshTokenStore.remove(RefreshTokenService.hash(TOKEN))).thenReturn(Optional.of(
+                new StoredRefreshToken(RefreshTokenService.hash(TOKEN), 28, Instant.now().minusMillis(60000L), 0L)));
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.refresh(TOKEN));
+        verify(refreshTokenStore, never()).save(any(StoredRefreshToken.class));
+    }
+
+    @Test
+    void refreshRejectsTokenIssuedBeforePasswordReset() {
+        when(userRepository.findById(28)).thenReturn(Optional.of(user));
+        when(appProperties.getAuth().getRefreshTokenExpirationMsec()).thenReturn(60000L);
+        RefreshToken issued = refreshTokenService.createRefreshToken(28);
+        ArgumentCaptor<StoredRefreshToken> stored = ArgumentCaptor.forClass(StoredRefreshToken.class);
+        verify(refreshTokenStore).save(stored.capture());
+
+        user.setSecurityVersion(1L);
+        when(refreshTokenStore.remove(RefreshTokenService.hash(issued.getToken())))
+                .thenReturn(Optional.of(stored.getValue()));
+
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.refresh(issued.getToken()));
+        verify(refreshTokenStore).save(any(StoredRefreshToken.class));
+    }
+
+    @Test
+    void refreshWithoutRotationRemovesTokenIssuedBeforePasswordReset() {
+        ReflectionTestUtils.setField(refreshTokenService, "rotation", false);
+        user.setSecurityVersion(1L);
+        when(refreshTokenStore.find(RefreshTokenService.hash(TOKEN))).thenReturn(Optional.of(
+                new StoredRefreshToken(RefreshTokenService.hash(TOKEN), 28, Instant.now().plusMillis(60000L), 0L)));
+        when(userRepository.findById(28)).thenReturn(Optional.of(user));
+        assertThrows(TokenRefreshException.class, () -> refreshTokenService.refresh(TOKEN));
+        verify(refreshTokenStore).remove(RefreshTokenService.hash(TOKEN));
+    }
+
+    @Test
+    void refreshWithoutRotationKeepsToken() {
+        ReflectionTestUtils.setField(refreshTokenService, "rotation", false);
+        when(refreshTokenStore.find(RefreshTokenService.hash(TOKEN))).thenReturn(Optional.of(
+                new StoredRefreshToken(RefreshTokenService.hash(TOKEN), 28, Instant.now().plusMillis(60000L), 0L)));
+        when(userRepository.findById(28)).thenReturn(Optional.of(user));
+        RefreshToken refreshToken = refreshTokenService.refresh(TOKEN).orElseThrow();
+        Assertions.assertEquals(TOKEN, refreshToken.getToken());
+        verify(refreshTokenStore, never()).remove(any());
+    }
+
+    @Test
+    void hash() {
+        Assertions.assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+                RefreshTokenService.hash("abc"));
     }
-}
\ No newline at end of file
+}
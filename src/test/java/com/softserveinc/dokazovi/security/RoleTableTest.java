@@ -0,0 +1,85 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.entity.RoleEntity;
+import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
+import com.softserveinc.dokazovi.repositories.RoleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoleTableTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @InjectMocks
+    private RoleTable roleTable;
+
+    @Test
+    void get_LoadsRolesOnce() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(1, RolePermission.SAVE_TAG), role(2)));
+
+        RoleEntity first = roleTable.get(1);
+        RoleEntity second = roleTable.get(2);
+        RoleEntity again = roleTable.get(1);
+
+        assertEquals("ROLE_1", first.getName());
+        assertEquals(Set.of(RolePermission.SAVE_TAG), first.getPermissions());
+        assertEquals(Set.of(), second.getPermissions());
+        assertEquals(first, again);
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void get_WhenRoleIsMissing_Reloads() {
+        when(roleRepository.findAll())
+                .thenReturn(List.of(role(1)))
+                .thenReturn(List.of(role(1), role(2, RolePermission.DELETE_POST)));
+
+        roleTable.get(1);
+        RoleEntity added = roleTable.get(2);
+
+        assertEquals(Set.of(RolePermission.DELETE_POST), added.getPermissions());
+        assertNull(roleTable.get(null));
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    void get_ReturnsUnmodifiablePermissions() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(1, RolePermission.SAVE_TAG)));
+
+        Set<RolePermission> permissions = roleTable.get(1).getPermissions();
+
+        assertThrows(UnsupportedOperationException.class, () -> permissions.add(RolePermission.DELETE_POST));
+    }
+
+    @Test
+    void get_WithoutRole_DoesNotLoad() {
+        assertNull(roleTable.get(null));
+
+        verifyNoInteractions(roleRepository);
+    }
+
+    private static RoleEntity role(int id, RolePermission... permissions) {
+        return RoleEntity.builder()
+                .id(id)
+                .name("ROLE_" + id)
+                .permissions(new HashSet<>(List.of(permissions)))
+                .build();
+    }
+}
@@ -1,14 +1,19 @@
 package com.softserveinc.dokazovi.security;
 
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.servlet.http.HttpServletRequest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -16,6 +21,14 @@ class TokenAuthenticationFilterTest {
 
     @Mock
     HttpServletRequest request;
+    @Mock
+    TokenProvider tokenProvider;
+    @Mock
+    CustomUserDetailsService customUserDetailsService;
+    @Mock
+    TokenRevocationList tokenRevocationList;
+    @Mock
+    Claims claims;
     @InjectMocks
     TokenAuthenticationFilter tokenAuthenticationFilter;
 
@@ -30,4 +43,48 @@ class TokenAuthenticationFilterTest {
         String actualJwt = tokenAuthenticationFilter.getJwtFromRequest(request);
         assertEquals(token, actualJwt);
     }
+
+    @Test
+    void loadPrincipalFromClaims() {
+        ReflectionTestUtils.setField(tokenAuthenticationFilter, "statelessPrincipal", true);
+        UserPrincipal principal = UserPrincipal.builder().id(28).securityVersion(2L).build();
+        when(tokenProvider.getPrincipal(claims)).thenReturn(principal);
+        when(tokenRevocationList.isRevoked(28, 2L)).thenReturn(false);
+
+        assertSame(principal, tokenAuthenticationFilter.loadPrincipal(claims));
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    void loadPrincipalFromRevokedClaims() {
+        ReflectionTestUtils.setField(tokenAuthenticationFilter, "statelessPrincipal", true);
+        UserPrincipal principal = UserPrincipal.builder().id(28).securityVersion(1L).build();
+        when(tokenProvider.getPrincipal(claims)).thenReturn(principal);
+        when(tokenRevocationList.isRevoked(28, 1L)).thenReturn(true);
+
+        assertNull(tokenAuthenticationFilter.loadPrincipal(claims));
+        verifyNoInteractions(customUserDetailsService);
+    }
+
+    @Test
+    void loadPrincipalOfTokenWithoutClaims() {
+        ReflectionTestUtils.setField(tokenAuthenticationFilter, "statelessPrincipal", true);
+        UserPrincipal principal = UserPrincipal.builder().id(28).build();
+        when(tokenProvider.getPrincipal(claims)).thenReturn(null);
+        when(tokenProvider.getUserId(claims)).thenReturn(28);
+        when(customUserDetailsService.loadUserById(28)).thenReturn(principal);
+
+        assertSame(principal, tokenAuthenticationFilter.loadPrincipal(claims));
+    }
+
+    @Test
+    void loadPrincipalWhenStatelessModeIsOff() {
+        ReflectionTestUtils.setField(tokenAuthenticationFilter, "statelessPrincipal", false);
+        UserPrincipal principal = UserPrincipal.builder().id(28).build();
+        when(tokenProvider.getUserId(claims)).thenReturn(28);
+        when(customUserDetailsService.loadUserById(28)).thenReturn(principal);
+
+        assertSame(principal, tokenAuthenticationFilter.loadPrincipal(claims));
+        verifyNoInteractions(tokenRevocationList);
+    }
 }
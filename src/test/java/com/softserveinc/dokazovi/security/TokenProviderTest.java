@@ -1,6 +1,9 @@
 package com.softserveinc.dokazovi.security;
 
 import com.softserveinc.dokazovi.config.AppProperties;
+import com.softserveinc.dokazovi.entity.RoleEntity;
+import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
@@ -14,7 +17,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.Authentication;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -65,6 +74,54 @@ class TokenProviderTest {
         assertEquals(expectedId, actualId);
     }
 
+    @Test
+    void getPrincipalFromToken() {
+        RoleEntity role = RoleEntity.builder()
+                .id(2)
+                .name("ROLE_ADMIN")
+                .permissions(new HashSet<>(Set.of(RolePermission.EDIT_AUTHOR, RolePermission.SAVE_TAG)))
+                .build();
+        UserPrincipal userPrincipal = UserPrincipal.builder()
+                .id(28)
+                .email("test@test.com")
+                .password("test")
+                .role(role)
+                .securityVersion(3L)
+                .build();
+        String token = tokenProvider.createToken(userPrincipal);
+
+        UserPrincipal actual = tokenProvider.getPrincipal(tokenProvider.verify(token));
+
+        assertEquals(expectedId, actual.getId());
+        assertEquals("test@test.com", actual.getEmail());
+        assertNull(actual.getPassword());
+        assertEquals(3L, actual.getSecurityVersion());
+        assertEquals(2, actual.getRole().getId());
+        assertEquals("ROLE_ADMIN", actual.getRole().getName());
+        assertEquals(Set.of(RolePermission.EDIT_AUTHOR, RolePermission.SAVE_TAG), actual.getAuthorities());
+    }
+
+    @Test
+    void getPrincipalFromTokenWithoutClaims() {
+        assertNull(tokenProvider.getPrincipal(tokenProvider.verify(validToken)));
+    }
+
+    @Test
+    void verifyParsesTokenOnce() {
+        Claims claims = tokenProvider.verify(validToken);
+
+        assertEquals(expectedId.toString(), claims.getSubject());
+        assertSame(claims, tokenProvider.verify(validToken));
+    }
+
+    @Test
+    void verifyRejectsInvalidTokens() {
+        assertNull(tokenProvider.verify(validToken.substring(0, validToken.length() - 2) + "xx"));
+        assertNull(tokenProvider.verify(""));
+        assertNull(tokenProvider.verify("not a token"));
+        assertFalse(tokenProvider.validateToken("not a token"));
+    }
+
     @Test
     void validateToken() throws SignatureException, MalformedJwtException, ExpiredJwtException,
             UnsupportedJwtException, IllegalArgumentException {
@@ -0,0 +1,101 @@
+package com.softserveinc.dokazovi.security;
+
+import com.softserveinc.dokazovi.event.UserSecurityChangedEvent;
+import com.softserveinc.dokazovi.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final long TOKEN_EXPIRATION_MSEC = 600_000L;
+
+    @Mock
+    private TokenRevocationStore store;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    void init() {
+        revocationList = new TokenRevocationList(store, userRepository, TOKEN_EXPIRATION_MSEC, clockAt(NOW));
+    }
+
+    @Test
+    void revokeRejectsOlderVersionsOnly() {
+        revocationList.revoke(1, 3L);
+
+        assertTrue(revocationList.isRevoked(1, 2L));
+        assertFalse(revocationList.isRevoked(1, 3L));
+        assertFalse(revocationList.isRevoked(2, 0L));
+        verify(store).save(new TokenRevocation(1, 3L, NOW + TOKEN_EXPIRATION_MSEC));
+    }
+
+    @Test
+    void revokeKeepsHigherVersion() {
+        revocationList.revoke(1, 3L);
+        revocationList.revoke(1, 2L);
+
+        assertTrue(revocationList.isRevoked(1, 2L));
+    }
+
+    @Test
+    void revokeIsKeptLocallyWhenStoreFails() {
+        doThrow(new IllegalStateException("Redis is down")).when(store).save(any(TokenRevocation.class));
+
+        revocationList.revoke(1, 3L);
+
+        assertTrue(revocationList.isRevoked(1, 2L));
+    }
+
+    @Test
+    void changeRevokesWithNewVersion() {
+        when(userRepository.findSecurityVersionById(1)).thenReturn(Optional.of(4L));
+
+        revocationList.onUserSecurityChanged(new UserSecurityChangedEvent(1));
+
+        assertTrue(revocationList.isRevoked(1, 3L));
+        assertFalse(revocationList.isRevoked(1, 4L));
+    }
+
+    @Test
+    void refreshReadsRevocationsOfOtherNodes() {
+        when(store.findActive(NOW)).thenReturn(List.of(new TokenRevocation(5, 2L, NOW + 1000)));
+
+        revocationList.refresh();
+
+        assertTrue(revocationList.isRevoked(5, 1L));
+    }
+
+    @Test
+    void expiredRevocationIsIgnored() {
+        when(store.findActive(NOW)).thenReturn(List.of(new TokenRevocation(5, 2L, NOW)));
+
+        revocationList.refresh();
+
+        assertFalse(revocationList.isRevoked(5, 1L));
+    }
+
+    private static Clock clockAt(long millis) {
+        return Clock.fixed(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
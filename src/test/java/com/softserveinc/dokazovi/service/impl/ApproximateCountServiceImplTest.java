@@ -0,0 +1,60 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ApproximateCountServiceImplTest {
+
+    private final ApproximateCountServiceImpl approximateCountService = new ApproximateCountServiceImpl();
+
+    @Test
+    void count_WhenCached_DoesNotCountAgain() {
+        AtomicLong rows = new AtomicLong(5);
+        AtomicLong countQueries = new AtomicLong();
+
+        assertEquals(5, approximateCountService.count("posts", () -> {
+            countQueries.incrementAndGet();
+            return rows.get();
+        }));
+        rows.set(6);
+
+        assertEquals(5, approximateCountService.count("posts", rows::get));
+        assertEquals(1, countQueries.get());
+    }
+
+    @Test
+    void count_AfterRefresh_ReturnsRecountedValue() {
+        AtomicLong rows = new AtomicLong(5);
+        approximateCountService.count("posts", rows::get);
+        rows.set(6);
+
+        approximateCountService.refresh();
+
+        assertEquals(6, approximateCountService.count("posts", () -> 0L));
+    }
+
+    @Test
+    void refresh_WhenCountFails_KeepsPreviousValue() {
+        AtomicLong rows = new AtomicLong(5);
+        approximateCountService.count("experts", () -> {
+            if (rows.getAndIncrement() > 5) {
+                throw new IllegalStateException("Database is not available");
+            }
+            return 5L;
+        });
+
+        approximateCountService.refresh();
+
+        assertEquals(5, approximateCountService.count("experts", () -> 0L));
+    }
+
+    @Test
+    void count_ForDifferentKeys_CountsEach() {
+        approximateCountService.count("posts", () -> 5L);
+
+        assertEquals(7, approximateCountService.count("experts", () -> 7L));
+    }
+}
@@ -8,6 +8,8 @@ import com.softserveinc.dokazovi.entity.RoleEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
 import com.softserveinc.dokazovi.entity.enumerations.UserStatus;
+import com.softserveinc.dokazovi.event.AuthorChangedEvent;
+import com.softserveinc.dokazovi.event.UserSecurityChangedEvent;
 import com.softserveinc.dokazovi.exception.ForbiddenPermissionsException;
 import com.softserveinc.dokazovi.mapper.AuthorMapper;
 import com.softserveinc.dokazovi.repositories.AuthorRepository;
@@ -25,6 +27,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.sql.Timestamp;
@@ -57,6 +60,8 @@ class AuthorServiceImplTest {
     private PasswordEncoder passwordEncoder;
     @Mock
     private AuthorMapper authorMapper;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private AuthorServiceImpl authorService;
     @Captor
@@ -167,6 +172,8 @@ class AuthorServiceImplTest {
 
         verify(authorRepository).save(authorEntityArgumentCaptor.capture());
         Assertions.assertEquals(authorEntityArgumentCaptor.getValue().getId(), authorEntity.getId());
+        verify(eventPublisher).publishEvent(new AuthorChangedEvent(1));
+        verify(eventPublisher).publishEvent(any(UserSecurityChangedEvent.class));
     }
 
     @Test
@@ -185,6 +192,11 @@ class AuthorServiceImplTest {
 
 
         when(cityRepository.findById(anyInt())).thenReturn(Optional.of(cityEntity));
+        when(authorRepository.save(any(AuthorEntity.class))).thenAnswer(invocation -> {
+            AuthorEntity saved = invocation.getArgument(0);
+            saved.setId(5);
+            return saved;
+        });
 
         UserPrincipal userPrincipal = UserPrincipal.builder()
                 .role(adminRole)
@@ -210,8 +222,10 @@ class AuthorServiceImplTest {
 
         verify(userRepository).save(userEntityArgumentCaptor.capture());
         verify(authorRepository).save(authorEntityArgumentCaptor.capture());
+        author.setId(5);
         Assertions.assertEquals(authorEntityArgumentCaptor.getValue(), author);
         Assertions.assertEquals(userEntityArgumentCaptor.getValue(), user);
+        verify(eventPublisher).publishEvent(new AuthorChangedEvent(5));
     }
 
     @Test
@@ -225,6 +239,7 @@ class AuthorServiceImplTest {
         authorService.delete(anyInt(), userPrincipal);
 
         verify(authorRepository, times(1)).delete(any(AuthorEntity.class));
+        verify(eventPublisher).publishEvent(any(AuthorChangedEvent.class));
     }
 
     @Test
@@ -0,0 +1,52 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.cache.InstrumentedCacheManager;
+import com.softserveinc.dokazovi.dto.cache.CacheMetricsDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CacheMetricsServiceImplTest {
+
+    private InstrumentedCacheManager cacheManager;
+    private CacheMetricsServiceImpl cacheMetricsService;
+
+    @BeforeEach
+    void init() {
+        cacheManager = new InstrumentedCacheManager(
+                new ConcurrentMapCacheManager("viewCount", "mainPage"), new SimpleMeterRegistry());
+        cacheMetricsService = new CacheMetricsServiceImpl(cacheManager);
+        ReflectionTestUtils.setField(cacheMetricsService, "node", "node-1");
+    }
+
+    @Test
+    void getCacheMetrics_ReportsEveryCacheByName() {
+        cacheManager.getCache("viewCount").get("url", () -> 5);
+        cacheManager.getCache("viewCount").get("url", () -> 5);
+        cacheManager.getCache("viewCount").get("url", () -> 5);
+        cacheManager.getCache("viewCount").evict("other");
+
+        List<CacheMetricsDTO> metrics = cacheMetricsService.getCacheMetrics();
+
+        assertEquals(2, metrics.size());
+        CacheMetricsDTO mainPage = metrics.get(0);
+        assertEquals("mainPage", mainPage.getCacheName());
+        assertNull(mainPage.getHitRatio());
+        CacheMetricsDTO viewCount = metrics.get(1);
+        assertEquals("viewCount", viewCount.getCacheName());
+        assertEquals("node-1", viewCount.getNode());
+        assertEquals(2L, viewCount.getHits());
+        assertEquals(1L, viewCount.getMisses());
+        assertEquals(2.0 / 3, viewCount.getHitRatio());
+        assertEquals(1L, viewCount.getLoads());
+        assertEquals(1L, viewCount.getEvictions());
+        assertEquals(1L, viewCount.getSize());
+    }
+}
@@ -1,8 +1,9 @@
 package com.softserveinc.dokazovi.service.impl;
 
-import com.softserveinc.dokazovi.entity.CityEntity;
-import com.softserveinc.dokazovi.mapper.CityMapper;
-import com.softserveinc.dokazovi.repositories.CityRepository;
+import com.softserveinc.dokazovi.dto.city.CityDTO;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -11,38 +12,35 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class CityServiceImplTest {
 
     @Mock
-    private CityRepository cityRepository;
-    @Mock
-    private CityMapper cityMapper;
+    private ReferenceDataService referenceDataService;
     @InjectMocks
     private CityServiceImpl cityService;
 
-    @Test
-    void findAllCities() {
-        List<CityEntity> cities = List.of(new CityEntity(), new CityEntity());
+    private List<CityDTO> cities;
 
-        when(cityRepository.findAll()).thenReturn(cities);
-        cityService.findAllCities();
+    @BeforeEach
+    void init() {
+        cities = List.of(
+                CityDTO.builder().id(1).name("Київ").regionId(1).build(),
+                CityDTO.builder().id(2).name("Львів").regionId(2).build(),
+                CityDTO.builder().id(3).name("Бровари").regionId(1).build());
+        when(referenceDataService.getCities()).thenReturn(new ReferenceData<>(cities, CityDTO::getId, "\"1\""));
+    }
 
-        verify(cityMapper, times(cities.size())).toCityDTO(any(CityEntity.class));
+    @Test
+    void findAllCities() {
+        assertEquals(cities, cityService.findAllCities());
     }
 
     @Test
     void findAllCitiesByRegion() {
-        List<CityEntity> cities = List.of(new CityEntity(), new CityEntity());
-
-        when(cityRepository.findAllByRegionId(any(Integer.class))).thenReturn(cities);
-        cityService.findAllCitiesByRegion(any(Integer.class));
-
-        verify(cityMapper, times(cities.size())).toCityDTO(any(CityEntity.class));
+        assertEquals(List.of(cities.get(0), cities.get(2)), cityService.findAllCitiesByRegion(1));
     }
-}
\ No newline at end of file
+}
@@ -2,14 +2,19 @@ package com.softserveinc.dokazovi.service.impl;
 
 import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
 import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
 import com.softserveinc.dokazovi.mapper.DirectionMapper;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.pojo.ReferenceDataType;
 import com.softserveinc.dokazovi.repositories.DirectionRepository;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -30,17 +35,22 @@ class DirectionServiceImplTest {
     private DirectionRepository directionRepository;
     @Mock
     private DirectionMapper directionMapper;
+    @Mock
+    private ReferenceDataService referenceDataService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private DirectionServiceImpl directionService;
 
     @Test
     void findAllDirections() {
-        List<DirectionEntity> directions = List.of(new DirectionEntity(), new DirectionEntity());
+        List<DirectionDTO> directions = List.of(DirectionDTO.builder().id(1).build());
 
-        when(directionRepository.findAll()).thenReturn(directions);
-        directionService.findAllDirections();
+        when(referenceDataService.getDirections())
+                .thenReturn(new ReferenceData<>(directions, DirectionDTO::getId, "\"1\""));
 
-        verify(directionMapper, times(directions.size())).toDirectionDTO(any(DirectionEntity.class));
+        Assertions.assertEquals(directions, directionService.findAllDirections());
+        verify(directionRepository, times(0)).findAll();
     }
 
     @Test
@@ -58,6 +68,7 @@ class DirectionServiceImplTest {
         directionService.updateDirectionsHasDoctorsStatus();
         verify(directionRepository, times(1))
                 .updateDirectionsHasDoctorsStatus();
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.DIRECTIONS));
     }
 
     @Test
@@ -66,6 +77,7 @@ class DirectionServiceImplTest {
         directionService.updateDirectionsHasPostsStatusByEntities(new HashSet(entities));
         verify(directionRepository, times(1))
                 .updateDirectionsHasPostsStatus(any());
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.DIRECTIONS));
     }
 
     @Test
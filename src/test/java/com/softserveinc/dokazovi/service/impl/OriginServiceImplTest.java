@@ -1,38 +1,32 @@
 package com.softserveinc.dokazovi.service.impl;
 
-import com.softserveinc.dokazovi.entity.OriginEntity;
-import com.softserveinc.dokazovi.mapper.OriginMapper;
-import com.softserveinc.dokazovi.repositories.OriginRepository;
+import com.softserveinc.dokazovi.dto.origin.OriginDTO;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import java.util.List;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class OriginServiceImplTest {
     @Mock
-    private OriginRepository originRepository;
-    @Mock
-    private OriginMapper originMapper;
+    private ReferenceDataService referenceDataService;
     @InjectMocks
     private OriginServiceImpl originService;
 
     @Test
     void findAllOrigins() {
-        List<OriginEntity> origins = List.of(new OriginEntity(), new OriginEntity());
+        List<OriginDTO> origins = List.of(OriginDTO.builder().id(1).build(), OriginDTO.builder().id(2).build());
 
-        when(originRepository.findAll()).thenReturn(origins);
-        originService.findAllOrigins();
+        when(referenceDataService.getOrigins()).thenReturn(new ReferenceData<>(origins, OriginDTO::getId, "\"1\""));
 
-        verify(originMapper, times(origins.size())).toOriginDTO(any(OriginEntity.class));
-        assertEquals(originService.findAllOrigins().size(), origins.size());
+        assertEquals(origins, originService.findAllOrigins());
     }
 }
@@ -5,21 +5,28 @@ import com.softserveinc.dokazovi.entity.PlatformInformationEntity;
 import com.softserveinc.dokazovi.entity.RoleEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
 import com.softserveinc.dokazovi.exception.ForbiddenPermissionsException;
 import com.softserveinc.dokazovi.mapper.PlatformInformationMapper;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.pojo.ReferenceDataType;
 import com.softserveinc.dokazovi.repositories.PlatformInformationRepository;
 import com.softserveinc.dokazovi.security.UserPrincipal;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.List;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
@@ -35,6 +42,12 @@ class PlatformInformationServiceImplTest {
     @Mock
     private PlatformInformationMapper mapper;
 
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PlatformInformationServiceImpl infoService;
 
@@ -96,13 +109,16 @@ class PlatformInformationServiceImplTest {
 
     @Test
     void findPlatformInfoById() {
-        Integer id = 1;
-
-        when(platformInformationRepository.findById(any(Integer.class))).thenReturn(Optional.of(infoEntityWithId));
-
-        infoService.getInfoById(id);
+        PlatformInformationDTO info = PlatformInformationDTO.builder()
+                .id(infoEntityWithId.getId())
+                .title(infoEntityWithId.getTitle())
+                .text(infoEntityWithId.getText())
+                .build();
+        when(referenceDataService.getPlatformInformation())
+                .thenReturn(new ReferenceData<>(List.of(info), PlatformInformationDTO::getId, "\"1\""));
 
-        verify(mapper).toPlatformInformationDTO(infoEntityWithId);
+        assertEquals(info, infoService.getInfoById(1));
+        assertNull(infoService.getInfoById(2));
     }
 
     @Test
@@ -114,6 +130,7 @@ class PlatformInformationServiceImplTest {
         infoService.saveInfo(userPrincipal, infoDTOWithoutId);
 
         verify(mapper, times(1)).toPlatformInformationDTO(any());
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.PLATFORM_INFORMATION));
     }
 
     @Test
@@ -134,6 +151,7 @@ class PlatformInformationServiceImplTest {
         infoService.updateInfo(userPrincipal, infoDTOWithoutId);
 
         verify(mapper, times(1)).toPlatformInformationDTO(any());
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.PLATFORM_INFORMATION));
     }
 
     @Test
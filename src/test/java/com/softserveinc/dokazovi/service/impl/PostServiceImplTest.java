@@ -1,14 +1,21 @@
 package com.softserveinc.dokazovi.service.impl;
 
 import com.softserveinc.dokazovi.analytics.GoogleAnalytics;
+import com.softserveinc.dokazovi.cache.VersionedValue;
 import com.softserveinc.dokazovi.annotations.DirectionExists;
 import com.softserveinc.dokazovi.annotations.OriginExists;
 import com.softserveinc.dokazovi.annotations.TagExists;
 import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
 import com.softserveinc.dokazovi.dto.direction.DirectionDTOForSavingPost;
+import com.softserveinc.dokazovi.dto.payload.CursorPageDTO;
+import com.softserveinc.dokazovi.dto.payload.SliceDTO;
 import com.softserveinc.dokazovi.dto.origin.OriginDTOForSavingPost;
+import com.softserveinc.dokazovi.dto.post.PostDTO;
+import com.softserveinc.dokazovi.dto.post.PostMainPageDTO;
 import com.softserveinc.dokazovi.dto.post.PostPublishedAtDTO;
 import com.softserveinc.dokazovi.dto.post.PostSaveFromUserDTO;
+import com.softserveinc.dokazovi.dto.post.PostSearchResultDTO;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
 import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
 import com.softserveinc.dokazovi.dto.post.PostTypeIdOnlyDTO;
 import com.softserveinc.dokazovi.dto.tag.TagDTO;
@@ -20,13 +27,22 @@ import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
 import com.softserveinc.dokazovi.entity.enumerations.RolePermission;
 import com.softserveinc.dokazovi.entity.enumerations.UserStatus;
+import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.exception.ForbiddenPermissionsException;
 import com.softserveinc.dokazovi.mapper.PostMapper;
+import com.softserveinc.dokazovi.pojo.PostCursor;
+import com.softserveinc.dokazovi.pojo.PostFilter;
 import com.softserveinc.dokazovi.repositories.AuthorRepository;
 import com.softserveinc.dokazovi.repositories.PostRepository;
 import com.softserveinc.dokazovi.repositories.UserRepository;
+import com.softserveinc.dokazovi.repositories.projection.PostBucketView;
+import com.softserveinc.dokazovi.repositories.projection.PostIdView;
+import com.softserveinc.dokazovi.repositories.projection.PostSearchView;
+import com.softserveinc.dokazovi.repositories.projection.PostSummaryView;
 import com.softserveinc.dokazovi.security.UserPrincipal;
+import com.softserveinc.dokazovi.service.ApproximateCountService;
+import com.softserveinc.dokazovi.service.PostVersionService;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,10 +51,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 
 import java.sql.Timestamp;
@@ -46,21 +65,27 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.Month;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -80,16 +105,24 @@ class PostServiceImplTest {
     private Pageable pageable;
     @InjectMocks
     private PostServiceImpl postService;
-    private Page<PostEntity> postEntityPage;
+    private Page<PostIdView> postIdViewPage;
+    private Page<Integer> postIdPage;
     private UserEntity userEntity;
     @Mock
     private GoogleAnalytics googleAnalytics;
     @Mock
     private DirectionServiceImpl directionService;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private ApproximateCountService approximateCountService;
+    @Mock
+    private PostVersionService postVersionService;
 
     @BeforeEach
     void init() {
-        postEntityPage = new PageImpl<>(List.of(new PostEntity(), new PostEntity()));
+        postIdViewPage = new PageImpl<>(List.<PostIdView>of(() -> 1, () -> 2));
+        postIdPage = new PageImpl<>(List.of(1, 2));
         Set<RolePermission> rolePermissions = new HashSet<>();
         rolePermissions.add(RolePermission.SAVE_OWN_PUBLICATION);
         RoleEntity roleEntity = RoleEntity.builder()
@@ -117,6 +150,36 @@ class PostServiceImplTest {
         verify(postMapper).toPostDTO(eq(postEntity));
     }
 
+    @Test
+    void findPostById_WhenPostChangesWhileItIsLoaded_LoadsItAgain() {
+        ConcurrentMapCache cache = new ConcurrentMapCache("postDetail");
+        when(cacheManager.getCache("postDetail")).thenReturn(cache);
+        AtomicLong version = new AtomicLong(1);
+        when(postVersionService.getVersion()).thenAnswer(invocation -> Optional.of(version.get()));
+        PostEntity oldPost = PostEntity.builder().id(1).title("old").build();
+        PostEntity newPost = PostEntity.builder().id(1).title("new").build();
+        when(postRepository.findById(1))
+                .thenAnswer(invocation -> {
+                    // the update commits after the old row is read: it bumps the version and clears the cache
+                    version.set(2);
+                    cache.clear();
+                    return Optional.of(oldPost);
+                })
+                .thenReturn(Optional.of(newPost));
+        when(postMapper.toPostDTO(oldPost)).thenReturn(PostDTO.builder().id(1).title("old").build());
+        when(postMapper.toPostDTO(newPost)).thenReturn(PostDTO.builder().id(1).title("new").build());
+
+        PostDTO loadedDuringUpdate = postService.findPostById(1);
+        PostDTO afterUpdate = postService.findPostById(1);
+        PostDTO cached = postService.findPostById(1);
+
+        assertEquals("old", loadedDuringUpdate.getTitle());
+        assertEquals("new", afterUpdate.getTitle());
+        assertEquals("new", cached.getTitle());
+        assertEquals(2L, ((VersionedValue) cache.get(1).get()).getVersion());
+        verify(postRepository, times(2)).findById(1);
+    }
+
     @Test
     void saveFromUser_WhenIdIsPresent_isNull_DoctorRole() {
 
@@ -289,25 +352,164 @@ class PostServiceImplTest {
 
     @Test
     void findAllByStatus() {
-        when(postRepository.findAllByStatus(any(PostStatus.class), any(Pageable.class))).thenReturn(postEntityPage);
+        when(postRepository.findIdsByStatus(any(PostStatus.class), any(Pageable.class))).thenReturn(postIdViewPage);
+        stubFindSummariesByIdIn();
         postService.findAllByStatus(PostStatus.PUBLISHED, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
+    }
+
+    @Test
+    void findLatestByCursor_WhenMoreRowsThanSize_ReturnsNextCursor() {
+        Timestamp publishedAt = Timestamp.valueOf(LocalDateTime.of(2021, Month.MAY, 5, 10, 0));
+        when(postRepository.findIdsByStatusBeforeCursor(PostStatus.PUBLISHED,
+                PostCursor.FIRST_PAGE.getPublishedAt(), PostCursor.FIRST_PAGE.getPostId(), 3))
+                .thenReturn(List.of(3, 2, 1));
+        List<PostSummaryView> views = List.of(summaryView(2), summaryView(3));
+        when(postRepository.findSummariesByIdIn(List.of(3, 2))).thenReturn(views);
+        when(postMapper.toPostSummaryDTO(any(PostSummaryView.class), anySet(), anySet(), anySet()))
+                .thenAnswer(invocation -> PostSummaryDTO.builder()
+                        .id(invocation.<PostSummaryView>getArgument(0).getId())
+                        .publishedAt(publishedAt)
+                        .build());
+
+        CursorPageDTO<?> page = postService.findLatestByCursor(PostStatus.PUBLISHED, PostCursor.FIRST_PAGE, 2);
+
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertEquals(PostCursor.of(publishedAt, 2), PostCursor.decode(page.getNextCursor()));
+        verifySummariesMapped(2);
+    }
+
+    @Test
+    void findLatestByCursor_WhenLastPage_ReturnsNoCursor() {
+        PostCursor cursor = PostCursor.of(Timestamp.valueOf(LocalDateTime.of(2021, Month.MAY, 5, 10, 0)), 2);
+        when(postRepository.findIdsByStatusBeforeCursor(PostStatus.PUBLISHED,
+                cursor.getPublishedAt(), cursor.getPostId(), 3))
+                .thenReturn(List.of(1));
+        List<PostSummaryView> views = List.of(summaryView(1));
+        when(postRepository.findSummariesByIdIn(List.of(1))).thenReturn(views);
+
+        CursorPageDTO<?> page = postService.findLatestByCursor(PostStatus.PUBLISHED, cursor, 2);
+
+        assertEquals(1, page.getContent().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void findSliceByStatus_WithoutTotal_DoesNotCount() {
+        PageRequest pageRequest = PageRequest.of(0, 2);
+        PostFilter filter = PostFilter.builder()
+                .statuses(Set.of(PostStatus.PUBLISHED))
+                .build();
+        when(postRepository.findIdSliceByFilter(filter, pageRequest))
+                .thenReturn(new SliceImpl<>(List.of(2, 1), pageRequest, true));
+        List<PostSummaryView> views = List.of(summaryView(1), summaryView(2));
+        when(postRepository.findSummariesByIdIn(List.of(2, 1))).thenReturn(views);
+
+        SliceDTO<PostSummaryDTO> slice = postService.findSliceByStatus(PostStatus.PUBLISHED, pageRequest, false);
+
+        assertEquals(2, slice.getContent().size());
+        assertTrue(slice.isHasNext());
+        assertNull(slice.getApproximateTotalElements());
+        verify(approximateCountService, times(0)).count(any(), any());
+        verify(postRepository, times(0)).countByFilter(any());
+    }
+
+    @Test
+    void findSliceByExpertAndTypeAndDirections_WhenUnsorted_SortsByPublishedAtAndCountsApproximately() {
+        PostFilter filter = PostFilter.builder()
+                .authorId(2)
+                .typeIds(Set.of(1))
+                .statuses(Set.of(PostStatus.PUBLISHED))
+                .build();
+        PageRequest sortedPageRequest = PageRequest.of(1, 10, Sort.by(Sort.Direction.DESC, "publishedAt", "id"));
+        when(postRepository.findIdSliceByFilter(filter, sortedPageRequest))
+                .thenReturn(new SliceImpl<>(List.of(), sortedPageRequest, false));
+        when(approximateCountService.count(eq(filter), any())).thenReturn(10L);
+
+        SliceDTO<PostSummaryDTO> slice = postService.findSliceByExpertAndTypeAndDirections(
+                2, Set.of(1), null, PageRequest.of(1, 10), true);
+
+        assertTrue(slice.getContent().isEmpty());
+        assertFalse(slice.isHasNext());
+        assertEquals(1, slice.getNumber());
+        assertEquals(10L, slice.getApproximateTotalElements());
+    }
+
+    @Test
+    void findLatestByDirectionAndCursor_WhenFiltersAreMissing_PassesEmptySets() {
+        when(postRepository.findIdsByDirectionAndTypesAndTagsBeforeCursor(any(), anySet(), anySet(), any(),
+                any(), any(), any()))
+                .thenReturn(List.of());
+
+        postService.findLatestByDirectionAndCursor(1, null, null, PostCursor.FIRST_PAGE, 500);
+
+        verify(postRepository).findIdsByDirectionAndTypesAndTagsBeforeCursor(1, Set.of(), Set.of(),
+                PostStatus.PUBLISHED, PostCursor.FIRST_PAGE.getPublishedAt(), PostCursor.FIRST_PAGE.getPostId(),
+                101);
+    }
+
+    @Test
+    void findLatestByExpertAndCursor() {
+        Set<Integer> types = Set.of(1, 2);
+        when(postRepository.findIdsByAuthorIdAndTypesAndDirectionsBeforeCursor(any(), anySet(), anySet(), any(),
+                any(), any(), any()))
+                .thenReturn(List.of(1));
+        List<PostSummaryView> views = List.of(summaryView(1));
+        when(postRepository.findSummariesByIdIn(List.of(1))).thenReturn(views);
+
+        postService.findLatestByExpertAndCursor(1, types, null, PostCursor.FIRST_PAGE, 10);
+
+        verify(postRepository).findIdsByAuthorIdAndTypesAndDirectionsBeforeCursor(1, types, Set.of(),
+                PostStatus.PUBLISHED, PostCursor.FIRST_PAGE.getPublishedAt(), PostCursor.FIRST_PAGE.getPostId(),
+                11);
+        verifySummariesMapped(1);
     }
 
     @Test
     void findImportantPosts() {
-        when(postRepository.findAllByImportantIsTrueAndStatusOrderByImportanceOrder(any(PostStatus.class),
+        when(postRepository.findIdsByImportantIsTrueAndStatusOrderByImportanceOrder(any(PostStatus.class),
                 any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdViewPage);
+        stubFindSummariesByIdIn();
         postService.findImportantPosts(pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
+    }
+
+    @Test
+    void searchPublished_KeepsRankOrderAndHeadlines() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("title"));
+        Page<PostSearchView> found = new PageImpl<>(List.of(searchView(2, 0.9f), searchView(1, 0.5f)),
+                PageRequest.of(0, 10), 2);
+        when(postRepository.searchPublished("vaccine", PageRequest.of(0, 10))).thenReturn(found);
+        List<PostSummaryView> views = List.of(summaryView(1), summaryView(2));
+        when(postRepository.findSummariesByIdIn(List.of(2, 1))).thenReturn(views);
+        when(postMapper.toPostSummaryDTO(any(PostSummaryView.class), anySet(), anySet(), anySet()))
+                .thenAnswer(invocation -> PostSummaryDTO.builder()
+                        .id(invocation.<PostSummaryView>getArgument(0).getId())
+                        .build());
+
+        Page<PostSearchResultDTO> page = postService.searchPublished(" vaccine ", pageable);
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(2, page.getContent().get(0).getPost().getId());
+        assertEquals(0.9f, page.getContent().get(0).getRank());
+        assertEquals("<b>post 2</b>", page.getContent().get(0).getHeadline());
+        assertEquals(1, page.getContent().get(1).getPost().getId());
+    }
+
+    @Test
+    void searchPublished_WhenQueryIsBlank_ThrowException() {
+        assertThrows(BadRequestException.class, () -> postService.searchPublished(" ", pageable));
+        verify(postRepository, times(0)).searchPublished(any(), any());
     }
 
     @Test
     void findPostsByAuthorIdAndDirections_WhenWrong_ThrowException() {
         Set<Integer> directions = Set.of(1, 4);
         Pageable pageable = PageRequest.of(0, 12);
-        when(postRepository.findPostsByAuthorIdAndDirections(any(), any(), any()))
+        when(postRepository.findIdsByAuthorIdAndDirections(any(), any(), any()))
                 .thenThrow(new EntityNotFoundException("Id does not exist"));
         assertThrows(EntityNotFoundException.class, () -> postService
                 .findPostsByAuthorIdAndDirections(pageable, 1, directions));
@@ -317,42 +519,46 @@ class PostServiceImplTest {
     void findPostsByAuthorIdAndDirections() {
         Set<Integer> directions = Set.of(1, 4);
         Pageable pageable = PageRequest.of(0, 12);
-        when(postRepository.findPostsByAuthorIdAndDirections(any(), any(), any()))
-                .thenReturn(postEntityPage);
+        when(postRepository.findIdsByAuthorIdAndDirections(any(), any(), any()))
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
         postService.findPostsByAuthorIdAndDirections(pageable, 1, directions);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllByDirection() {
         Integer directionId = 1;
-        when(postRepository.findAllByDirectionsContainsAndStatus(
+        when(postRepository.findIdsByDirectionsContainsAndStatus(
                 any(DirectionEntity.class), any(PostStatus.class), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdViewPage);
+        stubFindSummariesByIdIn();
         postService.findAllByDirection(directionId, null, null, PostStatus.PUBLISHED, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllByDirectionAndType() {
         Integer directionId = 1;
         Set<Integer> types = Set.of(1, 2, 3);
-        when(postRepository.findAllByDirectionsContainsAndTypeIdInAndStatus(
+        when(postRepository.findIdsByDirectionsContainsAndTypeIdInAndStatus(
                 any(DirectionEntity.class), anySet(), any(PostStatus.class), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdViewPage);
+        stubFindSummariesByIdIn();
         postService.findAllByDirection(directionId, types, null, PostStatus.PUBLISHED, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllByDirectionAndTags() {
         Integer directionId = 1;
         Set<Integer> tags = Set.of(1, 2, 3, 4);
-        when(postRepository.findAllByDirectionsContainsAndTagsIdInAndStatus(
+        when(postRepository.findIdsByDirectionsContainsAndTagsIdInAndStatus(
                 any(DirectionEntity.class), anySet(), any(PostStatus.class), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdViewPage);
+        stubFindSummariesByIdIn();
         postService.findAllByDirection(directionId, null, tags, PostStatus.PUBLISHED, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
@@ -360,43 +566,47 @@ class PostServiceImplTest {
         Integer directionId = 1;
         Set<Integer> types = Set.of(1, 2, 3);
         Set<Integer> tags = Set.of(1, 2, 3, 4);
-        when(postRepository.findAllByDirectionsContainsAndTypeIdInAndTagsIdInAndStatus(
+        when(postRepository.findIdsByDirectionsContainsAndTypeIdInAndTagsIdInAndStatus(
                 any(DirectionEntity.class), anySet(), anySet(), any(PostStatus.class), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdViewPage);
+        stubFindSummariesByIdIn();
         postService.findAllByDirection(directionId, types, tags, PostStatus.PUBLISHED, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllByExpert() {
         Integer expertId = 3;
-        when(postRepository.findAllByAuthorIdAndStatusOrderByPublishedAtDesc(
+        when(postRepository.findIdsByAuthorIdAndStatusOrderByPublishedAtDesc(
                 any(Integer.class), any(PostStatus.class), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdViewPage);
+        stubFindSummariesByIdIn();
         postService.findAllByExpertAndTypeAndDirections(expertId, null, null, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllByExpertAndType() {
         Integer expertId = 5;
         Set<Integer> typeId = Set.of(1, 2);
-        when(postRepository.findAllByAuthorIdAndTypeIdInAndStatus(any(Integer.class),
+        when(postRepository.findIdsByAuthorIdAndTypeIdInAndStatus(any(Integer.class),
                 anySet(), any(PostStatus.class), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdViewPage);
+        stubFindSummariesByIdIn();
         postService.findAllByExpertAndTypeAndDirections(expertId, typeId, null, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllByExpertAndDirections() {
         Integer expertId = 5;
         Set<Integer> directionId = Set.of(2, 3);
-        when(postRepository.findPostsByAuthorIdAndDirections(any(Pageable.class), any(Integer.class),
+        when(postRepository.findIdsByAuthorIdAndDirections(any(Pageable.class), any(Integer.class),
                 anySet()))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
         postService.findAllByExpertAndTypeAndDirections(expertId, null, directionId, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
@@ -404,22 +614,24 @@ class PostServiceImplTest {
         Integer expertId = 5;
         Set<Integer> directionId = Set.of(2, 3);
         Set<Integer> typeId = Set.of(1, 2);
-        when(postRepository.findAllByExpertAndByDirectionsAndByPostType(any(Integer.class),
+        when(postRepository.findIdsByExpertAndByDirectionsAndByPostType(any(Integer.class),
                 anySet(), anySet(), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
         postService.findAllByExpertAndTypeAndDirections(expertId, typeId, directionId, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllByExpertAndStatus() {
         Integer expertId = 3;
         PostStatus postStatus = PostStatus.DRAFT;
-        when(postRepository.findAllByAuthorIdAndStatusOrderByPublishedAtDesc(
+        when(postRepository.findIdsByAuthorIdAndStatusOrderByPublishedAtDesc(
                 any(Integer.class), any(PostStatus.class), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdViewPage);
+        stubFindSummariesByIdIn();
         postService.findAllByExpertAndTypeAndStatus(expertId, null, postStatus, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
@@ -427,18 +639,16 @@ class PostServiceImplTest {
         Integer expertId = 5;
         Set<Integer> typeId = Set.of(1, 2);
         PostStatus postStatus = PostStatus.DRAFT;
-        when(postRepository.findAllByAuthorIdAndTypeIdInAndStatus(any(Integer.class),
+        when(postRepository.findIdsByAuthorIdAndTypeIdInAndStatus(any(Integer.class),
                 anySet(), any(PostStatus.class), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdViewPage);
+        stubFindSummariesByIdIn();
         postService.findAllByExpertAndTypeAndStatus(expertId, typeId, postStatus, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllPosts() {
-        PostEntity postEntity = new PostEntity();
-        PostEntity postEntity1 = new PostEntity();
-        Page<PostEntity> postEntityPage = new PageImpl<>(List.of(postEntity, postEntity1));
         Set<Integer> typesIds = null;
         Set<Integer> originsIds = null;
         Set<Integer> directionsIds = null;
@@ -447,17 +657,15 @@ class PostServiceImplTest {
         String title = "";
         LocalDate startDate = null;
         LocalDate endDate = null;
-        Mockito.when(postRepository.findAll(any(Pageable.class))).thenReturn(postEntityPage);
+        Mockito.when(postRepository.findPublishedIds(any(Pageable.class))).thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
         postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                 originsIds, statuses, title, author, null, startDate, endDate, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllPostsForUser() {
-        PostEntity postEntity = new PostEntity();
-        PostEntity postEntity1 = new PostEntity();
-        Page<PostEntity> postEntityPage = new PageImpl<>(List.of(postEntity, postEntity1));
         Set<Integer> typesIds = null;
         Set<Integer> originsIds = null;
         Set<Integer> directionsIds = null;
@@ -466,11 +674,12 @@ class PostServiceImplTest {
         String title = "";
         LocalDate startDate = null;
         LocalDate endDate = null;
-        Mockito.when(postRepository.findAllByAuthorId(any(Integer.class), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+        Mockito.when(postRepository.findIdsByAuthorId(any(Integer.class), any(Pageable.class)))
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
         postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                 originsIds, statuses, title, author, 1, startDate, endDate, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
@@ -478,31 +687,27 @@ class PostServiceImplTest {
         Set<Integer> typesIds = Set.of(1220, 1999);
         Set<Integer> originsIds = Set.of(12340, 1999);
         Set<Integer> directionsIds = Set.of(1234, 1999);
+        Set<Integer> statuses = Set.of(5);
         Set<String> statusNames = Set.of(PostStatus.PUBLISHED.name());
         String author = "";
         String title = "";
-        Timestamp startDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp endDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.of(2021, 1, 3),
-                LocalTime.MAX));
-        Page<PostEntity> postEntityPage = Page.empty();
+        LocalDate startLocalDate = null;
+        LocalDate endLocalDate = LocalDate.of(2021, 1, 3);
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<Integer> postIdPage = Page.empty();
 
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds,
-                                directionsIds, statusNames, originsIds, title, author, startDate, endDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent(),
-                postRepository.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(
-                                typesIds, directionsIds, statusNames, originsIds, title, author,
-                                startDate, endDate, pageable
-                        )
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        assertEquals(postIdPage.getContent(),
+                postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
+                                originsIds, statuses, title, author, null, startLocalDate, endLocalDate, pageable)
                         .getContent());
     }
 
     @Test
     void findAllPostsByDirections() {
-        PostEntity post1 = PostEntity.builder().fakeViews(0).views(0).build();
-        PostEntity post2 = PostEntity.builder().fakeViews(0).views(0).build();
-        Page<PostEntity> postEntityPage = new PageImpl<>(List.of(post1, post2));
         Set<Integer> typesIds = new HashSet<>();
         Set<Integer> originsIds = new HashSet<>();
         Set<Integer> directionsIds = Set.of(1, 2);
@@ -510,29 +715,21 @@ class PostServiceImplTest {
         Set<String> statusNames = Set.of(PostStatus.PUBLISHED.name());
         String author = "";
         String title = "";
-        LocalDateTime startDat = null;
-        LocalDateTime endDat = null;
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp startDate = Timestamp.valueOf(Optional.ofNullable(startDat)
-                .orElse(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN)));
-        Timestamp endDate = Timestamp.valueOf(Optional.ofNullable(endDat)
-                .orElse(LocalDateTime.of(LocalDate.now(), LocalTime.MAX)));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds, directionsIds,
-                                statusNames, originsIds, title, author, startDate, endDate, pageable))
-                .thenReturn(postEntityPage);
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
         postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                 originsIds, statuses, title, author, null, startLocalDate, endLocalDate, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllPostsByDirectionsForUser() {
-        PostEntity post1 = PostEntity.builder().fakeViews(0).views(0).build();
-        PostEntity post2 = PostEntity.builder().fakeViews(0).views(0).build();
-        Page<PostEntity> postEntityPage = new PageImpl<>(List.of(post1, post2));
         Set<Integer> typesIds = new HashSet<>();
         Set<Integer> originsIds = new HashSet<>();
         Set<Integer> directionsIds = Set.of(1, 2);
@@ -540,22 +737,17 @@ class PostServiceImplTest {
         Set<String> statusNames = Set.of(PostStatus.PUBLISHED.name());
         String author = "";
         String title = "";
-        LocalDateTime startDat = null;
-        LocalDateTime endDat = null;
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp startDate = Timestamp.valueOf(Optional.ofNullable(startDat)
-                .orElse(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN)));
-        Timestamp endDate = Timestamp.valueOf(Optional.ofNullable(endDat)
-                .orElse(LocalDateTime.of(LocalDate.now(), LocalTime.MAX)));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByAuthorIdByTypesAndStatusAndDirectionsAndOriginsAndTitle(typesIds, directionsIds,
-                                statusNames, originsIds, title, 1, startDate, endDate, pageable))
-                .thenReturn(postEntityPage);
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                "", 1, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
         postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                 originsIds, statuses, title, author, 1, startLocalDate, endLocalDate, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
@@ -569,15 +761,13 @@ class PostServiceImplTest {
         String title = "";
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds,
-                                directionsIds, statusNames, originsIds, title, author, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                                 originsIds, statuses, title, author, null, startLocalDate, endLocalDate, pageable)
                         .getContent().size());
@@ -594,16 +784,14 @@ class PostServiceImplTest {
         String title = "";
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10, Sort.by("title"));
         Pageable pageable1 = PageRequest.of(0, 10, Sort.by("title").and(Sort.by("modified_at").descending()));
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds,
-                                directionsIds, statusNames, originsIds, title, author, timestampStartDate,
-                                timestampEndDate, pageable1))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable1))
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                                 originsIds, statuses, title, author, null, startLocalDate, endLocalDate, pageable)
                         .getContent().size());
@@ -620,15 +808,13 @@ class PostServiceImplTest {
         String title = "";
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByAuthorIdByTypesAndStatusAndDirectionsAndOriginsAndTitle(typesIds,
-                                directionsIds, statusNames, originsIds, title, 1, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                "", 1, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                                 originsIds, statuses, title, author, 1, startLocalDate, endLocalDate, pageable)
                         .getContent().size());
@@ -645,13 +831,10 @@ class PostServiceImplTest {
         String title = "";
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds,
-                                directionsIds, statusNames, originsIds, title, author,
-                                timestampStartDate, timestampEndDate, pageable))
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable))
                 .thenThrow(new EntityNotFoundException("Id does not exist"));
         assertThrows(EntityNotFoundException.class, () -> postService
                 .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds, originsIds,
@@ -669,13 +852,10 @@ class PostServiceImplTest {
         String title = "";
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByAuthorIdByTypesAndStatusAndDirectionsAndOriginsAndTitle(typesIds,
-                                directionsIds, statusNames, originsIds, title, 1,
-                                timestampStartDate, timestampEndDate, pageable))
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                "", 1, startLocalDate, endLocalDate), pageable))
                 .thenThrow(new EntityNotFoundException("Id does not exist"));
         assertThrows(EntityNotFoundException.class, () -> postService
                 .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds, originsIds,
@@ -684,9 +864,6 @@ class PostServiceImplTest {
 
     @Test
     void findAllByPostTypesAndOrigins() {
-        PostEntity postEntity = new PostEntity();
-        PostEntity postEntity1 = new PostEntity();
-        Page<PostEntity> postEntityPage = new PageImpl<>(List.of(postEntity, postEntity1));
         Set<Integer> typesIds = Set.of(1, 2);
         Set<Integer> originsIds = Set.of(2, 3);
         Set<Integer> directionsIds = new HashSet<>();
@@ -696,25 +873,20 @@ class PostServiceImplTest {
         String title = "";
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
 
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds,
-                                directionsIds, statusNames, originsIds, title, author, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
         postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds, originsIds,
                 statuses, title, author, null, startLocalDate, endLocalDate, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
     void findAllByPostTypesAndOriginsForUser() {
-        PostEntity postEntity = new PostEntity();
-        PostEntity postEntity1 = new PostEntity();
-        Page<PostEntity> postEntityPage = new PageImpl<>(List.of(postEntity, postEntity1));
         Set<Integer> typesIds = Set.of(1, 2);
         Set<Integer> originsIds = Set.of(2, 3);
         Set<Integer> directionsIds = new HashSet<>();
@@ -724,17 +896,15 @@ class PostServiceImplTest {
         String title = "";
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByAuthorIdByTypesAndStatusAndDirectionsAndOriginsAndTitle(typesIds,
-                                directionsIds, statusNames, originsIds, title, 1, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                "", 1, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
         postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds, originsIds,
                 statuses, title, author, 1, startLocalDate, endLocalDate, pageable);
-        verify(postMapper, times(postEntityPage.getNumberOfElements())).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(postIdPage.getNumberOfElements());
     }
 
     @Test
@@ -746,18 +916,15 @@ class PostServiceImplTest {
         Set<String> statusNames = Set.of(PostStatus.PUBLISHED.name());
         String author = "";
         String title = "";
-        Page<PostEntity> postEntityPage = Page.empty();
+        Page<Integer> postIdPage = Page.empty();
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds,
-                                directionsIds, statusNames, originsIds, title, author, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                                 originsIds, statuses, title, author, null, startLocalDate, endLocalDate, pageable)
                         .getContent().size());
@@ -772,18 +939,15 @@ class PostServiceImplTest {
         Set<String> statusNames = Set.of(PostStatus.PUBLISHED.name());
         String author = "";
         String title = "";
-        Page<PostEntity> postEntityPage = Page.empty();
+        Page<Integer> postIdPage = Page.empty();
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByAuthorIdByTypesAndStatusAndDirectionsAndOriginsAndTitle(typesIds,
-                                directionsIds, statusNames, originsIds, title, 1, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                "", 1, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                                 originsIds, statuses, title, author, 1, startLocalDate, endLocalDate, pageable)
                         .getContent().size());
@@ -798,19 +962,16 @@ class PostServiceImplTest {
         Set<String> statusNames = new HashSet<>();
         String author = "";
         String title = "";
-        Page<PostEntity> postEntityPage = Page.empty();
+        Page<Integer> postIdPage = Page.empty();
         LocalDate startLocalDate = LocalDate.EPOCH;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(startLocalDate.atStartOfDay());
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
 
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds,
-                                directionsIds, statusNames, originsIds, title, author, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                                 originsIds, statuses, title, author, null, startLocalDate, endLocalDate, pageable)
                         .getContent().size());
@@ -825,18 +986,15 @@ class PostServiceImplTest {
         Set<String> statusNames = new HashSet<>();
         String author = "";
         String title = "";
-        Page<PostEntity> postEntityPage = Page.empty();
+        Page<Integer> postIdPage = Page.empty();
         LocalDate startLocalDate = LocalDate.of(2019, Month.JANUARY, 1);
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(startLocalDate.atStartOfDay());
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByAuthorIdByTypesAndStatusAndDirectionsAndOriginsAndTitle(typesIds,
-                                directionsIds, statusNames, originsIds, title, 1, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                "", 1, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                                 originsIds, statuses, title, author, 1, startLocalDate, endLocalDate, pageable)
                         .getContent().size());
@@ -851,18 +1009,15 @@ class PostServiceImplTest {
         Set<String> statusNames = new HashSet<>();
         String author = "Таржеман";
         String title = "";
-        Page<PostEntity> postEntityPage = Page.empty();
+        Page<Integer> postIdPage = Page.empty();
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds,
-                                directionsIds, statusNames, originsIds, title, author, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                                 originsIds, statuses, title, author, null, startLocalDate, endLocalDate, pageable)
                         .getContent().size());
@@ -877,18 +1032,15 @@ class PostServiceImplTest {
         Set<String> statusNames = new HashSet<>();
         String author = "Таржеман";
         String title = "";
-        Page<PostEntity> postEntityPage = Page.empty();
+        Page<Integer> postIdPage = Page.empty();
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = null;
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByAuthorIdByTypesAndStatusAndDirectionsAndOriginsAndTitle(typesIds,
-                                directionsIds, statusNames, originsIds, title, 1, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                "", 1, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                                 originsIds, statuses, title, author, 1, startLocalDate, endLocalDate, pageable)
                         .getContent().size());
@@ -904,16 +1056,13 @@ class PostServiceImplTest {
         Set<String> statusNames = new HashSet<>();
         String author = "";
         String title = "Massa eget egestas";
-        Page<PostEntity> postEntityPage = Page.empty();
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.now(), LocalTime.MAX));
+        Page<Integer> postIdPage = Page.empty();
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds,
-                                directionsIds, statusNames, originsIds, title, author, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(null, null,
                                 null, null, title, author, null, null, null, pageable)
                         .getContent().size());
@@ -928,18 +1077,15 @@ class PostServiceImplTest {
         Set<String> statusNames = new HashSet<>();
         String author = "";
         String title = "";
-        Page<PostEntity> postEntityPage = Page.empty();
+        Page<Integer> postIdPage = Page.empty();
         LocalDate startLocalDate = null;
         LocalDate endLocalDate = LocalDate.now();
-        Timestamp timestampStartDate = Timestamp.valueOf(LocalDateTime.of(LocalDate.EPOCH, LocalTime.MIN));
-        Timestamp timestampEndDate = Timestamp.valueOf(endLocalDate.atTime(LocalTime.MAX));
         Pageable pageable = PageRequest.of(0, 10);
         Mockito.when(postRepository
-                        .findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(typesIds,
-                                directionsIds, statusNames, originsIds, title, author, timestampStartDate,
-                                timestampEndDate, pageable))
-                .thenReturn(postEntityPage);
-        assertEquals(postEntityPage.getContent().size(),
+                        .findIdsByFilter(postFilter(directionsIds, typesIds, originsIds, statusNames, title,
+                                author, null, startLocalDate, endLocalDate), pageable))
+                .thenReturn(postIdPage);
+        assertEquals(postIdPage.getContent().size(),
                 postService.findAllByTypesAndStatusAndDirectionsAndOriginsAndTitleAndAuthor(directionsIds, typesIds,
                                 originsIds, statuses, title, author, null, startLocalDate, endLocalDate, pageable)
                         .getContent().size());
@@ -1398,65 +1544,227 @@ class PostServiceImplTest {
     @Test
     void findLatestPostsByPostTypesAndOrigin_isOk() {
         Pageable pageable = PageRequest.of(0, 4);
-        when(postRepository.findLatestByPostTypeMedia(any(Pageable.class)))
-                .thenReturn(postEntityPage);
-        when(postRepository.findLatestByOriginVideo(pageable)).thenReturn(postEntityPage);
-        when(postRepository.findLatestByPostTypeTranslation(pageable)).thenReturn(postEntityPage);
-        when(postRepository.findLatestByPostTypeExpertOpinion(pageable)).thenReturn(postEntityPage);
+        when(cacheManager.getCache("mainPage")).thenReturn(new ConcurrentMapCache("mainPage"));
+        when(postVersionService.getVersion()).thenReturn(Optional.of(1L));
+        when(postRepository.findLatestIdsForMainPage(0, 4))
+                .thenReturn(List.of(bucketView("expertOpinion", 1), bucketView("expertOpinion", 3),
+                        bucketView("video", 2)));
+        List<PostSummaryView> views = List.of(summaryView(2), summaryView(1), summaryView(3));
+        when(postRepository.findSummariesByIdIn(Set.of(1, 2, 3))).thenReturn(views);
+        when(postMapper.toPostSummaryDTO(any(PostSummaryView.class), anySet(), anySet(), anySet()))
+                .thenAnswer(invocation -> PostSummaryDTO.builder()
+                        .id(invocation.<PostSummaryView>getArgument(0).getId())
+                        .build());
+
+        List<PostMainPageDTO> sections = postService.findLatestByPostTypesAndOrigins(pageable).getContent();
+
+        assertEquals(4, sections.size());
+        assertEquals("expertOpinion", sections.get(0).getFieldName());
+        assertEquals(List.of(1, 3), sections.get(0).getPostDTOS().stream()
+                .map(PostSummaryDTO::getId)
+                .collect(Collectors.toList()));
+        assertTrue(sections.get(1).getPostDTOS().isEmpty());
+        assertTrue(sections.get(2).getPostDTOS().isEmpty());
+        assertEquals("video", sections.get(3).getFieldName());
+        assertEquals(2, sections.get(3).getPostDTOS().get(0).getId());
+        verifySummariesMapped(3);
+    }
+
+    @Test
+    void findLatestPostsByPostTypesAndOrigin_WhenCached_DoesNotQueryDb() {
+        Pageable pageable = PageRequest.of(0, 4);
+        when(cacheManager.getCache("mainPage")).thenReturn(new ConcurrentMapCache("mainPage"));
+        when(postVersionService.getVersion()).thenReturn(Optional.of(1L));
+        when(postRepository.findLatestIdsForMainPage(0, 4)).thenReturn(List.of());
+
         postService.findLatestByPostTypesAndOrigins(pageable);
-        verify(postMapper, times(8)).toPostDTO(any(PostEntity.class));
+        postService.findLatestByPostTypesAndOrigins(pageable);
+
+        verify(postRepository, times(1)).findLatestIdsForMainPage(0, 4);
+    }
+
+    @Test
+    void findLatestPostsByPostTypesAndOrigin_WhenCachedBeforeChange_QueriesDbAgain() {
+        Pageable pageable = PageRequest.of(0, 4);
+        ConcurrentMapCache cache = new ConcurrentMapCache("mainPage");
+        cache.put("4:0", new VersionedValue(1, List.of()));
+        when(cacheManager.getCache("mainPage")).thenReturn(cache);
+        when(postVersionService.getVersion()).thenReturn(Optional.of(2L));
+        when(postRepository.findLatestIdsForMainPage(0, 4)).thenReturn(List.of());
+
+        List<PostMainPageDTO> sections = postService.findLatestByPostTypesAndOrigins(pageable).getContent();
+
+        assertEquals(4, sections.size());
+        assertEquals(2L, ((VersionedValue) cache.get("4:0").get()).getVersion());
+        verify(postRepository).findLatestIdsForMainPage(0, 4);
     }
 
     @Test
     void findLatestPostsByPostTypesAndOriginForMobile_isOk() {
-        Pageable pageable = PageRequest.of(0, 10);
-        when(postRepository.findLatestByPostTypeMedia(any(Pageable.class)))
-                .thenReturn(postEntityPage);
-        when(postRepository.findLatestByOriginVideo(pageable)).thenReturn(postEntityPage);
-        when(postRepository.findLatestByPostTypeTranslation(pageable)).thenReturn(postEntityPage);
-        when(postRepository.findLatestByPostTypeExpertOpinion(pageable)).thenReturn(postEntityPage);
-        postService.findLatestByPostTypesAndOriginsForMobile(pageable);
-        verify(postMapper, times(8)).toPostDTO(any(PostEntity.class));
+        Pageable pageable = PageRequest.of(1, 10);
+        when(postRepository.findLatestIdsForMainPage(10, 10))
+                .thenReturn(List.of(bucketView("media", 1), bucketView("translation", 1)));
+        List<PostSummaryView> views = List.of(summaryView(1));
+        when(postRepository.findSummariesByIdIn(Set.of(1))).thenReturn(views);
+        when(postMapper.toPostSummaryDTO(any(PostSummaryView.class), anySet(), anySet(), anySet()))
+                .thenReturn(PostSummaryDTO.builder().id(1).build());
+
+        List<PostMainPageDTO> sections = postService.findLatestByPostTypesAndOriginsForMobile(pageable).getContent();
+
+        assertEquals(1, sections.get(1).getPostDTOS().size());
+        assertEquals(1, sections.get(2).getPostDTOS().size());
+        verifySummariesMapped(1);
+    }
+
+    @Test
+    void findLatestPostsByPostTypesAndOrigin_WhenPageIsNotCached_QueriesDbEveryTime() {
+        Pageable pageable = PageRequest.of(3, 4);
+        when(postRepository.findLatestIdsForMainPage(12, 4)).thenReturn(List.of());
+
+        postService.findLatestByPostTypesAndOrigins(pageable);
+        postService.findLatestByPostTypesAndOrigins(pageable);
+
+        verify(postRepository, times(2)).findLatestIdsForMainPage(12, 4);
+        verify(cacheManager, never()).getCache("mainPage");
+    }
+
+    @Test
+    void findLatestPostsByPostTypesAndOrigin_WhenOffsetOverflows_ThrowsBadRequest() {
+        Pageable pageable = PageRequest.of(Integer.MAX_VALUE / 4, 4);
+
+        assertThrows(BadRequestException.class, () -> postService.findLatestByPostTypesAndOrigins(pageable));
+
+        verify(postRepository, never()).findLatestIdsForMainPage(anyInt(), anyInt());
     }
 
     @Test
     void findLatestPostsByPostTypesAndOrigin_NotFound() {
         Pageable pageable = PageRequest.of(0, 4);
-        when(postRepository.findLatestByPostTypeMedia(any(Pageable.class)))
-                .thenReturn(Page.empty());
-        when(postRepository.findLatestByOriginVideo(pageable)).thenReturn(Page.empty());
-        when(postRepository.findLatestByPostTypeTranslation(pageable)).thenReturn(Page.empty());
-        when(postRepository.findLatestByPostTypeExpertOpinion(pageable)).thenReturn(Page.empty());
+        when(postRepository.findLatestIdsForMainPage(0, 4)).thenReturn(List.of());
 
-        postService.findLatestByPostTypesAndOrigins(pageable);
-        verify(postMapper, times(0)).toPostDTO(any(PostEntity.class));
-        Assertions.assertThat(postService.findLatestByPostTypesAndOrigins(pageable).isEmpty());
+        Page<PostMainPageDTO> page = postService.findLatestByPostTypesAndOrigins(pageable);
+
+        verifySummariesMapped(0);
+        assertTrue(page.getContent().stream().allMatch(section -> section.getPostDTOS().isEmpty()));
     }
 
     @Test
     void findLatestPostsByPostTypesAndOriginForMobile_NotFound() {
         Pageable pageable = PageRequest.of(0, 10);
-        when(postRepository.findLatestByPostTypeMedia(any(Pageable.class)))
-                .thenReturn(Page.empty());
-        when(postRepository.findLatestByOriginVideo(pageable)).thenReturn(Page.empty());
-        when(postRepository.findLatestByPostTypeTranslation(pageable)).thenReturn(Page.empty());
-        when(postRepository.findLatestByPostTypeExpertOpinion(pageable)).thenReturn(Page.empty());
+        when(postRepository.findLatestIdsForMainPage(0, 10)).thenReturn(List.of());
+
+        Page<PostMainPageDTO> page = postService.findLatestByPostTypesAndOriginsForMobile(pageable);
+
+        verifySummariesMapped(0);
+        assertTrue(page.getContent().stream().allMatch(section -> section.getPostDTOS().isEmpty()));
+    }
+
+    @Test
+    void updatePlannedStatus_EvictsDetailsOfPublishedPosts() {
+        ConcurrentMapCache postDetailCache = new ConcurrentMapCache("postDetail");
+        postDetailCache.put(1, PostDTO.builder().id(1).build());
+        when(cacheManager.getCache("mainPage")).thenReturn(new ConcurrentMapCache("mainPage"));
+        when(cacheManager.getCache("postDetail")).thenReturn(postDetailCache);
+        PostEntity planned = PostEntity.builder()
+                .id(1)
+                .status(PostStatus.PLANNED)
+                .publishedAt(Timestamp.valueOf(LocalDateTime.now().minusDays(2)))
+                .build();
+        when(postRepository.findAllByStatus(PostStatus.PLANNED)).thenReturn(List.of(planned));
+
+        postService.updatePlannedStatus();
+
+        assertEquals(PostStatus.PUBLISHED, planned.getStatus());
+        assertNull(postDetailCache.get(1));
+        verify(postVersionService).markChanged();
+    }
+
+    @Test
+    void updatePlannedStatus_WhenNothingToPublish_KeepsVersion() {
+        when(postRepository.findAllByStatus(PostStatus.PLANNED)).thenReturn(List.of());
+
+        postService.updatePlannedStatus();
+
+        verify(postVersionService, never()).markChanged();
+    }
+
+    private void stubFindSummariesByIdIn() {
+        List<PostSummaryView> views = List.of(summaryView(2), summaryView(1));
+        when(postRepository.findSummariesByIdIn(List.of(1, 2))).thenReturn(views);
+    }
+
+    private void verifySummariesMapped(int count) {
+        verify(postMapper, times(count)).toPostSummaryDTO(any(PostSummaryView.class), anySet(), anySet(), anySet());
+    }
+
+    private static PostFilter postFilter(Set<Integer> directionIds, Set<Integer> typeIds, Set<Integer> originIds,
+            Set<String> statusNames, String title, String author, Integer authorId, LocalDate startDate,
+            LocalDate endDate) {
+        return PostFilter.builder()
+                .directionIds(directionIds == null ? Collections.emptySet() : directionIds)
+                .typeIds(typeIds == null ? Collections.emptySet() : typeIds)
+                .originIds(originIds == null ? Collections.emptySet() : originIds)
+                .statuses(statusNames.stream().map(PostStatus::valueOf).collect(Collectors.toSet()))
+                .title(title)
+                .author(author)
+                .authorId(authorId)
+                .authorRequired(authorId == null)
+                .startDate(Timestamp.valueOf(Optional.ofNullable(startDate).orElse(LocalDate.EPOCH).atStartOfDay()))
+                .endDate(Timestamp.valueOf(Optional.ofNullable(endDate).orElse(LocalDate.now()).atTime(LocalTime.MAX)))
+                .build();
+    }
+
+    private static PostSearchView searchView(Integer postId, Float rank) {
+        return new PostSearchView() {
+            @Override
+            public Integer getPostId() {
+                return postId;
+            }
+
+            @Override
+            public Float getRank() {
+                return rank;
+            }
+
+            @Override
+            public String getHeadline() {
+                return "<b>post " + postId + "</b>";
+            }
+        };
+    }
+
+    private static PostSummaryView summaryView(Integer id) {
+        PostSummaryView view = Mockito.mock(PostSummaryView.class);
+        when(view.getId()).thenReturn(id);
+        return view;
+    }
+
+    private static PostBucketView bucketView(String bucket, Integer postId) {
+        return new PostBucketView() {
+            @Override
+            public String getBucket() {
+                return bucket;
+            }
 
-        postService.findLatestByPostTypesAndOriginsForMobile(pageable);
-        verify(postMapper, times(0)).toPostDTO(any(PostEntity.class));
-        assertThat(postService.findLatestByPostTypesAndOriginsForMobile(pageable).isEmpty());
+            @Override
+            public Integer getPostId() {
+                return postId;
+            }
+        };
     }
 
     @Test
     void setPostsAsImportant() {
         Set<Integer> postIds = Set.of(2, 4, 9);
         Assertions.assertThat(postService.setPostsAsImportantWithOrder(postIds));
+        verify(postVersionService).markChanged();
     }
 
     @Test
     void setPostsAsImportantWhenNoPostIds() {
         Set<Integer> postIds = null;
         assertEquals(false, postService.setPostsAsImportantWithOrder(postIds));
+        verify(postVersionService, never()).markChanged();
     }
 
     @Test
@@ -1490,23 +1798,24 @@ class PostServiceImplTest {
     @Test
     void findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence_isOk() {
         Pageable pageable = PageRequest.of(0, 12);
-        when(postRepository.findByDirectionsAndTypesAndOriginsAndStatusAndImportantSortedByImportantImagePresence(
+        when(postRepository.findIdsByDirectionsAndTypesAndOriginsAndStatusAndImportantSortedByImportantImagePresence(
                 anySet(), anySet(), anySet(), any(PostStatus.class), anyBoolean(), any(Pageable.class)))
-                .thenReturn(postEntityPage);
+                .thenReturn(postIdPage);
+        stubFindSummariesByIdIn();
         postService.findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence(
                 new HashSet<>(), new HashSet<>(), new HashSet<>(), pageable);
-        verify(postMapper, times(2)).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(2);
     }
 
     @Test
     void findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence_NotFound() {
         Pageable pageable = PageRequest.of(0, 12);
-        when(postRepository.findByDirectionsAndTypesAndOriginsAndStatusAndImportantSortedByImportantImagePresence(
+        when(postRepository.findIdsByDirectionsAndTypesAndOriginsAndStatusAndImportantSortedByImportantImagePresence(
                 anySet(), anySet(), anySet(), any(PostStatus.class), anyBoolean(), any(Pageable.class)))
                 .thenReturn(Page.empty());
         postService.findPublishedNotImportantPostsWithFiltersSortedByImportantImagePresence(
                 Set.of(1), new HashSet<>(), new HashSet<>(), pageable);
-        verify(postMapper, times(0)).toPostDTO(any(PostEntity.class));
+        verifySummariesMapped(0);
     }
 
     @Test
@@ -1,9 +1,12 @@
 package com.softserveinc.dokazovi.service.impl;
 
+import com.softserveinc.dokazovi.dto.post.PostTypeDTO;
 import com.softserveinc.dokazovi.entity.PostTypeEntity;
 import com.softserveinc.dokazovi.entity.enumerations.PostStatus;
 import com.softserveinc.dokazovi.mapper.PostTypeMapper;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
 import com.softserveinc.dokazovi.repositories.PostTypeRepository;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -27,6 +31,9 @@ class PostTypeServiceImplTest {
     @Mock
     private PostTypeMapper postTypeMapper;
 
+    @Mock
+    private ReferenceDataService referenceDataService;
+
     @InjectMocks
     private PostTypeServiceImpl postTypeService;
 
@@ -39,9 +46,11 @@ class PostTypeServiceImplTest {
 
     @Test
     void findAll() {
-        when(postTypeRepository.findAll()).thenReturn(postTypeEntities);
-        postTypeService.findAll();
-        verify(postTypeMapper, times(postTypeEntities.size())).toPostTypeDTO(any(PostTypeEntity.class));
+        List<PostTypeDTO> postTypes = List.of(PostTypeDTO.builder().id(1).build());
+        when(referenceDataService.getPostTypes())
+                .thenReturn(new ReferenceData<>(postTypes, PostTypeDTO::getId, "\"1\""));
+
+        assertEquals(postTypes, postTypeService.findAll());
     }
 
     @Test
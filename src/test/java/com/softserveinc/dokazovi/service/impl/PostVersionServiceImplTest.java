@@ -0,0 +1,134 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.config.RedisConfig;
+import com.softserveinc.dokazovi.entity.PostChangeVersionEntity;
+import com.softserveinc.dokazovi.event.AuthorChangedEvent;
+import com.softserveinc.dokazovi.event.PostsChangedEvent;
+import com.softserveinc.dokazovi.pojo.PostValidators;
+import com.softserveinc.dokazovi.repositories.PostChangeVersionRepository;
+import com.softserveinc.dokazovi.repositories.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostVersionServiceImplTest {
+
+    @Mock
+    private PostChangeVersionRepository postChangeVersionRepository;
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private CacheManager cacheManager =
+            new ConcurrentMapCacheManager(RedisConfig.MAIN_PAGE_CACHE, RedisConfig.POST_DETAIL_CACHE);
+    @InjectMocks
+    private PostVersionServiceImpl postVersionService;
+
+    @Test
+    void getFeedValidators_BuildsWeakETagFromVersion() {
+        stubVersion(7L, 2000L);
+
+        PostValidators validators = postVersionService.getFeedValidators().orElseThrow();
+
+        assertEquals("W/\"7\"", validators.getETag());
+        assertEquals(2000L, validators.getLastModified());
+    }
+
+    @Test
+    void getFeedValidators_WhenVersionIsMissing_IsEmpty() {
+        when(postChangeVersionRepository.findById(1)).thenReturn(Optional.empty());
+
+        assertTrue(postVersionService.getFeedValidators().isEmpty());
+    }
+
+    @Test
+    void getPostValidators_CombinesModificationTimeAndVersion() {
+        stubVersion(7L, 2000L);
+        when(postRepository.findModifiedAtById(3)).thenReturn(Optional.of(new Timestamp(1000L)));
+
+        PostValidators validators = postVersionService.getPostValidators(3).orElseThrow();
+
+        assertEquals("W/\"7-1000\"", validators.getETag());
+        assertEquals(2000L, validators.getLastModified());
+    }
+
+    @Test
+    void getPostValidators_WhenPostIsMissing_IsEmpty() {
+        when(postRepository.findModifiedAtById(3)).thenReturn(Optional.empty());
+
+        assertTrue(postVersionService.getPostValidators(3).isEmpty());
+        verify(postChangeVersionRepository, never()).findById(1);
+    }
+
+    @Test
+    void onAuthorChanged_IncrementsVersion() {
+        postVersionService.onAuthorChanged(new AuthorChangedEvent(5));
+
+        verify(postChangeVersionRepository).increment(1);
+    }
+
+    @Test
+    void markChanged_PublishesPostsChangedEvent() {
+        postVersionService.markChanged();
+
+        verify(postChangeVersionRepository).increment(1);
+        verify(eventPublisher).publishEvent(new PostsChangedEvent());
+    }
+
+    @Test
+    void markChanged_NeverLeavesOldBodyForNewETag() {
+        Cache postDetail = cacheManager.getCache(RedisConfig.POST_DETAIL_CACHE);
+        Cache mainPage = cacheManager.getCache(RedisConfig.MAIN_PAGE_CACHE);
+        when(postRepository.findModifiedAtById(3)).thenReturn(Optional.of(new Timestamp(1000L)));
+        stubVersion(7L, 2000L);
+        String oldETag = postVersionService.getPostValidators(3).orElseThrow().getETag();
+        postDetail.put(3, "body of version 7");
+        mainPage.put("4:0", "sections of version 7");
+
+        postVersionService.markChanged();
+        stubVersion(8L, 3000L);
+
+        assertNotEquals(oldETag, postVersionService.getPostValidators(3).orElseThrow().getETag());
+        assertNull(postDetail.get(3));
+        assertNull(mainPage.get("4:0"));
+    }
+
+    @Test
+    void onPostsChanged_EvictsBodiesLoadedBeforeCommit() {
+        Cache postDetail = cacheManager.getCache(RedisConfig.POST_DETAIL_CACHE);
+        postVersionService.markChanged();
+        postDetail.put(3, "body loaded from uncommitted version 7");
+
+        postVersionService.onPostsChanged(new PostsChangedEvent());
+
+        assertNull(postDetail.get(3));
+    }
+
+    private void stubVersion(Long version, long changedAt) {
+        when(postChangeVersionRepository.findById(1)).thenReturn(Optional.of(PostChangeVersionEntity.builder()
+                .id(1)
+                .version(version)
+                .changedAt(new Timestamp(changedAt))
+                .build()));
+    }
+}
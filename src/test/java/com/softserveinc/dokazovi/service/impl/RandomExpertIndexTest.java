@@ -0,0 +1,111 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.event.AuthorChangedEvent;
+import com.softserveinc.dokazovi.repositories.AuthorRepository;
+import com.softserveinc.dokazovi.repositories.projection.ExpertDirectionView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RandomExpertIndexTest {
+
+    @Mock
+    private AuthorRepository authorRepository;
+    @InjectMocks
+    private RandomExpertIndex randomExpertIndex;
+
+    @BeforeEach
+    void init() {
+        when(authorRepository.findExpertDirections()).thenReturn(List.of(
+                row(1, 11, 1),
+                row(2, 12, 1),
+                row(2, 12, 2),
+                row(3, 13, 2),
+                row(4, 14, null)));
+        randomExpertIndex.rebuild();
+    }
+
+    @Test
+    void sample_WithoutDirections_PicksDistinctExperts() {
+        List<Integer> picked = randomExpertIndex.sample(null, 3);
+
+        assertEquals(3, picked.size());
+        assertEquals(3, Set.copyOf(picked).size());
+        assertTrue(Set.of(11, 12, 13, 14).containsAll(picked));
+        assertEquals(4, randomExpertIndex.count(Set.of()));
+    }
+
+    @Test
+    void sample_ByDirections_PicksEveryExpertOfDirectionsOnce() {
+        List<Integer> picked = randomExpertIndex.sample(Set.of(1, 2), 10);
+
+        assertEquals(3, picked.size());
+        assertEquals(Set.of(11, 12, 13), Set.copyOf(picked));
+        assertEquals(3, randomExpertIndex.count(Set.of(1, 2)));
+        assertEquals(0, randomExpertIndex.count(Set.of(42)));
+    }
+
+    @Test
+    void sample_ByOverlappingDirections_IsUniform() {
+        Map<Integer, Integer> hits = new HashMap<>();
+        int runs = 3000;
+        for (int run = 0; run < runs; run++) {
+            randomExpertIndex.sample(Set.of(1, 2), 1).forEach(userId -> hits.merge(userId, 1, Integer::sum));
+        }
+
+        assertEquals(Set.of(11, 12, 13), hits.keySet());
+        hits.values().forEach(count -> assertTrue(count > runs / 3 * 0.8 && count < runs / 3 * 1.2,
+                () -> "Experts are not picked uniformly: " + hits));
+    }
+
+    @Test
+    void onAuthorChanged_AppliesOnlyTheChangedAuthor() {
+        when(authorRepository.findExpertDirectionsByAuthorId(3)).thenReturn(List.of(row(3, 13, 1)));
+        when(authorRepository.findExpertDirectionsByAuthorId(5)).thenReturn(List.of(row(5, 15, 2)));
+        when(authorRepository.findExpertDirectionsByAuthorId(1)).thenReturn(List.of());
+
+        randomExpertIndex.onAuthorChanged(new AuthorChangedEvent(3));
+        randomExpertIndex.onAuthorChanged(new AuthorChangedEvent(5));
+        randomExpertIndex.onAuthorChanged(new AuthorChangedEvent(1));
+
+        assertEquals(Set.of(12, 13), new HashSet<>(randomExpertIndex.sample(Set.of(1), 10)));
+        assertEquals(Set.of(12, 15), new HashSet<>(randomExpertIndex.sample(Set.of(2), 10)));
+        assertEquals(4, randomExpertIndex.count(null));
+        verify(authorRepository, times(1)).findExpertDirections();
+    }
+
+    private static ExpertDirectionView row(Integer authorId, Integer userId, Integer directionId) {
+        return new ExpertDirectionView() {
+            @Override
+            public Integer getAuthorId() {
+                return authorId;
+            }
+
+            @Override
+            public Integer getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Integer getDirectionId() {
+                return directionId;
+            }
+        };
+    }
+}
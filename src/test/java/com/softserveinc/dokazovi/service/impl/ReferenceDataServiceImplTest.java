@@ -0,0 +1,166 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserveinc.dokazovi.cache.CacheInvalidationPublisher;
+import com.softserveinc.dokazovi.dto.direction.DirectionDTO;
+import com.softserveinc.dokazovi.entity.DirectionEntity;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
+import com.softserveinc.dokazovi.mapper.CityMapper;
+import com.softserveinc.dokazovi.mapper.DirectionMapper;
+import com.softserveinc.dokazovi.mapper.OriginMapper;
+import com.softserveinc.dokazovi.mapper.PlatformInformationMapper;
+import com.softserveinc.dokazovi.mapper.PostTypeMapper;
+import com.softserveinc.dokazovi.mapper.RegionMapper;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.pojo.ReferenceDataType;
+import com.softserveinc.dokazovi.repositories.CityRepository;
+import com.softserveinc.dokazovi.repositories.DirectionRepository;
+import com.softserveinc.dokazovi.repositories.OriginRepository;
+import com.softserveinc.dokazovi.repositories.PlatformInformationRepository;
+import com.softserveinc.dokazovi.repositories.PostTypeRepository;
+import com.softserveinc.dokazovi.repositories.RegionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataServiceImplTest {
+
+    @Mock
+    private DirectionRepository directionRepository;
+    @Mock
+    private DirectionMapper directionMapper;
+    @Mock
+    private RegionRepository regionRepository;
+    @Mock
+    private RegionMapper regionMapper;
+    @Mock
+    private CityRepository cityRepository;
+    @Mock
+    private CityMapper cityMapper;
+    @Mock
+    private OriginRepository originRepository;
+    @Mock
+    private OriginMapper originMapper;
+    @Mock
+    private PostTypeRepository postTypeRepository;
+    @Mock
+    private PostTypeMapper postTypeMapper;
+    @Mock
+    private PlatformInformationRepository platformInformationRepository;
+    @Mock
+    private PlatformInformationMapper platformInformationMapper;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private ObjectProvider<CacheInvalidationPublisher> invalidationPublisher;
+    @Mock
+    private CacheInvalidationPublisher publisher;
+    @InjectMocks
+    private ReferenceDataServiceImpl referenceDataService;
+
+    @Test
+    void getDirections_LoadsOnceAndIndexesById() {
+        stubDirection("covid-19");
+
+        ReferenceData<DirectionDTO> directions = referenceDataService.getDirections();
+
+        assertEquals("covid-19", directions.getById(1).getName());
+        assertEquals(1, directions.getItems().size());
+        assertTrue(directions.getETag().startsWith("\"") && directions.getETag().endsWith("\""));
+        assertSame(directions, referenceDataService.getDirections());
+        assertNotNull(referenceDataService.getVersion());
+        verify(directionRepository, times(1)).findAll();
+    }
+
+    @Test
+    void loadAll_WhenDataIsTheSame_KeepsETagAndVersion() {
+        stubDirection("covid-19");
+        String eTag = referenceDataService.getDirections().getETag();
+        String version = referenceDataService.getVersion();
+
+        referenceDataService.loadAll();
+
+        assertEquals(eTag, referenceDataService.getDirections().getETag());
+        assertEquals(version, referenceDataService.getVersion());
+    }
+
+    @Test
+    void onReferenceDataChanged_ReloadsOnlyChangedData() {
+        stubDirection("covid-19");
+        ReferenceData<DirectionDTO> before = referenceDataService.getDirections();
+        String version = referenceDataService.getVersion();
+        stubDirection("cardiology");
+
+        referenceDataService.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataType.DIRECTIONS));
+
+        ReferenceData<DirectionDTO> after = referenceDataService.getDirections();
+        assertEquals("covid-19", before.getById(1).getName());
+        assertEquals("cardiology", after.getById(1).getName());
+        assertNotEquals(before.getETag(), after.getETag());
+        assertNotEquals(version, referenceDataService.getVersion());
+        verify(directionRepository, times(2)).findAll();
+        verify(regionRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onReferenceDataChanged_PublishesChangeToOtherNodes() {
+        stubDirection("covid-19");
+        referenceDataService.getDirections();
+        when(invalidationPublisher.getIfAvailable()).thenReturn(publisher);
+
+        referenceDataService.onReferenceDataChanged(new ReferenceDataChangedEvent(ReferenceDataType.DIRECTIONS));
+
+        verify(publisher).publish(ReferenceDataServiceImpl.CACHE_NAME, "DIRECTIONS");
+    }
+
+    @Test
+    void invalidateLocal_ReloadsDataChangedOnOtherNode() {
+        stubDirection("covid-19");
+        String eTag = referenceDataService.getDirections().getETag();
+        stubDirection("cardiology");
+
+        referenceDataService.invalidateLocal("DIRECTIONS");
+
+        assertEquals("cardiology", referenceDataService.getDirections().getById(1).getName());
+        assertNotEquals(eTag, referenceDataService.getDirections().getETag());
+        verify(regionRepository, times(1)).findAll();
+        verify(publisher, never()).publish(any(), any());
+    }
+
+    @Test
+    void getVersion_IsTheSameForTheSameData() {
+        stubDirection("covid-19");
+        String version = referenceDataService.getVersion();
+        stubDirection("cardiology");
+        referenceDataService.invalidateLocal("DIRECTIONS");
+        stubDirection("covid-19");
+
+        referenceDataService.invalidateLocal("DIRECTIONS");
+
+        assertEquals(version, referenceDataService.getVersion());
+    }
+
+    private void stubDirection(String name) {
+        DirectionEntity entity = new DirectionEntity();
+        when(directionRepository.findAll()).thenReturn(List.of(entity));
+        when(directionMapper.toDirectionDTO(entity)).thenReturn(DirectionDTO.builder().id(1).name(name).build());
+    }
+}
@@ -1,16 +1,23 @@
 package com.softserveinc.dokazovi.service.impl;
 
+import com.softserveinc.dokazovi.dto.region.RegionDTO;
 import com.softserveinc.dokazovi.entity.RegionEntity;
+import com.softserveinc.dokazovi.event.ReferenceDataChangedEvent;
 import com.softserveinc.dokazovi.mapper.RegionMapper;
+import com.softserveinc.dokazovi.pojo.ReferenceData;
+import com.softserveinc.dokazovi.pojo.ReferenceDataType;
 import com.softserveinc.dokazovi.repositories.RegionRepository;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -23,17 +30,20 @@ class RegionServiceImplTest {
     private RegionRepository regionRepository;
     @Mock
     private RegionMapper regionMapper;
+    @Mock
+    private ReferenceDataService referenceDataService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private RegionServiceImpl regionService;
 
     @Test
     void findAllRegions() {
-        List<RegionEntity> regions = List.of(new RegionEntity(), new RegionEntity());
+        List<RegionDTO> regions = List.of(RegionDTO.builder().id(1).build());
 
-        when(regionRepository.findAll()).thenReturn(regions);
-        regionService.findAllRegions();
+        when(referenceDataService.getRegions()).thenReturn(new ReferenceData<>(regions, RegionDTO::getId, "\"1\""));
 
-        verify(regionMapper, times(regions.size())).toRegionDTO(any(RegionEntity.class));
+        assertEquals(regions, regionService.findAllRegions());
     }
 
     @Test
@@ -42,6 +52,7 @@ class RegionServiceImplTest {
         regionService.updateRegionsStatus();
 
         verify(regionRepository, times(1)).updateRegionsStatus();
+        verify(eventPublisher).publishEvent(new ReferenceDataChangedEvent(ReferenceDataType.REGIONS));
     }
 
     @Test
@@ -0,0 +1,138 @@
+package com.softserveinc.dokazovi.service.impl;
+
+import com.softserveinc.dokazovi.cache.CacheInvalidationPublisher;
+import com.softserveinc.dokazovi.dto.tag.TagDTO;
+import com.softserveinc.dokazovi.entity.TagEntity;
+import com.softserveinc.dokazovi.repositories.TagRepository;
+import com.softserveinc.dokazovi.repositories.projection.TagUsageView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TagSearchIndexTest {
+
+    @Mock
+    private TagRepository tagRepository;
+    @Mock
+    private ObjectProvider<CacheInvalidationPublisher> invalidationPublisher;
+    @Mock
+    private CacheInvalidationPublisher publisher;
+    @InjectMocks
+    private TagSearchIndex tagSearchIndex;
+
+    @Test
+    void search_RanksPrefixMatchesFirstThenByUsage() {
+        stubTags(
+                tag(1, "Коронавірус", 3),
+                tag(2, "Вірус", 10),
+                tag(3, "Вірусологія", 1),
+                tag(4, "Вакцина", 50));
+
+        assertEquals(List.of("Вірус", "Вірусологія", "Коронавірус"), tagNames(tagSearchIndex.search("вір", 5)));
+        assertEquals(List.of("Вірусологія"), tagNames(tagSearchIndex.search(" ВІРУСО", 5)));
+    }
+
+    @Test
+    void search_WithShortValue_LimitsResults() {
+        stubTags(
+                tag(1, "a", 0),
+                tag(2, "aa", 0),
+                tag(3, "aaa", 0),
+                tag(4, "aaaa", 0),
+                tag(5, "aaaaa", 0),
+                tag(6, "aaaaaa", 0),
+                tag(7, "b", 0),
+                tag(8, "bb", 0));
+
+        assertEquals(List.of("a", "aa", "aaa", "aaaa", "aaaaa"), tagNames(tagSearchIndex.search("a", 5)));
+        assertEquals(List.of("b", "bb"), tagNames(tagSearchIndex.search("b", 5)));
+    }
+
+    @Test
+    void search_ChecksTagsHavingAllTrigrams() {
+        stubTags(tag(1, "abcxbcd", 0), tag(2, "abcd", 0));
+
+        assertEquals(List.of("abcd"), tagNames(tagSearchIndex.search("abcd", 5)));
+        assertTrue(tagSearchIndex.search("abce", 5).isEmpty());
+    }
+
+    @Test
+    void add_MakesTagSearchableWithoutRebuild() {
+        stubTags(tag(1, "covid", 2));
+        tagSearchIndex.rebuild();
+
+        tagSearchIndex.add(TagDTO.builder().id(2).tag("covid-19").build());
+
+        List<TagDTO> found = tagSearchIndex.search("covid", 5);
+        assertEquals(List.of("covid", "covid-19"), tagNames(found));
+        assertEquals(2, found.get(1).getId());
+        verify(tagRepository, times(1)).findAllWithUsageCount();
+    }
+
+    @Test
+    void add_PublishesTagToOtherNodes() {
+        stubTags(tag(1, "covid", 2));
+        tagSearchIndex.rebuild();
+        when(invalidationPublisher.getIfAvailable()).thenReturn(publisher);
+
+        tagSearchIndex.add(TagDTO.builder().id(2).tag("covid-19").build());
+
+        verify(publisher).publish(TagSearchIndex.CACHE_NAME, "2");
+    }
+
+    @Test
+    void invalidateLocal_AddsTagSavedOnOtherNode() {
+        stubTags(tag(1, "covid", 2));
+        tagSearchIndex.rebuild();
+        when(tagRepository.findById(2)).thenReturn(Optional.of(TagEntity.builder().id(2).tag("covid-19").build()));
+
+        tagSearchIndex.invalidateLocal("2");
+
+        assertEquals(List.of("covid", "covid-19"), tagNames(tagSearchIndex.search("covid", 5)));
+        verify(tagRepository, times(1)).findAllWithUsageCount();
+        verify(publisher, never()).publish(any(), any());
+    }
+
+    private void stubTags(TagUsageView... tags) {
+        when(tagRepository.findAllWithUsageCount()).thenReturn(List.of(tags));
+    }
+
+    private static List<String> tagNames(List<TagDTO> tags) {
+        return tags.stream().map(TagDTO::getTag).collect(Collectors.toList());
+    }
+
+    private static TagUsageView tag(Integer id, String tag, long usageCount) {
+        return new TagUsageView() {
+            @Override
+            public Integer getId() {
+                return id;
+            }
+
+            @Override
+            public String getTag() {
+                return tag;
+            }
+
+            @Override
+            public Long getUsageCount() {
+                return usageCount;
+            }
+        };
+    }
+}
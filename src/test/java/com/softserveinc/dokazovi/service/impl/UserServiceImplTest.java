@@ -1,14 +1,18 @@
 package com.softserveinc.dokazovi.service.impl;
 
+import com.softserveinc.dokazovi.dto.payload.SliceDTO;
+import com.softserveinc.dokazovi.dto.user.UserDTO;
 import com.softserveinc.dokazovi.entity.PasswordResetTokenEntity;
 import com.softserveinc.dokazovi.entity.UserEntity;
 import com.softserveinc.dokazovi.entity.VerificationToken;
+import com.softserveinc.dokazovi.event.UserSecurityChangedEvent;
 import com.softserveinc.dokazovi.exception.BadRequestException;
 import com.softserveinc.dokazovi.exception.EntityNotFoundException;
 import com.softserveinc.dokazovi.mapper.UserMapper;
 import com.softserveinc.dokazovi.pojo.UserSearchCriteria;
 import com.softserveinc.dokazovi.repositories.UserRepository;
 import com.softserveinc.dokazovi.repositories.VerificationTokenRepository;
+import com.softserveinc.dokazovi.service.ApproximateCountService;
 import com.softserveinc.dokazovi.service.MailSenderService;
 import com.softserveinc.dokazovi.service.PasswordResetTokenService;
 import org.junit.jupiter.api.Assertions;
@@ -17,23 +21,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -56,6 +68,12 @@ class UserServiceImplTest {
     PasswordResetTokenService passwordResetTokenService;
     @Mock
     MailSenderService mailSenderService;
+    @Mock
+    private ApproximateCountService approximateCountService;
+    @Mock
+    private RandomExpertIndex randomExpertIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -76,25 +94,35 @@ class UserServiceImplTest {
 
     @Test
     void getRandomExpertPreview() {
-        Page<UserEntity> userEntityPage = new PageImpl<>(List.of(new UserEntity(), new UserEntity()));
+        UserEntity first = UserEntity.builder().id(3).build();
+        UserEntity second = UserEntity.builder().id(7).build();
+        PageRequest pageRequest = PageRequest.of(0, 12);
 
-        when(userRepository.findRandomExperts(any(Pageable.class)))
-                .thenReturn(userEntityPage);
-        userService.findRandomExpertPreview(null, pageable);
+        when(randomExpertIndex.count(null)).thenReturn(2);
+        when(randomExpertIndex.sample(null, 2)).thenReturn(List.of(7, 3));
+        when(userRepository.findAllById(List.of(7, 3))).thenReturn(List.of(first, second));
+        when(userMapper.toUserDTO(any(UserEntity.class)))
+                .thenAnswer(invocation -> UserDTO.builder().id(invocation.<UserEntity>getArgument(0).getId()).build());
 
-        verify(userMapper, times(userEntityPage.getNumberOfElements())).toUserDTO(any(UserEntity.class));
+        Page<UserDTO> page = userService.findRandomExpertPreview(null, pageRequest);
+
+        assertEquals(List.of(7, 3), page.map(UserDTO::getId).getContent());
+        assertEquals(2, page.getTotalElements());
     }
 
     @Test
-    void getRandomExpertPreviewByDirections() {
-        Page<UserEntity> userEntityPage = new PageImpl<>(List.of(new UserEntity(), new UserEntity()));
+    void getRandomExpertPreviewByDirections_SkipsExpertsDeletedSinceSampling() {
         Set<Integer> directionIds = Set.of(1, 2);
+        PageRequest pageRequest = PageRequest.of(1, 12);
 
-        when(userRepository.findRandomExpertsByDirectionsIdIn(anySet(), any(Pageable.class)))
-                .thenReturn(userEntityPage);
-        userService.findRandomExpertPreview(directionIds, pageable);
+        when(randomExpertIndex.count(directionIds)).thenReturn(15);
+        when(randomExpertIndex.sample(directionIds, 3)).thenReturn(List.of(1, 2, 3));
+        when(userRepository.findAllById(List.of(1, 2, 3))).thenReturn(List.of());
 
-        verify(userMapper, times(userEntityPage.getNumberOfElements())).toUserDTO(any(UserEntity.class));
+        Page<UserDTO> page = userService.findRandomExpertPreview(directionIds, pageRequest);
+
+        assertEquals(15, page.getTotalElements());
+        verify(userMapper, times(0)).toUserDTO(any(UserEntity.class));
     }
 
     @Test
@@ -186,6 +214,46 @@ class UserServiceImplTest {
         assertEquals(userEntityPage, userService.findAllExperts(userSearchCriteria, pageable));
     }
 
+    @Test
+    void findExpertSlice_NotFiltered_DoesNotCount() {
+        UserSearchCriteria userSearchCriteria = new UserSearchCriteria();
+        PageRequest pageRequest = PageRequest.of(0, 6);
+        UserEntity userEntity = new UserEntity();
+
+        when(userRepository.findAllBy(pageRequest)).thenReturn(new SliceImpl<>(List.of(userEntity), pageRequest, true));
+        when(userMapper.toUserDTO(userEntity)).thenReturn(UserDTO.builder().id(1).build());
+
+        SliceDTO<UserDTO> slice = userService.findExpertSlice(userSearchCriteria, pageRequest, false);
+
+        assertEquals(1, slice.getContent().size());
+        assertTrue(slice.isHasNext());
+        assertNull(slice.getApproximateTotalElements());
+        verify(approximateCountService, times(0)).count(any(), any());
+    }
+
+    @Test
+    void findExpertSlice_ByDirections_CountsApproximately() {
+        Set<Integer> setDir = Set.of(1);
+        Set<Integer> setReg = new HashSet<>();
+        UserSearchCriteria userSearchCriteria = new UserSearchCriteria();
+        userSearchCriteria.setDirections(setDir);
+        userSearchCriteria.setRegions(setReg);
+        PageRequest pageRequest = PageRequest.of(2, 6);
+
+        when(userRepository.findDoctorsProfilesSliceByDirectionsIds(setDir, pageRequest))
+                .thenReturn(new SliceImpl<>(List.of(), pageRequest, false));
+        when(userRepository.countDoctorsProfilesByDirectionsIds(setDir)).thenReturn(13L);
+        when(approximateCountService.count(eq(Arrays.asList("experts", setDir, setReg, "")), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<Long>>getArgument(1).get());
+
+        SliceDTO<UserDTO> slice = userService.findExpertSlice(userSearchCriteria, pageRequest, true);
+
+        assertFalse(slice.isHasNext());
+        assertEquals(2, slice.getNumber());
+        assertEquals(13L, slice.getApproximateTotalElements());
+        verify(userRepository, times(0)).findDoctorsProfilesByDirectionsIds(any(), any());
+    }
+
     @Test
     void findAllExperts_ByOtherConditions() {
 
@@ -357,6 +425,8 @@ class UserServiceImplTest {
         assertTrue(userEntity.getEnabled());
         verify(userRepository, times(1))
                 .findById(any(Integer.class));
+        verify(userRepository).incrementSecurityVersion(1);
+        verify(eventPublisher).publishEvent(new UserSecurityChangedEvent(1));
     }
 
     @Test
@@ -0,0 +1,103 @@
+package com.softserveinc.dokazovi.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserveinc.dokazovi.dto.post.PostSummaryDTO;
+import com.softserveinc.dokazovi.service.PostService;
+import com.softserveinc.dokazovi.service.ReferenceDataService;
+import com.softserveinc.dokazovi.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StartupWarmUpTest {
+
+    @Mock
+    private PostService postService;
+    @Mock
+    private UserService userService;
+    @Mock
+    private ReferenceDataService referenceDataService;
+
+    @Test
+    void warmUp_LoadsHotDataOnEveryIteration() {
+        when(postService.findImportantPosts(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(
+                PostSummaryDTO.builder().id(1).build(),
+                PostSummaryDTO.builder().id(2).build()), PageRequest.of(0, 10), 2));
+        StartupWarmUp warmUp = warmUp(true, 60_000);
+        assertFalse(warmUp.isFinished());
+
+        warmUp.warmUp();
+
+        assertEquals(StartupWarmUp.State.COMPLETED, warmUp.getState());
+        assertTrue(warmUp.isFinished());
+        verify(postService, times(2)).findLatestByPostTypesAndOrigins(any(Pageable.class));
+        verify(postService, times(2)).findLatestByPostTypesAndOriginsForMobile(any(Pageable.class));
+        verify(postService, times(2)).findPostById(1);
+        verify(postService, times(2)).findPostById(2);
+        verify(userService, times(2)).findRandomExpertPreview(any(), any(Pageable.class));
+        verify(referenceDataService, times(2)).getDirections();
+    }
+
+    @Test
+    void warmUp_WhenStepFails_GoesOn() {
+        when(postService.findImportantPosts(any(Pageable.class))).thenThrow(new IllegalStateException("db"));
+        StartupWarmUp warmUp = warmUp(true, 60_000);
+
+        warmUp.warmUp();
+
+        assertEquals(StartupWarmUp.State.COMPLETED, warmUp.getState());
+        verify(userService, times(2)).findRandomExpertPreview(any(), any(Pageable.class));
+    }
+
+    @Test
+    void warmUp_WhenTooSlow_TimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(postService.findLatestByPostTypesAndOrigins(any(Pageable.class))).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        StartupWarmUp warmUp = warmUp(true, 50);
+
+        warmUp.warmUp();
+        release.countDown();
+
+        assertEquals(StartupWarmUp.State.TIMED_OUT, warmUp.getState());
+        assertTrue(warmUp.isFinished());
+    }
+
+    @Test
+    void warmUp_WhenDisabled_DoesNothing() {
+        StartupWarmUp warmUp = warmUp(false, 60_000);
+
+        warmUp.warmUp();
+
+        assertEquals(StartupWarmUp.State.DISABLED, warmUp.getState());
+        assertTrue(warmUp.isFinished());
+        verifyNoInteractions(postService, userService, referenceDataService);
+    }
+
+    private StartupWarmUp warmUp(boolean enabled, long timeoutMs) {
+        return new StartupWarmUp(postService, userService, referenceDataService, new ObjectMapper(),
+                enabled, 2, timeoutMs);
+    }
+}
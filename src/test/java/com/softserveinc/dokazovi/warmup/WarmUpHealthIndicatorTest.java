@@ -0,0 +1,40 @@
+package com.softserveinc.dokazovi.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WarmUpHealthIndicatorTest {
+
+    @Mock
+    private StartupWarmUp startupWarmUp;
+    @InjectMocks
+    private WarmUpHealthIndicator healthIndicator;
+
+    @Test
+    void health_WhenWarmUpIsRunning_IsOutOfService() {
+        when(startupWarmUp.isFinished()).thenReturn(false);
+        when(startupWarmUp.getState()).thenReturn(StartupWarmUp.State.RUNNING);
+
+        Health health = healthIndicator.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, health.getStatus());
+        assertEquals(StartupWarmUp.State.RUNNING, health.getDetails().get("state"));
+    }
+
+    @Test
+    void health_WhenWarmUpTimedOut_IsUp() {
+        when(startupWarmUp.isFinished()).thenReturn(true);
+        when(startupWarmUp.getState()).thenReturn(StartupWarmUp.State.TIMED_OUT);
+
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+}